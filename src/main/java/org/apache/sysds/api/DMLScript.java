@@ -82,6 +82,7 @@ import org.apache.sysds.utils.Explain;
 import org.apache.sysds.utils.Explain.ExplainCounts;
 import org.apache.sysds.utils.Explain.ExplainType;
 import org.apache.sysds.utils.stats.InfrastructureAnalyzer;
+import org.apache.sysds.utils.stats.MetricsExporter;
 import org.apache.sysds.utils.NativeHelper;
 import org.apache.sysds.utils.SettingsChecker;
 import org.apache.sysds.utils.Statistics;
@@ -439,6 +440,7 @@ public class DMLScript
 		
 		//Step 1: parse configuration files & write any configuration specific global variables
 		loadConfiguration(fnameOptConfig);
+		boolean metrics = MetricsExporter.startIfConfigured(ConfigurationManager.getDMLConfig());
 
 		//Step 2: configure codegen
 		configureCodeGen();
@@ -493,6 +495,9 @@ public class DMLScript
 			//cleanup scratch_space and all working dirs
 			cleanupHadoopExecution(ConfigurationManager.getDMLConfig());
 			FederatedData.clearWorkGroup();
+			//release metrics export (the http dispatcher would keep the jvm alive)
+			if(metrics)
+				MetricsExporter.release();
 			//stop spark context (after cleanup of federated workers and other pools,
 			//otherwise federated spark cleanups in local tests throw errors in same JVM)
 			if(ec != null && ec instanceof SparkExecutionContext)
@@ -608,6 +613,10 @@ public class DMLScript
 			LOG.debug("DML script: \n" + dmlScriptString);
 		if(info)
 			LOG.info("Process id:  " + IDHandler.getProcessID());
+		if(info && InfrastructureAnalyzer.isLocalNuma())
+			LOG.info("NUMA nodes:  " + InfrastructureAnalyzer.getLocalNumaNodes()
+				+ (InfrastructureAnalyzer.isNumaAwareHeap() ? "" :
+				" (heap not NUMA-aware, use -XX:+UseParallelGC -XX:+UseNUMA)"));
 	}
 
 	private static void registerForMonitoring() {
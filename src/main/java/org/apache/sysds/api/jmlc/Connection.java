@@ -66,6 +66,7 @@ import org.apache.sysds.runtime.transform.TfUtils;
 import org.apache.sysds.runtime.transform.meta.TfMetaUtils;
 import org.apache.sysds.runtime.util.CollectionUtils;
 import org.apache.sysds.runtime.util.DataConverter;
+import org.apache.sysds.utils.stats.MetricsExporter;
 
 /**
  * Interaction with SystemDS using the JMLC (Java Machine Learning Connector) API is initiated with
@@ -90,6 +91,7 @@ public class Connection implements Closeable
 {
 	private final DMLConfig _dmlconf;
 	private final CompilerConfig _cconf;
+	private boolean _metrics = false;
 	private static FileSystem fs = null;
 	
 	/**
@@ -159,6 +161,9 @@ public class Connection implements Closeable
 		_dmlconf = dmlconfig;
 		
 		setLocalConfigs();
+		
+		//optionally export live metrics of long-running processes
+		_metrics = MetricsExporter.startIfConfigured(dmlconfig);
 	}
 
 	/**
@@ -298,6 +303,11 @@ public class Connection implements Closeable
 		ConfigurationManager.clearLocalConfigs();
 		if( ConfigurationManager.isCodegenEnabled() )
 			SpoofCompiler.cleanupCodeGenerator();
+		//release metrics export (stopped once all connections are closed)
+		if( _metrics ) {
+			_metrics = false;
+			MetricsExporter.release();
+		}
 	}
 	
 	/**
@@ -868,6 +868,7 @@ public interface Types {
 		PROTO,  // protocol buffer representation
 		HDF5,   // Hierarchical Data Format (HDF)
 		COG,   // Cloud-optimized GeoTIFF
+		COLUMNAR, // native columnar format (row groups of encoded column chunks)
 		UNKNOWN;
 		
 		public boolean isIJV() {
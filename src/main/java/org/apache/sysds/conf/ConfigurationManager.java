@@ -293,6 +293,16 @@ public class ConfigurationManager{
 			|| OptimizerUtils.ASYNC_CHECKPOINT_SPARK);
 	}
 
+	public static int getReadAheadDistance() {
+		return Math.max(getDMLConfig().getIntValue(DMLConfig.ASYNC_READAHEAD),
+			OptimizerUtils.ASYNC_READAHEAD);
+	}
+
+	public static boolean isLocalOOCEnabled() {
+		return (getDMLConfig().getBooleanValue(DMLConfig.LOCAL_OOC)
+			|| OptimizerUtils.LOCAL_OOC);
+	}
+
 	public static boolean isRuleBasedGPUPlacement() {
 		return (DMLScript.USE_ACCELERATOR &&
 			(getDMLConfig().getBooleanValue(DMLConfig.GPU_RULE_BASED_PLACEMENT)
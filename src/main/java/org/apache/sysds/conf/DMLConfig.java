@@ -71,6 +71,7 @@ public class DMLConfig
 	public static final String CP_PARALLEL_OPS      = "sysds.cp.parallel.ops";
 	public static final String CP_PARALLEL_IO       = "sysds.cp.parallel.io";
 	public static final String IO_COMPRESSION_CODEC = "sysds.io.compression.encoding";
+	public static final String IOGEN_CACHE_DIR      = "sysds.io.gen.cachedir"; // string: directory of persisted generated readers (unset disables)
 	public static final String PARALLEL_ENCODE      = "sysds.parallel.encode";  // boolean: enable multi-threaded transformencode and apply
 	public static final String PARALLEL_ENCODE_STAGED = "sysds.parallel.encode.staged";
 	public static final String PARALLEL_ENCODE_APPLY_BLOCKS = "sysds.parallel.encode.applyBlocks";
@@ -89,6 +90,8 @@ public class DMLConfig
 	public static final String COMPRESSED_COST_MODEL= "sysds.compressed.costmodel";
 	public static final String COMPRESSED_TRANSPOSE = "sysds.compressed.transpose";
 	public static final String COMPRESSED_TRANSFORMENCODE = "sysds.compressed.transformencode";
+	public static final String COMPRESSED_READ      = "sysds.compressed.read";
+	public static final String COMPRESSED_BROADCAST = "sysds.compressed.broadcast";
 	public static final String NATIVE_BLAS          = "sysds.native.blas";
 	public static final String NATIVE_BLAS_DIR      = "sysds.native.blas.directory";
 	public static final String DAG_LINEARIZATION    = "sysds.compile.linearization";
@@ -136,6 +139,12 @@ public class DMLConfig
 	public static final String ASYNC_PREFETCH = "sysds.async.prefetch";  // boolean: enable asynchronous prefetching spark/gpu intermediates
 	public static final String ASYNC_SPARK_BROADCAST = "sysds.async.broadcast";  // boolean: enable asynchronous broadcasting CP intermediates
 	public static final String ASYNC_SPARK_CHECKPOINT = "sysds.async.checkpoint";  // boolean: enable compile-time persisting of Spark intermediates
+	public static final String ASYNC_READAHEAD = "sysds.async.readahead"; // int: number of instructions to look ahead for asynchronous restores (0 disables)
+	/** Local out-of-core execution of operations exceeding the memory budget in single-node mode **/
+	public static final String LOCAL_OOC = "sysds.local.ooc"; // boolean: enable CP_FILE matrix multiplications
+	/** Live export of runtime metrics (instruction latency histograms, buffer pool, lineage cache, codegen) **/
+	public static final String STATS_METRICS_PORT = "sysds.stats.metrics.port"; // int: local HTTP port of the /metrics endpoint (-1 disables)
+	public static final String STATS_METRICS_FILE = "sysds.stats.metrics.file"; // string: file for periodic metrics snapshots (unset disables)
 	//internal config
 	public static final String DEFAULT_SHARED_DIR_PERMISSION = "777"; //for local fs and DFS
 	
@@ -174,6 +183,8 @@ public class DMLConfig
 		_defaultVals.put(COMPRESSED_COST_MODEL,  "AUTO");
 		_defaultVals.put(COMPRESSED_TRANSPOSE,   "auto");
 		_defaultVals.put(COMPRESSED_TRANSFORMENCODE, "false");
+		_defaultVals.put(COMPRESSED_READ,        "false");
+		_defaultVals.put(COMPRESSED_BROADCAST,   "false");
 		_defaultVals.put(DAG_LINEARIZATION,      DagLinearizer.DEPTH_FIRST.name());
 		_defaultVals.put(CODEGEN,                "false" );
 		_defaultVals.put(CODEGEN_API,            GeneratorAPI.JAVA.name() );
@@ -213,6 +224,11 @@ public class DMLConfig
 		_defaultVals.put(ASYNC_PREFETCH,   "false" );
 		_defaultVals.put(ASYNC_SPARK_BROADCAST,  "false" );
 		_defaultVals.put(ASYNC_SPARK_CHECKPOINT,  "false" );
+		_defaultVals.put(ASYNC_READAHEAD,        "0" );
+		_defaultVals.put(LOCAL_OOC,              "false" );
+		_defaultVals.put(STATS_METRICS_PORT,     "-1" );
+		_defaultVals.put(STATS_METRICS_FILE,     null );
+		_defaultVals.put(IOGEN_CACHE_DIR,        null );
 	}
 	
 	public DMLConfig() {
@@ -459,14 +475,16 @@ public class DMLConfig
 			CP_PARALLEL_OPS, CP_PARALLEL_IO, PARALLEL_ENCODE, NATIVE_BLAS, NATIVE_BLAS_DIR,
 			COMPRESSED_LINALG, COMPRESSED_LOSSY, COMPRESSED_VALID_COMPRESSIONS, COMPRESSED_OVERLAPPING,
 			COMPRESSED_SAMPLING_RATIO, COMPRESSED_SOFT_REFERENCE_COUNT,
-			COMPRESSED_COCODE, COMPRESSED_TRANSPOSE, COMPRESSED_TRANSFORMENCODE, DAG_LINEARIZATION,
+			COMPRESSED_COCODE, COMPRESSED_TRANSPOSE, COMPRESSED_TRANSFORMENCODE, COMPRESSED_READ, COMPRESSED_BROADCAST,
+			DAG_LINEARIZATION,
 			CODEGEN, CODEGEN_API, CODEGEN_COMPILER, CODEGEN_OPTIMIZER, CODEGEN_PLANCACHE, CODEGEN_LITERALS,
 			STATS_MAX_WRAP_LEN, LINEAGECACHESPILL, COMPILERASSISTED_RW, BUFFERPOOL_LIMIT, MEMORY_MANAGER,
 			PRINT_GPU_MEMORY_INFO, AVAILABLE_GPUS, SYNCHRONIZE_GPU, EAGER_CUDA_FREE, GPU_RULE_BASED_PLACEMENT,
 			FLOATING_POINT_PRECISION, GPU_EVICTION_POLICY, LOCAL_SPARK_NUM_THREADS, EVICTION_SHADOW_BUFFERSIZE,
 			GPU_MEMORY_ALLOCATOR, GPU_MEMORY_UTILIZATION_FACTOR, USE_SSL_FEDERATED_COMMUNICATION,
 			DEFAULT_FEDERATED_INITIALIZATION_TIMEOUT, FEDERATED_TIMEOUT, FEDERATED_MONITOR_FREQUENCY, FEDERATED_COMPRESSION,
-			ASYNC_PREFETCH, ASYNC_SPARK_BROADCAST, ASYNC_SPARK_CHECKPOINT, IO_COMPRESSION_CODEC
+			ASYNC_PREFETCH, ASYNC_SPARK_BROADCAST, ASYNC_SPARK_CHECKPOINT, ASYNC_READAHEAD, IO_COMPRESSION_CODEC, LOCAL_OOC,
+			STATS_METRICS_PORT, STATS_METRICS_FILE, IOGEN_CACHE_DIR
 		}; 
 		
 		StringBuilder sb = new StringBuilder();
@@ -181,7 +181,7 @@ public class AggBinaryOp extends MultiThreadedHop {
 				et = ExecType.CP;
 			}
 
-			if( et == ExecType.CP || et == ExecType.GPU || et == ExecType.FED )
+			if( et == ExecType.CP || et == ExecType.CP_FILE || et == ExecType.GPU || et == ExecType.FED )
 			{
 				//matrix mult operation selection part 3 (CP type)
 				_method = optFindMMultMethodCP ( input1.getDim1(), input1.getDim2(),   
@@ -414,6 +414,10 @@ public class AggBinaryOp extends MultiThreadedHop {
 			checkAndSetInvalidCPDimsAndSize();
 		}
 		
+		//local out-of-core matrix multiplication if the operation exceeds the memory budget
+		if( _etype == ExecType.CP && isApplicableForLocalOOC() )
+			setExecType(ExecType.CP_FILE);
+		
 		//spark-specific decision refinement (execute binary aggregate w/ left or right spark input and 
 		//single parent also in spark because it's likely cheap and reduces data transfer)
 		MMTSJType mmtsj = checkTransposeSelf(); //determine tsmm pattern
@@ -431,6 +435,16 @@ public class AggBinaryOp extends MultiThreadedHop {
 		return _etype;
 	}
 	
+	private boolean isApplicableForLocalOOC() {
+		return ConfigurationManager.isLocalOOCEnabled()
+			&& DMLScript.getGlobalExecMode() == ExecMode.SINGLE_NODE
+			&& !DMLScript.USE_ACCELERATOR
+			&& dimsKnown() && getInput(0).dimsKnown() && getInput(1).dimsKnown()
+			&& getMemEstimate() > OptimizerUtils.getLocalMemBudget()
+			&& checkMapMultChain() == ChainType.NONE
+			&& !_hasLeftPMInput;
+	}
+	
 	private boolean isApplicableForTransitiveSparkExecType(boolean left) 
 	{
 		int index = left ? 0 : 1;
@@ -600,7 +614,14 @@ public class AggBinaryOp extends MultiThreadedHop {
 	{
 		Lop matmultCP = null;
 		String cla = ConfigurationManager.getDMLConfig().getTextValue("sysds.compressed.linalg");
-		if (et == ExecType.GPU) {
+		if (et == ExecType.CP_FILE) {
+			//out-of-core matrix multiplication over the original inputs
+			int k = OptimizerUtils.getConstrainedNumThreads(_maxNumThreads);
+			matmultCP = new MatMultCP(getInput().get(0).constructLops(),
+				getInput().get(1).constructLops(), getDataType(), getValueType(), et, k);
+			setOutputDimensions(matmultCP);
+		}
+		else if (et == ExecType.GPU) {
 			Hop h1 = getInput().get(0);
 			Hop h2 = getInput().get(1);
 			// Since GPU backend is in experimental mode, rewrite optimization can be skipped.
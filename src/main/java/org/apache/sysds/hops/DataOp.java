@@ -21,6 +21,7 @@ package org.apache.sysds.hops;
 
 import java.util.HashMap;
 import java.util.Map.Entry;
+import java.util.Objects;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
@@ -40,6 +41,7 @@ import org.apache.sysds.lops.Sql;
 import org.apache.sysds.parser.DataExpression;
 import static org.apache.sysds.parser.DataExpression.FED_RANGES;
 import org.apache.sysds.runtime.controlprogram.caching.MatrixObject.UpdateType;
+import org.apache.sysds.runtime.io.FrameReadFilter;
 import org.apache.sysds.runtime.meta.DataCharacteristics;
 import org.apache.sysds.runtime.util.LocalFileUtils;
 
@@ -56,6 +58,7 @@ public class DataOp extends Hop {
 	private FileFormat _inFormat = FileFormat.TEXT;
 	private long _inBlocksize = -1;
 	private boolean _hasOnlyRDD = false;
+	private FrameReadFilter _readFilter = null; //pushed-down projection/predicate
 	
 	private boolean _recompileRead = true;
 
@@ -227,6 +230,11 @@ public class DataOp extends Hop {
 	public int getParameterIndex(String name) {
 		return _paramIndexMap.get(name);
 	}
+
+	public Hop getParameterHop(String name) {
+		return _paramIndexMap.containsKey(name) ?
+			getInput().get(_paramIndexMap.get(name)) : null;
+	}
 	
 	public void setOnlyRDD(boolean flag) {
 		_hasOnlyRDD = flag;
@@ -270,6 +278,7 @@ public class DataOp extends Hop {
 				l = new Data(_op, null, inputLops, getName(), null, 
 						getDataType(), getValueType(), getFileFormat());
 				l.getOutputParameters().setDimensions(getDim1(), getDim2(), _inBlocksize, getNnz(), getUpdateType());
+				((Data)l).setReadFilter(_readFilter);
 				break;
 				
 			case PERSISTENTWRITE:
@@ -324,6 +333,20 @@ public class DataOp extends Hop {
 		return _inBlocksize;
 	}
 	
+	public FrameReadFilter getReadFilter() {
+		return _readFilter;
+	}
+
+	/**
+	 * Sets the column projection and row predicate of a persistent frame read,
+	 * where the output dimensions refer to the projected frame.
+	 * 
+	 * @param filter read filter
+	 */
+	public void setReadFilter(FrameReadFilter filter) {
+		_readFilter = filter;
+	}
+
 	public boolean isRead() {
 		return( _op == OpOpData.PERSISTENTREAD || _op == OpOpData.TRANSIENTREAD );
 	}
@@ -532,6 +555,7 @@ public class DataOp extends Hop {
 		ret._inFormat = _inFormat;
 		ret._inBlocksize = _inBlocksize;
 		ret._recompileRead = _recompileRead;
+		ret._readFilter = _readFilter;
 		ret._paramIndexMap = (HashMap<String, Integer>) _paramIndexMap.clone();
 		//note: no deep cp of params since read-only 
 		
@@ -556,6 +580,7 @@ public class DataOp extends Hop {
 			&& _fileName.equals(that2._fileName)
 			&& _inFormat == that2._inFormat
 			&& _inBlocksize == that2._inBlocksize
+			&& Objects.equals(_readFilter, that2._readFilter)
 			&& _paramIndexMap!=null && that2._paramIndexMap!=null );
 		
 		//above conditions also ensure consistency with regard to 
@@ -36,6 +36,7 @@ import org.apache.sysds.runtime.meta.MatrixCharacteristics;
 public class IndexingOp extends Hop 
 {
 	public static String OPSTRING = "rix"; //"Indexing";
+	public static boolean FORCE_DIST_RIGHT_INDEXING = false;
 	
 	private boolean _rowLowerEqualsUpper = false;
 	private boolean _colLowerEqualsUpper = false;
@@ -345,6 +346,9 @@ public class IndexingOp extends Hop
 			
 			//check for valid CP dimensions and matrix size
 			checkAndSetInvalidCPDimsAndSize();
+			
+			if( FORCE_DIST_RIGHT_INDEXING )
+				_etype = ExecType.SPARK;
 		}
 
 		if( getInput().get(0).getDataType()==DataType.LIST )
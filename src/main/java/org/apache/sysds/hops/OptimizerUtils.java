@@ -244,6 +244,20 @@ public class OptimizerUtils
 	 */
 	public static boolean ALLOW_CODE_MOTION = false;
 
+	/**
+	 * Enables the merging of if statement blocks with equal predicates within loop
+	 * bodies (incl. duplicated blocks in-between) in order to create larger basic
+	 * blocks for operator fusion. This rewrite is only applied if codegen is enabled.
+	 */
+	public static boolean ALLOW_LOOP_BODY_BLOCK_MERGE = true;
+
+	/**
+	 * Enables the pushdown of column projections of right indexing and of simple row
+	 * selections via removeEmpty on persistent frame reads into the frame readers,
+	 * which then skip the parsing of unused columns and drop non-matching rows.
+	 */
+	public static boolean ALLOW_FRAME_READ_PUSHDOWN = true;
+
 	/**
 	 * Compile federated instructions based on input federation state and privacy constraints.
 	 */
@@ -301,6 +315,15 @@ public class OptimizerUtils
 	public static boolean ASYNC_BROADCAST_SPARK = false;
 	public static boolean ASYNC_CHECKPOINT_SPARK = false;
 
+	/**
+	 * Number of instructions to look ahead at runtime for inputs that are evicted or
+	 * remote (local spill files, pending RDD operations), which are then asynchronously
+	 * restored within a bounded memory budget. Federated data is excluded because its
+	 * instructions are only replaced by federated instructions at execution time.
+	 * 0 disables the read-ahead.
+	 */
+	public static int ASYNC_READAHEAD = 0;
+
 	/**
 	 * Heuristic-based instruction ordering to maximize inter-operator PARALLELISM.
 	 * Place the Spark operator chains first and trigger them to execute in parallel.
@@ -318,6 +341,13 @@ public class OptimizerUtils
 	 */
 	public static boolean RULE_BASED_GPU_EXEC = false;
 
+	/**
+	 * Local out-of-core execution in single-node mode. Matrix multiplications whose memory
+	 * estimates exceed the local memory budget are compiled to CP_FILE instructions, which
+	 * stream block-partitioned operands from local files instead of failing with OOM.
+	 */
+	public static boolean LOCAL_OOC = false;
+
 	/**
 	 * Automatic placement of GPU lineage cache eviction
 	 */
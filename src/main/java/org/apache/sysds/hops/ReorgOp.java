@@ -231,6 +231,8 @@ public class ReorgOp extends MultiThreadedHop
 	@Override
 	protected double computeOutputMemEstimate( long dim1, long dim2, long nnz ) {
 		//no dedicated mem estimation per op type, because always propagated via refreshSizeInformation
+		if( getDataType().isFrame() ) //frame sort
+			return OptimizerUtils.estimateSizeExactFrame(dim1, dim2);
 		double sparsity = OptimizerUtils.getSparsity(dim1, dim2, nnz);
 		return OptimizerUtils.estimateSizeExactSparsity(dim1, dim2, sparsity);
 	}
@@ -347,7 +349,12 @@ public class ReorgOp extends MultiThreadedHop
 		
 		checkAndSetForcedPlatform();
 		
-		if( _etypeForced != null )
+		if( getInput().get(0).getDataType().isFrame() )
+		{
+			//frame sort only supported in CP
+			_etype = ExecType.CP;
+		}
+		else if( _etypeForced != null )
 		{
 			_etype = _etypeForced;
 		}
@@ -25,6 +25,7 @@ import org.apache.sysds.hops.OptimizerUtils;
 import org.apache.sysds.runtime.data.DenseBlock;
 import org.apache.sysds.runtime.data.SparseBlock;
 import org.apache.sysds.runtime.matrix.data.LibMatrixAgg;
+import org.apache.sysds.runtime.controlprogram.caching.MatrixObject;
 import org.apache.sysds.runtime.matrix.data.MatrixBlock;
 import org.apache.sysds.runtime.meta.DataCharacteristics;
 import org.apache.sysds.runtime.meta.MatrixCharacteristics;
@@ -106,6 +107,24 @@ public class EstimatorMatrixHistogram extends SparsityEstimator
 		return estimIntern(h1, null, op, null);
 	}
 	
+	/**
+	 * Obtains the matrix histogram of the given matrix object, which is built
+	 * once from the data and then retained with the matrix object until its data
+	 * is modified. This allows reusing the synopses across estimates, e.g., during
+	 * dynamic recompilation, without repeated passes over (or reads of) the data.
+	 * 
+	 * @param mo matrix object
+	 * @return matrix histogram (w/ exception details)
+	 */
+	public static MatrixHistogram getSynopsis(MatrixObject mo) {
+		Object syn = mo.getSynopsis();
+		if( syn instanceof MatrixHistogram )
+			return (MatrixHistogram) syn;
+		MatrixHistogram ret = new MatrixHistogram(mo.acquireReadAndRelease(), true);
+		mo.setSynopsis(ret);
+		return ret;
+	}
+	
 	private MatrixHistogram getCachedSynopsis(MMNode node) {
 		if( node == null )
 			return null;
@@ -48,6 +48,24 @@ public class MMNode
 		_misc = null;
 	}
 	
+	/**
+	 * Creates a leaf node from a precomputed synopsis (e.g., a synopsis
+	 * attached to a matrix object) without access to the underlying data.
+	 * The synopsis type needs to match the used sparsity estimator.
+	 * 
+	 * @param dc data characteristics of the leaf
+	 * @param synopsis precomputed synopsis of the leaf
+	 */
+	public MMNode(DataCharacteristics dc, Object synopsis) {
+		_m1 = null;
+		_m2 = null;
+		_data = null;
+		_mc = new MatrixCharacteristics(dc);
+		_synops = synopsis;
+		_op = null;
+		_misc = null;
+	}
+	
 	public MMNode(MMNode left, MMNode right, OpCode op, long[] misc) {
 		_m1 = left;
 		_m2 = right;
@@ -74,7 +92,9 @@ public class MMNode
 			_m1.reset();
 		if( _m2 != null )
 			_m2.reset();
-		_synops = null;
+		//keep precomputed synopses of leafs w/o data
+		if( !isLeaf() || _data != null )
+			_synops = null;
 	}
 	
 	public int getRows() {
@@ -112,7 +132,7 @@ public class MMNode
 	}
 	
 	public boolean isLeaf() {
-		return _data != null;
+		return _op == null;
 	}
 	
 	public MatrixBlock getData() {
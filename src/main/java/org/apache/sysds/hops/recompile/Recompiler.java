@@ -111,6 +111,8 @@ import org.apache.sysds.runtime.util.ProgramConverter;
 import org.apache.sysds.runtime.util.UtilFunctions;
 import org.apache.sysds.utils.Explain;
 import org.apache.sysds.utils.Statistics;
+import org.apache.sysds.utils.stats.JFREvents;
+import org.apache.sysds.utils.stats.JFREvents.RecompileEvent;
 import org.apache.sysds.utils.Explain.ExplainType;
 
 /**
@@ -170,12 +172,15 @@ public class Recompiler {
 			ExecutionContext ec, RecompileStatus status, boolean inplace, boolean replaceLit, long tid ) 
 	{
 		ArrayList<Instruction> newInst = null;
+		RecompileEvent ev = JFREvents.beginRecompile("dag",
+			sb != null ? sb.getBeginLine() : 0, sb != null ? sb.getEndLine() : 0);
 
 		//need for synchronization as we do temp changes in shared hops/lops
 		//however, we create deep copies for most dags to allow for concurrent recompile
 		synchronized( hops ) {
 			newInst = recompile(sb, hops, ec, status, inplace, replaceLit, true, false, false, null, tid);
 		}
+		JFREvents.commitRecompile(ev, newInst.size());
 		
 		// replace thread ids in new instructions
 		if( ProgramBlock.isThreadID(tid) ) //only in parfor context
@@ -202,12 +207,14 @@ public class Recompiler {
 			RecompileStatus status, boolean inplace, boolean replaceLit, long tid ) 
 	{
 		ArrayList<Instruction> newInst = null;
+		RecompileEvent ev = JFREvents.beginRecompile("predicate", hop.getBeginLine(), hop.getEndLine());
 
 		//need for synchronization as we do temp changes in shared hops/lops
 		synchronized( hop ) {
 			newInst = recompile(null, new ArrayList<>(Arrays.asList(hop)),
 				vars, status, inplace, replaceLit, true, false, true, null, tid);
 		}
+		JFREvents.commitRecompile(ev, newInst.size());
 		
 		// replace thread ids in new instructions
 		if( ProgramBlock.isThreadID(tid) ) //only in parfor context
@@ -1368,9 +1375,11 @@ public class Recompiler {
 				}
 			}
 		}
-		//special case for persistent reads with unknown size (read-after-write)
+		//special case for persistent reads with unknown size (read-after-write),
+		//except for frame reads w/ pushed-down predicate whose size is unknown by design
 		else if( HopRewriteUtils.isData(hop, OpOpData.PERSISTENTREAD)
 			&& !hop.dimsKnown() && ((DataOp)hop).getFileFormat()!=FileFormat.CSV
+			&& ((DataOp)hop).getReadFilter() == null
 			&& !ConfigurationManager.getCompilerConfigFlag(ConfigType.IGNORE_READ_WRITE_METADATA) )
 		{
 			//update hop with read meta data
@@ -1561,6 +1570,7 @@ public class Recompiler {
 				&& ParForProgramBlock.RESET_RECOMPILATION_FLAGs )
 			{
 				long t0 = DMLScript.STATISTICS ? System.nanoTime() : 0;
+				RecompileEvent ev = JFREvents.beginRecompile("function", 0, 0);
 				
 				//note: it is important to reset the recompilation flags here
 				// (1) it is safe to reset recompilation flags because a 'recompile_once'
@@ -1568,6 +1578,7 @@ public class Recompiler {
 				// (2) without reset, there would be no benefit in recompiling the entire function
 				LocalVariableMap tmp = (LocalVariableMap) ec.getVariables().clone();
 				Recompiler.recompileProgramBlockHierarchy(childBlocks, tmp, tid, inplace, reset);
+				JFREvents.commitRecompile(ev, 0);
 
 				if( DMLScript.STATISTICS ){
 					long t1 = System.nanoTime();
@@ -1594,6 +1605,10 @@ public class Recompiler {
 		CacheableData<?> obj = ec.getCacheableData(varin);
 		DataCharacteristics mc = ec.getDataCharacteristics(varin);
 		
+		//frame reads w/ pushed-down projection can only be read via the buffer pool
+		if( obj instanceof FrameObject && ((FrameObject)obj).getReadFilter() != null )
+			return true;
+		
 		long rows = mc.getRows();
 		long cols = mc.getCols();
 		long nnz = mc.getNonZeros();
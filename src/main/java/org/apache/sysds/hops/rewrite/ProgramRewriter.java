@@ -89,6 +89,8 @@ public class ProgramRewriter{
 				_dagRuleSet.add( new RewriteCommonSubexpressionElimination()     );
 			if( OptimizerUtils.ALLOW_AUTO_VECTORIZATION )
 				_dagRuleSet.add( new RewriteIndexingVectorization()              ); //dependency: cse, simplifications
+			if( OptimizerUtils.ALLOW_FRAME_READ_PUSHDOWN )
+				_dagRuleSet.add( new RewriteFrameReadPushdown()                  ); //dependency: constant folding, vectorization
 			_dagRuleSet.add( new RewriteInjectSparkPReadCheckpointing()          ); //dependency: reblock
 			
 			//add statement block rewrite rules
@@ -98,6 +100,8 @@ public class ProgramRewriter{
 				_sbRuleSet.add(  new RewriteRemoveForLoopEmptySequence()         ); //dependency: constant folding
 			if( OptimizerUtils.ALLOW_BRANCH_REMOVAL || OptimizerUtils.ALLOW_FOR_LOOP_REMOVAL )
 				_sbRuleSet.add(  new RewriteMergeBlockSequence()                 ); //dependency: remove branches, remove for-loops
+			if( OptimizerUtils.ALLOW_LOOP_BODY_BLOCK_MERGE && ConfigurationManager.isCodegenEnabled() )
+				_sbRuleSet.add(  new RewriteMergeLoopBodyBlocks()                ); //dependency: merge blocks
 			if(OptimizerUtils.ALLOW_COMPRESSION_REWRITE)
 				_sbRuleSet.add(      new RewriteCompressedReblock()              ); // Compression Rewrite
  			if( OptimizerUtils.ALLOW_SPLIT_HOP_DAGS )
@@ -0,0 +1,236 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.hops.rewrite;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+import org.apache.sysds.api.DMLScript;
+import org.apache.sysds.common.Types.DataType;
+import org.apache.sysds.common.Types.ExecMode;
+import org.apache.sysds.common.Types.FileFormat;
+import org.apache.sysds.common.Types.OpOp1;
+import org.apache.sysds.common.Types.OpOp2;
+import org.apache.sysds.common.Types.OpOpData;
+import org.apache.sysds.common.Types.ParamBuiltinOp;
+import org.apache.sysds.common.Types.ValueType;
+import org.apache.sysds.hops.BinaryOp;
+import org.apache.sysds.hops.DataOp;
+import org.apache.sysds.hops.Hop;
+import org.apache.sysds.hops.IndexingOp;
+import org.apache.sysds.hops.LiteralOp;
+import org.apache.sysds.hops.OptimizerUtils;
+import org.apache.sysds.hops.ParameterizedBuiltinOp;
+import org.apache.sysds.parser.DataExpression;
+import org.apache.sysds.runtime.io.FrameReadFilter;
+
+/**
+ * Rule: FrameReadPushdown. If a persistent frame read is only consumed by
+ * a row selection removeEmpty(target=X, margin="rows", select=as.matrix(X[,c]) op v)
+ * on a numeric column, we push the predicate into the read, which then
+ * drops non-matching rows while reading. Similarly, if a read (or the
+ * selected rows) is only consumed by column indexing over all rows
+ * (e.g., X[,3:5] and X[,12]) and nrow(X), we push the union of selected
+ * columns into the read, which then skips the parsing and allocation of
+ * all other columns. The column bounds of the consumers are shifted to the
+ * projected frame accordingly.
+ *
+ * Since the file contains all columns and rows, projected reads are always
+ * read through the buffer pool (also for Spark consumers and reblocks), and
+ * the rewrite is only applied for reads that fit into the local memory budget.
+ */
+public class RewriteFrameReadPushdown extends HopRewriteRule
+{
+	@Override
+	public ArrayList<Hop> rewriteHopDAGs(ArrayList<Hop> roots, ProgramRewriteStatus state) {
+		if( roots == null || DMLScript.getGlobalExecMode() == ExecMode.SPARK )
+			return roots;
+
+		//collect all persistent frame reads
+		ArrayList<DataOp> reads = new ArrayList<>();
+		Hop.resetVisitStatus(roots);
+		for( Hop h : roots )
+			collectFrameReads(h, reads);
+		Hop.resetVisitStatus(roots);
+
+		//push row predicates and column projections into reads
+		for( DataOp read : reads ) {
+			rule_PushdownRowPredicate(read);
+			rule_PushdownColumnProjection(read);
+		}
+
+		return roots;
+	}
+
+	@Override
+	public Hop rewriteHopDAG(Hop root, ProgramRewriteStatus state) {
+		//do noting, read/write do not occur in predicates
+		return root;
+	}
+
+	private static void collectFrameReads(Hop hop, ArrayList<DataOp> reads) {
+		if( hop.isVisited() )
+			return;
+		for( Hop c : hop.getInput() )
+			collectFrameReads(c, reads);
+		if( HopRewriteUtils.isData(hop, OpOpData.PERSISTENTREAD, DataType.FRAME)
+			&& ((DataOp)hop).getReadFilter() == null
+			&& (((DataOp)hop).getFileFormat() == FileFormat.CSV
+				|| ((DataOp)hop).getFileFormat() == FileFormat.BINARY
+				|| ((DataOp)hop).getFileFormat() == FileFormat.COLUMNAR) )
+			reads.add((DataOp)hop);
+		hop.setVisited();
+	}
+
+	private static void rule_PushdownRowPredicate(DataOp read) {
+		final long rlen = read.getDim1();
+		final long clen = read.getDim2();
+		if( !read.dimsKnown() || clen > Integer.MAX_VALUE || read.getParent().size() != 2 )
+			return;
+
+		//check for single consumer removeEmpty(target=X, margin="rows", select=as.matrix(X[,c]) op v)
+		//(the column indexing is the other consumer of the read, and all intermediates have single consumers)
+		Hop p = read.getParent().get(0) instanceof ParameterizedBuiltinOp ?
+			read.getParent().get(0) : read.getParent().get(1);
+		if( !HopRewriteUtils.isParameterizedBuiltinOp(p, ParamBuiltinOp.RMEMPTY) || p.getParent().isEmpty() )
+			return;
+		ParameterizedBuiltinOp rm = (ParameterizedBuiltinOp) p;
+		Hop margin = rm.getParameterHop("margin");
+		Hop empty = rm.getParameterHop("empty.return");
+		Hop select = rm.getParameterHop("select");
+		if( rm.getTargetHop() != read || !HopRewriteUtils.isLiteralOfValue(margin, "rows")
+			|| !(empty instanceof LiteralOp) || !HopRewriteUtils.isBinary(select, OpOp2.EQUAL, OpOp2.LESS,
+				OpOp2.LESSEQUAL, OpOp2.GREATER, OpOp2.GREATEREQUAL) || select.getParent().size() != 1 )
+			return;
+		//note: no != because as.matrix converts missing values to NaN, which never match in the read
+		Hop left = select.getInput().get(0);
+		Hop right = select.getInput().get(1);
+		boolean swap = left instanceof LiteralOp;
+		Hop cast = swap ? right : left;
+		Hop val = swap ? left : right;
+		if( !HopRewriteUtils.isUnary(cast, OpOp1.CAST_AS_MATRIX, 1) || !(val instanceof LiteralOp)
+			|| !val.getValueType().isNumeric() || !(cast.getInput().get(0) instanceof IndexingOp) )
+			return;
+		IndexingOp ix = (IndexingOp) cast.getInput().get(0);
+		if( ix.getInput().get(0) != read || ix.getParent().size() != 1 || !ix.isAllRows()
+			|| !(ix.getInput().get(3) instanceof LiteralOp && ix.getInput().get(4) instanceof LiteralOp) )
+			return;
+		long cl = HopRewriteUtils.getIntValueSafe(ix.getInput().get(3));
+		long cu = HopRewriteUtils.getIntValueSafe(ix.getInput().get(4));
+		if( cl != cu || cl < 1 || cl > clen || !isNumericColumn(read, (int)cl-1) )
+			return;
+
+		//check for local read of the file
+		if( OptimizerUtils.isHybridExecutionMode() && OptimizerUtils
+			.estimateSizeExactFrame(rlen, clen) >= OptimizerUtils.getLocalMemBudget() )
+			return;
+
+		//replace the row selection with the read (w/ unknown number of rows)
+		OpOp2 op = ((BinaryOp)select).getOp();
+		if( swap ) //v op X -> X op' v
+			op = (op == OpOp2.LESS) ? OpOp2.GREATER : (op == OpOp2.LESSEQUAL) ? OpOp2.GREATEREQUAL :
+				(op == OpOp2.GREATER) ? OpOp2.LESS : (op == OpOp2.GREATEREQUAL) ? OpOp2.LESSEQUAL : op;
+		read.setReadFilter(new FrameReadFilter(rlen, (int)clen, null, (int)cl-1, op.toString(),
+			String.valueOf(((LiteralOp)val).getDoubleValue()), HopRewriteUtils.getBooleanValueSafe((LiteralOp)empty)));
+		read.setDim1(-1);
+		read.setNnz(-1);
+		HopRewriteUtils.rewireAllParentChildReferences(rm, read);
+		HopRewriteUtils.removeAllChildReferences(rm);
+		HopRewriteUtils.cleanupUnreferenced(select, cast, ix);
+
+		LOG.debug("Applied pushdown of row predicate into frame read '"
+			+ read.getName() + "' (column " + cl + " " + op + " " + val.getName() + ").");
+	}
+
+	private static boolean isNumericColumn(DataOp read, int col) {
+		//obtain the column type from the schema of the read (e.g., from the mtd file)
+		Hop schema = read.getParameterHop(DataExpression.SCHEMAPARAM);
+		if( !(schema instanceof LiteralOp) )
+			return false;
+		String[] parts = ((LiteralOp)schema).getStringValue().split(DataExpression.DEFAULT_DELIM_DELIMITER);
+		try {
+			return parts.length == read.getDim2()
+				&& ValueType.fromExternalString(parts[col].trim().toUpperCase()).isNumeric();
+		}
+		catch(Exception ex) {
+			return false;
+		}
+	}
+
+	private static void rule_PushdownColumnProjection(DataOp read) {
+		//note: unknown number of rows after pushed-down row predicates
+		final FrameReadFilter filter = read.getReadFilter();
+		final long rlen = (filter != null) ? filter.getNumRows() : read.getDim1();
+		final long clen = read.getDim2();
+		if( rlen < 0 || clen <= 1 || clen > Integer.MAX_VALUE || read.getParent().isEmpty() )
+			return;
+
+		//check for consumers of column indexing over all rows w/ literal bounds
+		boolean[] used = new boolean[(int)clen];
+		ArrayList<IndexingOp> consumers = new ArrayList<>();
+		for( Hop p : read.getParent() ) {
+			if( HopRewriteUtils.isUnary(p, OpOp1.NROW) )
+				continue;
+			if( !(p instanceof IndexingOp) || p.getInput().get(0) != read
+				|| !((IndexingOp)p).isAllRows()
+				|| !(p.getInput().get(3) instanceof LiteralOp && p.getInput().get(4) instanceof LiteralOp) )
+				return;
+			long cl = HopRewriteUtils.getIntValueSafe(p.getInput().get(3));
+			long cu = HopRewriteUtils.getIntValueSafe(p.getInput().get(4));
+			if( cl < 1 || cu < cl || cu > clen )
+				return;
+			Arrays.fill(used, (int)cl-1, (int)cu, true);
+			consumers.add((IndexingOp)p);
+		}
+		int[] cols = IntStream.range(0, (int)clen).filter(i -> used[i]).toArray();
+		if( consumers.isEmpty() || cols.length == clen )
+			return;
+
+		//check for local read of projected frame
+		if( OptimizerUtils.isHybridExecutionMode() && OptimizerUtils
+			.estimateSizeExactFrame(rlen, cols.length) >= OptimizerUtils.getLocalMemBudget() )
+			return;
+
+		//shift column bounds to positions in the projected frame
+		int[] pos = new int[(int)clen];
+		for( int i = 0; i < cols.length; i++ )
+			pos[cols[i]] = i + 1;
+		for( IndexingOp ix : consumers ) {
+			long cl = HopRewriteUtils.getIntValueSafe(ix.getInput().get(3));
+			long cu = HopRewriteUtils.getIntValueSafe(ix.getInput().get(4));
+			long ncl = pos[(int)cl-1];
+			HopRewriteUtils.replaceChildReference(ix, ix.getInput().get(3), new LiteralOp(ncl), 3, false);
+			HopRewriteUtils.replaceChildReference(ix, ix.getInput().get(4), new LiteralOp(ncl + cu - cl), 4, false);
+		}
+
+		//set projection (w/ existing row predicate) and output size of read
+		read.setReadFilter((filter != null) ? filter.withSelectedColumns(cols) :
+			new FrameReadFilter(rlen, (int)clen, cols, -1, null, null, false));
+		read.setDim2(cols.length);
+		if( read.getNnz() >= 0 )
+			read.setNnz(read.getDim1() * cols.length);
+		for( IndexingOp ix : consumers )
+			ix.refreshSizeInformation();
+
+		LOG.debug("Applied pushdown of column projection into frame read '"
+			+ read.getName() + "' (" + cols.length + " of " + clen + " columns).");
+	}
+}
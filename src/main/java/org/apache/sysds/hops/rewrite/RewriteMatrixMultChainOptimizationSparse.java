@@ -33,7 +33,6 @@ import org.apache.sysds.hops.estim.SparsityEstimator.OpCode;
 import org.apache.sysds.runtime.controlprogram.LocalVariableMap;
 import org.apache.sysds.runtime.controlprogram.caching.MatrixObject;
 import org.apache.sysds.runtime.instructions.cp.Data;
-import org.apache.sysds.runtime.matrix.data.MatrixBlock;
 
 /**
  * Rule: Determine the optimal order of execution for a chain of
@@ -132,9 +131,13 @@ public class RewriteMatrixMultChainOptimizationSparse extends RewriteMatrixMultC
 		LocalVariableMap vars = state.getVariables();
 		
 		for( int i=0; i<chain.size(); i++ ) {
-			inputsAvail &= HopRewriteUtils.isData(chain.get(0), OpOpData.TRANSIENTREAD);
-			if( inputsAvail )
-				sketchArray[i] = new MMNode(getMatrix(chain.get(i).getName(), vars));
+			inputsAvail &= HopRewriteUtils.isData(chain.get(i), OpOpData.TRANSIENTREAD);
+			if( inputsAvail ) {
+				//reuse synopses attached to the matrix objects (built once)
+				MatrixObject mo = getMatrix(chain.get(i).getName(), vars);
+				sketchArray[i] = new MMNode(mo.getDataCharacteristics(),
+					EstimatorMatrixHistogram.getSynopsis(mo));
+			}
 			else 
 				break;
 		}
@@ -142,11 +145,11 @@ public class RewriteMatrixMultChainOptimizationSparse extends RewriteMatrixMultC
 		return inputsAvail;
 	}
 	
-	private static MatrixBlock getMatrix(String name, LocalVariableMap vars) {
+	private static MatrixObject getMatrix(String name, LocalVariableMap vars) {
 		Data dat = vars.get(name);
 		if( !(dat instanceof MatrixObject) )
 			throw new HopsException("Input '"+name+"' not a matrix: "+dat.getDataType());
-		return ((MatrixObject)dat).acquireReadAndRelease();
+		return (MatrixObject)dat;
 	}
 	
 	private static double dotProduct(int[] h1cNnz, int[] h2rNnz) {
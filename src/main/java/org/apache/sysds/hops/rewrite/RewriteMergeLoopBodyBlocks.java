@@ -0,0 +1,269 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.hops.rewrite;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.apache.sysds.common.Types.OpOpData;
+import org.apache.sysds.hops.BinaryOp;
+import org.apache.sysds.hops.FunctionOp;
+import org.apache.sysds.hops.Hop;
+import org.apache.sysds.hops.LiteralOp;
+import org.apache.sysds.hops.UnaryOp;
+import org.apache.sysds.hops.recompile.Recompiler;
+import org.apache.sysds.parser.ForStatement;
+import org.apache.sysds.parser.ForStatementBlock;
+import org.apache.sysds.parser.IfStatement;
+import org.apache.sysds.parser.IfStatementBlock;
+import org.apache.sysds.parser.ParForStatementBlock;
+import org.apache.sysds.parser.StatementBlock;
+import org.apache.sysds.parser.VariableSet;
+import org.apache.sysds.parser.WhileStatement;
+import org.apache.sysds.parser.WhileStatementBlock;
+
+/**
+ * Rule: Simplify the program structure of while and for loop bodies by merging
+ * sequences of if statement blocks with identical predicates (e.g., intercept or
+ * verbosity flags) into a single if statement block. Last-level statement blocks
+ * in-between and after these if statement blocks are duplicated into both branches,
+ * which are then merged into larger last-level statement blocks. This creates
+ * fusion opportunities for code generation across the original block boundaries
+ * of iterative algorithms (e.g., the conditional intercept handling around the
+ * matrix-vector products of lmCG).
+ *
+ * The rewrite is only applied if the variables read by the predicate are not
+ * updated by the merged blocks, and the number of duplicated operators is bounded.
+ */
+public class RewriteMergeLoopBodyBlocks extends StatementBlockRewriteRule
+{
+	//maximum number of operators duplicated into the else branch per merged if block
+	private static final int MAX_DUPLICATED_HOPS = 256;
+
+	private final RewriteMergeBlockSequence _merge = new RewriteMergeBlockSequence();
+
+	@Override
+	public boolean createsSplitDag() {
+		return false;
+	}
+
+	@Override
+	public List<StatementBlock> rewriteStatementBlock(StatementBlock sb, ProgramRewriteStatus state) {
+		if( sb instanceof WhileStatementBlock ) {
+			WhileStatement wstmt = (WhileStatement) sb.getStatement(0);
+			wstmt.setBody(rewriteLoopBody(wstmt.getBody(), state));
+		}
+		else if( sb instanceof ForStatementBlock && !(sb instanceof ParForStatementBlock) ) {
+			//note: parfor excluded to preserve the validated dependency analysis
+			ForStatement fstmt = (ForStatement) sb.getStatement(0);
+			fstmt.setBody(rewriteLoopBody(fstmt.getBody(), state));
+		}
+		return Arrays.asList(sb);
+	}
+
+	@Override
+	public List<StatementBlock> rewriteStatementBlocks(List<StatementBlock> sbs, ProgramRewriteStatus state) {
+		return sbs;
+	}
+
+	private ArrayList<StatementBlock> rewriteLoopBody(ArrayList<StatementBlock> body, ProgramRewriteStatus state) {
+		ArrayList<StatementBlock> ret = new ArrayList<>(body);
+		for( int i=0; i<ret.size(); i++ ) {
+			if( !(ret.get(i) instanceof IfStatementBlock)
+				|| !isSimplePredicate(((IfStatementBlock)ret.get(i)).getPredicateHops()) )
+				continue;
+			IfStatementBlock isb = (IfStatementBlock) ret.get(i);
+			int budget = MAX_DUPLICATED_HOPS;
+
+			//merge subsequent if blocks with equal predicates (and blocks in-between)
+			boolean merged = false;
+			int j = -1;
+			while( (j = findMergeCandidate(ret, i, budget)) > 0 ) {
+				List<StatementBlock> mid = ret.subList(i+1, j);
+				budget -= countHops(mid);
+				mergeIfStatementBlocks(isb, mid, (IfStatementBlock) ret.get(j));
+				ret.subList(i+1, j+1).clear();
+				merged = true;
+			}
+			if( !merged )
+				continue;
+
+			//sink trailing last-level blocks into both branches
+			j = i + 1;
+			while( j < ret.size() && isDuplicationCandidate(ret.get(j)) )
+				j++;
+			List<StatementBlock> tail = ret.subList(i+1, j);
+			if( !tail.isEmpty() && countHops(tail) <= budget ) {
+				mergeIfStatementBlocks(isb, tail, null);
+				tail.clear();
+			}
+
+			//merge last-level blocks within both branches
+			IfStatement istmt = (IfStatement) isb.getStatement(0);
+			istmt.setIfBody(new ArrayList<>(_merge.rewriteStatementBlocks(istmt.getIfBody(), state)));
+			istmt.setElseBody(new ArrayList<>(_merge.rewriteStatementBlocks(istmt.getElseBody(), state)));
+
+			LOG.debug("Applied mergeLoopBodyBlocks (if block of lines "
+				+ isb.getBeginLine()+"-"+isb.getEndLine()+").");
+		}
+		return ret;
+	}
+
+	private static int findMergeCandidate(List<StatementBlock> sbs, int pos, int budget) {
+		IfStatementBlock isb = (IfStatementBlock) sbs.get(pos);
+		Set<String> predVars = new HashSet<>();
+		rCollectPredicateVariables(isb.getPredicateHops(), predVars);
+
+		int numHops = 0;
+		for( int k=pos+1; k<sbs.size(); k++ ) {
+			StatementBlock sb = sbs.get(k-1);
+			if( sb.variablesUpdated().containsAnyName(predVars) )
+				return -1; //predicate might evaluate differently
+			StatementBlock current = sbs.get(k);
+			if( current instanceof IfStatementBlock ) {
+				return isEqualPredicate(isb.getPredicateHops(),
+					((IfStatementBlock)current).getPredicateHops()) ? k : -1;
+			}
+			else if( !isDuplicationCandidate(current)
+				|| (numHops += countHops(Arrays.asList(current))) > budget )
+				return -1;
+		}
+		return -1;
+	}
+
+	private static void mergeIfStatementBlocks(IfStatementBlock isb, List<StatementBlock> mid, IfStatementBlock isb2) {
+		IfStatement istmt = (IfStatement) isb.getStatement(0);
+		ArrayList<StatementBlock> ifBody = new ArrayList<>(istmt.getIfBody());
+		ArrayList<StatementBlock> elseBody = new ArrayList<>(istmt.getElseBody());
+
+		//append blocks in-between to both branches (with deep copies for else)
+		List<StatementBlock> merged = new ArrayList<>(mid);
+		for( StatementBlock sb : mid ) {
+			ifBody.add(sb);
+			elseBody.add(copyStatementBlock(sb));
+		}
+		if( isb2 != null ) {
+			IfStatement istmt2 = (IfStatement) isb2.getStatement(0);
+			ifBody.addAll(istmt2.getIfBody());
+			elseBody.addAll(istmt2.getElseBody());
+			merged.add(isb2);
+		}
+		istmt.setIfBody(ifBody);
+		istmt.setElseBody(elseBody);
+
+		//modify live variable sets of the merged if block
+		for( StatementBlock sb : merged ) {
+			isb.setGen(VariableSet.union(isb.getGen(), VariableSet.minus(sb.getGen(), isb.getKill())));
+			isb.setKill(VariableSet.union(isb.getKill(), sb.getKill()));
+			isb.setReadVariables(VariableSet.union(isb.variablesRead(), sb.variablesRead()));
+			isb.setUpdatedVariables(VariableSet.union(isb.variablesUpdated(), sb.variablesUpdated()));
+		}
+		isb.setLiveOut(new VariableSet(merged.get(merged.size()-1).liveOut()));
+		isb.setEndLine(merged.get(merged.size()-1).getEndLine());
+		isb.setEndColumn(merged.get(merged.size()-1).getEndColumn());
+	}
+
+	private static StatementBlock copyStatementBlock(StatementBlock sb) {
+		//note: statements are shallow copied (as for the block copies in ProgramConverter),
+		//which is safe because statements are not modified after hop construction and block
+		//merges only concatenate the statement lists; the hops are deep copied because
+		//subsequent rewrites and codegen modify the dags of both branches independently
+		StatementBlock ret = new StatementBlock(sb);
+		ret.setStatements(new ArrayList<>(sb.getStatements()));
+		ret.setHops(Recompiler.deepCopyHopsDag(sb.getHops()));
+		ret.updateRecompilationFlag();
+		ret.setLiveIn(new VariableSet(sb.liveIn()));
+		ret.setLiveOut(new VariableSet(sb.liveOut()));
+		ret.setGen(new VariableSet(sb.getGen()));
+		ret.setKill(new VariableSet(sb.getKill()));
+		ret.setReadVariables(new VariableSet(sb.variablesRead()));
+		ret.setUpdatedVariables(new VariableSet(sb.variablesUpdated()));
+		return ret;
+	}
+
+	private static boolean isDuplicationCandidate(StatementBlock sb) {
+		if( !HopRewriteUtils.isLastLevelStatementBlock(sb) || sb.isSplitDag() || sb.getHops() == null )
+			return false;
+		for( Hop root : sb.getHops() )
+			if( root instanceof FunctionOp )
+				return false;
+		return true;
+	}
+
+	private static boolean isSimplePredicate(Hop hop) {
+		//scalar predicates over transient reads and literals, w/o function calls
+		if( hop == null || !hop.isScalar() )
+			return false;
+		if( hop instanceof LiteralOp || HopRewriteUtils.isData(hop, OpOpData.TRANSIENTREAD) )
+			return true;
+		if( !(hop instanceof UnaryOp || hop instanceof BinaryOp) )
+			return false;
+		for( Hop c : hop.getInput() )
+			if( !isSimplePredicate(c) )
+				return false;
+		return true;
+	}
+
+	private static boolean isEqualPredicate(Hop hop1, Hop hop2) {
+		if( hop1.getClass() != hop2.getClass()
+			|| !hop1.getOpString().equals(hop2.getOpString())
+			|| hop1.getInput().size() != hop2.getInput().size()
+			|| !isSimplePredicate(hop2) )
+			return false;
+		if( hop1 instanceof LiteralOp && !((LiteralOp)hop1).getStringValue()
+			.equals(((LiteralOp)hop2).getStringValue()) )
+			return false;
+		for( int i=0; i<hop1.getInput().size(); i++ )
+			if( !isEqualPredicate(hop1.getInput(i), hop2.getInput(i)) )
+				return false;
+		return true;
+	}
+
+	private static void rCollectPredicateVariables(Hop hop, Set<String> vars) {
+		if( HopRewriteUtils.isData(hop, OpOpData.TRANSIENTREAD) )
+			vars.add(hop.getName());
+		for( Hop c : hop.getInput() )
+			rCollectPredicateVariables(c, vars);
+	}
+
+	private static int countHops(List<StatementBlock> sbs) {
+		int count = 0;
+		for( StatementBlock sb : sbs ) {
+			Hop.resetVisitStatus(sb.getHops());
+			for( Hop root : sb.getHops() )
+				count += rCountHops(root);
+			Hop.resetVisitStatus(sb.getHops());
+		}
+		return count;
+	}
+
+	private static int rCountHops(Hop hop) {
+		if( hop.isVisited() )
+			return 0;
+		int count = 1;
+		for( Hop c : hop.getInput() )
+			count += rCountHops(c);
+		hop.setVisited();
+		return count;
+	}
+}
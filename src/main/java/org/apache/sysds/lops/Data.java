@@ -29,6 +29,7 @@ import org.apache.sysds.common.Types.ValueType;
 import org.apache.sysds.common.Types.ExecType;
 import org.apache.sysds.parser.DataExpression;
 import org.apache.sysds.runtime.instructions.InstructionUtils;
+import org.apache.sysds.runtime.io.FrameReadFilter;
 
 /**
  * Lop to represent data objects. Data objects represent matrices, vectors, 
@@ -41,6 +42,7 @@ public class Data extends Lop
 	private final OpOpData _op;
 	private final boolean literal_var;
 	private HashMap<String, Lop> _inputParams;
+	private FrameReadFilter _readFilter = null;
 
 	/**
 	 * Method to create literal LOPs.
@@ -145,6 +147,15 @@ public class Data extends Lop
 			+ " UpdateInPlace: " + getOutputParameters().getUpdateType();
 	}
 
+	/**
+	 * Sets the column projection and row predicate of a persistent frame read.
+	 * 
+	 * @param filter read filter
+	 */
+	public void setReadFilter(FrameReadFilter filter) {
+		_readFilter = filter;
+	}
+
 	/**
 	 * method to get operation type, i.e. read/write.
 	 * @return operation type
@@ -453,6 +464,10 @@ public class Data extends Lop
 				Data schema = (Data) getNamedInputLop(DataExpression.SCHEMAPARAM);
 				sb.append( OPERAND_DELIMITOR );
 				sb.append( (schema!=null) ? schema.prepScalarLabel() : "*" );
+				if( _readFilter != null ) {
+					sb.append( OPERAND_DELIMITOR );
+					sb.append( _readFilter.toString() );
+				}
 			}
 			return sb.toString();
 		}
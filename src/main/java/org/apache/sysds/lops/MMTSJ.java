@@ -94,7 +94,7 @@ public class MMTSJ extends Lop
 		sb.append( _type );
 		
 		//append degree of parallelism for matrix multiplications
-		if( getExecType()==ExecType.CP || getExecType()==ExecType.FED ) {
+		if( getExecType()==ExecType.CP || getExecType()==ExecType.CP_FILE || getExecType()==ExecType.FED ) {
 			sb.append( OPERAND_DELIMITOR );
 			sb.append( _numThreads );
 			if ( getExecType()==ExecType.FED ){
@@ -72,6 +72,8 @@ public class Ternary extends Lop
 			else if( getExecType() == ExecType.FED )
 				ret = InstructionUtils.concatOperands(ret, String.valueOf(_numThreads), _fedOutput.name());
 		}
+		else if( getDataType().isFrame() && _op == OpOp3.MAP && getExecType() == ExecType.CP )
+			ret = InstructionUtils.concatOperands(ret, String.valueOf(_numThreads));
 		
 		return ret;
 	}
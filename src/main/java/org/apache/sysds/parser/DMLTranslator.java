@@ -1057,6 +1057,7 @@ public class DMLTranslator
 						case CSV:
 						case LIBSVM:
 						case HDF5:
+						case COLUMNAR:
 							// write output in textcell format
 							ae.setOutputParams(ae.getDim1(), ae.getDim2(), ae.getNnz(), ae.getUpdateType(), -1);
 							break;
@@ -784,7 +784,8 @@ public class ParameterizedBuiltinFunctionExpression extends DataIdentifier
 	private void validateOrder(DataIdentifier output, boolean conditional) {
 		//check existence and correctness of arguments
 		Expression target = getVarParam("target");
-		checkTargetParam(target, conditional);
+		if( target == null || target.getOutput().getDataType() != DataType.FRAME )
+			checkTargetParam(target, conditional);
 		
 		//check for unsupported parameters
 		for(String param : getVarParams().keySet())
@@ -820,6 +821,18 @@ public class ParameterizedBuiltinFunctionExpression extends DataIdentifier
 		long dim2 = ( indexreturn instanceof BooleanIdentifier ) ? 
 				((BooleanIdentifier)indexreturn).getValue() ? 1: target.getOutput().getDim2() : -1; 
 		
+		if( target.getOutput().getDataType() == DataType.FRAME ) {
+			//frame sort returns a frame of sorted rows or a matrix of row indexes,
+			//which requires a literal index.return to determine the output type
+			if( !(indexreturn instanceof BooleanIdentifier) )
+				raiseValidateError("Frame order requires a literal 'index.return'.", conditional, LanguageErrorCodes.INVALID_PARAMETERS);
+			boolean ixret = indexreturn instanceof BooleanIdentifier && ((BooleanIdentifier)indexreturn).getValue();
+			output.setDataType(ixret ? DataType.MATRIX : DataType.FRAME);
+			output.setValueType(ixret ? ValueType.FP64 : ValueType.STRING);
+			output.setDimensions(target.getOutput().getDim1(), dim2);
+			return;
+		}
+		
 		// Output is a matrix with same dims as input
 		output.setDataType(DataType.MATRIX);
 		output.setValueType(ValueType.FP64);
@@ -0,0 +1,337 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.runtime.compress.io;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.sysds.runtime.compress.CompressedMatrixBlock;
+import org.apache.sysds.runtime.compress.CompressedMatrixBlockFactory;
+import org.apache.sysds.runtime.compress.DMLCompressionException;
+import org.apache.sysds.runtime.compress.colgroup.ADictBasedColGroup;
+import org.apache.sysds.runtime.compress.colgroup.AColGroup;
+import org.apache.sysds.runtime.compress.colgroup.ColGroupDDC;
+import org.apache.sysds.runtime.compress.colgroup.ColGroupUncompressed;
+import org.apache.sysds.runtime.compress.colgroup.dictionary.IDictionary;
+import org.apache.sysds.runtime.compress.colgroup.indexes.ColIndexFactory;
+import org.apache.sysds.runtime.compress.colgroup.mapping.AMapToData;
+import org.apache.sysds.runtime.compress.colgroup.mapping.MapToFactory;
+import org.apache.sysds.runtime.compress.colgroup.scheme.CompressionScheme;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.util.CommonThreadPool;
+
+/**
+ * Incremental compression of a matrix that is appended in row order, which allows readers to encode row chunks into
+ * compressed column groups while reading instead of materializing the entire uncompressed matrix first.
+ *
+ * The first chunk is compressed via the normal, sample-based compression planning, which determines the column
+ * co-coding and the encoding of each column group. The compression scheme extracted from this first chunk is then
+ * updated and applied to all subsequent chunks, and the encoded chunks are finally appended into column groups of the
+ * full matrix. Accordingly, the peak memory is the compressed size plus a single uncompressed chunk. If the first chunk
+ * is not compressible, the remaining chunks are collected into an uncompressed matrix block.
+ */
+public class ChunkedCompressor {
+	protected static final Log LOG = LogFactory.getLog(ChunkedCompressor.class.getName());
+
+	/** Maximum number of cells per uncompressed chunk (128MB in dense format) */
+	public static final long CHUNK_CELLS = 16L * 1024 * 1024;
+	/** Minimum number of rows per chunk, to obtain a reasonable sample for the compression planning */
+	public static final int MIN_CHUNK_ROWS = 4096;
+
+	private final int _rlen;
+	private final int _clen;
+	private final int _k;
+	private final int _chunkRows;
+
+	/** encoded chunks of equal number of rows (except the last) */
+	private final List<CompressedMatrixBlock> _chunks = new ArrayList<>();
+	/** compression scheme obtained from the first chunk */
+	private CompressionScheme _scheme = null;
+	/** fallback output if the first chunk is not compressible */
+	private MatrixBlock _uncompressed = null;
+	/** partially filled chunk of appended rows */
+	private MatrixBlock _buff = null;
+	private int _buffRows = 0;
+	/** number of encoded rows */
+	private int _rows = 0;
+	private long _nnz = 0;
+
+	/**
+	 * Create a chunked compressor for a matrix of known dimensions.
+	 *
+	 * @param rlen The number of rows of the full matrix
+	 * @param clen The number of columns of the full matrix
+	 * @param k    The parallelization degree for encoding chunks
+	 */
+	public ChunkedCompressor(int rlen, int clen, int k) {
+		this(rlen, clen, getChunkSize(rlen, clen), k);
+	}
+
+	/**
+	 * Create a chunked compressor for a matrix of known dimensions and a given chunk size.
+	 *
+	 * @param rlen      The number of rows of the full matrix
+	 * @param clen      The number of columns of the full matrix
+	 * @param chunkRows The number of rows per chunk
+	 * @param k         The parallelization degree for encoding chunks
+	 */
+	public ChunkedCompressor(int rlen, int clen, int chunkRows, int k) {
+		_rlen = rlen;
+		_clen = clen;
+		_k = k;
+		_chunkRows = Math.max(1, Math.min(rlen, chunkRows));
+	}
+
+	/**
+	 * Get the number of rows per chunk, which is equal for all chunks (except the last) in order to allow appending the
+	 * encoded column groups of all chunks.
+	 *
+	 * @param rlen The number of rows
+	 * @param clen The number of columns
+	 * @return The number of rows per chunk
+	 */
+	public static int getChunkSize(int rlen, int clen) {
+		long rows = Math.max(MIN_CHUNK_ROWS, CHUNK_CELLS / Math.max(clen, 1));
+		return (int) Math.max(1, Math.min(rlen, rows));
+	}
+
+	public int getNumRows() {
+		return _rows + _buffRows;
+	}
+
+	/**
+	 * Append the rows of the given block after all previously appended rows. Full chunks are encoded immediately.
+	 *
+	 * @param mb The next rows of the matrix with the number of columns of the matrix
+	 */
+	public void append(MatrixBlock mb) {
+		final int n = mb.getNumRows();
+		if(mb.getNumColumns() != _clen)
+			throw new DMLCompressionException("Invalid number of columns: " + mb.getNumColumns() + " vs " + _clen);
+		if(getNumRows() + n > _rlen)
+			throw new DMLCompressionException(
+				"Appended rows exceed the number of rows: " + (getNumRows() + n) + " > " + _rlen);
+
+		int rl = 0;
+		while(rl < n) {
+			final int m = Math.min(n - rl, _chunkRows - _buffRows);
+			if(_buffRows == 0 && m == _chunkRows) {
+				// full chunk, encode without copy
+				encodeChunk((rl == 0 && m == n) ? mb : mb.slice(rl, rl + m - 1));
+			}
+			else {
+				// partial chunk, copy into chunk buffer
+				if(_buff == null)
+					_buff = allocateChunk(_chunkRows, mb.isInSparseFormat());
+				_buff.copy(_buffRows, _buffRows + m - 1, 0, _clen - 1, mb.slice(rl, rl + m - 1), false);
+				_buffRows += m;
+				if(_buffRows == _chunkRows)
+					flush();
+			}
+			rl += m;
+		}
+	}
+
+	/**
+	 * Finalize the compression after all rows have been appended. Missing rows (e.g., if the given number of rows
+	 * exceeds the rows of the read input) are padded with zeros.
+	 *
+	 * @return The compressed matrix block, or an uncompressed matrix block if not compressible
+	 */
+	public MatrixBlock finish() {
+		// pad missing rows with an empty block and encode remaining rows
+		if(getNumRows() < _rlen)
+			append(new MatrixBlock(_rlen - getNumRows(), _clen, true));
+		flush();
+
+		if(_uncompressed != null) {
+			_uncompressed.setNonZeros(_nnz);
+			_uncompressed.examSparsity();
+			return _uncompressed;
+		}
+		if(_chunks.isEmpty())
+			return new MatrixBlock(_rlen, _clen, true);
+		if(_chunks.size() == 1)
+			return _chunks.get(0);
+
+		// combine the column groups of all chunks
+		final int nGroups = _chunks.get(0).getColGroups().size();
+		final ExecutorService pool = CommonThreadPool.get(_k);
+		try {
+			List<Callable<AColGroup>> tasks = new ArrayList<>(nGroups);
+			for(int i = 0; i < nGroups; i++) {
+				final int gid = i;
+				tasks.add(() -> combineGroup(gid));
+			}
+			List<AColGroup> groups = new ArrayList<>(nGroups);
+			for(Future<AColGroup> f : pool.invokeAll(tasks))
+				groups.add(f.get());
+			_chunks.clear();
+			return new CompressedMatrixBlock(_rlen, _clen, _nnz, false, groups);
+		}
+		catch(Exception e) {
+			throw new DMLCompressionException("Failed to combine compressed chunks", e);
+		}
+		finally {
+			pool.shutdown();
+		}
+	}
+
+	private void flush() {
+		if(_buffRows == 0)
+			return;
+		MatrixBlock chunk = (_buffRows == _buff.getNumRows()) ? _buff : _buff.slice(0, _buffRows - 1);
+		_buff = null;
+		_buffRows = 0;
+		encodeChunk(chunk);
+	}
+
+	private void encodeChunk(MatrixBlock chunk) {
+		if(chunk.getNonZeros() < 0)
+			chunk.recomputeNonZeros();
+		final int rl = _rows;
+		_nnz += chunk.getNonZeros();
+		_rows += chunk.getNumRows();
+
+		if(_uncompressed != null) {
+			_uncompressed.copy(rl, _rows - 1, 0, _clen - 1, chunk, false);
+		}
+		else if(_scheme == null) {
+			// sample-based compression planning on the first chunk
+			MatrixBlock cmb = CompressedMatrixBlockFactory.compress(chunk, _k).getLeft();
+			if(cmb instanceof CompressedMatrixBlock && !((CompressedMatrixBlock) cmb).isOverlapping()) {
+				_scheme = CompressionScheme.getScheme((CompressedMatrixBlock) cmb);
+				_chunks.add((CompressedMatrixBlock) cmb);
+			}
+			else {
+				LOG.debug("First chunk not compressible, fallback to uncompressed read");
+				_uncompressed = allocateChunk(_rlen, chunk.isInSparseFormat());
+				_uncompressed.copy(rl, _rows - 1, 0, _clen - 1, chunk, false);
+			}
+		}
+		else {
+			_chunks.add(_scheme.updateAndEncode(chunk, _k));
+		}
+	}
+
+	private MatrixBlock allocateChunk(int rows, boolean sparse) {
+		MatrixBlock ret = new MatrixBlock(rows, _clen, sparse);
+		ret.allocateBlock();
+		return ret;
+	}
+
+	private AColGroup combineGroup(int gid) {
+		final AColGroup[] parts = new AColGroup[_chunks.size()];
+		for(int i = 0; i < parts.length; i++)
+			parts[i] = _chunks.get(i).getColGroups().get(gid);
+
+		// updated schemes only add new distinct values, so the largest dictionary
+		// of the encoded chunks is a superset of the dictionaries of previous chunks
+		final IDictionary dict = unifyDictionaries(parts);
+
+		try {
+			if(dict != null && allDDC(parts))
+				return combineDDC(parts, dict);
+			AColGroup ret = AColGroup.appendN(parts, _chunkRows, _rlen);
+			if(ret != null)
+				return ret;
+		}
+		catch(Exception e) {
+			LOG.debug("Failed to append column groups, fallback to decompression: " + e.getMessage());
+		}
+		return combineViaDecompression(parts);
+	}
+
+	private static IDictionary unifyDictionaries(AColGroup[] parts) {
+		ADictBasedColGroup max = null;
+		for(AColGroup g : parts)
+			if(g instanceof ADictBasedColGroup && (max == null || getNumValues(g) > getNumValues(max)))
+				max = (ADictBasedColGroup) g;
+		if(max == null)
+			return null;
+
+		final IDictionary dict = max.getDictionary();
+		final int nCol = max.getNumCols();
+		for(int i = 0; i < parts.length; i++) {
+			if(parts[i] == max || parts[i].getClass() != max.getClass())
+				continue;
+			final ADictBasedColGroup g = (ADictBasedColGroup) parts[i];
+			if(g.getDictionary() != dict && isPrefix(g.getDictionary(), getNumValues(g), dict, nCol))
+				parts[i] = g.copyAndSet(dict);
+		}
+		return dict;
+	}
+
+	private static int getNumValues(AColGroup g) {
+		return ((ADictBasedColGroup) g).getDictionary().getNumberOfValues(g.getNumCols());
+	}
+
+	private static boolean isPrefix(IDictionary a, int nVals, IDictionary b, int nCol) {
+		for(int r = 0; r < nVals; r++)
+			for(int c = 0; c < nCol; c++)
+				if(Double.compare(a.getValue(r, c, nCol), b.getValue(r, c, nCol)) != 0)
+					return false;
+		return true;
+	}
+
+	private static boolean allDDC(AColGroup[] parts) {
+		for(AColGroup g : parts)
+			if(!(g instanceof ColGroupDDC))
+				return false;
+		return true;
+	}
+
+	private AColGroup combineDDC(AColGroup[] parts, IDictionary dict) {
+		// concatenate the mappings of all chunks, which might use different map types
+		final int nVals = dict.getNumberOfValues(parts[0].getNumCols());
+		final AMapToData ret = MapToFactory.create(_rlen, nVals);
+		int off = 0;
+		for(AColGroup g : parts) {
+			final ColGroupDDC ddc = (ColGroupDDC) g;
+			if(ddc.getDictionary() != dict)
+				throw new DMLCompressionException("Inconsistent dictionaries of encoded chunks");
+			final AMapToData m = ddc.getMapToData();
+			for(int i = 0; i < m.size(); i++)
+				ret.set(off + i, m.getIndex(i));
+			off += m.size();
+		}
+		return ColGroupDDC.create(parts[0].getColIndices(), dict, ret, null);
+	}
+
+	private AColGroup combineViaDecompression(AColGroup[] parts) {
+		// decompress into a block of the group columns and recompress
+		final int nCol = parts[0].getNumCols();
+		final MatrixBlock mb = new MatrixBlock(_rlen, nCol, false);
+		mb.allocateDenseBlock();
+		int off = 0;
+		for(AColGroup g : parts) {
+			final int nRow = Math.min(_chunkRows, _rlen - off);
+			g.copyAndSet(ColIndexFactory.create(nCol)).decompressToDenseBlock(mb.getDenseBlock(), 0, nRow, off, 0);
+			off += nRow;
+		}
+		mb.recomputeNonZeros();
+		return ColGroupUncompressed.create(mb, parts[0].getColIndices()).recompress();
+	}
+}
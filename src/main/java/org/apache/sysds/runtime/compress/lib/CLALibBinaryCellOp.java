@@ -36,18 +36,18 @@ import org.apache.sysds.runtime.compress.CompressedMatrixBlock;
 import org.apache.sysds.runtime.compress.CompressedMatrixBlockFactory;
 import org.apache.sysds.runtime.compress.colgroup.AColGroup;
 import org.apache.sysds.runtime.compress.colgroup.AColGroup.CompressionType;
-import org.apache.sysds.runtime.compress.colgroup.ADictBasedColGroup;
 import org.apache.sysds.runtime.compress.colgroup.ASDCZero;
 import org.apache.sysds.runtime.compress.colgroup.ColGroupConst;
 import org.apache.sysds.runtime.compress.colgroup.ColGroupDDC;
 import org.apache.sysds.runtime.compress.colgroup.ColGroupEmpty;
-import org.apache.sysds.runtime.compress.colgroup.IMapToDataGroup;
+import org.apache.sysds.runtime.compress.colgroup.ColGroupUncompressed;
 import org.apache.sysds.runtime.compress.colgroup.dictionary.MatrixBlockDictionary;
 import org.apache.sysds.runtime.compress.colgroup.indexes.ColIndexFactory;
 import org.apache.sysds.runtime.compress.colgroup.indexes.IColIndex;
 import org.apache.sysds.runtime.compress.colgroup.mapping.AMapToData;
 import org.apache.sysds.runtime.compress.colgroup.mapping.MapToFactory;
 import org.apache.sysds.runtime.compress.colgroup.offset.AIterator;
+import org.apache.sysds.runtime.compress.utils.IntArrayList;
 import org.apache.sysds.runtime.data.DenseBlock;
 import org.apache.sysds.runtime.data.DenseBlockFP64;
 import org.apache.sysds.runtime.data.SparseBlock;
@@ -108,8 +108,13 @@ public final class CLALibBinaryCellOp {
 				ScalarOperator sop = new LeftScalarOperator(op.fn, that.get(0, 0), op.getNumThreads());
 				return CLALibScalar.scalarOperations(sop, m1, null);
 			}
-			that = CompressedMatrixBlock.getUncompressed(that, "Decompressing left side in BinaryOps");
 			BinaryAccessType atype = LibMatrixBincell.getBinaryAccessTypeExtended(that, m1);
+			if(isDoubleCompressedOpApplicable(m1, that, atype)) {
+				MatrixBlock ret = doubleCompressedBinaryOp(op, (CompressedMatrixBlock) that, m1);
+				if(ret != null)
+					return ret;
+			}
+			that = CompressedMatrixBlock.getUncompressed(that, "Decompressing left side in BinaryOps");
 			return selectProcessingBasedOnAccessType(op, m1, that, atype, true);
 		}
 		catch(Exception e) {
@@ -120,8 +125,11 @@ public final class CLALibBinaryCellOp {
 	private static MatrixBlock binaryOperationsRightFiltered(BinaryOperator op, CompressedMatrixBlock m1,
 		MatrixBlock that) throws Exception {
 		BinaryAccessType atype = LibMatrixBincell.getBinaryAccessTypeExtended(m1, that);
-		if(isDoubleCompressedOpApplicable(m1, that))
-			return doubleCompressedBinaryOp(op, m1, (CompressedMatrixBlock) that);
+		if(isDoubleCompressedOpApplicable(m1, that, atype)) {
+			MatrixBlock ret = doubleCompressedBinaryOp(op, m1, (CompressedMatrixBlock) that);
+			if(ret != null)
+				return ret;
+		}
 		if(that instanceof CompressedMatrixBlock && that.getNumColumns() == m1.getNumColumns()
 				&& that.getInMemorySize() < m1.getInMemorySize() ) {
 			MatrixBlock m1uc = CompressedMatrixBlock.getUncompressed(m1, "Decompressing left side in BinaryOps");
@@ -134,28 +142,123 @@ public final class CLALibBinaryCellOp {
 		}
 	}
 
-	private static boolean isDoubleCompressedOpApplicable(CompressedMatrixBlock m1, MatrixBlock that) {
+	private static boolean isDoubleCompressedOpApplicable(CompressedMatrixBlock m1, MatrixBlock that,
+		BinaryAccessType atype) {
 		return that instanceof CompressedMatrixBlock
+				&& atype == BinaryAccessType.MATRIX_MATRIX
 				&& !m1.isOverlapping()
-				&& m1.getColGroups().get(0) instanceof ColGroupDDC
-				&& !((CompressedMatrixBlock) that).isOverlapping()
-				&& ((CompressedMatrixBlock) that).getColGroups().get(0) instanceof ColGroupDDC
-				&& ((IMapToDataGroup) m1.getColGroups().get(0)).getMapToData() ==
-					((IMapToDataGroup) ((CompressedMatrixBlock) that).getColGroups().get(0)).getMapToData();
+				&& !((CompressedMatrixBlock) that).isOverlapping();
 	}
 
-	private static CompressedMatrixBlock doubleCompressedBinaryOp(BinaryOperator op, CompressedMatrixBlock m1, CompressedMatrixBlock m2) {
-		LOG.debug("Double Compressed BinaryOp");
-		AColGroup left = m1.getColGroups().get(0);
-		AColGroup right = m2.getColGroups().get(0);
-		AMapToData lm = ((IMapToDataGroup) left).getMapToData();
-		MatrixBlock lmb = ((ADictBasedColGroup) left).getDictionary().getMBDict(m1.getNumColumns()).getMatrixBlock();
-		MatrixBlock rmb = ((ADictBasedColGroup) right).getDictionary().getMBDict(m2.getNumColumns()).getMatrixBlock();
-		MatrixBlock out = lmb.binaryOperations(op, rmb);
-		AColGroup rgroup = ColGroupDDC.create(left.getColIndices(), MatrixBlockDictionary.create(out), lm, null);
-		CompressedMatrixBlock outCompressed = new CompressedMatrixBlock(m1.getNumRows(), m1.getNumColumns());
-		outCompressed.allocateColGroup(rgroup);
-		return outCompressed;
+	/**
+	 * Co-coded binary operation of two compressed blocks of equal dimensions. Column groups with equal column indexes
+	 * are processed pair-wise directly on their dictionaries if both groups are DDC groups with an equivalent mapping,
+	 * or if one of them is constant or empty. Only the columns of the remaining unpaired groups are decompressed, and
+	 * returned as an uncompressed column group.
+	 * 
+	 * @param op The binary operator
+	 * @param m1 The left-hand-side compressed block
+	 * @param m2 The right-hand-side compressed block
+	 * @return The compressed result, or null if no column groups could be paired
+	 */
+	private static CompressedMatrixBlock doubleCompressedBinaryOp(BinaryOperator op, CompressedMatrixBlock m1,
+		CompressedMatrixBlock m2) {
+		final int nCol = m1.getNumColumns();
+		final List<AColGroup> g2s = m2.getColGroups();
+		final AColGroup[] firstCol2 = new AColGroup[nCol];
+		for(AColGroup g2 : g2s)
+			firstCol2[g2.getColIndices().get(0)] = g2;
+
+		// pair column groups and apply the operation on dictionaries
+		final List<AColGroup> newColGroups = new ArrayList<>();
+		final boolean[] paired = new boolean[nCol];
+		for(AColGroup g1 : m1.getColGroups()) {
+			final IColIndex cols = g1.getColIndices();
+			final AColGroup g2 = firstCol2[cols.get(0)];
+			final AColGroup ret = (g2 != null && cols.equals(g2.getColIndices())) ? //
+				binaryGroupOp(op, g1, g2, nCol) : null;
+			if(ret != null) {
+				newColGroups.add(ret);
+				for(int i = 0; i < cols.size(); i++)
+					paired[cols.get(i)] = true;
+			}
+		}
+		if(newColGroups.isEmpty())
+			return null;
+		LOG.debug("Double Compressed BinaryOp (" + newColGroups.size() + " co-coded column groups)");
+
+		// fallback for remaining columns (incl. columns w/o groups)
+		final int[] colMap = new int[nCol];
+		final IntArrayList rem = new IntArrayList();
+		for(int j = 0; j < nCol; j++)
+			if(!paired[j]) {
+				colMap[j] = rem.size();
+				rem.appendValue(j);
+			}
+		if(rem.size() > 0) {
+			MatrixBlock a = decompressColumns(m1, paired, colMap, rem.size());
+			MatrixBlock b = decompressColumns(m2, paired, colMap, rem.size());
+			MatrixBlock out = a.binaryOperations(op, b);
+			newColGroups.add(ColGroupUncompressed.create(out, ColIndexFactory.create(rem)));
+		}
+
+		CompressedMatrixBlock ret = new CompressedMatrixBlock(m1.getNumRows(), nCol);
+		ret.allocateColGroupList(newColGroups);
+		ret.setOverlapping(false);
+		return ret;
+	}
+
+	private static AColGroup binaryGroupOp(BinaryOperator op, AColGroup g1, AColGroup g2, int nCol) {
+		if(g2 instanceof ColGroupConst || g2 instanceof ColGroupEmpty) {
+			final double[] v = getRowVector(g2, nCol);
+			return g1.binaryRowOpRight(op, v, op.isRowSafeRight(v));
+		}
+		else if(g1 instanceof ColGroupConst || g1 instanceof ColGroupEmpty) {
+			final double[] v = getRowVector(g1, nCol);
+			return g2.binaryRowOpLeft(op, v, op.isRowSafeLeft(v));
+		}
+		else if(g1 instanceof ColGroupDDC && g2 instanceof ColGroupDDC) {
+			final AMapToData lm = ((ColGroupDDC) g1).getMapToData();
+			final AMapToData rm = ((ColGroupDDC) g2).getMapToData();
+			if(lm != rm && (lm.getUnique() != rm.getUnique() || !lm.equals(rm)))
+				return null;
+			final MatrixBlockDictionary ld = ((ColGroupDDC) g1).getDictionary().getMBDict(g1.getNumCols());
+			final MatrixBlockDictionary rd = ((ColGroupDDC) g2).getDictionary().getMBDict(g2.getNumCols());
+			if(ld == null || rd == null || ld.getMatrixBlock().getNumRows() != rd.getMatrixBlock().getNumRows())
+				return null;
+			final MatrixBlock out = ld.getMatrixBlock().binaryOperations(op, rd.getMatrixBlock());
+			return ColGroupDDC.create(g1.getColIndices(), MatrixBlockDictionary.create(out), lm, null);
+		}
+		return null; // different index structures
+	}
+
+	private static double[] getRowVector(AColGroup g, int nCol) {
+		final double[] v = new double[nCol];
+		if(g instanceof ColGroupConst) {
+			final IColIndex cols = g.getColIndices();
+			final double[] vals = ((ColGroupConst) g).getValues();
+			for(int i = 0; i < cols.size(); i++)
+				v[cols.get(i)] = vals[i];
+		}
+		return v;
+	}
+
+	private static MatrixBlock decompressColumns(CompressedMatrixBlock m, boolean[] paired, int[] colMap, int nCol) {
+		final MatrixBlock ret = new MatrixBlock(m.getNumRows(), nCol, false);
+		ret.allocateDenseBlock();
+		final DenseBlock db = ret.getDenseBlock();
+		for(AColGroup g : m.getColGroups()) {
+			final IColIndex cols = g.getColIndices();
+			if(paired[cols.get(0)])
+				continue;
+			final int[] newCols = new int[cols.size()];
+			for(int i = 0; i < cols.size(); i++)
+				newCols[i] = colMap[cols.get(i)];
+			g.copyAndSet(ColIndexFactory.create(newCols)).decompressToDenseBlock(db, 0, m.getNumRows());
+		}
+		ret.recomputeNonZeros();
+		ret.examSparsity();
+		return ret;
 	}
 
 	private static MatrixBlock selectProcessingBasedOnAccessType(BinaryOperator op, CompressedMatrixBlock m1,
@@ -729,6 +729,7 @@ public class ParForProgramBlock extends ForProgramBlock {
 		final LocalTaskQueue<Task> queue = new LocalTaskQueue<>();
 		final Thread[] threads         = new Thread[_numThreads];
 		final LocalParWorker[] workers = new LocalParWorker[_numThreads];
+		boolean viewsReleased = false;
 		try
 		{
 			// Step 1) create task queue and init workers in parallel
@@ -775,6 +776,10 @@ public class ParForProgramBlock extends ForProgramBlock {
 			for( Thread thread : threads )
 				thread.join();
 			
+			//release shared in-place result variables (copy-on-write views of workers)
+			releaseSharedViews(ec, workers);
+			viewsReleased = true;
+			
 			// Step 4) collecting results from each parallel worker
 			//obtain results and cleanup other intermediates before result merge
 			LocalVariableMap [] localVariables = new LocalVariableMap [_numThreads]; 
@@ -824,12 +829,24 @@ public class ParForProgramBlock extends ForProgramBlock {
 			//(in finally to prevent error side effects for multiple scripts in one jvm)
 			resetMemoryBudget();
 
+			//release shared views on errors before result merge (otherwise, the
+			//parent's in-place result variables would be copied on every update)
+			if( !viewsReleased )
+				releaseSharedViews(ec, workers);
+
 			if(threads != null) 
 				for(Thread t : threads) 
 					CommonThreadPool.shutdownAsyncPools(t);
 		}
 	}
 
+	private static void releaseSharedViews(ExecutionContext ec, LocalParWorker[] workers) {
+		//one view per created worker context
+		for( LocalParWorker worker : workers )
+			if( worker != null )
+				ProgramConverter.releaseSharedViews(ec);
+	}
+
 	private void executeRemoteSparkParFor(ExecutionContext ec, IntObject from, IntObject to, IntObject incr)
 	{
 		// Step 0) check and compile to CP (if forced remote parfor)
@@ -50,6 +50,8 @@ import org.apache.sysds.runtime.lineage.LineageCacheConfig.ReuseCacheType;
 import org.apache.sysds.runtime.matrix.data.MatrixBlock;
 import org.apache.sysds.runtime.meta.MetaData;
 import org.apache.sysds.runtime.meta.MetaDataFormat;
+import org.apache.sysds.utils.stats.JFREvents;
+import org.apache.sysds.utils.stats.JFREvents.InstructionEvent;
 import org.apache.sysds.utils.stats.RecompileStatistics;
 import org.apache.sysds.utils.Statistics;
 
@@ -189,11 +191,23 @@ public abstract class ProgramBlock implements ParseInfo {
 	}
 
 	protected void executeInstructions(ArrayList<Instruction> inst, ExecutionContext ec) {
-		for(int i = 0; i < inst.size(); i++) {
-			// indexed access required due to dynamic add
-			Instruction currInst = inst.get(i);
-			// execute instruction
-			executeSingleInstruction(currInst, ec);
+		int distance = ConfigurationManager.getReadAheadDistance();
+		ReadAheadScheduler readAhead = (distance > 0 && inst.size() > 1) ?
+			new ReadAheadScheduler(ec, distance) : null;
+		try {
+			for(int i = 0; i < inst.size(); i++) {
+				// indexed access required due to dynamic add
+				Instruction currInst = inst.get(i);
+				// asynchronously restore inputs of subsequent instructions
+				if(readAhead != null)
+					readAhead.next(inst, i);
+				// execute instruction
+				executeSingleInstruction(currInst, ec);
+			}
+		}
+		finally {
+			if(readAhead != null)
+				readAhead.close();
 		}
 	}
 
@@ -224,27 +238,37 @@ public abstract class ProgramBlock implements ParseInfo {
 
 			// pre-process instruction (inst patching, listeners, lineage)
 			Instruction tmp = currInst.preprocessInstruction(ec);
+			InstructionEvent ev = JFREvents.beginInstruction(tmp, ec);
+			boolean reused = false;
+			boolean success = false;
+			try {
+				// try to reuse instruction result from lineage cache
+				reused = LineageCache.reuse(tmp, ec);
+				if(!reused) {
+					long et0 = (!ReuseCacheType.isNone() || DMLScript.LINEAGE_ESTIMATE) ? System.nanoTime() : 0;
+
+					// process actual instruction
+					tmp.processInstruction(ec);
+
+					// cache result
+					LineageCache.putValue(tmp, ec, et0);
+
+					// post-process instruction (debug)
+					tmp.postprocessInstruction(ec);
+
+					// maintain aggregate statistics
+					if(DMLScript.STATISTICS) {
+						Statistics.maintainCPHeavyHitters(tmp.getExtendedOpcode(), System.nanoTime() - t0);
+					}
 
-			// try to reuse instruction result from lineage cache
-			if(!LineageCache.reuse(tmp, ec)) {
-				long et0 = (!ReuseCacheType.isNone() || DMLScript.LINEAGE_ESTIMATE) ? System.nanoTime() : 0;
-
-				// process actual instruction
-				tmp.processInstruction(ec);
-
-				// cache result
-				LineageCache.putValue(tmp, ec, et0);
-
-				// post-process instruction (debug)
-				tmp.postprocessInstruction(ec);
-
-				// maintain aggregate statistics
-				if(DMLScript.STATISTICS) {
-					Statistics.maintainCPHeavyHitters(tmp.getExtendedOpcode(), System.nanoTime() - t0);
+					if (DMLScript.STATISTICS_NGRAMS)
+						Statistics.maintainNGramsFromLineage(tmp, ec, t0);
 				}
-
-				if (DMLScript.STATISTICS_NGRAMS)
-					Statistics.maintainNGramsFromLineage(tmp, ec, t0);
+				success = true;
+			}
+			finally {
+				// commit event of failed instructions too
+				JFREvents.commitInstruction(ev, reused, success);
 			}
 
 			// optional trace information (instruction and runtime)
@@ -0,0 +1,210 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.runtime.controlprogram;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.sysds.api.DMLScript;
+import org.apache.sysds.hops.OptimizerUtils;
+import org.apache.sysds.runtime.controlprogram.caching.CacheStatistics;
+import org.apache.sysds.runtime.controlprogram.caching.MatrixObject;
+import org.apache.sysds.runtime.controlprogram.context.ExecutionContext;
+import org.apache.sysds.runtime.instructions.Instruction;
+import org.apache.sysds.runtime.instructions.cp.BuiltinNaryCPInstruction;
+import org.apache.sysds.runtime.instructions.cp.CPOperand;
+import org.apache.sysds.runtime.instructions.cp.ComputationCPInstruction;
+import org.apache.sysds.runtime.instructions.cp.Data;
+import org.apache.sysds.runtime.meta.DataCharacteristics;
+import org.apache.sysds.runtime.util.CommonThreadPool;
+
+/**
+ * Runtime read-ahead of instruction inputs within a basic program block. Before executing an instruction, the
+ * scheduler inspects the inputs of the next N CP instructions and asynchronously restores matrices that are not in
+ * memory but can be restored without recomputation (evicted local spill files and pending RDD operations). Federated
+ * inputs are excluded because the read-ahead runs before the replacement of CP by FED instructions, and pulling the
+ * data would defeat the federated execution. The total size of restored but not yet consumed inputs is bounded by a
+ * memory budget that is shared across concurrent schedulers (e.g., parfor workers). When an instruction consumes a
+ * restored input, the overlapped restore time is reported as saved stall time in the cache statistics.
+ */
+public class ReadAheadScheduler {
+	private static final Log LOG = LogFactory.getLog(ReadAheadScheduler.class.getName());
+
+	/** Fraction of the local memory budget available for restored but not yet consumed inputs */
+	public static double MEM_BUDGET_RATIO = 0.1;
+
+	// memory reserved by in-flight or unconsumed restores of all schedulers
+	private static final AtomicLong _reserved = new AtomicLong(0);
+
+	private final ExecutionContext _ec;
+	private final int _distance;
+	private final long _budget;
+	private final Map<MatrixObject, RestoreTask> _tasks = new IdentityHashMap<>();
+
+	public ReadAheadScheduler(ExecutionContext ec, int distance) {
+		_ec = ec;
+		_distance = distance;
+		_budget = (long) (OptimizerUtils.getLocalMemBudget() * MEM_BUDGET_RATIO);
+	}
+
+	/**
+	 * Account for the inputs of the instruction at the given position, and schedule restores for the inputs of the
+	 * subsequent instructions within the read-ahead distance.
+	 *
+	 * @param inst list of instructions of the program block
+	 * @param pos  position of the instruction to be executed next
+	 */
+	public void next(List<Instruction> inst, int pos) {
+		// consume restores of the current instruction
+		if(!_tasks.isEmpty()) {
+			for(MatrixObject mo : getInputs(inst.get(pos))) {
+				RestoreTask task = _tasks.remove(mo);
+				if(task != null)
+					consume(task);
+			}
+		}
+
+		// schedule restores for the lookahead window
+		int end = Math.min(inst.size(), pos + 1 + _distance);
+		for(int i = pos + 1; i < end; i++) {
+			for(MatrixObject mo : getInputs(inst.get(i))) {
+				if(_tasks.containsKey(mo) || !mo.isRestorable())
+					continue;
+				long size = getSize(mo);
+				if(size < 0 || !reserve(size))
+					continue;
+				RestoreTask task = new RestoreTask(mo, size);
+				task._future = CommonThreadPool.getDynamicPool().submit(task);
+				_tasks.put(mo, task);
+			}
+		}
+	}
+
+	/**
+	 * Releases the memory reserved by all unconsumed restores, e.g., on the end of a program block or after
+	 * exceptions. Running restores are not interrupted but their results are left to the buffer pool.
+	 */
+	public void close() {
+		for(RestoreTask task : _tasks.values()) {
+			task._future.cancel(false);
+			_reserved.addAndGet(-task._size);
+		}
+		_tasks.clear();
+	}
+
+	private void consume(RestoreTask task) {
+		long t1 = System.nanoTime();
+		// restores that did not start yet are left to the instruction itself
+		if(task._t0 == 0)
+			task._future.cancel(false);
+		_reserved.addAndGet(-task._size);
+		if(DMLScript.STATISTICS && task._t0 > 0) {
+			// completed restores saved their entire duration, running restores
+			// at least the time until consumption (the remainder is a stall)
+			long t2 = task._t2;
+			CacheStatistics.incrementReadAheadSavedTime((t2 > 0 ? t2 : t1) - task._t0);
+		}
+	}
+
+	private List<MatrixObject> getInputs(Instruction inst) {
+		List<MatrixObject> ret = new ArrayList<>();
+		CPOperand[] ops = null;
+		if(inst instanceof ComputationCPInstruction)
+			ops = ((ComputationCPInstruction) inst).getInputs();
+		else if(inst instanceof BuiltinNaryCPInstruction)
+			ops = ((BuiltinNaryCPInstruction) inst).getInputs();
+		if(ops == null)
+			return ret;
+		for(CPOperand op : ops) {
+			if(op == null || !op.isMatrix())
+				continue;
+			Data dat = _ec.getVariable(op.getName());
+			if(dat instanceof MatrixObject && !ret.contains(dat))
+				ret.add((MatrixObject) dat);
+		}
+		return ret;
+	}
+
+	private static long getSize(MatrixObject mo) {
+		DataCharacteristics dc = mo.getDataCharacteristics();
+		if(!dc.dimsKnown())
+			return -1;
+		return OptimizerUtils.estimateSizeExactSparsity(dc);
+	}
+
+	/**
+	 * Get the memory reserved by in-flight or unconsumed restores of all schedulers.
+	 *
+	 * @return reserved memory in bytes
+	 */
+	public static long getReservedMemory() {
+		return _reserved.get();
+	}
+
+	private boolean reserve(long size) {
+		long cur = _reserved.get();
+		while(cur + size <= _budget) {
+			if(_reserved.compareAndSet(cur, cur + size))
+				return true;
+			cur = _reserved.get();
+		}
+		return false;
+	}
+
+	private static class RestoreTask implements Runnable {
+		private final MatrixObject _mo;
+		private final long _size;
+		private Future<?> _future;
+		private volatile long _t0 = 0;
+		private volatile long _t2 = 0;
+
+		private RestoreTask(MatrixObject mo, long size) {
+			_mo = mo;
+			_size = size;
+		}
+
+		@Override
+		public void run() {
+			_t0 = System.nanoTime();
+			try {
+				synchronized(_mo) {
+					// check again in the critical section to safeguard
+					// against concurrent rmvar and update in-place
+					if(_mo.isRestorable()) {
+						_mo.acquireReadAndRelease();
+						if(DMLScript.STATISTICS)
+							CacheStatistics.incrementReadAhead();
+					}
+				}
+			}
+			catch(Exception ex) {
+				// the consuming instruction reads the data again and surfaces the error
+				LOG.debug("Failed asynchronous restore of " + _mo.getDebugName(), ex);
+			}
+			_t2 = System.nanoTime();
+		}
+	}
+}
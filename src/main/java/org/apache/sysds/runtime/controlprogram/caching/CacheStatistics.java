@@ -53,6 +53,10 @@ public class CacheStatistics
 	private static final LongAdder _ctimeRelease    = new LongAdder(); //in nano sec
 	private static final LongAdder _ctimeExport     = new LongAdder(); //in nano sec
 
+	//read-ahead statistics caching
+	private static final LongAdder _numReadAhead    = new LongAdder();
+	private static final LongAdder _ctimeReadAhead  = new LongAdder(); //in nano sec, saved stall time
+
 	public static void reset() {
 		_numHitsMem.reset();
 		_numHitsLin.reset();
@@ -69,6 +73,9 @@ public class CacheStatistics
 		_ctimeAcquireM.reset();
 		_ctimeRelease.reset();
 		_ctimeExport.reset();
+		
+		_numReadAhead.reset();
+		_ctimeReadAhead.reset();
 	}
 
 	public static void incrementMemHits() {
@@ -251,4 +258,29 @@ public class CacheStatistics
 		
 		return sb.toString();
 	}
+	
+	public static void incrementReadAhead() {
+		_numReadAhead.increment();
+	}
+	
+	public static long getReadAhead() {
+		return _numReadAhead.longValue();
+	}
+	
+	public static void incrementReadAheadSavedTime(long delta) {
+		_ctimeReadAhead.add(delta);
+	}
+	
+	public static long getReadAheadSavedTime() {
+		return _ctimeReadAhead.longValue();
+	}
+	
+	public static String displayReadAhead() {
+		StringBuilder sb = new StringBuilder();
+		sb.append(_numReadAhead.longValue());
+		sb.append("/");
+		sb.append(String.format("%.3f", ((double)_ctimeReadAhead.longValue())/1000000000)); //in sec
+		
+		return sb.toString();
+	}
 }
@@ -61,6 +61,8 @@ import org.apache.sysds.runtime.util.HDFSTool;
 import org.apache.sysds.runtime.util.LocalFileUtils;
 import org.apache.sysds.utils.Statistics;
 import org.apache.sysds.utils.stats.InfrastructureAnalyzer;
+import org.apache.sysds.utils.stats.JFREvents;
+import org.apache.sysds.utils.stats.JFREvents.BufferPoolEvent;
 
 
 /**
@@ -589,7 +591,9 @@ public abstract class CacheableData<T extends CacheBlock<?>> extends Data
 						throw new DMLRuntimeException("Cannot read matrix for empty filename.");
 					
 					//read cacheable data from hdfs
+					BufferPoolEvent ev = JFREvents.beginBufferPool("read", this);
 					_data = readBlobFromHDFS( _hdfsFileName );
+					JFREvents.commitBufferPool(ev, _data, 0);
 					
 					//mark for initial local write despite read operation
 					_requiresLocalWrite = false;
@@ -730,12 +734,13 @@ public abstract class CacheableData<T extends CacheBlock<?>> extends Data
 		{
 			if( ( write && !hasValidLineage() ) || _requiresLocalWrite ) {
 				String filePath = getCacheFilePathAndName();
+				BufferPoolEvent ev = JFREvents.beginBufferPool("write", this);
 				try {
 					//write into the buffer pool
-					if (OptimizerUtils.isUMMEnabled())
-						UnifiedMemoryManager.writeBlock(filePath, _data);
-					else
+					int numEvicted = OptimizerUtils.isUMMEnabled() ?
+						UnifiedMemoryManager.writeBlock(filePath, _data) :
 						LazyWriteBuffer.writeBlock(filePath, _data);
+					JFREvents.commitBufferPool(ev, _data, numEvicted);
 				}
 				catch (Exception e) {
 					throw new DMLRuntimeException("Eviction to local path " + filePath + " ("+hashCode()+") failed.", e);
@@ -888,7 +893,7 @@ public abstract class CacheableData<T extends CacheBlock<?>> extends Data
 		
 		//actual export (note: no direct transfer of local copy in order to ensure blocking (and hence, parallelism))
 		if( isDirty() || !eqScheme || isFederated() ||
-			(pWrite && (!eqFormat | !eqBlksize)) )
+			(pWrite && (!eqFormat | !eqBlksize | isProjectedRead())) )
 		{
 			// CASE 1: dirty in-mem matrix or pWrite w/ different format (write matrix to fname; load into memory if evicted)
 			// a) get the matrix
@@ -1014,6 +1019,7 @@ public abstract class CacheableData<T extends CacheBlock<?>> extends Data
 		if (_data != null)
 			throw new DMLRuntimeException(cacheFilePathAndName + " : Cannot restore on top of existing in-memory data.");
 
+		BufferPoolEvent ev = JFREvents.beginBufferPool("restore", this);
 		try {
 			_data = readBlobFromCache(cacheFilePathAndName);
 		}
@@ -1024,6 +1030,7 @@ public abstract class CacheableData<T extends CacheBlock<?>> extends Data
 		//check for success
 		if (_data == null)
 			throw new DMLRuntimeException (cacheFilePathAndName + " : Restore failed.");
+		JFREvents.commitBufferPool(ev, _data, 0);
 		
 		if( LOG.isTraceEnabled() )
 			LOG.trace("Restoring matrix - COMPLETED ... " + (System.currentTimeMillis()-begin) + " msec.");
@@ -1151,6 +1158,17 @@ public abstract class CacheableData<T extends CacheBlock<?>> extends Data
 		}
 	}
 
+	/**
+	 * Indicates if the data of this object is only a projection or selection of its
+	 * file (e.g., frame reads with pushed-down column projections), in which case the
+	 * file must not be copied or renamed on export.
+	 * 
+	 * @return true if the data is a subset of the file
+	 */
+	protected boolean isProjectedRead() {
+		return false;
+	}
+
 	protected boolean isEqualOutputFormat(String outputFormat) {
 		if( outputFormat != null ) {
 			MetaDataFormat iimd = (MetaDataFormat) _metaData;
@@ -1288,6 +1306,19 @@ public abstract class CacheableData<T extends CacheBlock<?>> extends Data
 		return isEmpty(true) && _data == null && (_rddHandle != null && _rddHandle.hasBackReference());
 	}
 
+	/**
+	 * Indicates if the data is currently not in memory but can be restored without
+	 * recomputation, i.e., from an evicted local spill file or pending RDD operations.
+	 * Federated data is excluded because federated instructions operate on the
+	 * federation map instead of pulling the data. This check is unsynchronized
+	 * and serves as a hint only.
+	 * 
+	 * @return true if the data requires a restore on the next acquire
+	 */
+	public boolean isRestorable() {
+		return _data == null && (isCached(false) || isPendingRDDOps());
+	}
+
 	public boolean isDeviceToHostCopy() {
 		boolean isGpuOP = isEmpty(true) && _data == null && _gpuObjects != null;
 		return isGpuOP && _gpuObjects.values().stream().anyMatch(gobj -> (gobj != null && gobj.isDirty()));
@@ -1493,7 +1524,7 @@ public abstract class CacheableData<T extends CacheBlock<?>> extends Data
 				new Path(_hdfsFileName), new Path(fName));
 			
 			//export or rename to target file on hdfs
-			if( isDirty() || !eqScheme || (!isEqualOutputFormat(outputFormat) && isEmpty(true)) 
+			if( isDirty() || !eqScheme || isProjectedRead() || (!isEqualOutputFormat(outputFormat) && isEmpty(true)) 
 				|| (getRDDHandle()!=null && !HDFSTool.existsFileOnHDFS(_hdfsFileName)) )
 			{
 				exportData(fName, outputFormat);
@@ -36,6 +36,7 @@ import org.apache.sysds.runtime.controlprogram.federated.FederationMap;
 import org.apache.sysds.runtime.frame.data.FrameBlock;
 import org.apache.sysds.runtime.instructions.spark.data.RDDObject;
 import org.apache.sysds.runtime.io.FileFormatProperties;
+import org.apache.sysds.runtime.io.FrameReadFilter;
 import org.apache.sysds.runtime.io.FrameReaderFactory;
 import org.apache.sysds.runtime.io.FrameWriter;
 import org.apache.sysds.runtime.io.FrameWriterFactory;
@@ -58,6 +59,10 @@ public class FrameObject extends CacheableData<FrameBlock>
 	private static final long serialVersionUID = 1755082174281927785L;
 
 	private ValueType[] _schema = null;
+
+	// column projection and row predicate pushed into the read, incl schema of the file
+	private FrameReadFilter _readFilter = null;
+	private ValueType[] _readSchema = null;
 	
 	protected FrameObject() {
 		super(DataType.FRAME, ValueType.STRING);
@@ -94,6 +99,8 @@ public class FrameObject extends CacheableData<FrameBlock>
 			new MatrixCharacteristics(metaOld.getDataCharacteristics()),
 			metaOld.getFileFormat());
 		_schema = fo._schema.clone();
+		_readFilter = fo._readFilter;
+		_readSchema = fo._readSchema;
 	}
 	
 	@Override
@@ -151,6 +158,29 @@ public class FrameObject extends CacheableData<FrameBlock>
 	public void setSchema(ValueType[] schema) {
 		_schema = schema;
 	}
+
+	/**
+	 * Sets a column projection and row predicate for reading this frame from its file. The meta data of this frame
+	 * object describes the projected frame, while the schema of the file is kept for the read.
+	 * 
+	 * @param filter read filter
+	 */
+	public void setReadFilter(FrameReadFilter filter) {
+		_readFilter = filter;
+		if(_schema != null && _schema.length == filter.getNumColumns()) {
+			_readSchema = _schema;
+			_schema = filter.projectSelectedColumns(_schema);
+		}
+	}
+
+	public FrameReadFilter getReadFilter() {
+		return _readFilter;
+	}
+
+	@Override
+	protected boolean isProjectedRead() {
+		return _readFilter != null;
+	}
 		
 	@Override
 	public void refreshMetaData() {
@@ -197,11 +227,22 @@ public class FrameObject extends CacheableData<FrameBlock>
 			ValueType.STRING);
 
 		// read the frame block
-		FrameBlock data = isFederated() ? acquireReadAndRelease() : FrameReaderFactory
-			.createFrameReader(iimd.getFileFormat(), getFileFormatProperties())
-			.readFrameFromHDFS(fname, lschema, dc.getRows(), dc.getCols());
+		FrameBlock data = null;
+		if(isFederated())
+			data = acquireReadAndRelease();
+		else if(_readFilter != null) {
+			// read with projection and predicate according to the file schema and size
+			int fclen = _readFilter.getNumColumns();
+			long frlen = (_readFilter.getNumRows() >= 0) ? _readFilter.getNumRows() : dc.getRows();
+			data = FrameReaderFactory.createFrameReader(iimd.getFileFormat(), getFileFormatProperties())
+				.setReadFilter(_readFilter).readFrameFromHDFS(fname, (_readSchema != null) ? _readSchema :
+					UtilFunctions.nCopies(fclen, ValueType.STRING), frlen, fclen);
+		}
+		else
+			data = FrameReaderFactory.createFrameReader(iimd.getFileFormat(), getFileFormatProperties())
+				.readFrameFromHDFS(fname, lschema, dc.getRows(), dc.getCols());
 
-		if(iimd.getFileFormat() == FileFormat.CSV)
+		if(iimd.getFileFormat() == FileFormat.CSV || _readFilter != null)
 			_metaData = _metaData instanceof MetaDataFormat ? new MetaDataFormat(data.getDataCharacteristics(),
 				iimd.getFileFormat()) : new MetaData(data.getDataCharacteristics());
 
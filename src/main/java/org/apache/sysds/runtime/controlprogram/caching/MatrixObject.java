@@ -23,6 +23,7 @@ import java.io.IOException;
 import java.lang.ref.SoftReference;
 import java.util.List;
 import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.apache.commons.lang3.mutable.MutableBoolean;
 import org.apache.commons.lang3.tuple.Pair;
@@ -82,6 +83,12 @@ public class MatrixObject extends CacheableData<MatrixBlock> {
 	private boolean _diag = false;
 	private boolean _markForLinCache = false;
 
+	// number of parfor workers sharing this object as read-only view (copy-on-write on update in-place)
+	private final AtomicInteger _sharedViews = new AtomicInteger(0);
+
+	// sparsity synopsis (e.g., matrix histogram) along with the nnz at construction
+	private transient volatile Pair<Long, Object> _synopsis = null;
+
 	// information relevant to partitioned matrices.
 	private boolean _partitioned = false; // indicates if obj partitioned
 	private PDataPartitionFormat _partitionFormat = null; // indicates how obj partitioned
@@ -159,6 +166,27 @@ public class MatrixObject extends CacheableData<MatrixBlock> {
 		return _updateType;
 	}
 
+	/**
+	 * Registers an additional read-only view of this matrix object, e.g., by a local parfor worker that shares an
+	 * in-place result variable instead of creating an eager deep copy. As long as views exist, updates in-place need
+	 * to create a private copy first (copy-on-write).
+	 */
+	public void retainSharedView() {
+		_sharedViews.incrementAndGet();
+	}
+
+	/**
+	 * Releases a read-only view of this matrix object, either after the view was replaced by a private copy or after
+	 * the sharing worker terminated.
+	 */
+	public void releaseSharedView() {
+		_sharedViews.updateAndGet(v -> Math.max(v - 1, 0));
+	}
+
+	public boolean isSharedView() {
+		return _sharedViews.get() > 0;
+	}
+
 	public boolean isDiag() {
 		return _diag;
 	}
@@ -206,6 +234,33 @@ public class MatrixObject extends CacheableData<MatrixBlock> {
 		return OptimizerUtils.getSparsity(getDataCharacteristics());
 	}
 
+	/**
+	 * Gets the attached sparsity synopsis (e.g., a matrix histogram for sparsity estimation) if it is still valid for
+	 * the current data, i.e., the data was not modified and the number of non-zeros is unchanged.
+	 * 
+	 * @return sparsity synopsis or null if not available
+	 */
+	public Object getSynopsis() {
+		Pair<Long, Object> tmp = _synopsis;
+		return (tmp != null && tmp.getKey() >= 0 && tmp.getKey() == getNnz()) ? tmp.getValue() : null;
+	}
+
+	/**
+	 * Attaches a sparsity synopsis of the current data, which is retained until the data is modified in order to
+	 * avoid rebuilding synopses during dynamic recompilation.
+	 * 
+	 * @param synopsis sparsity synopsis
+	 */
+	public void setSynopsis(Object synopsis) {
+		_synopsis = (synopsis != null) ? Pair.of(getNnz(), synopsis) : null;
+	}
+
+	@Override
+	public MatrixBlock acquireModify(MatrixBlock newData) {
+		_synopsis = null;
+		return super.acquireModify(newData);
+	}
+
 	// *********************************************
 	// *** ***
 	// *** HIGH-LEVEL PUBLIC METHODS ***
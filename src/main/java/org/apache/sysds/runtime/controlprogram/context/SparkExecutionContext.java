@@ -88,6 +88,7 @@ import org.apache.sysds.runtime.instructions.spark.functions.CopyTextInputFuncti
 import org.apache.sysds.runtime.instructions.spark.functions.CreateSparseBlockFunction;
 import org.apache.sysds.runtime.instructions.spark.utils.FrameRDDConverterUtils.LongFrameToLongWritableFrameFunction;
 import org.apache.sysds.runtime.instructions.spark.utils.RDDAggregateUtils;
+import org.apache.sysds.runtime.instructions.spark.utils.SparkKryoRegistrator;
 import org.apache.sysds.runtime.instructions.spark.utils.SparkUtils;
 import org.apache.sysds.runtime.io.IOUtilFunctions;
 import org.apache.sysds.runtime.io.InputOutputInfo;
@@ -115,6 +116,7 @@ public class SparkExecutionContext extends ExecutionContext
 	private static final boolean LAZY_SPARKCTX_CREATION = true;
 	private static final boolean ASYNCHRONOUS_VAR_DESTROY = true;
 	public static final boolean FAIR_SCHEDULER_MODE = true;
+	public static final boolean KRYO_SERIALIZATION = true;
 
 	//executor memory and relative fractions as obtained from the spark configuration
 	private static SparkClusterConfig _sconf = null;
@@ -329,6 +331,18 @@ public class SparkExecutionContext extends ExecutionContext
 			conf.set("spark.locality.wait", "5s");
 		}
 		
+		//use kryo serialization with registered serializers for all block types
+		//(unless a serializer is explicitly configured), which avoids the generic
+		//java serialization of shuffled and broadcast blocks
+		if( KRYO_SERIALIZATION && !conf.contains("spark.serializer") ) {
+			conf.set("spark.serializer", "org.apache.spark.serializer.KryoSerializer");
+			conf.set("spark.kryo.registrator", SparkKryoRegistrator.class.getName());
+			if( !conf.contains("spark.kryoserializer.buffer.max") ) { //default 64MB, max <2048MB
+				//(broadcast partitions of up to ~1.9GB, see PartitionedBroadcast.BROADCAST_PARTSIZE)
+				conf.set("spark.kryoserializer.buffer.max", "2047m");
+			}
+		}
+		
 		//increase max message size for robustness
 		String sparkVersion = org.apache.spark.package$.MODULE$.SPARK_VERSION();
 		String msgSizeConf = (UtilFunctions.compareVersion(sparkVersion, "2.0.0") < 0) ?
@@ -601,15 +615,17 @@ public class SparkExecutionContext extends ExecutionContext
 			//return existing rdd handling (w/o input format change)
 			rdd = fo.getRDDHandle().getRDD();
 		}
-		//CASE 2: dirty in memory data or cached result of rdd operations
-		else if( fo.isDirty() || fo.isCached(false) )
+		//CASE 2: dirty in memory data or cached result of rdd operations, or
+		//projected reads (the file contains all columns and rows, see RewriteFrameReadPushdown)
+		else if( fo.isDirty() || fo.isCached(false) || fo.getReadFilter() != null )
 		{
 			//get in-memory matrix block and parallelize it
 			//w/ guarded parallelize (fallback to export, rdd from file if too large)
 			DataCharacteristics dc = fo.getDataCharacteristics();
 			boolean fromFile = false;
-			if( !OptimizerUtils.checkSparkCollectMemoryBudget(dc, 0) || !_parRDDs.reserve(
-					OptimizerUtils.estimatePartitionedSizeExactSparsity(dc)) ) {
+			boolean reserved = OptimizerUtils.checkSparkCollectMemoryBudget(dc, 0)
+				&& _parRDDs.reserve(OptimizerUtils.estimatePartitionedSizeExactSparsity(dc));
+			if( !reserved && fo.getReadFilter() == null ) {
 				if( fo.isDirty() ) { //write only if necessary
 					fo.exportData();
 				}
@@ -617,11 +633,12 @@ public class SparkExecutionContext extends ExecutionContext
 				rdd = ((JavaPairRDD<LongWritable, FrameBlock>)rdd).mapToPair( new CopyFrameBlockPairFunction() ); //cp is workaround for read bug
 				fromFile = true;
 			}
-			else { //default case
+			else { //default case (projected reads always fit the local budget)
 				FrameBlock fb = fo.acquireRead(); //pin frame in memory
 				rdd = toFrameJavaPairRDD(sc, fb);
 				fo.release(); //unpin frame
-				_parRDDs.registerRDD(rdd.id(), OptimizerUtils.estimatePartitionedSizeExactSparsity(dc), true);
+				if( reserved )
+					_parRDDs.registerRDD(rdd.id(), OptimizerUtils.estimatePartitionedSizeExactSparsity(dc), true);
 			}
 
 			//keep rdd handle for future operations on it
@@ -730,6 +747,11 @@ public class SparkExecutionContext extends ExecutionContext
 				MatrixBlock mb = mo.acquireRead();
 				PartitionedBlock<MatrixBlock> pmb = new PartitionedBlock<>(mb, blen);
 				mo.release();
+				
+				//compress individual blocks if beneficial (less transfer and executor memory)
+				boolean compressed = ConfigurationManager.getDMLConfig()
+					.getBooleanValue(DMLConfig.COMPRESSED_BROADCAST)
+					&& pmb.compressBlocks(OptimizerUtils.getConstrainedNumThreads(-1)) > 0;
 
 				//determine coarse-grained partitioning
 				int numPerPart = PartitionedBroadcast.computeBlocksPerPartition(mo.getNumRows(), mo.getNumColumns(), blen);
@@ -750,7 +772,7 @@ public class SparkExecutionContext extends ExecutionContext
 				if (mo.getBroadcastHandle() == null) {
 					mo.setBroadcastHandle(new BroadcastObject<MatrixBlock>());
 				}
-				mo.getBroadcastHandle().setPartitionedBroadcast(bret,
+				mo.getBroadcastHandle().setPartitionedBroadcast(bret, compressed ? pmb.getInMemorySize() :
 					OptimizerUtils.estimatePartitionedSizeExactSparsity(mo.getDataCharacteristics()));
 				CacheableData.addBroadcastSize(mo.getBroadcastHandle().getSize());
 
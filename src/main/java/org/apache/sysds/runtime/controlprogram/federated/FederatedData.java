@@ -47,6 +47,8 @@ import org.apache.sysds.runtime.controlprogram.caching.CacheBlock;
 import org.apache.sysds.runtime.controlprogram.federated.FederatedRequest.RequestType;
 import org.apache.sysds.runtime.controlprogram.paramserv.NetworkTrafficCounter;
 import org.apache.sysds.runtime.meta.MetaData;
+import org.apache.sysds.utils.stats.JFREvents;
+import org.apache.sysds.utils.stats.JFREvents.FederatedRequestEvent;
 
 import io.netty.bootstrap.Bootstrap;
 import io.netty.buffer.ByteBuf;
@@ -187,13 +189,13 @@ public class FederatedData {
 	 */
 	public synchronized static Future<FederatedResponse> executeFederatedOperation(InetSocketAddress address, int retry,
 		FederatedRequest... request) {
+		final DataRequestHandler handler = new DataRequestHandler(JFREvents.beginFederatedRequest(address, request));
 		try {
 			final Bootstrap b = new Bootstrap();
 			if(workerGroup == null)
 				createWorkGroup();
 			b.group(workerGroup);
 			b.channel(NioSocketChannel.class);
-			final DataRequestHandler handler = new DataRequestHandler();
 			// Client Netty
 
 			b.handler(createChannel(address, handler));
@@ -206,6 +208,7 @@ public class FederatedData {
 			return handler.getProm();
 		}
 		catch(Exception e) {
+			handler.commitEvent(false);
 			if(e instanceof ConnectException) {
 
 				if(retry < 5) {
@@ -293,8 +296,10 @@ public class FederatedData {
 
 	private static class DataRequestHandler extends ChannelInboundHandlerAdapter {
 		private Promise<FederatedResponse> _prom;
+		private FederatedRequestEvent _event;
 
-		public DataRequestHandler() {
+		public DataRequestHandler(FederatedRequestEvent event) {
+			_event = event;
 		}
 
 		public void setPromise(Promise<FederatedResponse> prom) {
@@ -303,8 +308,36 @@ public class FederatedData {
 
 		@Override
 		public void channelRead(ChannelHandlerContext ctx, Object msg) {
-			_prom.setSuccess((FederatedResponse) msg);
-			ctx.close();
+			boolean success = false;
+			try {
+				FederatedResponse response = (FederatedResponse) msg;
+				success = response.isSuccessful();
+				_prom.setSuccess(response);
+				ctx.close();
+			}
+			finally {
+				commitEvent(success);
+			}
+		}
+
+		@Override
+		public void exceptionCaught(ChannelHandlerContext ctx, Throwable cause) {
+			//e.g., read timeouts or failed response decoding
+			commitEvent(false);
+			ctx.fireExceptionCaught(cause);
+		}
+
+		@Override
+		public void channelInactive(ChannelHandlerContext ctx) {
+			//connection closed without response (no-op after channelRead)
+			commitEvent(false);
+			ctx.fireChannelInactive();
+		}
+
+		private synchronized void commitEvent(boolean success) {
+			//commit the request event exactly once, on success or failure
+			JFREvents.commitFederatedRequest(_event, success);
+			_event = null;
 		}
 
 		public Promise<FederatedResponse> getProm() {
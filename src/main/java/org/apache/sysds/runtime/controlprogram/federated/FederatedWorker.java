@@ -51,6 +51,7 @@ import org.apache.sysds.runtime.lineage.LineageCache;
 import org.apache.sysds.runtime.lineage.LineageCacheConfig;
 import org.apache.sysds.runtime.lineage.LineageCacheConfig.ReuseCacheType;
 import org.apache.sysds.utils.stats.InfrastructureAnalyzer;
+import org.apache.sysds.utils.stats.MetricsExporter;
 import org.apache.sysds.utils.stats.Timing;
 import org.apache.sysds.runtime.lineage.LineageItem;
 
@@ -75,6 +76,7 @@ public class FederatedWorker {
 	private final FederatedReadCache _frc;
 	private final FederatedWorkloadAnalyzer _fan;
 	private final boolean _debug;
+	private final boolean _metrics;
 	private Timing networkTimer = new Timing();
 
 	public FederatedWorker(int port, boolean debug) {
@@ -91,6 +93,7 @@ public class FederatedWorker {
 		LineageCacheConfig.setConfig(DMLScript.LINEAGE_REUSE);
 		LineageCacheConfig.setCachePolicy(DMLScript.LINEAGE_POLICY);
 		LineageCacheConfig.setEstimator(DMLScript.LINEAGE_ESTIMATE);
+		_metrics = MetricsExporter.startIfConfigured(ConfigurationManager.getDMLConfig());
 
 		run();
 	}
@@ -129,6 +132,8 @@ public class FederatedWorker {
 			log.info("Federated Worker Shutting down.");
 			workerGroup.shutdownGracefully();
 			bossGroup.shutdownGracefully();
+			if(_metrics)
+				MetricsExporter.release();
 		}
 	}
 
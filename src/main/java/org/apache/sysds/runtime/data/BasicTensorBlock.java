@@ -25,6 +25,8 @@ import org.apache.sysds.runtime.DMLRuntimeException;
 import org.apache.sysds.runtime.functionobjects.KahanPlus;
 import org.apache.sysds.runtime.functionobjects.Plus;
 import org.apache.sysds.runtime.functionobjects.ReduceAll;
+import org.apache.sysds.runtime.functionobjects.ReduceCol;
+import org.apache.sysds.runtime.functionobjects.ReduceRow;
 import org.apache.sysds.runtime.matrix.data.MatrixBlock;
 import org.apache.sysds.runtime.matrix.operators.AggregateOperator;
 import org.apache.sysds.runtime.matrix.operators.AggregateUnaryOperator;
@@ -556,27 +558,28 @@ public class BasicTensorBlock implements Serializable {
 	 * @return the result tensor
 	 */
 	public BasicTensorBlock aggregateUnaryOperations(AggregateUnaryOperator op, BasicTensorBlock result) {
-		// TODO allow to aggregate along a dimension?
-		// TODO performance
 		if (op.aggOp.increOp.fn instanceof KahanPlus) {
 			op = new AggregateUnaryOperator(new AggregateOperator(0, Plus.getPlusFnObject()), op.indexFn, op.getNumThreads());
 		}
-		int dim0 = 1;
-		int dim1 = 1;
-		if (op.aggOp.existsCorrection()) {
-			dim1 = 2;
+		int[] dims;
+		if (op.indexFn instanceof ReduceAll)
+			dims = new int[]{1, op.aggOp.existsCorrection() ? 2 : 1};
+		else if (op.indexFn instanceof ReduceCol)
+			dims = new int[]{getDim(0), 1};
+		else if (op.indexFn instanceof ReduceRow) {
+			dims = getDims().clone();
+			dims[0] = 1;
 		}
+		else
+			throw new DMLRuntimeException("Only ReduceAll, ReduceRow, and ReduceCol UnaryAggregationOperators are supported for tensor");
 		//prepare result matrix block
 		if (result == null || result._vt != _vt)
-			result = new BasicTensorBlock(_vt, new int[]{dim0, dim1}, false);
+			result = new BasicTensorBlock(_vt, dims, false);
 		else
-			result.reset(new int[]{dim0, dim1}, false);
+			result.reset(dims, false);
 
 		if (LibTensorAgg.isSupportedUnaryAggregateOperator(op))
-			if (op.indexFn instanceof ReduceAll)
-				LibTensorAgg.aggregateUnaryTensor(this, result, op);
-			else
-				throw new DMLRuntimeException("Only ReduceAll UnaryAggregationOperators are supported for tensor");
+			LibTensorAgg.aggregateUnaryTensor(this, result, op);
 		else
 			throw new DMLRuntimeException("Current UnaryAggregationOperator not supported for tensor");
 		return result;
@@ -22,7 +22,14 @@ package org.apache.sysds.runtime.data;
 import org.apache.commons.lang3.NotImplementedException;
 import org.apache.sysds.common.Types;
 import org.apache.sysds.runtime.DMLRuntimeException;
+import org.apache.sysds.runtime.functionobjects.Builtin;
+import org.apache.sysds.runtime.functionobjects.Builtin.BuiltinCode;
+import org.apache.sysds.runtime.functionobjects.IndexFunction;
+import org.apache.sysds.runtime.functionobjects.Multiply;
 import org.apache.sysds.runtime.functionobjects.Plus;
+import org.apache.sysds.runtime.functionobjects.ReduceAll;
+import org.apache.sysds.runtime.functionobjects.ReduceCol;
+import org.apache.sysds.runtime.functionobjects.ReduceRow;
 import org.apache.sysds.runtime.functionobjects.ValueFunction;
 import org.apache.sysds.runtime.matrix.operators.AggregateOperator;
 import org.apache.sysds.runtime.matrix.operators.AggregateUnaryOperator;
@@ -31,13 +38,30 @@ import org.apache.sysds.runtime.util.UtilFunctions;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
 public class LibTensorAgg {
+	//minimum number of input cells for multi-threaded execution
+	private static final long PAR_NUMCELL_THRESHOLD = 16 * 1024;
+
 	private enum AggType {
 		SUM,
-		INVALID,
+		PROD,
+		MIN,
+		MAX,
+		INVALID;
+
+		public double getIdentity() {
+			switch(this) {
+				case PROD: return 1;
+				case MIN: return Double.POSITIVE_INFINITY;
+				case MAX: return Double.NEGATIVE_INFINITY;
+				default: return 0;
+			}
+		}
 	}
 
 	/**
@@ -49,7 +73,7 @@ public class LibTensorAgg {
 	 */
 	public static boolean satisfiesMultiThreadingConstraints(BasicTensorBlock in, int k) {
 		// TODO more conditions depending on operation
-		return k > 1 && in._vt != Types.ValueType.BOOLEAN;
+		return k > 1 && in._vt != Types.ValueType.BOOLEAN && in.getLength() >= PAR_NUMCELL_THRESHOLD;
 	}
 
 	/**
@@ -66,6 +90,14 @@ public class LibTensorAgg {
 			aggregateUnaryTensorEmpty(in, out, aggType);
 			return;
 		}
+		if (aggType != AggType.SUM || !(uaop.indexFn instanceof ReduceAll)) {
+			// reductions along axes, and min/max/prod
+			if (in.isSparse())
+				throw new NotImplementedException("Tensor aggregation not supported for sparse tensors.");
+			aggregateAxes(in, out, getReducedAxes(uaop.indexFn, in.getNumDims()), aggType,
+				uaop.aggOp.increOp.fn, uaop.getNumThreads());
+			return;
+		}
 		int numThreads = uaop.getNumThreads();
 		if (satisfiesMultiThreadingConstraints(in, numThreads)) {
 			ExecutorService pool = CommonThreadPool.get(numThreads);
@@ -105,14 +137,14 @@ public class LibTensorAgg {
 	 * @param optype the operation to apply
 	 */
 	private static void aggregateUnaryTensorEmpty(BasicTensorBlock in, BasicTensorBlock out, AggType optype) {
-		// TODO implement for other optypes
-		double val;
-		if (optype == AggType.SUM) {
-			val = 0;
-		} else {
-			val = Double.NaN;
+		// all supported aggregates (sum, prod, min, max) of zeros are zero
+		double val = (optype == AggType.INVALID) ? Double.NaN : 0;
+		if (out.getLength() == 1)
+			out.set(new int[out.getNumDims()], val);
+		else {
+			out.allocateDenseBlock();
+			out._nnz = 0;
 		}
-		out.set(new int[]{0, 0}, val);
 	}
 
 	/**
@@ -165,9 +197,17 @@ public class LibTensorAgg {
 	 */
 	private static AggType getAggType(AggregateUnaryOperator op) {
 		ValueFunction vfn = op.aggOp.increOp.fn;
-		// sum
 		if (vfn instanceof Plus)
 			return AggType.SUM;
+		else if (vfn instanceof Multiply)
+			return AggType.PROD;
+		else if (vfn instanceof Builtin) {
+			BuiltinCode code = ((Builtin) vfn).getBuiltinCode();
+			if (code == BuiltinCode.MIN)
+				return AggType.MIN;
+			else if (code == BuiltinCode.MAX)
+				return AggType.MAX;
+		}
 		return AggType.INVALID;
 	}
 
@@ -268,6 +308,171 @@ public class LibTensorAgg {
 		}
 	}
 
+	/**
+	 * Gets the reduced axes of the given index function, where ReduceCol (e.g., rowSums) reduces all but the first
+	 * dimension, and ReduceRow (e.g., colSums) reduces the first dimension.
+	 *
+	 * @param ixFn    the index function
+	 * @param numDims number of tensor dimensions
+	 * @return flags of reduced axes
+	 */
+	public static boolean[] getReducedAxes(IndexFunction ixFn, int numDims) {
+		boolean[] axes = new boolean[numDims];
+		if (ixFn instanceof ReduceAll)
+			Arrays.fill(axes, true);
+		else if (ixFn instanceof ReduceCol)
+			Arrays.fill(axes, 1, numDims, true);
+		else if (ixFn instanceof ReduceRow)
+			axes[0] = true;
+		else
+			throw new DMLRuntimeException("Unsupported index function for tensor aggregation: " + ixFn);
+		return axes;
+	}
+
+	/**
+	 * Aggregate a dense tensor-block along arbitrary axes (sum, prod, min, max). The output keeps the reduced
+	 * dimensions with size 1 (or any other shape of the same number of cells in row-major order). Values are
+	 * aggregated in double precision.
+	 *
+	 * @param in   the input tensor block
+	 * @param axes flags of reduced axes
+	 * @param uaop the aggregation operator (index function is ignored)
+	 * @return the output tensor block
+	 */
+	public static BasicTensorBlock aggregateAxes(BasicTensorBlock in, boolean[] axes, AggregateUnaryOperator uaop) {
+		AggType aggType = getAggType(uaop);
+		if (aggType == AggType.INVALID)
+			throw new DMLRuntimeException("Current UnaryAggregationOperator not supported for tensor");
+		if (axes.length != in.getNumDims())
+			throw new DMLRuntimeException("Invalid number of axes: " + axes.length + " vs " + in.getNumDims());
+		int[] dims = new int[in.getNumDims()];
+		for (int i = 0; i < dims.length; i++)
+			dims[i] = axes[i] ? 1 : in.getDim(i);
+		Types.ValueType vt = (in.getValueType() == Types.ValueType.BOOLEAN) ? Types.ValueType.INT64 : in.getValueType();
+		BasicTensorBlock out = new BasicTensorBlock(vt, dims, false);
+		if (in.isEmpty(false))
+			aggregateUnaryTensorEmpty(in, out, aggType);
+		else
+			aggregateAxes(in, out, axes, aggType, uaop.aggOp.increOp.fn, uaop.getNumThreads());
+		return out;
+	}
+
+	private static void aggregateAxes(BasicTensorBlock in, BasicTensorBlock out, boolean[] axes, AggType aggType,
+		ValueFunction fn, int k)
+	{
+		final int rlen = in.getDim(0);
+		final double[] acc = new double[(int) out.getLength()];
+		Arrays.fill(acc, aggType.getIdentity());
+		if (k <= 1 || rlen <= 1 || in.getLength() < PAR_NUMCELL_THRESHOLD) {
+			new AxesAggTask(in, axes, fn, acc, 0, rlen).call();
+		}
+		else {
+			// disjoint outputs if the first axis is kept, otherwise thread-local partial aggregates
+			final boolean partial = axes[0];
+			ExecutorService pool = CommonThreadPool.get(k);
+			try {
+				ArrayList<AxesAggTask> tasks = new ArrayList<>();
+				ArrayList<Integer> blklens = UtilFunctions.getBalancedBlockSizesDefault(rlen, k, partial);
+				for (int i = 0, lb = 0; i < blklens.size(); lb += blklens.get(i), i++) {
+					double[] tacc = acc;
+					if (partial) {
+						tacc = new double[acc.length];
+						Arrays.fill(tacc, aggType.getIdentity());
+					}
+					tasks.add(new AxesAggTask(in, axes, fn, tacc, lb, lb + blklens.get(i)));
+				}
+				List<Future<double[]>> rtasks = pool.invokeAll(tasks);
+				for (Future<double[]> task : rtasks) {
+					double[] tacc = task.get();
+					if (partial)
+						for (int i = 0; i < acc.length; i++)
+							acc[i] = fn.execute(acc[i], tacc[i]);
+				}
+			}
+			catch (Exception ex) {
+				throw new DMLRuntimeException(ex);
+			}
+			finally {
+				pool.shutdown();
+			}
+		}
+
+		// write output in row-major order
+		out.allocateDenseBlock();
+		DenseBlock c = out.getDenseBlock();
+		final int ocols = (int) UtilFunctions.prod(out.getDims(), 1);
+		long nnz = 0;
+		for (int i = 0; i < acc.length; i++) {
+			c.set(i / ocols, i % ocols, acc[i]);
+			nnz += (acc[i] != 0) ? 1 : 0;
+		}
+		out._nnz = nnz;
+	}
+
+	private static class AxesAggTask implements Callable<double[]> {
+		private final BasicTensorBlock _in;
+		private final boolean[] _axes;
+		private final ValueFunction _fn;
+		private final double[] _acc;
+		private final int _rl, _ru;
+
+		protected AxesAggTask(BasicTensorBlock in, boolean[] axes, ValueFunction fn, double[] acc, int rl, int ru) {
+			_in = in;
+			_axes = axes;
+			_fn = fn;
+			_acc = acc;
+			_rl = rl;
+			_ru = ru;
+		}
+
+		@Override
+		public double[] call() {
+			final int nd = _in.getNumDims();
+			final int[] dims = _in.getDims();
+			final int cols = (int) UtilFunctions.prod(dims, 1);
+			// linear output strides per input dimension (0 for reduced axes)
+			final long[] os = new long[nd];
+			long stride = 1;
+			for (int j = nd - 1; j >= 0; j--) {
+				os[j] = _axes[j] ? 0 : stride;
+				stride *= _axes[j] ? 1 : dims[j];
+			}
+			final int inner = (nd > 1) ? dims[nd - 1] : 1;
+			final int istride = (nd > 1) ? (int) os[nd - 1] : 0;
+			final DenseBlock a = _in.getDenseBlock();
+			final double[] avals = (a instanceof DenseBlockFP64 && a.numBlocks() == 1) ? a.valuesAt(0) : null;
+
+			final int[] ix = new int[nd];
+			for (int r = _rl; r < _ru; r++) {
+				long off = r * os[0];
+				for (int cix = 0; cix < cols; cix += inner) {
+					// contiguous run over the last dimension
+					final int opos = (int) off, apos = r * cols + cix;
+					if (istride == 1) {
+						for (int i = 0; i < inner; i++)
+							_acc[opos + i] = _fn.execute(_acc[opos + i],
+								(avals != null) ? avals[apos + i] : a.get(r, cix + i));
+					}
+					else {
+						double val = _acc[opos];
+						for (int i = 0; i < inner; i++)
+							val = _fn.execute(val, (avals != null) ? avals[apos + i] : a.get(r, cix + i));
+						_acc[opos] = val;
+					}
+					// odometer over the middle dimensions
+					for (int j = nd - 2; j >= 1; j--) {
+						off += os[j];
+						if (++ix[j] < dims[j])
+							break;
+						off -= os[j] * dims[j];
+						ix[j] = 0;
+					}
+				}
+			}
+			return _acc;
+		}
+	}
+
 	// TODO maybe merge this, and other parts, with `LibMatrixAgg`
 	private static abstract class AggTask implements Callable<Object> {}
 
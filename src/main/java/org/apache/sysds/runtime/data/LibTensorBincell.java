@@ -19,10 +19,23 @@
 
 package org.apache.sysds.runtime.data;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import org.apache.sysds.common.Types.ValueType;
+import org.apache.sysds.runtime.DMLRuntimeException;
+import org.apache.sysds.runtime.functionobjects.ValueFunction;
 import org.apache.sysds.runtime.matrix.operators.BinaryOperator;
+import org.apache.sysds.runtime.util.CommonThreadPool;
 import org.apache.sysds.runtime.util.UtilFunctions;
 
 public class LibTensorBincell {
+	//minimum number of output cells for multi-threaded execution
+	protected static final long PAR_NUMCELL_THRESHOLD = 16 * 1024;
+
 	public static boolean isValidDimensionsBinary(TensorBlock m1, TensorBlock m2) {
 		if (m1.getNumDims() < m2.getNumDims())
 			return false;
@@ -42,8 +55,62 @@ public class LibTensorBincell {
 	 * @param op  binary operator
 	 */
 	public static void bincellOp(TensorBlock m1, TensorBlock m2, TensorBlock ret, BinaryOperator op) {
-		// TODO separate implementations for matching dims and broadcasting
-		// TODO perf (empty, sparse safe, etc.)
+		if( isBlockedSupported(m1, m2, ret) )
+			bincellOpBlocked(m1.getBasicTensor(), m2.getBasicTensor(), ret.getBasicTensor(), op);
+		else
+			bincellOpGeneric(m1, m2, ret, op);
+	}
+
+	private static boolean isBlockedSupported(TensorBlock m1, TensorBlock m2, TensorBlock ret) {
+		if( !m1.isBasic() || !m2.isBasic() || !ret.isBasic() )
+			return false;
+		BasicTensorBlock a = m1.getBasicTensor(), b = m2.getBasicTensor();
+		return a.getValueType() != ValueType.STRING && b.getValueType() != ValueType.STRING
+			&& ret.getValueType() != ValueType.STRING
+			&& !a.isSparse() && !b.isSparse() && a.getDenseBlock() != null && b.getDenseBlock() != null;
+	}
+
+	/**
+	 * Blocked tensor-tensor binary operation with broadcasting over dimensions of size 1 and missing trailing
+	 * dimensions of m2. The output is processed row-major in contiguous runs over the last dimension, where m2 is
+	 * accessed via precomputed strides (0 for broadcast dimensions), and multi-threaded over the first dimension.
+	 *
+	 * @param m1  input tensor 1 (dense)
+	 * @param m2  input tensor 2 (dense)
+	 * @param ret result tensor
+	 * @param op  binary operator
+	 */
+	private static void bincellOpBlocked(BasicTensorBlock m1, BasicTensorBlock m2, BasicTensorBlock ret,
+		BinaryOperator op)
+	{
+		ret.allocateDenseBlock();
+		final int rlen = m1.getDim(0);
+		final int k = op.getNumThreads();
+		long nnz = 0;
+		if( k <= 1 || rlen <= 1 || ret.getLength() < PAR_NUMCELL_THRESHOLD ) {
+			nnz = new BincellTask(m1, m2, ret, op.fn, 0, rlen).call();
+		}
+		else {
+			ExecutorService pool = CommonThreadPool.get(k);
+			try {
+				ArrayList<BincellTask> tasks = new ArrayList<>();
+				ArrayList<Integer> blklens = UtilFunctions.getBalancedBlockSizesDefault(rlen, k, false);
+				for( int i = 0, lb = 0; i < blklens.size(); lb += blklens.get(i), i++ )
+					tasks.add(new BincellTask(m1, m2, ret, op.fn, lb, lb + blklens.get(i)));
+				for( Future<Long> task : pool.invokeAll(tasks) )
+					nnz += task.get();
+			}
+			catch(Exception ex) {
+				throw new DMLRuntimeException(ex);
+			}
+			finally {
+				pool.shutdown();
+			}
+		}
+		ret._nnz = nnz;
+	}
+
+	private static void bincellOpGeneric(TensorBlock m1, TensorBlock m2, TensorBlock ret, BinaryOperator op) {
 		int[] ix1 = new int[m1.getNumDims()];
 		int[] ix2 = new int[m2.getNumDims()];
 		for (long i = 0; i < ret.getLength(); i++) {
@@ -68,4 +135,74 @@ public class LibTensorBincell {
 			}
 		}
 	}
+
+	private static class BincellTask implements Callable<Long> {
+		private final BasicTensorBlock _m1, _m2, _ret;
+		private final ValueFunction _fn;
+		private final int _rl, _ru;
+
+		protected BincellTask(BasicTensorBlock m1, BasicTensorBlock m2, BasicTensorBlock ret, ValueFunction fn,
+			int rl, int ru) {
+			_m1 = m1; _m2 = m2; _ret = ret;
+			_fn = fn;
+			_rl = rl; _ru = ru;
+		}
+
+		@Override
+		public Long call() {
+			final int nd1 = _m1.getNumDims(), nd2 = _m2.getNumDims();
+			final int[] dims = _m1.getDims();
+			final int cols = (int) UtilFunctions.prod(dims, 1);
+			final int cols2 = (int) UtilFunctions.prod(_m2.getDims(), 1);
+			// linear strides of m2 per dimension of m1 (0 for broadcast)
+			final long[] s2 = new long[nd1];
+			long stride = 1;
+			for( int j = nd2 - 1; j >= 0; j-- ) {
+				s2[j] = (_m2.getDim(j) == 1) ? 0 : stride;
+				stride *= _m2.getDim(j);
+			}
+			final int inner = (nd1 > 1) ? dims[nd1 - 1] : 1;
+			final int istride = (nd1 > 1) ? (int) s2[nd1 - 1] : 0;
+
+			final DenseBlock a = _m1.getDenseBlock(), b = _m2.getDenseBlock(), c = _ret.getDenseBlock();
+			final boolean fp64 = a instanceof DenseBlockFP64 && b instanceof DenseBlockFP64
+				&& c instanceof DenseBlockFP64 && a.numBlocks() == 1 && b.numBlocks() == 1 && c.numBlocks() == 1;
+			final double[] avals = fp64 ? a.valuesAt(0) : null;
+			final double[] bvals = fp64 ? b.valuesAt(0) : null;
+			final double[] cvals = fp64 ? c.valuesAt(0) : null;
+
+			final int[] ix = new int[nd1];
+			for( int r = _rl; r < _ru; r++ ) {
+				long off2 = r * s2[0];
+				for( int cix = 0; cix < cols; cix += inner ) {
+					// contiguous run over the last dimension
+					if( fp64 ) {
+						final int apos = r * cols + cix, bpos = (int) off2;
+						if( istride == 1 )
+							for( int i = 0; i < inner; i++ )
+								cvals[apos + i] = _fn.execute(avals[apos + i], bvals[bpos + i]);
+						else {
+							final double bval = bvals[bpos];
+							for( int i = 0; i < inner; i++ )
+								cvals[apos + i] = _fn.execute(avals[apos + i], bval);
+						}
+					}
+					else {
+						final int r2 = (int) (off2 / cols2), c2 = (int) (off2 % cols2);
+						for( int i = 0; i < inner; i++ )
+							c.set(r, cix + i, _fn.execute(a.get(r, cix + i), b.get(r2, c2 + i * istride)));
+					}
+					// odometer over the middle dimensions
+					for( int j = nd1 - 2; j >= 1; j-- ) {
+						off2 += s2[j];
+						if( ++ix[j] < dims[j] )
+							break;
+						off2 -= s2[j] * dims[j];
+						ix[j] = 0;
+					}
+				}
+			}
+			return c.countNonZeros(_rl, _ru, 0, cols);
+		}
+	}
 }
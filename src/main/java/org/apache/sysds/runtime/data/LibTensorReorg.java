@@ -20,11 +20,18 @@
 package org.apache.sysds.runtime.data;
 
 import org.apache.commons.lang3.NotImplementedException;
+import org.apache.sysds.common.Types.ValueType;
 import org.apache.sysds.runtime.DMLRuntimeException;
 import org.apache.sysds.runtime.meta.DataCharacteristics;
+import org.apache.sysds.runtime.util.CommonThreadPool;
+import org.apache.sysds.runtime.util.UtilFunctions;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
 public class LibTensorReorg {
 	//allow shallow dense/sparse copy for unchanged data (which is
@@ -119,6 +126,164 @@ public class LibTensorReorg {
 		out.set(in);
 	}
 
+	/**
+	 * CP permute operation (generalized transpose), where the i-th output dimension corresponds
+	 * to the perm[i]-th input dimension. The output is computed row-major in contiguous runs over
+	 * the last output dimension (gathering from the input with precomputed strides), and
+	 * multi-threaded over the first output dimension.
+	 *
+	 * @param in input tensor
+	 * @param out output tensor (reused if of the input value type)
+	 * @param perm permutation of input dimensions
+	 * @param k degree of parallelism
+	 * @return output tensor
+	 */
+	public static BasicTensorBlock permute(BasicTensorBlock in, BasicTensorBlock out, int[] perm, int k) {
+		final int nd = in.getNumDims();
+		//check validity
+		boolean[] seen = new boolean[nd];
+		boolean valid = perm.length == nd;
+		for( int i = 0; valid && i < nd; i++ ) {
+			valid = perm[i] >= 0 && perm[i] < nd && !seen[perm[i]];
+			if( valid )
+				seen[perm[i]] = true;
+		}
+		if( !valid )
+			throw new DMLRuntimeException("Invalid permutation "+Arrays.toString(perm)
+				+" for tensor with dimensions "+Arrays.toString(in.getDims())+".");
+		int[] dims = new int[nd];
+		for( int i = 0; i < nd; i++ )
+			dims[i] = in.getDim(perm[i]);
+		if( out == null || out._vt != in._vt )
+			out = new BasicTensorBlock(in._vt, dims, false);
+		else
+			out.reset(dims, false);
+
+		//check for identity permutation (copy incl dims, nnz)
+		boolean identity = true;
+		for( int i = 0; i < nd; i++ )
+			identity &= perm[i] == i;
+		if( identity || in.isEmpty(false) ) {
+			if( !identity )
+				out._nnz = 0;
+			else if( SHALLOW_COPY_REORG )
+				out.copyShallow(in);
+			else
+				out.copy(in);
+			return out;
+		}
+		if( in.isSparse() )
+			throw new NotImplementedException();
+
+		out.allocateDenseBlock();
+		if( k <= 1 || dims[0] <= 1 || in.getLength() < LibTensorBincell.PAR_NUMCELL_THRESHOLD ) {
+			new PermuteTask(in, out, perm, 0, dims[0]).call();
+		}
+		else {
+			ExecutorService pool = CommonThreadPool.get(k);
+			try {
+				ArrayList<PermuteTask> tasks = new ArrayList<>();
+				ArrayList<Integer> blklens = UtilFunctions.getBalancedBlockSizesDefault(dims[0], k, false);
+				for( int i = 0, lb = 0; i < blklens.size(); lb += blklens.get(i), i++ )
+					tasks.add(new PermuteTask(in, out, perm, lb, lb + blklens.get(i)));
+				for( Future<Object> task : pool.invokeAll(tasks) )
+					task.get();
+			}
+			catch(Exception ex) {
+				throw new DMLRuntimeException(ex);
+			}
+			finally {
+				pool.shutdown();
+			}
+		}
+		out._nnz = in._nnz;
+		return out;
+	}
+
+	private static class PermuteTask implements Callable<Object> {
+		private final BasicTensorBlock _in, _out;
+		private final int[] _perm;
+		private final int _rl, _ru;
+
+		protected PermuteTask(BasicTensorBlock in, BasicTensorBlock out, int[] perm, int rl, int ru) {
+			_in = in;
+			_out = out;
+			_perm = perm;
+			_rl = rl;
+			_ru = ru;
+		}
+
+		@Override
+		public Object call() {
+			final int nd = _perm.length;
+			final int[] idims = _in.getDims(), odims = _out.getDims();
+			final int icols = (int) UtilFunctions.prod(idims, 1);
+			final int ocols = (int) UtilFunctions.prod(odims, 1);
+			//input strides per output dimension
+			final long[] istrides = new long[nd];
+			long[] tmp = new long[nd];
+			long stride = 1;
+			for( int j = nd - 1; j >= 0; j-- ) {
+				tmp[j] = stride;
+				stride *= idims[j];
+			}
+			for( int j = 0; j < nd; j++ )
+				istrides[j] = tmp[_perm[j]];
+			final int inner = (nd > 1) ? odims[nd - 1] : 1;
+			final int istride = (nd > 1) ? (int) istrides[nd - 1] : 0;
+
+			final DenseBlock a = _in.getDenseBlock(), c = _out.getDenseBlock();
+			final boolean fp64 = a instanceof DenseBlockFP64 && c instanceof DenseBlockFP64
+				&& a.numBlocks() == 1 && c.numBlocks() == 1;
+			final boolean str = _in.getValueType() == ValueType.STRING;
+			final double[] avals = fp64 ? a.valuesAt(0) : null;
+			final double[] cvals = fp64 ? c.valuesAt(0) : null;
+
+			final int[] ix = new int[nd];
+			final int[] iix = str ? new int[nd] : null;
+			final int[] oix = str ? new int[nd] : null;
+			for( int r = _rl; r < _ru; r++ ) {
+				long off = r * istrides[0];
+				for( int cix = 0; cix < ocols; cix += inner ) {
+					//contiguous run over the last output dimension
+					if( fp64 ) {
+						final int cpos = r * ocols + cix;
+						for( int i = 0, apos = (int) off; i < inner; i++, apos += istride )
+							cvals[cpos + i] = avals[apos];
+					}
+					else if( str ) {
+						System.arraycopy(ix, 0, oix, 0, nd);
+						oix[0] = r;
+						for( int i = 0; i < inner; i++ ) {
+							long ioff = off + (long) i * istride;
+							for( int j = nd - 1; j >= 0; j-- ) {
+								iix[j] = (int) (ioff % idims[j]);
+								ioff /= idims[j];
+							}
+							oix[nd - 1] = i;
+							c.set(oix, a.getString(iix));
+						}
+					}
+					else {
+						for( int i = 0; i < inner; i++ ) {
+							long ioff = off + (long) i * istride;
+							c.set(r, cix + i, a.get((int) (ioff / icols), (int) (ioff % icols)));
+						}
+					}
+					//odometer over the middle dimensions
+					for( int j = nd - 2; j >= 1; j-- ) {
+						off += istrides[j];
+						if( ++ix[j] < odims[j] )
+							break;
+						off -= istrides[j] * odims[j];
+						ix[j] = 0;
+					}
+				}
+			}
+			return null;
+		}
+	}
+
 	/**
 	 * MR/SPARK reshape interface - for reshape we cannot view blocks independently, and hence,
 	 * there are different CP and MR interfaces.
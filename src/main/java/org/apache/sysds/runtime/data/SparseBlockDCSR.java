@@ -50,12 +50,11 @@ public class SparseBlockDCSR extends SparseBlock
 	}
 
 	public SparseBlockDCSR(int rlen, int capacity) {
-		//TODO: This allocates too much space (we care about number of non-empty rows)
-		LOG.warn("Allocating a DCSR-block using row-length. This will lead to significant overhead!");
-		LOG.warn("If you want to initialize a sparse block using rlen, choose SparseBlockCSR instead!");
-
-		_rowidx = new int[rlen];
-		_rowptr = new int[rlen + 1];
+		//row arrays sized by the number of non-empty rows (at most capacity), 
+		//which are grown on demand, similar to the column and value arrays
+		int rcap = Math.max(Math.min(rlen, capacity), 1);
+		_rowidx = new int[rcap];
+		_rowptr = new int[rcap + 1];
 		_colidx = new int[capacity];
 		_values = new double[capacity];
 		_rlen = rlen;
@@ -75,7 +74,6 @@ public class SparseBlockDCSR extends SparseBlock
 	}
 
 	public SparseBlockDCSR(int[] rowIdx, int[] rowPtr, int[] colIdx, double[] values, int rlen, int nnz, int nnzr){
-		LOG.warn("Allocating a DCSR-block using row-length. This will lead to significant overhead!");
 		_rowidx = rowIdx;
 		_rowptr = rowPtr;
 		_colidx = colIdx;
@@ -152,8 +150,10 @@ public class SparseBlockDCSR extends SparseBlock
 	}
 
 	/**
-	 * Get the estimated in-memory size of the sparse block in CSR
+	 * Get the estimated in-memory size of the sparse block in DCSR
 	 * with the given dimensions w/o accounting for overallocation.
+	 * The row arrays are sized by the expected number of non-empty
+	 * rows, assuming uniformly distributed non-zeros.
 	 *
 	 * @param nrows number of rows
 	 * @param ncols number of columns
@@ -162,12 +162,14 @@ public class SparseBlockDCSR extends SparseBlock
 	 */
 	public static long estimateSizeInMemory(long nrows, long ncols, double sparsity) {
 		double lnnz = Math.max(INIT_CAPACITY, Math.ceil(sparsity*nrows*ncols));
+		double lnnzr = Math.min(lnnz, Math.ceil(nrows * -Math.expm1(ncols * Math.log1p(-Math.min(sparsity, 1)))));
+		long nnzr = (long) Math.min(nrows, Math.max(lnnzr, 1));
 
-		//32B overhead per array, int arr in nrows, int/double arr in nnz
+		//32B overhead per array, int arr in nnzr, int/double arr in nnz
 		double size = 16;                                    // Memory overhead of the object
 		size += 4 + 4 + 4 + 4;                               // 3x int field + 0 (padding not necessary)
-		size += MemoryEstimates.intArrayCost(nrows);         // rowidx array (row indices)
-		size += MemoryEstimates.intArrayCost(nrows+1);       // rowptr array (row pointers)
+		size += MemoryEstimates.intArrayCost(nnzr);          // rowidx array (row indices)
+		size += MemoryEstimates.intArrayCost(nnzr+1);        // rowptr array (row pointers)
 		size += MemoryEstimates.intArrayCost((long) lnnz);   // colidx array (column indexes)
 		size += MemoryEstimates.doubleArrayCost((long) lnnz);// values array (non-zero values)
 
@@ -187,6 +189,68 @@ public class SparseBlockDCSR extends SparseBlock
 		return (long) Math.min(size, Long.MAX_VALUE);
 	}
 
+	/**
+	 * Get raw access to the underlying array of non-empty row indexes,
+	 * which is valid in the range [0, numNonEmptyRows()).
+	 * 
+	 * @return array of row indexes
+	 */
+	public int[] rowIndexes() {
+		return _rowidx;
+	}
+
+	/**
+	 * Get raw access to the underlying array of row pointers, where the
+	 * non-empty row rowIndexes()[k] spans [rowPointers()[k], rowPointers()[k+1]).
+	 * 
+	 * @return array of row pointers
+	 */
+	public int[] rowPointers() {
+		return _rowptr;
+	}
+
+	/**
+	 * Get raw access to the underlying array of column indexes.
+	 * 
+	 * @return array of column indexes
+	 */
+	public int[] indexes() {
+		return _colidx;
+	}
+
+	/**
+	 * Get raw access to the underlying array of values.
+	 * 
+	 * @return array of values
+	 */
+	public double[] values() {
+		return _values;
+	}
+
+	/**
+	 * Get the number of non-empty rows.
+	 * 
+	 * @return number of non-empty rows
+	 */
+	public int numNonEmptyRows() {
+		return _nnzr;
+	}
+
+	/**
+	 * Get the position of the first non-empty row with row index greater than 
+	 * or equal to r in the array of row indexes. Kernels iterate over the 
+	 * non-empty rows of a row range [rl, ru) via [posRowIndex(rl), posRowIndex(ru)).
+	 * 
+	 * @param r row index
+	 * @return position in the array of row indexes
+	 */
+	public int posRowIndex(int r) {
+		int rowIndex = Arrays.binarySearch(_rowidx, 0, _nnzr, r);
+		if( rowIndex < 0 )
+			rowIndex = -rowIndex - 1;
+		return rowIndex;
+	}
+
 	///////////////////
 	//SparseBlock implementation
 
@@ -232,20 +296,16 @@ public class SparseBlockDCSR extends SparseBlock
 
 	@Override
 	public void reset() {
+		//note: keep the number of rows (consistent with CSR)
 		if( _size > 0 ) {
 			_size = 0;
 			_nnzr = 0;
-			_rlen = 0;
 		}
 	}
 
 	@Override
 	public void reset(int ennz, int maxnnz) {
-		if( _size > 0 ) {
-			_size = 0;
-			_nnzr = 0;
-			_rlen = 0;
-		}
+		reset();
 	}
 
 	@Override
@@ -325,12 +385,9 @@ public class SparseBlockDCSR extends SparseBlock
 
 	@Override
 	public int pos(int r) {
-		int idx = Arrays.binarySearch(_rowidx, 0, _nnzr, r);
-
-		if (idx < 0)
-			idx = Math.max(-idx - 2, 0);
-
-		return _rowptr[idx];
+		//note: for empty rows, we return the position where the row would
+		//start, i.e., the end of the preceding rows (consistent with CSR)
+		return _rowptr[posRowIndex(r)];
 	}
 
 	@Override
@@ -710,13 +767,13 @@ public class SparseBlockDCSR extends SparseBlock
 		}
 
 		//3. non-decreasing row pointers
-		for ( int i=1; i <_rowidx.length; i++ ) {
+		for ( int i=1; i <_nnzr; i++ ) {
 			if (_rowidx[i-1] > _rowidx[i])
 				throw new RuntimeException("Row indices are decreasing at row: " + i
 						+ ", with indices " + _rowidx[i-1] + " > " +_rowidx[i]);
 		}
 
-		for (int i = 1; i < _rowptr.length; i++ ) {
+		for (int i = 1; i < _nnzr + 1; i++ ) {
 			if (_rowptr[i - 1] > _rowptr[i]) {
 				throw new RuntimeException("Row pointers are decreasing at row: " + i
 						+ ", with pointers " + _rowptr[i-1] + " > " +_rowptr[i]);
@@ -724,9 +781,9 @@ public class SparseBlockDCSR extends SparseBlock
 		}
 
 		//4. sorted column indexes per row
-		for ( int rowIdx = 0; rowIdx < _rowidx.length; rowIdx++ ) {
-			int apos = _rowidx[rowIdx];
-			int alen = _rowidx[rowIdx+1] - apos;
+		for ( int rowIdx = 0; rowIdx < _nnzr; rowIdx++ ) {
+			int apos = _rowptr[rowIdx];
+			int alen = _rowptr[rowIdx+1] - apos;
 
 			for( int k = apos + 1; k < apos + alen; k++)
 				if( _colidx[k-1] >= _colidx[k] )
@@ -971,11 +1028,4 @@ public class SparseBlockDCSR extends SparseBlock
 		for( int i = rowIndex; i < _nnzr + 1; i++ )
 			_rowptr[i] += cnt;
 	}
-	
-	private int posRowIndex(int r) {
-		int rowIndex = Arrays.binarySearch(_rowidx, 0, _nnzr, r);
-		if( rowIndex < 0 )
-			rowIndex = -rowIndex - 1;
-		return rowIndex;
-	}
 }
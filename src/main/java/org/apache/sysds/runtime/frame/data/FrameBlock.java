@@ -60,7 +60,9 @@ import org.apache.sysds.runtime.frame.data.lib.FrameFromMatrixBlock;
 import org.apache.sysds.runtime.frame.data.lib.FrameLibAppend;
 import org.apache.sysds.runtime.frame.data.lib.FrameLibApplySchema;
 import org.apache.sysds.runtime.frame.data.lib.FrameLibDetectSchema;
+import org.apache.sysds.runtime.frame.data.lib.FrameLibMap;
 import org.apache.sysds.runtime.frame.data.lib.FrameLibRemoveEmpty;
+import org.apache.sysds.runtime.frame.data.lib.FrameLibSort;
 import org.apache.sysds.runtime.frame.data.lib.FrameUtil;
 import org.apache.sysds.runtime.functionobjects.ValueComparisonFunction;
 import org.apache.sysds.runtime.instructions.cp.BooleanObject;
@@ -1525,6 +1527,10 @@ public class FrameBlock implements CacheBlock<FrameBlock>, Externalizable {
 	}
 
 	public FrameBlock map(String lambdaExpr, long margin) {
+		return map(lambdaExpr, margin, 1);
+	}
+
+	public FrameBlock map(String lambdaExpr, long margin, int k) {
 		if(!lambdaExpr.contains("->")) {
 			String args = lambdaExpr.substring(lambdaExpr.indexOf('(') + 1, lambdaExpr.indexOf(')'));
 			if(args.contains(",")) {
@@ -1540,7 +1546,7 @@ public class FrameBlock implements CacheBlock<FrameBlock>, Externalizable {
 		}
 		if(lambdaExpr.contains("jaccardSim"))
 			return mapDist(getCompiledFunction(lambdaExpr, margin));
-		return map(getCompiledFunction(lambdaExpr, margin), margin);
+		return map(getCompiledFunction(lambdaExpr, margin), margin, k);
 	}
 
 	public FrameBlock frameRowReplication(FrameBlock rowToreplicate) {
@@ -1637,40 +1643,21 @@ public class FrameBlock implements CacheBlock<FrameBlock>, Externalizable {
 	}
 
 	public FrameBlock map(FrameMapFunction lambdaExpr, long margin) {
-		// Prepare temporary output array
-		String[][] output = new String[getNumRows()][getNumColumns()];
+		return map(lambdaExpr, margin, 1);
+	}
 
-		if(margin == 1) {
-			// Execute map function on rows
-			for(int i = 0; i < getNumRows(); i++) {
-				String[] row = new String[getNumColumns()];
-				for(int j = 0; j < getNumColumns(); j++) {
-					Array input = getColumn(j);
-					row[j] = String.valueOf(input.get(i));
-				}
-				output[i] = lambdaExpr.apply(row);
-			}
-		}
-		else if(margin == 2) {
-			// Execute map function on columns
-			for(int j = 0; j < getNumColumns(); j++) {
-				// since more rows can be allocated, mutable array
-				String[] actualColumn = Arrays.copyOfRange((String[]) getColumnData(j), 0, getNumRows());
-				String[] outColumn = lambdaExpr.apply(actualColumn);
-				for(int i = 0; i < getNumRows(); i++)
-					output[i][j] = outColumn[i];
-			}
-		}
-		else {
-			// Execute map function on all cells
-			for(int j = 0; j < getNumColumns(); j++) {
-				Array input = getColumn(j);
-				for(int i = 0; i < input.size(); i++)
-					if(input.get(i) != null)
-						output[i][j] = lambdaExpr.apply(String.valueOf(input.get(i)));
-			}
-		}
-		return new FrameBlock(UtilFunctions.nCopies(getNumColumns(), ValueType.STRING), output);
+	/**
+	 * Apply the map function on the cells, rows or columns of this frame.
+	 * 
+	 * @param lambdaExpr The compiled map function
+	 * @param margin     The margin, 0 for cells, 1 for rows and 2 for columns
+	 * @param k          The parallelization degree
+	 * @return A new frame of string columns containing the mapped values
+	 */
+	public FrameBlock map(FrameMapFunction lambdaExpr, long margin, int k) {
+		if(getNumColumns() == 0)
+			return new FrameBlock(new ValueType[0], getNumRows());
+		return FrameLibMap.map(this, lambdaExpr, margin, k);
 	}
 
 	public FrameBlock mapDist(FrameMapFunction lambdaExpr) {
@@ -1742,6 +1729,21 @@ public class FrameBlock implements CacheBlock<FrameBlock>, Externalizable {
 		public String[] apply(String[] input1) {
 			return null;
 		}
+
+		/**
+		 * Batched cell-wise map function, applying the function on the range [rl, ru) of the input and writing the
+		 * results to the same range of the output. Null inputs are kept null. The input and output arrays are allowed
+		 * to be the same array.
+		 * 
+		 * @param input  The input values
+		 * @param output The output values
+		 * @param rl     The row start (inclusive)
+		 * @param ru     The row end (exclusive)
+		 */
+		public void apply(String[] input, String[] output, int rl, int ru) {
+			for(int i = rl; i < ru; i++)
+				output[i] = input[i] == null ? null : apply(input[i]);
+		}
 	}
 
 	public <T> FrameBlock replaceOperations(String pattern, String replacement) {
@@ -1783,6 +1785,18 @@ public class FrameBlock implements CacheBlock<FrameBlock>, Externalizable {
 		return FrameLibRemoveEmpty.removeEmpty(this, rows, emptyReturn, select);
 	}
 
+	/**
+	 * Stable sort of the rows of this frame by the given columns.
+	 * 
+	 * @param by   The 1-based indexes of the columns to sort by, in order of precedence
+	 * @param desc Sort in descending instead of ascending order
+	 * @param k    The parallelization degree
+	 * @return A new frame with the sorted rows
+	 */
+	public FrameBlock sort(int[] by, boolean desc, int k) {
+		return FrameLibSort.sort(this, by, desc, k);
+	}
+
 	@Override
 	public String toString() {
 		StringBuilder sb = new StringBuilder();
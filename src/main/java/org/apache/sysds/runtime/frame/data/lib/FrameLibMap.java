@@ -0,0 +1,261 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.runtime.frame.data.lib;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.sysds.runtime.DMLRuntimeException;
+import org.apache.sysds.runtime.frame.data.FrameBlock;
+import org.apache.sysds.runtime.frame.data.FrameBlock.FrameMapFunction;
+import org.apache.sysds.runtime.frame.data.columns.Array;
+import org.apache.sysds.runtime.frame.data.columns.ArrayFactory;
+import org.apache.sysds.runtime.frame.data.columns.DDCArray;
+import org.apache.sysds.runtime.frame.data.columns.DoubleArray;
+import org.apache.sysds.runtime.frame.data.columns.FloatArray;
+import org.apache.sysds.runtime.frame.data.columns.IntegerArray;
+import org.apache.sysds.runtime.frame.data.columns.LongArray;
+import org.apache.sysds.runtime.frame.data.columns.StringArray;
+import org.apache.sysds.runtime.util.CommonThreadPool;
+
+/**
+ * Batched execution of frame map functions. Instead of evaluating the function cell by cell over boxed values, the
+ * columns are processed in row chunks via {@link FrameMapFunction#apply(String[], String[], int, int)}, numeric columns
+ * are converted from their primitive arrays without boxing, DDC compressed columns are evaluated on their dictionary
+ * only, and chunks are executed in parallel.
+ */
+public class FrameLibMap {
+	protected static final Log LOG = LogFactory.getLog(FrameLibMap.class.getName());
+
+	/** Minimum number of rows per parallel task */
+	public static int PAR_ROW_THRESHOLD = 1024;
+
+	private final FrameBlock in;
+	private final FrameMapFunction fn;
+	private final long margin;
+	private final int k;
+
+	private final int nRow;
+	private final int nCol;
+
+	/**
+	 * Apply the given map function on the frame block.
+	 *
+	 * @param in     The input frame
+	 * @param fn     The compiled map function
+	 * @param margin The margin, 0 for cells, 1 for rows and 2 for columns
+	 * @param k      The parallelization degree
+	 * @return A new frame block of string columns containing the function outputs
+	 */
+	public static FrameBlock map(FrameBlock in, FrameMapFunction fn, long margin, int k) {
+		return new FrameLibMap(in, fn, margin, k).apply();
+	}
+
+	private FrameLibMap(FrameBlock in, FrameMapFunction fn, long margin, int k) {
+		this.in = in;
+		this.fn = fn;
+		this.margin = margin;
+		this.k = k;
+		nRow = in.getNumRows();
+		nCol = in.getNumColumns();
+	}
+
+	private FrameBlock apply() {
+		final Array<?>[] out = new Array<?>[nCol];
+		try {
+			if(margin == 1)
+				mapRows(out);
+			else if(margin == 2)
+				mapColumns(out);
+			else
+				mapCells(out);
+		}
+		catch(Exception e) {
+			throw new DMLRuntimeException("Failed to execute FrameMapFunction", e);
+		}
+		return new FrameBlock(out);
+	}
+
+	private void mapCells(Array<?>[] out) throws Exception {
+		final String[][] outCols = new String[nCol][];
+		for(int j = 0; j < nCol; j++) {
+			final Array<?> col = in.getColumn(j);
+			if(col instanceof DDCArray && ((DDCArray<?>) col).getDict() != null)
+				out[j] = mapDDC((DDCArray<?>) col);
+			else
+				outCols[j] = new String[nRow];
+		}
+
+		final int blockSize = getBlockSize();
+		if(k <= 1 || nRow <= blockSize) {
+			for(int j = 0; j < nCol; j++)
+				if(outCols[j] != null)
+					mapCells(in.getColumn(j), outCols[j], 0, nRow);
+		}
+		else {
+			final ExecutorService pool = CommonThreadPool.get(k);
+			try {
+				final List<Future<?>> tasks = new ArrayList<>();
+				for(int j = 0; j < nCol; j++) {
+					if(outCols[j] == null)
+						continue;
+					final Array<?> col = in.getColumn(j);
+					final String[] outCol = outCols[j];
+					for(int r = 0; r < nRow; r += blockSize) {
+						final int rl = r;
+						final int ru = Math.min(nRow, r + blockSize);
+						tasks.add(pool.submit(() -> mapCells(col, outCol, rl, ru)));
+					}
+				}
+				for(Future<?> f : tasks)
+					f.get();
+			}
+			finally {
+				pool.shutdown();
+			}
+		}
+
+		for(int j = 0; j < nCol; j++)
+			if(outCols[j] != null)
+				out[j] = ArrayFactory.create(outCols[j]);
+	}
+
+	private Array<String> mapDDC(DDCArray<?> col) {
+		// evaluate the function only once per distinct value and keep the row mapping
+		final Array<?> dict = col.getDict();
+		final String[] outDict = new String[dict.size()];
+		mapCells(dict, outDict, 0, outDict.length);
+		return col.setDict(ArrayFactory.create(outDict));
+	}
+
+	private void mapCells(Array<?> col, String[] out, int rl, int ru) {
+		if(col instanceof StringArray) {
+			// read directly from the backing array
+			fn.apply(((StringArray) col).get(), out, rl, ru);
+			return;
+		}
+
+		// materialize string representations of the chunk into the output
+		// and map in place, primitive columns are converted without boxing
+		if(col instanceof DoubleArray) {
+			final double[] v = ((DoubleArray) col).get();
+			for(int i = rl; i < ru; i++)
+				out[i] = String.valueOf(v[i]);
+		}
+		else if(col instanceof FloatArray) {
+			final float[] v = ((FloatArray) col).get();
+			for(int i = rl; i < ru; i++)
+				out[i] = String.valueOf(v[i]);
+		}
+		else if(col instanceof IntegerArray) {
+			final int[] v = ((IntegerArray) col).get();
+			for(int i = rl; i < ru; i++)
+				out[i] = String.valueOf(v[i]);
+		}
+		else if(col instanceof LongArray) {
+			final long[] v = ((LongArray) col).get();
+			for(int i = rl; i < ru; i++)
+				out[i] = String.valueOf(v[i]);
+		}
+		else {
+			for(int i = rl; i < ru; i++) {
+				final Object v = col.get(i);
+				out[i] = v == null ? null : String.valueOf(v);
+			}
+		}
+		fn.apply(out, out, rl, ru);
+	}
+
+	private void mapRows(Array<?>[] out) throws Exception {
+		final String[][] outCols = new String[nCol][nRow];
+		final int blockSize = getBlockSize();
+		if(k <= 1 || nRow <= blockSize)
+			mapRows(outCols, 0, nRow);
+		else {
+			final ExecutorService pool = CommonThreadPool.get(k);
+			try {
+				final List<Future<?>> tasks = new ArrayList<>();
+				for(int r = 0; r < nRow; r += blockSize) {
+					final int rl = r;
+					final int ru = Math.min(nRow, r + blockSize);
+					tasks.add(pool.submit(() -> mapRows(outCols, rl, ru)));
+				}
+				for(Future<?> f : tasks)
+					f.get();
+			}
+			finally {
+				pool.shutdown();
+			}
+		}
+		for(int j = 0; j < nCol; j++)
+			out[j] = ArrayFactory.create(outCols[j]);
+	}
+
+	private void mapRows(String[][] outCols, int rl, int ru) {
+		final String[] row = new String[nCol];
+		for(int i = rl; i < ru; i++) {
+			for(int j = 0; j < nCol; j++)
+				row[j] = String.valueOf(in.get(i, j));
+			final String[] ret = fn.apply(row);
+			for(int j = 0; j < nCol; j++)
+				outCols[j][i] = ret[j];
+		}
+	}
+
+	private void mapColumns(Array<?>[] out) throws Exception {
+		if(k <= 1 || nCol == 1) {
+			for(int j = 0; j < nCol; j++)
+				out[j] = mapColumn(j);
+		}
+		else {
+			final ExecutorService pool = CommonThreadPool.get(k);
+			try {
+				final List<Future<Array<String>>> tasks = new ArrayList<>(nCol);
+				for(int j = 0; j < nCol; j++) {
+					final int c = j;
+					tasks.add(pool.submit(() -> mapColumn(c)));
+				}
+				for(int j = 0; j < nCol; j++)
+					out[j] = tasks.get(j).get();
+			}
+			finally {
+				pool.shutdown();
+			}
+		}
+	}
+
+	private Array<String> mapColumn(int j) {
+		// since more rows can be allocated, mutable array
+		final String[] col = new String[nRow];
+		System.arraycopy((String[]) in.getColumnData(j), 0, col, 0, nRow);
+		final String[] ret = fn.apply(col);
+		return ArrayFactory.create(ret.length == nRow ? ret : Arrays.copyOf(ret, nRow));
+	}
+
+	private int getBlockSize() {
+		final int rowThreads = Math.max(1, (k * 2) / Math.max(1, nCol));
+		return Math.max(((nRow / rowThreads) / 64) * 64, PAR_ROW_THRESHOLD);
+	}
+}
@@ -0,0 +1,198 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.runtime.frame.data.lib;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.sysds.runtime.DMLRuntimeException;
+import org.apache.sysds.runtime.frame.data.FrameBlock;
+import org.apache.sysds.runtime.frame.data.columns.Array;
+import org.apache.sysds.runtime.util.CommonThreadPool;
+import org.apache.sysds.runtime.util.SortUtils;
+
+/**
+ * Stable multi-column sort of frame rows. Numeric and boolean sort columns are compared on extracted double keys,
+ * all other columns on their string representation (nulls first). A single numeric sort column uses the parallel
+ * stable sort of {@link SortUtils}, while multi-column sorts use a parallel stable merge sort over the row
+ * permutation. The sorted frame is materialized column-parallel.
+ */
+public class FrameLibSort {
+	protected static final Log LOG = LogFactory.getLog(FrameLibSort.class.getName());
+
+	private final FrameBlock in;
+	private final int[] by;
+	private final boolean desc;
+	private final int k;
+
+	private final int nRow;
+
+	/**
+	 * Sort the rows of the given frame by the given columns.
+	 *
+	 * @param in   The input frame
+	 * @param by   The 1-based indexes of the columns to sort by, in order of precedence
+	 * @param desc Sort in descending instead of ascending order
+	 * @param k    The parallelization degree
+	 * @return A new frame block with the sorted rows
+	 */
+	public static FrameBlock sort(FrameBlock in, int[] by, boolean desc, int k) {
+		final FrameLibSort s = new FrameLibSort(in, by, desc, k);
+		return s.permute(s.sortIndexes());
+	}
+
+	/**
+	 * Get the stable sort permutation of the rows of the given frame, where runs of equal keys retain their input
+	 * order.
+	 *
+	 * @param in   The input frame
+	 * @param by   The 1-based indexes of the columns to sort by, in order of precedence
+	 * @param desc Sort in descending instead of ascending order
+	 * @param k    The parallelization degree
+	 * @return The 0-based row indexes in sorted order
+	 */
+	public static int[] sortIndexes(FrameBlock in, int[] by, boolean desc, int k) {
+		return new FrameLibSort(in, by, desc, k).sortIndexes();
+	}
+
+	private FrameLibSort(FrameBlock in, int[] by, boolean desc, int k) {
+		this.in = in;
+		this.by = by;
+		this.desc = desc;
+		this.k = k;
+		nRow = in.getNumRows();
+		verify();
+	}
+
+	private void verify() {
+		if(by == null || by.length == 0)
+			throw new DMLRuntimeException("Invalid frame sort: no sort columns specified.");
+		for(int c : by)
+			if(c <= 0 || c > in.getNumColumns())
+				throw new DMLRuntimeException("Invalid frame sort: column " + c + " out of bounds for "
+					+ in.getNumColumns() + " columns.");
+	}
+
+	private int[] sortIndexes() {
+		// extract keys of all sort columns
+		final Object[] keys = new Object[by.length];
+		for(int j = 0; j < by.length; j++)
+			keys[j] = extractKeys(in.getColumn(by[j] - 1));
+
+		if(by.length == 1 && keys[0] instanceof double[]) {
+			final int[] vix = new int[nRow];
+			for(int i = 0; i < nRow; i++)
+				vix[i] = i;
+			SortUtils.sortByValueStable(0, nRow, (double[]) keys[0], vix, desc, k);
+			return vix;
+		}
+
+		final Integer[] perm = new Integer[nRow];
+		for(int i = 0; i < nRow; i++)
+			perm[i] = i;
+		// both sorts are stable merge sorts
+		final Comparator<Integer> cmp = new RowComparator(keys, desc);
+		if(k > 1)
+			Arrays.parallelSort(perm, cmp);
+		else
+			Arrays.sort(perm, cmp);
+		final int[] ret = new int[nRow];
+		for(int i = 0; i < nRow; i++)
+			ret[i] = perm[i];
+		return ret;
+	}
+
+	private Object extractKeys(Array<?> col) {
+		if(col.getValueType().isPseudoNumeric()) {
+			final double[] ret = new double[nRow];
+			for(int i = 0; i < nRow; i++)
+				ret[i] = col.getAsDouble(i);
+			return ret;
+		}
+		final String[] ret = new String[nRow];
+		for(int i = 0; i < nRow; i++) {
+			final Object v = col.get(i);
+			ret[i] = v == null ? null : v.toString();
+		}
+		return ret;
+	}
+
+	private FrameBlock permute(int[] perm) {
+		final int nCol = in.getNumColumns();
+		final Array<?>[] out = new Array<?>[nCol];
+		if(k <= 1 || nCol == 1) {
+			for(int j = 0; j < nCol; j++)
+				out[j] = in.getColumn(j).select(perm);
+		}
+		else {
+			final ExecutorService pool = CommonThreadPool.get(k);
+			try {
+				final List<Future<Array<?>>> tasks = new ArrayList<>(nCol);
+				for(int j = 0; j < nCol; j++) {
+					final Array<?> col = in.getColumn(j);
+					tasks.add(pool.submit(() -> col.select(perm)));
+				}
+				for(int j = 0; j < nCol; j++)
+					out[j] = tasks.get(j).get();
+			}
+			catch(Exception e) {
+				throw new DMLRuntimeException("Failed parallel frame sort", e);
+			}
+			finally {
+				pool.shutdown();
+			}
+		}
+		return new FrameBlock(out, in.getColumnNames(false));
+	}
+
+	private static class RowComparator implements Comparator<Integer> {
+		private final Object[] _keys;
+		private final boolean _desc;
+
+		protected RowComparator(Object[] keys, boolean desc) {
+			_keys = keys;
+			_desc = desc;
+		}
+
+		@Override
+		public int compare(Integer a, Integer b) {
+			for(Object key : _keys) {
+				final int ret = (key instanceof double[]) ? //
+					Double.compare(((double[]) key)[a], ((double[]) key)[b]) : //
+					compare(((String[]) key)[a], ((String[]) key)[b]);
+				if(ret != 0)
+					return _desc ? -ret : ret;
+			}
+			return 0;
+		}
+
+		private static int compare(String a, String b) {
+			if(a == null)
+				return b == null ? 0 : -1;
+			return b == null ? 1 : a.compareTo(b);
+		}
+	}
+}
@@ -64,6 +64,8 @@ import org.apache.sysds.runtime.instructions.cp.TernaryCPInstruction;
 import org.apache.sysds.runtime.instructions.cp.UaggOuterChainCPInstruction;
 import org.apache.sysds.runtime.instructions.cp.UnaryCPInstruction;
 import org.apache.sysds.runtime.instructions.cp.VariableCPInstruction;
+import org.apache.sysds.runtime.instructions.cpfile.AggregateBinaryCPFileInstruction;
+import org.apache.sysds.runtime.instructions.cpfile.MMTSJCPFileInstruction;
 import org.apache.sysds.runtime.instructions.cpfile.MatrixIndexingCPFileInstruction;
 
 public class CPInstructionParser extends InstructionParser {
@@ -90,6 +92,9 @@ public class CPInstructionParser extends InstructionParser {
 				return AggregateUnaryCPInstruction.parseInstruction(str);
 			
 			case AggregateBinary:
+				execType = ExecType.valueOf( str.split(Instruction.OPERAND_DELIM)[0] );
+				if( execType == ExecType.CP_FILE )
+					return AggregateBinaryCPFileInstruction.parseInstruction(str);
 				return AggregateBinaryCPInstruction.parseInstruction(str);
 	
 			case AggregateTernary:
@@ -177,6 +182,9 @@ public class CPInstructionParser extends InstructionParser {
 				throw new DMLRuntimeException("Invalid Builtin Instruction: " + str );
 			
 			case MMTSJ:
+				execType = ExecType.valueOf( str.split(Instruction.OPERAND_DELIM)[0] );
+				if( execType == ExecType.CP_FILE )
+					return MMTSJCPFileInstruction.parseInstruction(str);
 				return MMTSJCPInstruction.parseInstruction(str);
 			
 			case PMMJ:
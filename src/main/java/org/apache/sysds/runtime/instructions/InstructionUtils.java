@@ -436,27 +436,27 @@ public class InstructionUtils {
 		}
 		else if ( opcode.equalsIgnoreCase(Opcodes.UACD.toString()) ) {
 			aggun = new CountDistinctOperator(AggregateUnaryCPInstruction.AUType.COUNT_DISTINCT,
-					Direction.RowCol, ReduceAll.getReduceAllFnObject());
+					Direction.RowCol, ReduceAll.getReduceAllFnObject(), numThreads);
 		}
 		else if ( opcode.equalsIgnoreCase(Opcodes.UACDR.toString()) ) {
 			aggun = new CountDistinctOperator(AggregateUnaryCPInstruction.AUType.COUNT_DISTINCT,
-					Direction.Row, ReduceCol.getReduceColFnObject());
+					Direction.Row, ReduceCol.getReduceColFnObject(), numThreads);
 		}
 		else if ( opcode.equalsIgnoreCase(Opcodes.UACDC.toString()) ) {
 			aggun = new CountDistinctOperator(AggregateUnaryCPInstruction.AUType.COUNT_DISTINCT,
-					Direction.Col, ReduceRow.getReduceRowFnObject());
+					Direction.Col, ReduceRow.getReduceRowFnObject(), numThreads);
 		}
 		else if ( opcode.equalsIgnoreCase(Opcodes.UACDAP.toString()) ) {
 			aggun = new CountDistinctOperator(AggregateUnaryCPInstruction.AUType.COUNT_DISTINCT_APPROX,
-					Direction.RowCol, ReduceAll.getReduceAllFnObject());
+					Direction.RowCol, ReduceAll.getReduceAllFnObject(), numThreads);
 		}
 		else if ( opcode.equalsIgnoreCase(Opcodes.UACDAPR.toString()) ) {
 			aggun = new CountDistinctOperator(AggregateUnaryCPInstruction.AUType.COUNT_DISTINCT_APPROX,
-					Direction.Row, ReduceCol.getReduceColFnObject());
+					Direction.Row, ReduceCol.getReduceColFnObject(), numThreads);
 		}
 		else if ( opcode.equalsIgnoreCase(Opcodes.UACDAPC.toString()) ) {
 			aggun = new CountDistinctOperator(AggregateUnaryCPInstruction.AUType.COUNT_DISTINCT_APPROX,
-					Direction.Col, ReduceRow.getReduceRowFnObject());
+					Direction.Col, ReduceRow.getReduceRowFnObject(), numThreads);
 		}
 		else if ( opcode.equalsIgnoreCase(Opcodes.UNIQUE.toString()) ) {
 			AggregateOperator agg = new AggregateOperator(0, Builtin.getBuiltinFnObject("unique"));
@@ -25,6 +25,7 @@ import org.apache.sysds.common.Opcodes;
 import org.apache.sysds.common.Types.DataType;
 import org.apache.sysds.common.Types.ValueType;
 import org.apache.sysds.runtime.DMLRuntimeException;
+import org.apache.sysds.runtime.compress.CompressedMatrixBlock;
 import org.apache.sysds.runtime.controlprogram.caching.MatrixObject;
 import org.apache.sysds.runtime.controlprogram.caching.MatrixObject.UpdateType;
 import org.apache.sysds.runtime.controlprogram.context.ExecutionContext;
@@ -105,6 +106,17 @@ public final class MatrixIndexingCPInstruction extends IndexingCPInstruction {
 			MatrixBlock matBlock = ec.getMatrixInput(input1.getName());
 			MatrixBlock resultBlock = null;
 			
+			//copy-on-write of matrices shared across parfor workers
+			//(the output is bound to a new matrix object, so only the first update copies;
+			//compressed blocks are copied too, because the in-place update would otherwise
+			//modify their cached decompressed block, which is shared across workers)
+			if( updateType.isInPlace() && mo.isSharedView() ) {
+				MatrixBlock in = (matBlock instanceof CompressedMatrixBlock) ?
+					((CompressedMatrixBlock) matBlock).getUncompressed() : matBlock;
+				matBlock = !in.isInSparseFormat() ? new MatrixBlock(in) :
+					new MatrixBlock(in, MatrixBlock.DEFAULT_INPLACE_SPARSEBLOCK, true);
+			}
+			
 			if(input2.getDataType() == DataType.MATRIX) { //MATRIX<-MATRIX
 				MatrixBlock rhsMatBlock = ec.getMatrixInput(input2.getName());
 				resultBlock = matBlock.leftIndexingOperations(rhsMatBlock, ix, new MatrixBlock(), updateType);
@@ -24,6 +24,8 @@ import org.apache.sysds.common.Types.DataType;
 import org.apache.sysds.common.Types.ValueType;
 import org.apache.sysds.runtime.DMLRuntimeException;
 import org.apache.sysds.runtime.controlprogram.context.ExecutionContext;
+import org.apache.sysds.runtime.frame.data.FrameBlock;
+import org.apache.sysds.runtime.frame.data.lib.FrameLibSort;
 import org.apache.sysds.runtime.functionobjects.DiagIndex;
 import org.apache.sysds.runtime.functionobjects.RevIndex;
 import org.apache.sysds.runtime.functionobjects.RollIndex;
@@ -141,6 +143,11 @@ public class ReorgCPInstruction extends UnaryCPInstruction {
 	
 	@Override
 	public void processInstruction(ExecutionContext ec) {
+		if( input1.getDataType().isFrame() ) {
+			processFrameSortInstruction(ec);
+			return;
+		}
+		
 		//acquire inputs
 		MatrixBlock matBlock = ec.getMatrixInput(input1.getName());
 		ReorgOperator r_op = (ReorgOperator) _optr;
@@ -170,6 +177,36 @@ public class ReorgCPInstruction extends UnaryCPInstruction {
 			ec.getMatrixObject(output.getName()).setDiag(true);
 	}
 
+	private void processFrameSortInstruction(ExecutionContext ec) {
+		ReorgOperator r_op = (ReorgOperator) _optr;
+		if( !(r_op.fn instanceof SortIndex) )
+			throw new DMLRuntimeException("Unsupported frame reorg operation: " + getOpcode());
+		
+		//acquire inputs
+		FrameBlock fb = ec.getFrameInput(input1.getName());
+		int[] cols = _col.getDataType().isMatrix() ? DataConverter.convertToIntVector(ec.getMatrixInput(_col.getName())) :
+			new int[]{(int)ec.getScalarInput(_col).getLongValue()};
+		boolean desc = ec.getScalarInput(_desc).getBooleanValue();
+		boolean ixret = ec.getScalarInput(_ixret).getBooleanValue();
+		
+		//execute operation (stable sort of rows, or 1-based row indexes)
+		if( ixret ) {
+			int[] ix = FrameLibSort.sortIndexes(fb, cols, desc, r_op.getNumThreads());
+			MatrixBlock ret = new MatrixBlock(ix.length, 1, false);
+			for( int i=0; i<ix.length; i++ )
+				ret.set(i, 0, ix[i] + 1);
+			ret.examSparsity();
+			ec.setMatrixOutput(output.getName(), ret);
+		}
+		else
+			ec.setFrameOutput(output.getName(), fb.sort(cols, desc, r_op.getNumThreads()));
+		
+		//release inputs
+		if( _col.getDataType().isMatrix() )
+			ec.releaseMatrixInput(_col.getName());
+		ec.releaseFrameInput(input1.getName());
+	}
+
 	public CPOperand getIxRet() {
 		return _ixret;
 	}
@@ -50,6 +50,7 @@ import org.apache.sysds.runtime.io.FileFormatProperties;
 import org.apache.sysds.runtime.io.FileFormatPropertiesCSV;
 import org.apache.sysds.runtime.io.FileFormatPropertiesHDF5;
 import org.apache.sysds.runtime.io.FileFormatPropertiesLIBSVM;
+import org.apache.sysds.runtime.io.FrameReadFilter;
 import org.apache.sysds.runtime.io.ListReader;
 import org.apache.sysds.runtime.io.ListWriter;
 import org.apache.sysds.runtime.io.WriterHDF5;
@@ -134,6 +135,7 @@ public class VariableCPInstruction extends CPInstruction implements LineageTrace
 
 	// Frame related members
 	private final String _schema;
+	private FrameReadFilter _readFilter = null;
 
 	// parallelization degree for non IO related operations
 	private final int k;
@@ -188,6 +190,11 @@ public class VariableCPInstruction extends CPInstruction implements LineageTrace
 		this(op, in1, in2, in3, null, md, formatProperties, schema, updateType, sopcode, istr);
 	}
 
+	private VariableCPInstruction setReadFilter(FrameReadFilter filter) {
+		_readFilter = filter;
+		return this;
+	}
+
 	private static VariableOperationCode getVariableOperationCode ( String str ) {
 		if ( str.equalsIgnoreCase(Opcodes.CREATEVAR.toString()))
 			return VariableOperationCode.CreateVariable;
@@ -374,6 +381,12 @@ public class VariableCPInstruction extends CPInstruction implements LineageTrace
 			DataType dt = DataType.valueOf(parts[4]);
 			//TODO choose correct value type for tensor
 			ValueType vt = dt==DataType.MATRIX ? ValueType.FP64 : ValueType.STRING;
+			//handle optional read filter of frames (always last operand)
+			FrameReadFilter readFilter = null;
+			if( dt==DataType.FRAME && FrameReadFilter.isReadFilter(parts[parts.length-1]) ) {
+				readFilter = FrameReadFilter.parse(parts[parts.length-1]);
+				parts = Arrays.copyOf(parts, parts.length-1);
+			}
 			int extSchema = (dt==DataType.FRAME && parts.length>=12) ? 1 : 0;
 			in1 = new CPOperand(parts[1], vt, dt);
 			// file name
@@ -470,7 +483,7 @@ public class VariableCPInstruction extends CPInstruction implements LineageTrace
 					fmtProperties = new FileFormatPropertiesCSV(hasHeader, delim, fill, fillValue, naStrings) ;
 				}
 				return new VariableCPInstruction(VariableOperationCode.CreateVariable,
-					in1, in2, in3, iimd, updateType, fmtProperties, schema, opcode, str);
+					in1, in2, in3, iimd, updateType, fmtProperties, schema, opcode, str).setReadFilter(readFilter);
 			}
 			else if(fmt.equalsIgnoreCase("libsvm")) {
 				// Cretevar instructions for LIBSVM format has 13.
@@ -491,7 +504,7 @@ public class VariableCPInstruction extends CPInstruction implements LineageTrace
 				}
 	
 				return new VariableCPInstruction(VariableOperationCode.CreateVariable,
-					in1, in2, in3, iimd, updateType, fmtProperties, schema, opcode, str);
+					in1, in2, in3, iimd, updateType, fmtProperties, schema, opcode, str).setReadFilter(readFilter);
 			}
 			else if(fmt.equalsIgnoreCase("hdf5")) {
 				// Cretevar instructions for HDF5 format has 13.
@@ -501,10 +514,11 @@ public class VariableCPInstruction extends CPInstruction implements LineageTrace
 				FileFormatProperties fmtProperties = new FileFormatPropertiesHDF5(datasetName);
 
 				return new VariableCPInstruction(VariableOperationCode.CreateVariable,
-					in1, in2, in3, iimd, updateType, fmtProperties, schema, opcode, str);
+					in1, in2, in3, iimd, updateType, fmtProperties, schema, opcode, str).setReadFilter(readFilter);
 			}
 			else {
-				return new VariableCPInstruction(VariableOperationCode.CreateVariable, in1, in2, in3, iimd, updateType, schema, opcode, str);
+				return new VariableCPInstruction(VariableOperationCode.CreateVariable,
+					in1, in2, in3, iimd, updateType, schema, opcode, str).setReadFilter(readFilter);
 			}
 			
 		case AssignVariable:
@@ -727,6 +741,8 @@ public class VariableCPInstruction extends CPInstruction implements LineageTrace
 				setCacheableDataFields(fobj, getInput1().getName());
 				if( _schema != null )
 					fobj.setSchema(_schema); //after metadata
+				if( _readFilter != null )
+					fobj.setReadFilter(_readFilter); //after schema
 				ec.setVariable(getInput1().getName(), fobj);
 				break;
 			}
@@ -0,0 +1,124 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.runtime.instructions.cpfile;
+
+import org.apache.sysds.common.Opcodes;
+import org.apache.sysds.common.Types.FileFormat;
+import org.apache.sysds.conf.ConfigurationManager;
+import org.apache.sysds.hops.OptimizerUtils;
+import org.apache.sysds.runtime.DMLRuntimeException;
+import org.apache.sysds.runtime.controlprogram.caching.MatrixObject;
+import org.apache.sysds.runtime.controlprogram.context.ExecutionContext;
+import org.apache.sysds.runtime.instructions.InstructionUtils;
+import org.apache.sysds.runtime.instructions.cp.BinaryCPInstruction;
+import org.apache.sysds.runtime.instructions.cp.CPOperand;
+import org.apache.sysds.runtime.matrix.data.LibMatrixMultOOC;
+import org.apache.sysds.runtime.matrix.operators.AggregateBinaryOperator;
+import org.apache.sysds.runtime.matrix.operators.Operator;
+import org.apache.sysds.runtime.meta.DataCharacteristics;
+import org.apache.sysds.runtime.meta.MatrixCharacteristics;
+import org.apache.sysds.runtime.meta.MetaDataFormat;
+import org.apache.sysds.runtime.util.HDFSTool;
+import org.apache.sysds.runtime.util.LocalFileUtils;
+
+/**
+ * This instruction is used if a matrix multiplication exceeds the local memory budget in single-node execution. The
+ * inputs are never pinned in memory, but streamed block-wise from their binary-block files, and the output is directly
+ * written to the file of the output matrix object, which is then read lazily on demand.
+ */
+public final class AggregateBinaryCPFileInstruction extends BinaryCPInstruction {
+
+	private AggregateBinaryCPFileInstruction(Operator op, CPOperand in1, CPOperand in2, CPOperand out, String opcode,
+		String istr) {
+		super(CPType.AggregateBinary, op, in1, in2, out, opcode, istr);
+	}
+
+	public static AggregateBinaryCPFileInstruction parseInstruction(String str) {
+		String[] parts = InstructionUtils.getInstructionPartsWithValueType(str);
+		String opcode = parts[0];
+		if(!opcode.equalsIgnoreCase(Opcodes.MMULT.toString()))
+			throw new DMLRuntimeException("Unknown opcode while parsing an AggregateBinaryCPFileInstruction: " + str);
+		InstructionUtils.checkNumFields(parts, 4);
+		CPOperand in1 = new CPOperand(parts[1]);
+		CPOperand in2 = new CPOperand(parts[2]);
+		CPOperand out = new CPOperand(parts[3]);
+		int k = Integer.parseInt(parts[4]);
+		return new AggregateBinaryCPFileInstruction(InstructionUtils.getMatMultOperator(k), in1, in2, out, opcode, str);
+	}
+
+	@Override
+	public void processInstruction(ExecutionContext ec) {
+		MatrixObject mo1 = ec.getMatrixObject(input1.getName());
+		MatrixObject mo2 = ec.getMatrixObject(input2.getName());
+		MatrixObject out = ec.getMatrixObject(output.getName());
+		int k = ((AggregateBinaryOperator) _optr).getNumThreads();
+
+		String fname1 = prepareInputFile(mo1);
+		String fname2 = (mo1 == mo2) ? fname1 : prepareInputFile(mo2);
+		try {
+			DataCharacteristics dc = LibMatrixMultOOC.matrixMult(fname1, getBlockedCharacteristics(mo1), fname2,
+				getBlockedCharacteristics(mo2), out.getFileName(), getBufferBudget(), k);
+			setOutputFile(out, dc);
+		}
+		finally {
+			cleanupInputFile(mo1, fname1);
+			cleanupInputFile(mo2, fname2);
+		}
+	}
+
+	/**
+	 * Obtains the name of a binary-block file holding the given matrix in the default block size. In-memory, dirty, or
+	 * otherwise formatted matrices are exported to a temporary file in the local working directory.
+	 * 
+	 * @param mo matrix object
+	 * @return file name of the binary-block representation
+	 */
+	protected static String prepareInputFile(MatrixObject mo) {
+		MetaDataFormat meta = (MetaDataFormat) mo.getMetaData();
+		String fname = mo.getFileName();
+		if(!mo.isDirty() && meta.getFileFormat() == FileFormat.BINARY
+			&& mo.getBlocksize() == ConfigurationManager.getBlocksize() && HDFSTool.existsFileOnHDFS(fname))
+			return fname;
+		String tmp = LocalFileUtils.getUniqueWorkingDir(LocalFileUtils.CATEGORY_WORK);
+		mo.exportData(tmp, FileFormat.BINARY.toString());
+		return tmp;
+	}
+
+	protected static void cleanupInputFile(MatrixObject mo, String fname) {
+		if(!fname.equals(mo.getFileName()))
+			LocalFileUtils.deleteFileIfExists(fname);
+	}
+
+	protected static DataCharacteristics getBlockedCharacteristics(MatrixObject mo) {
+		return new MatrixCharacteristics(mo.getDataCharacteristics())
+			.setBlocksize(ConfigurationManager.getBlocksize());
+	}
+
+	protected static long getBufferBudget() {
+		// the output blocks of concurrent tasks are accounted by the operation memory
+		return (long) OptimizerUtils.getLocalMemBudget() / 2;
+	}
+
+	protected static void setOutputFile(MatrixObject out, DataCharacteristics dc) {
+		out.setMetaData(new MetaDataFormat(dc, FileFormat.BINARY));
+		out.setHDFSFileExists(true);
+		out.setDirty(false);
+	}
+}
@@ -0,0 +1,86 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.runtime.instructions.cpfile;
+
+import org.apache.sysds.common.Opcodes;
+import org.apache.sysds.lops.MMTSJ.MMTSJType;
+import org.apache.sysds.runtime.DMLRuntimeException;
+import org.apache.sysds.runtime.controlprogram.caching.MatrixObject;
+import org.apache.sysds.runtime.controlprogram.context.ExecutionContext;
+import org.apache.sysds.runtime.instructions.InstructionUtils;
+import org.apache.sysds.runtime.instructions.cp.CPOperand;
+import org.apache.sysds.runtime.instructions.cp.UnaryCPInstruction;
+import org.apache.sysds.runtime.matrix.data.LibMatrixMultOOC;
+import org.apache.sysds.runtime.matrix.operators.Operator;
+import org.apache.sysds.runtime.meta.DataCharacteristics;
+
+/**
+ * Out-of-core transpose-self matrix multiplication (t(X)%*%X or X%*%t(X)) for inputs exceeding the local memory
+ * budget in single-node execution, see {@link AggregateBinaryCPFileInstruction}.
+ */
+public final class MMTSJCPFileInstruction extends UnaryCPInstruction {
+	private final MMTSJType _type;
+	private final int _numThreads;
+
+	private MMTSJCPFileInstruction(Operator op, CPOperand in1, MMTSJType type, CPOperand out, int k, String opcode,
+		String istr) {
+		super(CPType.MMTSJ, op, in1, out, opcode, istr);
+		_type = type;
+		_numThreads = k;
+	}
+
+	public static MMTSJCPFileInstruction parseInstruction(String str) {
+		String[] parts = InstructionUtils.getInstructionPartsWithValueType(str);
+		InstructionUtils.checkNumFields(parts, 4);
+		String opcode = parts[0];
+		if(!opcode.equalsIgnoreCase(Opcodes.TSMM.toString()))
+			throw new DMLRuntimeException("Unknown opcode while parsing an MMTSJCPFileInstruction: " + str);
+		CPOperand in1 = new CPOperand(parts[1]);
+		CPOperand out = new CPOperand(parts[2]);
+		MMTSJType titype = MMTSJType.valueOf(parts[3]);
+		int k = Integer.parseInt(parts[4]);
+		return new MMTSJCPFileInstruction(new Operator(true), in1, titype, out, k, opcode, str);
+	}
+
+	@Override
+	public void processInstruction(ExecutionContext ec) {
+		MatrixObject mo = ec.getMatrixObject(input1.getName());
+		MatrixObject out = ec.getMatrixObject(output.getName());
+
+		String fname = AggregateBinaryCPFileInstruction.prepareInputFile(mo);
+		try {
+			DataCharacteristics dc = LibMatrixMultOOC.tsmm(fname,
+				AggregateBinaryCPFileInstruction.getBlockedCharacteristics(mo), _type, out.getFileName(),
+				AggregateBinaryCPFileInstruction.getBufferBudget(), _numThreads);
+			AggregateBinaryCPFileInstruction.setOutputFile(out, dc);
+		}
+		finally {
+			AggregateBinaryCPFileInstruction.cleanupInputFile(mo, fname);
+		}
+	}
+
+	public MMTSJType getMMTSJType() {
+		return _type;
+	}
+
+	public int getNumThreads() {
+		return _numThreads;
+	}
+}
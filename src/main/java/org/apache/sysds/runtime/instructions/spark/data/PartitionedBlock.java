@@ -19,20 +19,29 @@
 
 package org.apache.sysds.runtime.instructions.spark.data;
 
+import java.io.ByteArrayOutputStream;
 import java.io.DataInput;
 import java.io.DataOutput;
+import java.io.DataOutputStream;
 import java.io.Externalizable;
 import java.io.IOException;
 import java.io.ObjectInput;
-import java.io.ObjectInputStream;
 import java.io.ObjectOutput;
 import java.io.ObjectOutputStream;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
 import org.apache.sysds.runtime.DMLRuntimeException;
+import org.apache.sysds.runtime.compress.CompressedMatrixBlock;
+import org.apache.sysds.runtime.compress.CompressedMatrixBlockFactory;
 import org.apache.sysds.runtime.controlprogram.caching.CacheBlock;
 import org.apache.sysds.runtime.controlprogram.caching.CacheBlockFactory;
-import org.apache.sysds.runtime.util.FastBufferedDataInputStream;
+import org.apache.sysds.runtime.controlprogram.caching.CacheDataInput;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.util.CommonThreadPool;
 import org.apache.sysds.runtime.util.FastBufferedDataOutputStream;
 import org.apache.sysds.runtime.util.UtilFunctions;
 
@@ -42,6 +51,9 @@ import org.apache.sysds.runtime.util.UtilFunctions;
  * per task would create instance-local copies and hence replicate broadcast 
  * variables which are shared by all tasks within an executor.  
  * 
+ * Blocks are serialized individually with a length prefix, and deserialized 
+ * lazily on first access. Tasks that only touch a subset of blocks hence neither 
+ * pay the deserialization nor the memory of the remaining blocks.
  */
 @SuppressWarnings("rawtypes")
 public class PartitionedBlock<T extends CacheBlock> implements Externalizable
@@ -51,6 +63,10 @@ public class PartitionedBlock<T extends CacheBlock> implements Externalizable
 	protected long[] _dims = {-1, -1};
 	protected int _blen = -1;
 	protected int _offset = 0;
+	protected int _code = -1;
+	
+	//serialized blocks that have not been accessed yet (null if fully deserialized)
+	protected byte[][] _serBlocks = null;
 	
 	public PartitionedBlock() {
 		//do nothing (required for Externalizable)
@@ -69,6 +85,7 @@ public class PartitionedBlock<T extends CacheBlock> implements Externalizable
 		int nrblks = getNumRowBlocks();
 		int ncblks = getNumColumnBlocks();
 		int code = CacheBlockFactory.getCode(block);
+		_code = code;
 		
 		try {
 			_partBlocks = new CacheBlock[nrblks * ncblks];
@@ -96,6 +113,7 @@ public class PartitionedBlock<T extends CacheBlock> implements Externalizable
 		for (int i = 0; i < dims.length; i++)
 			nblks *= getNumDimBlocks(i);
 		int code = CacheBlockFactory.getCode(block);
+		_code = code;
 
 		try {
 			_partBlocks = new CacheBlock[nblks];
@@ -129,13 +147,64 @@ public class PartitionedBlock<T extends CacheBlock> implements Externalizable
 		PartitionedBlock<T> ret = new PartitionedBlock<>();
 		ret._dims = _dims.clone();
 		ret._blen = _blen;
+		ret._code = _code;
 		ret._partBlocks = new CacheBlock[numBlks];
 		ret._offset = offset;
-		System.arraycopy(_partBlocks, offset, ret._partBlocks, 0, numBlks);
+		synchronized(this) {
+			System.arraycopy(_partBlocks, offset, ret._partBlocks, 0, numBlks);
+			if( _serBlocks != null ) {
+				ret._serBlocks = new byte[numBlks][];
+				System.arraycopy(_serBlocks, offset, ret._serBlocks, 0, numBlks);
+			}
+		}
 		
 		return ret;
 	}
 	
+	/**
+	 * Replaces the partitioned matrix blocks by compressed blocks, if compression is beneficial
+	 * for the individual blocks, i.e., reduces their serialized size. Compressed broadcasts require
+	 * less network transfer and executor memory, while operations directly work on the compressed 
+	 * blocks.
+	 * 
+	 * @param k degree of parallelism
+	 * @return number of compressed blocks
+	 */
+	public int compressBlocks(int k) {
+		if( !(_partBlocks.length > 0 && _partBlocks[0] instanceof MatrixBlock) )
+			return 0;
+		if( k <= 1 || _partBlocks.length == 1 ) {
+			for( int i=0; i<_partBlocks.length; i++ )
+				_partBlocks[i] = compressBlock((MatrixBlock) _partBlocks[i]);
+		}
+		else {
+			final ExecutorService pool = CommonThreadPool.get(k);
+			try {
+				ArrayList<Future<MatrixBlock>> tasks = new ArrayList<>();
+				for( CacheBlock block : _partBlocks )
+					tasks.add(pool.submit(() -> compressBlock((MatrixBlock) block)));
+				for( int i=0; i<_partBlocks.length; i++ )
+					_partBlocks[i] = tasks.get(i).get();
+			}
+			catch(InterruptedException | ExecutionException ex) {
+				throw new DMLRuntimeException("Failed parallel compression of partitioned blocks.", ex);
+			}
+			finally {
+				pool.shutdown();
+			}
+		}
+		return (int) Arrays.stream(_partBlocks).filter(b -> b instanceof CompressedMatrixBlock).count();
+	}
+	
+	private static MatrixBlock compressBlock(MatrixBlock mb) {
+		if( mb instanceof CompressedMatrixBlock || mb.isEmptyBlock(false) )
+			return mb;
+		MatrixBlock cmb = CompressedMatrixBlockFactory.compress(mb, 1).getLeft();
+		//keep compressed blocks only if smaller than the uncompressed serialized size
+		return (cmb instanceof CompressedMatrixBlock 
+			&& cmb.getExactSizeOnDisk() < mb.getExactSizeOnDisk()) ? cmb : mb;
+	}
+	
 	public long getNumRows() {
 		return _dims[0];
 	}
@@ -177,14 +246,35 @@ public class PartitionedBlock<T extends CacheBlock> implements Externalizable
 		int rix = rowIndex - 1;
 		int cix = colIndex - 1;
 		int ix = rix*ncblks+cix - _offset;
-		return (T)_partBlocks[ix];
+		return (T)getBlock(ix);
 	}
 
 	@SuppressWarnings("unchecked")
 	public T getBlock(int[] ix) {
 		long index = UtilFunctions.computeBlockNumber(ix, _dims, _blen);
 		index -= _offset;
-		return (T)_partBlocks[(int) index];
+		return (T)getBlock((int) index);
+	}
+	
+	private CacheBlock getBlock(int ix) {
+		if( _serBlocks == null )
+			return _partBlocks[ix];
+		byte[] ser = null;
+		synchronized(this) {
+			if( _partBlocks[ix] != null )
+				return _partBlocks[ix];
+			ser = _serBlocks[ix];
+		}
+		//deserialize outside the lock to allow concurrent tasks deserializing
+		//different blocks (redundant deserialization of a block is harmless)
+		CacheBlock block = deserializeBlock(ser, _code);
+		synchronized(this) {
+			if( _partBlocks[ix] == null ) {
+				_partBlocks[ix] = block;
+				_serBlocks[ix] = null;
+			}
+			return _partBlocks[ix];
+		}
 	}
 
 	public void setBlock(int rowIndex, int colIndex, T block) {
@@ -199,7 +289,11 @@ public class PartitionedBlock<T extends CacheBlock> implements Externalizable
 		int rix = rowIndex - 1;
 		int cix = colIndex - 1;
 		int ix = rix*ncblks+cix - _offset;
-		_partBlocks[ ix ] = block;	
+		synchronized(this) {
+			_partBlocks[ ix ] = block;
+			if( _serBlocks != null )
+				_serBlocks[ ix ] = null;
+		}
 	}
 
 	public long getInMemorySize() {
@@ -207,8 +301,9 @@ public class PartitionedBlock<T extends CacheBlock> implements Externalizable
 		ret += 32;    //block array
 		
 		if( _partBlocks != null )
-			for( CacheBlock block : _partBlocks )
-				ret += block.getInMemorySize();
+			for( int i=0; i<_partBlocks.length; i++ )
+				ret += (_partBlocks[i] != null) ? _partBlocks[i].getInMemorySize() :
+					(_serBlocks != null && _serBlocks[i] != null) ? 16 + _serBlocks[i].length : 0;
 		
 		return ret;
 	}
@@ -217,8 +312,9 @@ public class PartitionedBlock<T extends CacheBlock> implements Externalizable
 		long ret = 24; //header
 		
 		if( _partBlocks != null )
-			for( CacheBlock block : _partBlocks )
-				ret += block.getExactSerializedSize();
+			for( int i=0; i<_partBlocks.length; i++ )
+				ret += 4 + ((_serBlocks != null && _serBlocks[i] != null) ? _serBlocks[i].length :
+					1 + _partBlocks[i].getExactSerializedSize());
 		
 		return ret;
 	}
@@ -244,16 +340,9 @@ public class PartitionedBlock<T extends CacheBlock> implements Externalizable
 	public void readExternal(ObjectInput is) 
 		throws IOException
 	{
-		DataInput dis = is;
-		
-		int code = readHeader(dis);
-		if( is instanceof ObjectInputStream && code == 0) {	// Apply only for MatrixBlock at this point as a temporary workaround
-															// We will generalize this code by adding UTF functionality to support Frame
-			//fast deserialize of dense/sparse blocks
-			ObjectInputStream ois = (ObjectInputStream)is;
-			dis = new FastBufferedDataInputStream(ois);
-		}
-		readPayload(dis, code);
+		//note: the blocks are read as byte arrays and deserialized lazily 
+		//via CacheDataInput, which provides the fast paths for dense/sparse blocks
+		readPayload(is, readHeader(is));
 	}
 	
 	/**
@@ -280,6 +369,30 @@ public class PartitionedBlock<T extends CacheBlock> implements Externalizable
 		}
 	}
 
+	/**
+	 * Serializes the partitioned block in the same format as the java serialization, e.g., for kryo serialization.
+	 * 
+	 * @param os data output
+	 * @throws IOException if IOException occurs
+	 */
+	public void write(DataOutput os) 
+		throws IOException
+	{
+		writeHeaderAndPayload(os);
+	}
+	
+	/**
+	 * Deserializes a partitioned block written via {@link #write(DataOutput)}.
+	 * 
+	 * @param is data input
+	 * @throws IOException if IOException occurs
+	 */
+	public void readFields(DataInput is) 
+		throws IOException
+	{
+		readPayload(is, readHeader(is));
+	}
+
 	private void writeHeaderAndPayload(DataOutput dos) 
 		throws IOException
 	{
@@ -289,10 +402,25 @@ public class PartitionedBlock<T extends CacheBlock> implements Externalizable
 		dos.writeInt(_blen);
 		dos.writeInt(_offset);
 		dos.writeInt(_partBlocks.length);
-		dos.writeByte(CacheBlockFactory.getCode(_partBlocks[0]));
+		int code = (_code >= 0) ? _code : CacheBlockFactory.getCode(_partBlocks[0]);
+		dos.writeByte(code);
 		
-		for( CacheBlock block : _partBlocks )
-			block.write(dos);
+		for( int i=0; i<_partBlocks.length; i++ ) {
+			byte[] ser = null;
+			CacheBlock block = null;
+			synchronized(this) {
+				ser = (_serBlocks != null) ? _serBlocks[i] : null;
+				block = _partBlocks[i];
+			}
+			//reuse serialized blocks that have not been accessed,
+			//otherwise stream the block with its exact serialized size
+			if( ser != null ) {
+				dos.writeInt(ser.length);
+				dos.write(ser);
+			}
+			else
+				writeBlock(dos, block);
+		}
 	}
 
 	private int readHeader(DataInput dis) 
@@ -308,6 +436,7 @@ public class PartitionedBlock<T extends CacheBlock> implements Externalizable
 		int code = dis.readByte();
 		
 		_partBlocks = new CacheBlock[len];
+		_code = code;
 		
 		return code;
 	}
@@ -316,9 +445,63 @@ public class PartitionedBlock<T extends CacheBlock> implements Externalizable
 		throws IOException
 	{
 		int len = _partBlocks.length;
+		byte[][] serBlocks = new byte[len][];
 		for( int i=0; i<len; i++ ) {
-			_partBlocks[i] = CacheBlockFactory.newInstance(code);
-			_partBlocks[i].readFields(dis);
+			serBlocks[i] = new byte[dis.readInt()];
+			dis.readFully(serBlocks[i]);
+		}
+		_serBlocks = serBlocks;
+	}
+	
+	private static void writeBlock(DataOutput dos, CacheBlock block) 
+		throws IOException
+	{
+		if( block instanceof CompressedMatrixBlock && !hasExactSerializedSize((CompressedMatrixBlock) block) ) {
+			//compressed blocks that are decompressed on write (unknown size)
+			byte[] ser = serializeBlock((CompressedMatrixBlock) block);
+			dos.writeInt(ser.length);
+			dos.write(ser);
+		}
+		else {
+			//block type (compressed or default for code) and block 
+			dos.writeInt(1 + (int) block.getExactSerializedSize());
+			dos.writeByte((block instanceof CompressedMatrixBlock) ? 1 : 0);
+			block.write(dos);
+		}
+	}
+	
+	private static boolean hasExactSerializedSize(CompressedMatrixBlock cmb) {
+		//see CompressedMatrixBlock.write, which decompresses if larger than uncompressed
+		return cmb.getNonZeros() <= 0 || cmb.getExactSizeOnDisk() 
+			<= MatrixBlock.estimateSizeOnDisk(cmb.getNumRows(), cmb.getNumColumns(), cmb.getNonZeros());
+	}
+	
+	private static byte[] serializeBlock(CompressedMatrixBlock block) 
+		throws IOException
+	{
+		//compressed block type and block, written to a growable 
+		//buffer because compressed blocks might be decompressed on write (unknown size)
+		ByteArrayOutputStream bos = new ByteArrayOutputStream(
+			(int) Math.min(Integer.MAX_VALUE - 8, 1 + MatrixBlock.estimateSizeOnDisk(
+			block.getNumRows(), block.getNumColumns(), block.getNonZeros())));
+		try(DataOutputStream out = new DataOutputStream(bos)) {
+			out.writeByte(1);
+			block.write(out);
+		}
+		return bos.toByteArray();
+	}
+	
+	private static CacheBlock deserializeBlock(byte[] ser, int code) {
+		try {
+			CacheDataInput in = new CacheDataInput(ser);
+			if( in.readByte() == 1 )
+				return CompressedMatrixBlock.read(in);
+			CacheBlock block = CacheBlockFactory.newInstance(code);
+			block.readFields(in);
+			return block;
+		}
+		catch(IOException ex) {
+			throw new DMLRuntimeException("Failed to deserialize partitioned block.", ex);
 		}
 	}
 }
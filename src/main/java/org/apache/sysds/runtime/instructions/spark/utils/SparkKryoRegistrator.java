@@ -0,0 +1,244 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.runtime.instructions.spark.utils;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+import org.apache.spark.serializer.KryoRegistrator;
+import org.apache.sysds.runtime.compress.CompressedMatrixBlock;
+import org.apache.sysds.runtime.data.TensorBlock;
+import org.apache.sysds.runtime.data.TensorIndexes;
+import org.apache.sysds.runtime.frame.data.FrameBlock;
+import org.apache.sysds.runtime.instructions.spark.data.PartitionedBlock;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.matrix.data.MatrixIndexes;
+import org.apache.sysds.runtime.util.FastBufferedDataInputStream;
+import org.apache.sysds.runtime.util.FastBufferedDataOutputStream;
+
+import com.esotericsoftware.kryo.Kryo;
+import com.esotericsoftware.kryo.KryoException;
+import com.esotericsoftware.kryo.Serializer;
+import com.esotericsoftware.kryo.io.Input;
+import com.esotericsoftware.kryo.io.Output;
+
+/**
+ * Kryo registrator for the SystemDS block types, configured via spark.kryo.registrator. The block serializers reuse
+ * the existing write(DataOutput)/readFields(DataInput) serialization, including its fast paths for dense and sparse
+ * blocks, over small thread-local buffers. Each block is streamed to the kryo output as a sequence of length-prefixed
+ * chunks with an end-of-block marker, which avoids materializing the serialized block (e.g., large broadcast
+ * partitions) and allows reading it from the kryo input without reading ahead into subsequent records.
+ */
+public class SparkKryoRegistrator implements KryoRegistrator {
+
+	//size of thread-local buffers, and max size of chunks except for large arrays
+	private static final int CHUNK_SIZE = 64 * 1024;
+
+	private static final ThreadLocal<WriteBuffer> WRITE_BUFFERS = ThreadLocal.withInitial(WriteBuffer::new);
+	private static final ThreadLocal<ReadBuffer> READ_BUFFERS = ThreadLocal.withInitial(ReadBuffer::new);
+
+	@Override
+	public void registerClasses(Kryo kryo) {
+		kryo.register(MatrixIndexes.class, new MatrixIndexesSerializer());
+		kryo.register(TensorIndexes.class, new BlockSerializer<>(TensorIndexes::write, in -> {
+			TensorIndexes ret = new TensorIndexes();
+			ret.readFields(in);
+			return ret;
+		}));
+		kryo.register(MatrixBlock.class, new BlockSerializer<>(MatrixBlock::write, in -> {
+			MatrixBlock ret = new MatrixBlock();
+			ret.readFields(in);
+			return ret;
+		}));
+		kryo.register(CompressedMatrixBlock.class,
+			new BlockSerializer<>(CompressedMatrixBlock::write, CompressedMatrixBlock::read));
+		kryo.register(FrameBlock.class, new BlockSerializer<>(FrameBlock::write, in -> {
+			FrameBlock ret = new FrameBlock();
+			ret.readFields(in);
+			return ret;
+		}));
+		kryo.register(TensorBlock.class, new BlockSerializer<>(TensorBlock::write, in -> {
+			TensorBlock ret = new TensorBlock();
+			ret.readFields(in);
+			return ret;
+		}));
+		kryo.register(PartitionedBlock.class, new BlockSerializer<PartitionedBlock<?>>(PartitionedBlock::write, in -> {
+			PartitionedBlock<?> ret = new PartitionedBlock<>();
+			ret.readFields(in);
+			return ret;
+		}));
+	}
+
+	private static class MatrixIndexesSerializer extends Serializer<MatrixIndexes> {
+		@Override
+		public void write(Kryo kryo, Output output, MatrixIndexes ix) {
+			output.writeLong(ix.getRowIndex(), true);
+			output.writeLong(ix.getColumnIndex(), true);
+		}
+
+		@Override
+		public MatrixIndexes read(Kryo kryo, Input input, Class<MatrixIndexes> type) {
+			return new MatrixIndexes(input.readLong(true), input.readLong(true));
+		}
+	}
+
+	private static class BlockSerializer<T> extends Serializer<T> {
+		private final BlockWriter<T> _writer;
+		private final BlockReader<T> _reader;
+
+		public BlockSerializer(BlockWriter<T> writer, BlockReader<T> reader) {
+			_writer = writer;
+			_reader = reader;
+		}
+
+		@Override
+		public void write(Kryo kryo, Output output, T block) {
+			WriteBuffer buff = WRITE_BUFFERS.get();
+			buff.chunks._output = output;
+			boolean success = false;
+			try {
+				_writer.write(block, buff.out);
+				buff.out.flush();
+				output.writeInt(0, true); //end of block
+				success = true;
+			}
+			catch(IOException ex) {
+				throw new KryoException("Failed to serialize " + block.getClass().getSimpleName(), ex);
+			}
+			finally {
+				buff.chunks._output = null;
+				if(!success) //discard partially buffered bytes
+					WRITE_BUFFERS.remove();
+			}
+		}
+
+		@Override
+		public T read(Kryo kryo, Input input, Class<T> type) {
+			ReadBuffer buff = READ_BUFFERS.get();
+			buff.chunks.reset(input);
+			try {
+				T ret = _reader.read(buff.in);
+				//consume remaining chunks up to the end of block
+				buff.chunks.skipRemaining();
+				return ret;
+			}
+			catch(IOException ex) {
+				throw new KryoException("Failed to deserialize " + type.getSimpleName(), ex);
+			}
+			finally {
+				buff.chunks._input = null;
+			}
+		}
+	}
+
+	@FunctionalInterface
+	private interface BlockWriter<T> {
+		void write(T block, DataOutput out) throws IOException;
+	}
+
+	@FunctionalInterface
+	private interface BlockReader<T> {
+		T read(DataInput in) throws IOException;
+	}
+
+	private static class WriteBuffer {
+		private final ChunkedOutputStream chunks = new ChunkedOutputStream();
+		private final FastBufferedDataOutputStream out = new FastBufferedDataOutputStream(chunks, CHUNK_SIZE);
+	}
+
+	private static class ReadBuffer {
+		private final ChunkedInputStream chunks = new ChunkedInputStream();
+		private final FastBufferedDataInputStream in = new FastBufferedDataInputStream(chunks, CHUNK_SIZE);
+	}
+
+	/**
+	 * Output stream that forwards all writes as length-prefixed chunks to the current kryo output.
+	 */
+	private static class ChunkedOutputStream extends OutputStream {
+		private Output _output;
+
+		@Override
+		public void write(int b) {
+			_output.writeInt(1, true);
+			_output.writeByte(b);
+		}
+
+		@Override
+		public void write(byte[] b, int off, int len) {
+			if(len == 0)
+				return; //zero length marks the end of block
+			_output.writeInt(len, true);
+			_output.writeBytes(b, off, len);
+		}
+	}
+
+	/**
+	 * Input stream over the length-prefixed chunks of a single block, which ends at the end-of-block marker.
+	 */
+	private static class ChunkedInputStream extends InputStream {
+		private Input _input;
+		private int _remaining;
+		private boolean _eob;
+
+		private void reset(Input input) {
+			_input = input;
+			_remaining = 0;
+			_eob = false;
+		}
+
+		private boolean nextChunk() {
+			if(!_eob && _remaining == 0) {
+				_remaining = _input.readInt(true);
+				_eob = (_remaining == 0);
+			}
+			return !_eob;
+		}
+
+		@Override
+		public int read() {
+			if(!nextChunk())
+				return -1;
+			_remaining--;
+			return _input.readByte() & 0xFF;
+		}
+
+		@Override
+		public int read(byte[] b, int off, int len) {
+			if(len == 0)
+				return 0;
+			if(!nextChunk())
+				return -1;
+			int n = Math.min(len, _remaining);
+			_input.readBytes(b, off, n);
+			_remaining -= n;
+			return n;
+		}
+
+		private void skipRemaining() {
+			while(nextChunk()) {
+				_input.skip(_remaining);
+				_remaining = 0;
+			}
+		}
+	}
+}
@@ -0,0 +1,366 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.runtime.io;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+import org.apache.sysds.common.Types.ValueType;
+import org.apache.sysds.runtime.DMLRuntimeException;
+import org.apache.sysds.runtime.frame.data.FrameBlock;
+import org.apache.sysds.runtime.frame.data.columns.Array;
+import org.apache.sysds.runtime.frame.data.columns.ColumnMetadata;
+import org.apache.sysds.runtime.functionobjects.Equals;
+import org.apache.sysds.runtime.functionobjects.GreaterThan;
+import org.apache.sysds.runtime.functionobjects.GreaterThanEquals;
+import org.apache.sysds.runtime.functionobjects.LessThan;
+import org.apache.sysds.runtime.functionobjects.LessThanEquals;
+import org.apache.sysds.runtime.functionobjects.NotEquals;
+import org.apache.sysds.runtime.functionobjects.ValueComparisonFunction;
+import org.apache.sysds.runtime.functionobjects.ValueFunction;
+import org.apache.sysds.runtime.instructions.InstructionUtils;
+import org.apache.sysds.runtime.util.UtilFunctions;
+
+/**
+ * Column projection and simple row predicate of a frame read, which are pushed into the frame readers in order to
+ * skip the parsing of unused columns and to drop non-matching rows while reading. The predicate has the form
+ * <code>column op value</code> with a comparison operator and a constant, and is evaluated according to the value
+ * type of the column, where missing values never match. All column indexes refer to the columns of the file (0-based).
+ */
+public class FrameReadFilter implements Serializable {
+	private static final long serialVersionUID = 4466937216473514893L;
+
+	/** Prefix of the createvar operand that carries a serialized read filter. */
+	public static final String PREFIX = "pushdown=";
+	private static final String DELIM = ";";
+
+	private final long _rlen; // number of rows in the file, -1 if unknown
+	private final int _clen; // number of columns in the file
+	private final int[] _cols; // selected columns (sorted), null if all
+	private final int _pcol; // predicate column, -1 if no predicate
+	private final String _pop; // predicate comparison opcode
+	private final String _pval; // predicate constant
+	private final boolean _empty; // return a single empty row if no row matches
+
+	public FrameReadFilter(int clen, int[] cols) {
+		this(-1, clen, cols, -1, null, null, false);
+	}
+
+	public FrameReadFilter(int clen, int[] cols, int pcol, String opcode, String value) {
+		this(-1, clen, cols, pcol, opcode, value, false);
+	}
+
+	public FrameReadFilter(long rlen, int clen, int[] cols, int pcol, String opcode, String value,
+		boolean emptyReturn) {
+		if(clen <= 0)
+			throw new DMLRuntimeException("Invalid number of columns for read filter: " + clen);
+		if(cols != null) {
+			for(int i = 0; i < cols.length; i++)
+				if(cols[i] < 0 || cols[i] >= clen || (i > 0 && cols[i] <= cols[i - 1]))
+					throw new DMLRuntimeException("Invalid column projection: " + Arrays.toString(cols));
+		}
+		if(pcol >= clen || (pcol >= 0 && !(getComparisonFunction(opcode) != null && value != null)))
+			throw new DMLRuntimeException("Invalid row predicate: " + pcol + " " + opcode + " " + value);
+		_rlen = rlen;
+		_clen = clen;
+		_cols = cols;
+		_pcol = pcol;
+		_pop = (pcol >= 0) ? opcode : null;
+		_pval = (pcol >= 0) ? value : null;
+		_empty = (pcol >= 0) && emptyReturn;
+	}
+
+	/**
+	 * Creates a read filter with the same rows and row predicate but the given column projection.
+	 *
+	 * @param cols selected columns (sorted), null if all
+	 * @return new read filter
+	 */
+	public FrameReadFilter withSelectedColumns(int[] cols) {
+		return new FrameReadFilter(_rlen, _clen, cols, _pcol, _pop, _pval, _empty);
+	}
+
+	/**
+	 * Gets the number of rows of the file, which is required if the output of a read with row predicate has unknown
+	 * size.
+	 *
+	 * @return number of rows in the file, -1 if unknown
+	 */
+	public long getNumRows() {
+		return _rlen;
+	}
+
+	/**
+	 * Gets the number of columns of the file, i.e., before projection.
+	 *
+	 * @return number of columns in the file
+	 */
+	public int getNumColumns() {
+		return _clen;
+	}
+
+	public int[] getSelectedColumns() {
+		return (_cols != null) ? _cols : IntStream.range(0, _clen).toArray();
+	}
+
+	public int getNumSelectedColumns() {
+		return (_cols != null) ? _cols.length : _clen;
+	}
+
+	public boolean hasPredicate() {
+		return _pcol >= 0;
+	}
+
+	public int getPredicateColumn() {
+		return _pcol;
+	}
+
+	/**
+	 * Gets the columns the readers need to parse, which are the selected columns plus the column of the row
+	 * predicate (if not already selected).
+	 *
+	 * @return sorted array of column indexes
+	 */
+	public int[] getReadColumns() {
+		int[] cols = getSelectedColumns();
+		if(!hasPredicate() || Arrays.binarySearch(cols, _pcol) >= 0)
+			return cols;
+		int[] ret = Arrays.copyOf(cols, cols.length + 1);
+		ret[cols.length] = _pcol;
+		Arrays.sort(ret);
+		return ret;
+	}
+
+	/**
+	 * Gets the mapping of file columns to the columns of the read frame, i.e., the frame with the read columns.
+	 *
+	 * @return array of length number of file columns with the target column or -1 for skipped columns
+	 */
+	public int[] getColumnMap() {
+		int[] ret = new int[_clen];
+		Arrays.fill(ret, -1);
+		int[] cols = getReadColumns();
+		for(int i = 0; i < cols.length; i++)
+			ret[cols[i]] = i;
+		return ret;
+	}
+
+	/**
+	 * Projects a per-column array of the file (e.g., schema or column names) to the read columns.
+	 *
+	 * @param <T> the element type
+	 * @param arr array of length number of file columns
+	 * @return array of length number of read columns
+	 */
+	public <T> T[] projectReadColumns(T[] arr) {
+		int[] cols = getReadColumns();
+		if(arr == null || cols.length == arr.length)
+			return arr;
+		T[] ret = Arrays.copyOf(arr, cols.length);
+		for(int i = 0; i < cols.length; i++)
+			ret[i] = arr[cols[i]];
+		return ret;
+	}
+
+	/**
+	 * Projects a per-column array of the file (e.g., schema or column names) to the selected columns.
+	 *
+	 * @param <T> the element type
+	 * @param arr array of length number of file columns
+	 * @return array of length number of selected columns
+	 */
+	public <T> T[] projectSelectedColumns(T[] arr) {
+		if(arr == null || _cols == null)
+			return arr;
+		T[] ret = Arrays.copyOf(arr, _cols.length);
+		for(int i = 0; i < _cols.length; i++)
+			ret[i] = arr[_cols[i]];
+		return ret;
+	}
+
+	/**
+	 * Applies the row predicate to a frame of read columns and removes the predicate column if it was only read for
+	 * evaluating the predicate. Similar to <code>removeEmpty</code>, no matching rows yield a single empty row if
+	 * requested.
+	 *
+	 * @param in frame with the read columns
+	 * @return frame with the selected columns and matching rows
+	 */
+	public FrameBlock apply(FrameBlock in) {
+		if(!hasPredicate())
+			return in;
+		if(in.getNumColumns() != getReadColumns().length)
+			throw new DMLRuntimeException("Invalid number of columns for read filter: "
+				+ in.getNumColumns() + " vs " + getReadColumns().length);
+
+		// evaluate row predicate
+		final int ppos = getColumnMap()[_pcol];
+		final boolean[] select = new boolean[in.getNumRows()];
+		final int nTrue = evalPredicate(in.getColumn(ppos), select);
+
+		// select matching rows of selected columns
+		int[] cols = getReadColumns();
+		int[] sel = getSelectedColumns();
+		ValueType[] schema = new ValueType[sel.length];
+		String[] names = new String[sel.length];
+		ColumnMetadata[] meta = new ColumnMetadata[sel.length];
+		Array<?>[] data = new Array<?>[sel.length];
+		for(int i = 0, j = 0; i < cols.length; i++) {
+			if(Arrays.binarySearch(sel, cols[i]) < 0)
+				continue; // predicate-only column
+			schema[j] = in.getSchema()[i];
+			names[j] = in.getColumnName(i);
+			meta[j] = in.getColumnMetadata(i);
+			data[j++] = (nTrue == select.length) ? in.getColumn(i) : in.getColumn(i).select(select, nTrue);
+		}
+		if(nTrue == 0)
+			return _empty ? new FrameBlock(schema, names, new String[1][sel.length]) : new FrameBlock(schema, names);
+		return new FrameBlock(schema, names, meta, data);
+	}
+
+	/**
+	 * Indicates if the row predicate cannot match any value within the given value range, e.g., the min/max
+	 * statistics of the predicate column in a row group, which allows readers to skip these rows entirely.
+	 *
+	 * @param vt  value type of the predicate column
+	 * @param min minimum value (Double for numeric, String otherwise), or null if unknown
+	 * @param max maximum value (Double for numeric, String otherwise), or null if unknown
+	 * @return true if no value in [min, max] satisfies the predicate
+	 */
+	public boolean canSkip(ValueType vt, Object min, Object max) {
+		if(!hasPredicate() || min == null || max == null)
+			return false;
+		final int cmin, cmax; // comparison of min/max with the constant
+		if(min instanceof Double && max instanceof Double) {
+			final double val = getPredicateValue(vt);
+			cmin = Double.compare((Double) min, val);
+			cmax = Double.compare((Double) max, val);
+		}
+		else {
+			cmin = min.toString().compareTo(_pval);
+			cmax = max.toString().compareTo(_pval);
+		}
+		final ValueFunction fn = getComparisonFunction(_pop);
+		if(fn instanceof Equals)
+			return cmin > 0 || cmax < 0;
+		else if(fn instanceof NotEquals)
+			return cmin == 0 && cmax == 0;
+		else if(fn instanceof LessThan)
+			return cmin >= 0;
+		else if(fn instanceof LessThanEquals)
+			return cmin > 0;
+		else if(fn instanceof GreaterThan)
+			return cmax <= 0;
+		else if(fn instanceof GreaterThanEquals)
+			return cmax < 0;
+		return false;
+	}
+
+	private int evalPredicate(Array<?> col, boolean[] select) {
+		final ValueComparisonFunction fn = getComparisonFunction(_pop);
+		final ValueType vt = col.getValueType();
+		int nTrue = 0;
+		if(vt.isNumeric() || vt == ValueType.BOOLEAN) {
+			final double val = getPredicateValue(vt);
+			for(int i = 0; i < select.length; i++)
+				nTrue += (select[i] = col.get(i) != null && fn.compare(col.getAsDouble(i), val)) ? 1 : 0;
+		}
+		else {
+			for(int i = 0; i < select.length; i++) {
+				Object v = col.get(i);
+				nTrue += (select[i] = v != null && fn.compare(v.toString(), _pval)) ? 1 : 0;
+			}
+		}
+		return nTrue;
+	}
+
+	private double getPredicateValue(ValueType vt) {
+		// numeric constants are compared as doubles (e.g., 2.5 on integer columns)
+		return vt.isNumeric() ? Double.parseDouble(_pval) :
+			UtilFunctions.objectToDouble(vt, UtilFunctions.stringToObject(vt, _pval));
+	}
+
+	private static ValueComparisonFunction getComparisonFunction(String opcode) {
+		try {
+			ValueFunction fn = InstructionUtils.parseBinaryOperator(opcode).fn;
+			return (fn instanceof ValueComparisonFunction) ? (ValueComparisonFunction) fn : null;
+		}
+		catch(Exception ex) {
+			return null;
+		}
+	}
+
+	/**
+	 * Indicates if the given instruction operand is a serialized read filter.
+	 *
+	 * @param operand instruction operand
+	 * @return true if the operand starts with the read filter prefix
+	 */
+	public static boolean isReadFilter(String operand) {
+		return operand != null && operand.startsWith(PREFIX);
+	}
+
+	/**
+	 * Parses a read filter serialized via {@link #toString()}.
+	 *
+	 * @param operand serialized read filter
+	 * @return read filter
+	 */
+	public static FrameReadFilter parse(String operand) {
+		if(!isReadFilter(operand))
+			throw new DMLRuntimeException("Invalid read filter: " + operand);
+		// note: the predicate constant is last and might contain the delimiter
+		String[] parts = operand.substring(PREFIX.length()).split(DELIM, 7);
+		long rlen = Long.parseLong(parts[0]);
+		int clen = Integer.parseInt(parts[1]);
+		int[] cols = parts[2].equals("*") ? null : Arrays.stream(parts[2].split(","))
+			.mapToInt(Integer::parseInt).toArray();
+		return (parts.length == 7) ? new FrameReadFilter(rlen, clen, cols, Integer.parseInt(parts[3]),
+			parts[4], parts[6], Boolean.parseBoolean(parts[5])) : new FrameReadFilter(rlen, clen, cols, -1, null, null,
+			false);
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder(PREFIX);
+		sb.append(_rlen).append(DELIM);
+		sb.append(_clen).append(DELIM);
+		if(_cols == null)
+			sb.append("*");
+		else
+			for(int i = 0; i < _cols.length; i++)
+				sb.append(i > 0 ? "," : "").append(_cols[i]);
+		if(hasPredicate())
+			sb.append(DELIM).append(_pcol).append(DELIM).append(_pop)
+				.append(DELIM).append(_empty).append(DELIM).append(_pval);
+		return sb.toString();
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		return o instanceof FrameReadFilter && toString().equals(o.toString());
+	}
+
+	@Override
+	public int hashCode() {
+		return toString().hashCode();
+	}
+}
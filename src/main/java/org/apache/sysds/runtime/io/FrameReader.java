@@ -43,6 +43,9 @@ import org.apache.sysds.runtime.util.UtilFunctions;
 public abstract class FrameReader {
 	protected static final Log LOG = LogFactory.getLog(FrameReader.class.getName());
 
+	// optional column projection and row predicate pushed into the read
+	protected FrameReadFilter _filter = null;
+
 	public abstract FrameBlock readFrameFromHDFS(String fname, ValueType[] schema, String[] names, long rlen, long clen)
 		throws IOException, DMLRuntimeException;
 
@@ -72,6 +75,29 @@ public abstract class FrameReader {
 		return readFrameFromInputStream(is, getDefSchema(clen), getDefColNames(clen), rlen, clen);
 	}
 
+	/**
+	 * Sets a column projection and row predicate that are applied while reading. With a read filter, the schema,
+	 * names, and dimensions passed to the read methods still describe the file, but the returned frame contains only
+	 * the selected columns and matching rows.
+	 * 
+	 * @param filter read filter, or null to read all columns and rows
+	 * @return this frame reader
+	 */
+	public FrameReader setReadFilter(FrameReadFilter filter) {
+		_filter = filter;
+		return this;
+	}
+
+	public FrameReadFilter getReadFilter() {
+		return _filter;
+	}
+
+	protected void checkReadFilter(long clen) {
+		if(_filter != null && _filter.getNumColumns() != clen)
+			throw new DMLRuntimeException("Read filter does not match the number of columns: "
+				+ _filter.getNumColumns() + " vs " + clen);
+	}
+
 	public ValueType[] getDefSchema(long clen) throws DMLRuntimeException {
 		int lclen = Math.max((int) clen, 1);
 		return UtilFunctions.nCopies(lclen, ValueType.STRING);
@@ -31,7 +31,9 @@ import org.apache.sysds.common.Types.ValueType;
 import org.apache.sysds.conf.ConfigurationManager;
 import org.apache.sysds.runtime.DMLRuntimeException;
 import org.apache.sysds.runtime.frame.data.FrameBlock;
+import org.apache.sysds.runtime.frame.data.columns.Array;
 import org.apache.sysds.runtime.frame.data.columns.ArrayWrapper;
+import org.apache.sysds.runtime.frame.data.columns.ColumnMetadata;
 import org.apache.sysds.runtime.frame.data.columns.DDCArray;
 
 /**
@@ -45,9 +47,14 @@ public class FrameReaderBinaryBlock extends FrameReader {
 	@Override
 	public final FrameBlock readFrameFromHDFS(String fname, ValueType[] schema, String[] names, long rlen, long clen)
 		throws IOException, DMLRuntimeException {
-		// allocate output frame block
+		// allocate output frame block (of read columns if projected)
+		checkReadFilter(clen);
 		ValueType[] lschema = createOutputSchema(schema, clen);
 		String[] lnames = createOutputNames(names, clen);
+		if(_filter != null) {
+			lschema = _filter.projectReadColumns(lschema);
+			lnames = _filter.projectReadColumns(lnames);
+		}
 		FrameBlock ret = new FrameBlock(lschema, lnames, (int) rlen);
 
 		// prepare file access
@@ -61,9 +68,11 @@ public class FrameReaderBinaryBlock extends FrameReader {
 		// core read (sequential/parallel)
 		readBinaryBlockFrameFromHDFS(path, job, fs, ret, rlen, clen);
 		
-		readBinaryDictionariesFromHDFS(new Path(fname + ".dict"), job, fs, ret);
+		readBinaryDictionariesFromHDFS(new Path(fname + ".dict"), job, fs, ret,
+			(_filter != null) ? _filter.getColumnMap() : null);
 
-		return ret;
+		// apply row predicate
+		return (_filter != null) ? _filter.apply(ret) : ret;
 	}
 
 	@Override
@@ -75,12 +84,13 @@ public class FrameReaderBinaryBlock extends FrameReader {
 	protected void readBinaryBlockFrameFromHDFS(Path path, JobConf job, FileSystem fs, FrameBlock dest, long rlen,
 		long clen) throws IOException, DMLRuntimeException {
 		// sequential read from sequence files
+		final int[] cols = (_filter != null) ? _filter.getReadColumns() : null;
 		for(Path lpath : IOUtilFunctions.getSequenceFilePaths(fs, path)) // 1..N files
-			readBinaryBlockFrameFromSequenceFile(lpath, job, fs, dest);
+			readBinaryBlockFrameFromSequenceFile(lpath, job, fs, dest, cols);
 	}
 
-	protected static void readBinaryBlockFrameFromSequenceFile(Path path, JobConf job, FileSystem fs, FrameBlock dest)
-		throws IOException, DMLRuntimeException {
+	protected static void readBinaryBlockFrameFromSequenceFile(Path path, JobConf job, FileSystem fs, FrameBlock dest,
+		int[] cols) throws IOException, DMLRuntimeException {
 		final int rlen = dest.getNumRows();
 		final int clen = dest.getNumColumns();
 
@@ -92,11 +102,14 @@ public class FrameReaderBinaryBlock extends FrameReader {
 			while(reader.next(key, value)) {
 				final int row_offset = (int) (key.get() - 1);
 				final int rows = value.getNumRows();
-				final int cols = value.getNumColumns();
 
-				if(rows == 0 || cols == 0) // Empty block, ignore it.
+				if(rows == 0 || value.getNumColumns() == 0) // Empty block, ignore it.
 					continue;
 
+				// shallow projection to the read columns (avoids copying unused columns)
+				final FrameBlock block = (cols != null) ? projectColumns(value, cols) : value;
+				final int ncols = block.getNumColumns();
+
 				// bound check per block
 				if(row_offset + rows < 0 || row_offset + rows > rlen) {
 					throw new IOException("Frame block [" + (row_offset + 1) + ":" + (row_offset + rows) + "," + ":" + "] "
@@ -104,10 +117,10 @@ public class FrameReaderBinaryBlock extends FrameReader {
 				}
 
 				// copy block into target frame, incl meta on first
-				dest.copy(row_offset, row_offset + rows - 1, 0, cols - 1, value);
+				dest.copy(row_offset, row_offset + rows - 1, 0, ncols - 1, block);
 				if(row_offset == 0) {
-					dest.setColumnNames(value.getColumnNames());
-					dest.setColumnMetadata(value.getColumnMetadata());
+					dest.setColumnNames(block.getColumnNames());
+					dest.setColumnMetadata(block.getColumnMetadata());
 				}
 			}
 		}
@@ -119,7 +132,22 @@ public class FrameReaderBinaryBlock extends FrameReader {
 		}
 	}
 
-	protected static void readBinaryDictionariesFromHDFS(Path path, JobConf job, FileSystem fs, FrameBlock ret) {
+	private static FrameBlock projectColumns(FrameBlock in, int[] cols) {
+		ValueType[] schema = new ValueType[cols.length];
+		String[] names = new String[cols.length];
+		ColumnMetadata[] meta = new ColumnMetadata[cols.length];
+		Array<?>[] data = new Array<?>[cols.length];
+		for(int i = 0; i < cols.length; i++) {
+			schema[i] = in.getSchema()[cols[i]];
+			names[i] = in.getColumnName(cols[i]);
+			meta[i] = in.getColumnMetadata(cols[i]);
+			data[i] = in.getColumn(cols[i]);
+		}
+		return new FrameBlock(schema, names, meta, data);
+	}
+
+	protected static void readBinaryDictionariesFromHDFS(Path path, JobConf job, FileSystem fs, FrameBlock ret,
+		int[] colMap) {
 		try{
 			if(fs.exists(path)){
 				LongWritable key = new LongWritable();
@@ -127,7 +155,9 @@ public class FrameReaderBinaryBlock extends FrameReader {
 				SequenceFile.Reader reader = new SequenceFile.Reader(job, SequenceFile.Reader.file(path));
 				try{
 					while(reader.next(key,value)){
-						int colId = (int)key.get();
+						int colId = (colMap != null) ? colMap[(int)key.get()] : (int)key.get();
+						if(colId < 0) // column not read
+							continue;
 						DDCArray<?> a = (DDCArray<?>) ret.getColumn(colId);
 						ret.setColumn(colId, a.setDict(value._a));
 					}
@@ -50,8 +50,9 @@ public class FrameReaderBinaryBlockParallel extends FrameReaderBinaryBlock
 		try {
 			//create read tasks for all files
 			ArrayList<ReadFileTask> tasks = new ArrayList<>();
+			int[] cols = (_filter != null) ? _filter.getReadColumns() : null;
 			for( Path lpath : IOUtilFunctions.getSequenceFilePaths(fs, path) )
-				tasks.add(new ReadFileTask(lpath, job, fs, dest));
+				tasks.add(new ReadFileTask(lpath, job, fs, dest, cols));
 
 			//check for exceptions
 			for(Future<Object> task : pool.invokeAll(tasks))
@@ -71,17 +72,19 @@ public class FrameReaderBinaryBlockParallel extends FrameReaderBinaryBlock
 		private JobConf _job = null;
 		private FileSystem _fs = null;
 		private FrameBlock _dest = null;
+		private int[] _cols = null;
 		
-		public ReadFileTask(Path path, JobConf job, FileSystem fs, FrameBlock dest) {
+		public ReadFileTask(Path path, JobConf job, FileSystem fs, FrameBlock dest, int[] cols) {
 			_path = path;
 			_fs = fs;
 			_job = job;
 			_dest = dest;
+			_cols = cols;
 		}
 
 		@Override
 		public Object call() throws Exception {
-			readBinaryBlockFrameFromSequenceFile(_path, _job, _fs, _dest);
+			readBinaryBlockFrameFromSequenceFile(_path, _job, _fs, _dest, _cols);
 			return null;
 		}
 	}
@@ -0,0 +1,173 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.runtime.io;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.mapred.JobConf;
+import org.apache.sysds.common.Types.ValueType;
+import org.apache.sysds.conf.ConfigurationManager;
+import org.apache.sysds.runtime.DMLRuntimeException;
+import org.apache.sysds.runtime.frame.data.FrameBlock;
+import org.apache.sysds.runtime.frame.data.columns.Array;
+import org.apache.sysds.runtime.frame.data.columns.ArrayFactory;
+import org.apache.sysds.runtime.io.columnar.ColumnChunkDecoder;
+import org.apache.sysds.runtime.io.columnar.ColumnarFile;
+import org.apache.sysds.runtime.io.columnar.ColumnarFooter;
+import org.apache.sysds.runtime.io.columnar.ColumnarFooter.ColumnChunk;
+import org.apache.sysds.runtime.io.columnar.ColumnarFooter.RowGroup;
+
+/**
+ * Single-threaded frame reader of the native columnar format (see {@link ColumnarFile}). The schema and column names
+ * are obtained from the file footers. With a read filter, only the chunks of the read columns are accessed (column
+ * pruning), and row groups whose min/max statistics cannot satisfy the row predicate are skipped entirely.
+ */
+public class FrameReaderColumnar extends FrameReader {
+
+	@Override
+	public final FrameBlock readFrameFromHDFS(String fname, ValueType[] schema, String[] names, long rlen, long clen)
+		throws IOException, DMLRuntimeException
+	{
+		//prepare file access
+		JobConf job = new JobConf(ConfigurationManager.getCachedJobConf());
+		Path path = new Path(fname);
+		FileSystem fs = IOUtilFunctions.getFileSystem(path, job);
+
+		//check existence and non-empty file
+		checkValidInputFile(fs, path);
+
+		//open all files and read their footers
+		List<Path> paths = ColumnarFile.getFiles(fs, path);
+		ColumnarFile[] files = new ColumnarFile[paths.size()];
+		try {
+			for(int i = 0; i < files.length; i++)
+				files[i] = ColumnarFile.open(fs, paths.get(i));
+			return readColumnarFrame(files, names);
+		}
+		finally {
+			for(ColumnarFile file : files)
+				if(file != null)
+					file.close();
+		}
+	}
+
+	@Override
+	public FrameBlock readFrameFromInputStream(InputStream is, ValueType[] schema, String[] names, long rlen,
+		long clen) throws IOException, DMLRuntimeException
+	{
+		return readColumnarFrame(new ColumnarFile[] {ColumnarFile.open(is)}, names);
+	}
+
+	private FrameBlock readColumnarFrame(ColumnarFile[] files, String[] names) throws IOException {
+		//read footers and check consistent schemas
+		ColumnarFooter[] footers = new ColumnarFooter[files.length];
+		for(int i = 0; i < files.length; i++) {
+			footers[i] = files[i].readFooter();
+			if(i > 0 && footers[i].getNumColumns() != footers[0].getNumColumns())
+				throw new DMLRuntimeException("Inconsistent number of columns in columnar files: "
+					+ footers[i].getNumColumns() + " vs " + footers[0].getNumColumns());
+		}
+		if(files.length == 0)
+			throw new IOException("No columnar files found.");
+		final int clen = footers[0].getNumColumns();
+		checkReadFilter(clen);
+		final ValueType[] fschema = footers[0].getSchema();
+		final String[] fnames = (footers[0].getColumnNames() != null) ?
+			footers[0].getColumnNames() : createOutputNames(names, clen);
+		final int[] cols = (_filter != null) ? _filter.getReadColumns() : IntStream.range(0, clen).toArray();
+
+		//collect row groups, skipping row groups that cannot match the row predicate
+		List<RowGroupRef> rgs = new ArrayList<>();
+		int nrow = 0;
+		for(int i = 0; i < files.length; i++) {
+			for(RowGroup rg : footers[i].getRowGroups()) {
+				if(_filter != null && _filter.hasPredicate()) {
+					int pcol = _filter.getPredicateColumn();
+					ColumnChunk chunk = rg.getChunk(pcol);
+					if(_filter.canSkip(fschema[pcol], chunk.getMin(), chunk.getMax()))
+						continue;
+				}
+				rgs.add(new RowGroupRef(files[i], rg, fschema, cols, nrow));
+				nrow += rg.getNumRows();
+			}
+		}
+
+		//allocate output frame of read columns (optional arrays for numeric columns with nulls)
+		Array<?>[] data = new Array<?>[cols.length];
+		String[] lnames = new String[cols.length];
+		for(int k = 0; k < cols.length; k++) {
+			boolean nulls = false;
+			for(ColumnarFooter footer : footers)
+				nulls |= footer.containsNull(cols[k]);
+			data[k] = ArrayFactory.allocate(fschema[cols[k]], nrow, nulls);
+			lnames[k] = fnames[cols[k]];
+		}
+		FrameBlock ret = new FrameBlock(data, lnames);
+
+		//core read (sequential/parallel)
+		readRowGroups(rgs, ret);
+
+		//apply row predicate
+		return (_filter != null) ? _filter.apply(ret) : ret;
+	}
+
+	protected void readRowGroups(List<RowGroupRef> rgs, FrameBlock dest) throws IOException {
+		for(RowGroupRef rg : rgs)
+			readRowGroup(rg, dest);
+	}
+
+	/**
+	 * Reads the chunks of all read columns of a row group into the corresponding rows of the output frame. Row groups
+	 * cover disjoint rows (aligned to 64 rows) and can thus be read concurrently.
+	 *
+	 * @param ref  row group with its file, read columns, and row offset
+	 * @param dest output frame of read columns
+	 * @throws IOException if IOException occurs
+	 */
+	protected static void readRowGroup(RowGroupRef ref, FrameBlock dest) throws IOException {
+		for(int k = 0; k < ref.cols.length; k++) {
+			int j = ref.cols[k];
+			byte[] chunk = ref.file.readChunk(ref.rg.getChunk(j));
+			ColumnChunkDecoder.decode(chunk, ref.schema[j], ref.rg.getNumRows(), dest.getColumn(k), ref.rl);
+		}
+	}
+
+	protected static class RowGroupRef {
+		protected final ColumnarFile file;
+		protected final RowGroup rg;
+		protected final ValueType[] schema;
+		protected final int[] cols;
+		protected final int rl;
+
+		protected RowGroupRef(ColumnarFile file, RowGroup rg, ValueType[] schema, int[] cols, int rl) {
+			this.file = file;
+			this.rg = rg;
+			this.schema = schema;
+			this.cols = cols;
+			this.rl = rl;
+		}
+	}
+}
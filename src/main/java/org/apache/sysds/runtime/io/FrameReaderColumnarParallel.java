@@ -0,0 +1,80 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.runtime.io;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import org.apache.sysds.hops.OptimizerUtils;
+import org.apache.sysds.runtime.frame.data.FrameBlock;
+import org.apache.sysds.runtime.util.CommonThreadPool;
+
+/**
+ * Multi-threaded frame reader of the native columnar format, which reads and decodes row groups (of all part files)
+ * concurrently.
+ */
+public class FrameReaderColumnarParallel extends FrameReaderColumnar {
+
+	@Override
+	protected void readRowGroups(List<RowGroupRef> rgs, FrameBlock dest) throws IOException {
+		int numThreads = OptimizerUtils.getParallelBinaryReadParallelism();
+		if(numThreads <= 1 || rgs.size() <= 1) {
+			super.readRowGroups(rgs, dest);
+			return;
+		}
+
+		//create and execute tasks
+		ExecutorService pool = CommonThreadPool.get(numThreads);
+		try {
+			ArrayList<ReadColumnarTask> tasks = new ArrayList<>();
+			for(RowGroupRef rg : rgs)
+				tasks.add(new ReadColumnarTask(rg, dest));
+
+			for(Future<Object> task : pool.invokeAll(tasks))
+				task.get();
+		}
+		catch(Exception e) {
+			throw new IOException("Failed parallel read of columnar input.", e);
+		}
+		finally{
+			pool.shutdown();
+		}
+	}
+
+	private static class ReadColumnarTask implements Callable<Object> {
+		private final RowGroupRef _rg;
+		private final FrameBlock _dest;
+
+		public ReadColumnarTask(RowGroupRef rg, FrameBlock dest) {
+			_rg = rg;
+			_dest = dest;
+		}
+
+		@Override
+		public Object call() throws IOException {
+			readRowGroup(_rg, _dest);
+			return null;
+		}
+	}
+}
@@ -48,6 +48,8 @@ public class FrameReaderFactory {
 			case COMPRESSED: // use same logic as a binary read
 			case BINARY:
 				return binaryParallel ? new FrameReaderBinaryBlockParallel() : new FrameReaderBinaryBlock();
+			case COLUMNAR:
+				return binaryParallel ? new FrameReaderColumnarParallel() : new FrameReaderColumnar();
 			case PROTO:
 				// TODO performance improvement: add parallel reader
 				return new FrameReaderProto();
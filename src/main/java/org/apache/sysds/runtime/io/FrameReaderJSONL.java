@@ -25,6 +25,7 @@ package org.apache.sysds.runtime.io;
 // import static org.apache.sysds.runtime.io.FrameReader.createOutputSchema;
 
 import java.io.IOException;
+import java.util.HashMap;
 import java.util.Map;
 
 import org.apache.commons.logging.Log;
@@ -55,6 +56,27 @@ public class FrameReaderJSONL {
 
 	public FrameBlock readFrameFromHDFS(String fname, Types.ValueType[] schema, Map<String, Integer> schemaMap,
 		long rlen, long clen) throws IOException, DMLRuntimeException, JSONException
+	{
+		return readFrameFromHDFS(fname, schema, schemaMap, rlen, clen, null);
+	}
+
+	/**
+	 * Reads a JSONL frame with an optional column projection and row predicate, where only the JSON paths of read
+	 * columns are extracted and materialized.
+	 * 
+	 * @param fname     file name
+	 * @param schema    schema of all columns
+	 * @param schemaMap mapping of JSON paths to columns
+	 * @param rlen      number of rows
+	 * @param clen      number of columns
+	 * @param filter    read filter, or null to read all columns and rows
+	 * @return frame block of selected columns and matching rows
+	 * @throws IOException           if IOException occurs
+	 * @throws DMLRuntimeException   if DMLRuntimeException occurs
+	 * @throws JSONException         if JSONException occurs
+	 */
+	public FrameBlock readFrameFromHDFS(String fname, Types.ValueType[] schema, Map<String, Integer> schemaMap,
+		long rlen, long clen, FrameReadFilter filter) throws IOException, DMLRuntimeException, JSONException
 	{
 		//prepare file access
 		JobConf jobConf = new JobConf(ConfigurationManager.getCachedJobConf());
@@ -67,11 +89,24 @@ public class FrameReaderJSONL {
 
 
 		Types.ValueType[] lschema = FrameReader.createOutputSchema(schema, clen);
+		if(filter != null) {
+			// restrict JSON paths to read columns
+			if(filter.getNumColumns() != clen)
+				throw new DMLRuntimeException("Read filter does not match the number of columns: "
+					+ filter.getNumColumns() + " vs " + clen);
+			int[] colMap = filter.getColumnMap();
+			Map<String, Integer> lschemaMap = new HashMap<>();
+			for(Map.Entry<String, Integer> e : schemaMap.entrySet())
+				if(colMap[e.getValue()] >= 0)
+					lschemaMap.put(e.getKey(), colMap[e.getValue()]);
+			schemaMap = lschemaMap;
+			schema = lschema = filter.projectReadColumns(lschema);
+		}
 		String[] lnames = createOutputNamesFromSchemaMap(schemaMap);
 		FrameBlock ret = FrameReader.createOutputFrameBlock(lschema, lnames, rlen);
 
 		readJSONLFrameFromHDFS(path, jobConf, fileSystem, ret, schema, schemaMap);
-		return ret;
+		return (filter != null) ? filter.apply(ret) : ret;
 	}
 
 
@@ -22,6 +22,7 @@ package org.apache.sysds.runtime.io;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.Set;
+import java.util.stream.IntStream;
 
 import org.apache.hadoop.fs.FileSystem;
 import org.apache.hadoop.fs.Path;
@@ -75,24 +76,35 @@ public class FrameReaderTextCSV extends FrameReader {
 			clen = size.getValue();
 		}
 
-		// allocate output frame block
+		// allocate output frame block (of read columns if projected)
+		checkReadFilter(clen);
 		ValueType[] lschema = createOutputSchema(schema, clen);
 		String[] lnames = createOutputNames(names, clen);
+		if(_filter != null) {
+			lschema = _filter.projectReadColumns(lschema);
+			lnames = _filter.projectReadColumns(lnames);
+		}
 		FrameBlock ret = createOutputFrameBlock(lschema, lnames, rlen);
 
 		// core read (sequential/parallel)
 		readCSVFrameFromHDFS(path, job, fs, ret, lschema, lnames, rlen, clen);
 
-		return ret;
+		// apply row predicate
+		return (_filter != null) ? _filter.apply(ret) : ret;
 	}
 
 	@Override
 	public FrameBlock readFrameFromInputStream(InputStream is, ValueType[] schema, String[] names, long rlen, long clen)
 		throws IOException, DMLRuntimeException
 	{
-		// allocate output frame block
+		// allocate output frame block (of read columns if projected)
+		checkReadFilter(clen);
 		ValueType[] lschema = createOutputSchema(schema, clen);
 		String[] lnames = createOutputNames(names, clen);
+		if(_filter != null) {
+			lschema = _filter.projectReadColumns(lschema);
+			lnames = _filter.projectReadColumns(lnames);
+		}
 		FrameBlock ret = createOutputFrameBlock(lschema, lnames, rlen);
 
 		// core read (sequential/parallel)
@@ -100,7 +112,8 @@ public class FrameReaderTextCSV extends FrameReader {
 		InputSplit split = informat.getSplits(null, 1)[0];
 		readCSVFrameFromInputSplit(split, informat, null, ret, schema, names, rlen, clen, 0, true);
 
-		return ret;
+		// apply row predicate
+		return (_filter != null) ? _filter.apply(ret) : ret;
 	}
 
 	protected void readCSVFrameFromHDFS(Path path, JobConf job, FileSystem fs, FrameBlock dest, ValueType[] schema,
@@ -136,6 +149,10 @@ public class FrameReaderTextCSV extends FrameReader {
 		else 
 			f = FrameReaderTextCSV::assignCellNoFill;
 		
+		// mapping of file columns to read columns (null if all columns)
+		final int[] colMap = (_filter != null) ? _filter.getColumnMap() : null;
+		final int lastCol = (_filter != null) ? IntStream.of(_filter.getReadColumns()).max().getAsInt() : -1;
+		
 		final RecordReader<LongWritable, Text> reader = informat.getRecordReader(split, job, Reporter.NULL);
 		final LongWritable key = new LongWritable();
 		final Text value = new Text();
@@ -144,7 +161,11 @@ public class FrameReaderTextCSV extends FrameReader {
 		// handle header if existing
 		if(first && hasHeader) {
 			reader.next(key, value); // read header
-			dest.setColumnNames(value.toString().split(delim));
+			String[] hnames = value.toString().split(delim);
+			if(colMap == null)
+				dest.setColumnNames(hnames);
+			else if(hnames.length == colMap.length)
+				dest.setColumnNames(_filter.projectReadColumns(hnames));
 		}
 
 		// Read the data
@@ -155,11 +176,14 @@ public class FrameReaderTextCSV extends FrameReader {
 			{
 				String line = value.toString();
 				if(isMetaStart(line)){
-					parseMeta(line, delim , dest);
+					parseMeta(line, delim , dest, colMap);
 					continue;
 				}
 
-				parseLine(line, delim, destA, row, (int) clen, dfillValue, sfillValue, isFill, naValues, f);
+				if(colMap != null)
+					parseLineProjected(line, delim, destA, row, colMap, lastCol, dfillValue, sfillValue, isFill, naValues, f);
+				else
+					parseLine(line, delim, destA, row, (int) clen, dfillValue, sfillValue, isFill, naValues, f);
 				row++;
 			}
 		}
@@ -178,24 +202,29 @@ public class FrameReaderTextCSV extends FrameReader {
 
 	} 
 
-	private static void parseMeta(String s, String delim, FrameBlock dest){
+	private static void parseMeta(String s, String delim, FrameBlock dest, int[] colMap){
 
 			String[] parts = IOUtilFunctions.splitCSV(s, delim);
 
 			final boolean mtdP = parts[0].equals(TfUtils.TXMTD_MVPREFIX);
 			final boolean mtdx = parts[0].equals(TfUtils.TXMTD_NDPREFIX);
+			final int clen = (colMap != null) ? colMap.length : dest.getNumColumns();
 
-			if(parts.length != dest.getNumColumns() + 1){
+			if(parts.length != clen + 1){
 				LOG.warn("Invalid metadata ");
 				parts = null;
 				return;
 			}
-			else if(mtdP)
-				for(int j = 0; j < dest.getNumColumns(); j++)
-					dest.getColumnMetadata(j).setMvValue(parts[j + 1]);
-			else if(mtdx)
-				for(int j = 0; j < dest.getNumColumns(); j++)
-					dest.getColumnMetadata(j).setNumDistinct(Long.parseLong(parts[j + 1]));
+			else if(mtdP) {
+				for(int j = 0; j < clen; j++)
+					if(colMap == null || colMap[j] >= 0)
+						dest.getColumnMetadata(colMap != null ? colMap[j] : j).setMvValue(parts[j + 1]);
+			}
+			else if(mtdx) {
+				for(int j = 0; j < clen; j++)
+					if(colMap == null || colMap[j] >= 0)
+						dest.getColumnMetadata(colMap != null ? colMap[j] : j).setNumDistinct(Long.parseLong(parts[j + 1]));
+			}
 			parts = null;
 		
 	}
@@ -225,6 +254,29 @@ public class FrameReaderTextCSV extends FrameReader {
 		}
 	}
 
+	private static void parseLineProjected(String cellStr, String delim, Array<?>[] destA, int row, int[] colMap,
+		int lastCol, double dfillValue, String sfillValue, boolean isFill, Set<String> naValues, CellAssigner assigner) {
+		try {
+			final String trimmed = IOUtilFunctions.trim(cellStr);
+			final int len = trimmed.length();
+			final int delimLen = delim.length();
+			// tokenize only up to the last read column and skip substrings of unused columns
+			int from = 0, to = 0, c = 0;
+			while(from < len && c <= lastCol) {
+				to = IOUtilFunctions.getTo(trimmed, from, delim, len, delimLen);
+				final int pos = colMap[c];
+				if(pos >= 0)
+					assigner.assign(row, destA[pos], trimmed.substring(from, to), to - from,
+						naValues, isFill, dfillValue, sfillValue);
+				c++;
+				from = to + delimLen;
+			}
+		}
+		catch(Exception e) {
+			throw new RuntimeException("failed to parse: " + cellStr, e);
+		}
+	}
+
 	@FunctionalInterface
 	private interface CellAssigner{
 		void assign(int row, Array<?> dest, String val, int length, Set<String> naValues, boolean isFill,
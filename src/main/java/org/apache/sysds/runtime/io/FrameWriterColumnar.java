@@ -0,0 +1,100 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.runtime.io;
+
+import java.io.IOException;
+
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.mapred.JobConf;
+import org.apache.sysds.common.Types.ValueType;
+import org.apache.sysds.conf.ConfigurationManager;
+import org.apache.sysds.runtime.DMLRuntimeException;
+import org.apache.sysds.runtime.frame.data.FrameBlock;
+import org.apache.sysds.runtime.io.columnar.ColumnChunkEncoder;
+import org.apache.sysds.runtime.io.columnar.ColumnarFile;
+import org.apache.sysds.runtime.io.columnar.ColumnarFileWriter;
+import org.apache.sysds.runtime.io.columnar.ColumnarFooter.ColumnChunk;
+import org.apache.sysds.runtime.util.HDFSTool;
+
+/**
+ * Single-threaded frame writer of the native columnar format (see {@link ColumnarFile}).
+ */
+public class FrameWriterColumnar extends FrameWriter {
+
+	@Override
+	public final void writeFrameToHDFS(FrameBlock src, String fname, long rlen, long clen)
+		throws IOException, DMLRuntimeException
+	{
+		//validity check frame dimensions
+		if(src.getNumRows() != rlen || src.getNumColumns() != clen)
+			throw new IOException("Frame dimensions mismatch with metadata: " + src.getNumRows() + "x"
+				+ src.getNumColumns() + " vs " + rlen + "x" + clen + ".");
+
+		//prepare file access
+		JobConf job = new JobConf(ConfigurationManager.getCachedJobConf());
+		Path path = new Path(fname);
+		FileSystem fs = IOUtilFunctions.getFileSystem(path, job);
+
+		//if the file already exists on HDFS, remove it.
+		HDFSTool.deleteFileIfExistOnHDFS(fname);
+
+		//core write (sequential/parallel)
+		writeColumnarFrameToHDFS(path, job, fs, src);
+
+		IOUtilFunctions.deleteCrcFilesFromLocalFileSystem(fs, path);
+	}
+
+	protected void writeColumnarFrameToHDFS(Path path, JobConf job, FileSystem fs, FrameBlock src)
+		throws IOException
+	{
+		writeColumnarFrameToFile(path, fs, src, 0, src.getNumRows());
+	}
+
+	/**
+	 * Writes the rows [rl, ru) of the given frame as a single columnar file.
+	 *
+	 * @param path file path
+	 * @param fs   file system
+	 * @param src  input frame block
+	 * @param rl   row lower bound (inclusive)
+	 * @param ru   row upper bound (exclusive)
+	 * @throws IOException if IOException occurs
+	 */
+	protected static void writeColumnarFrameToFile(Path path, FileSystem fs, FrameBlock src, int rl, int ru)
+		throws IOException
+	{
+		final int clen = src.getNumColumns();
+		final int rgsize = ColumnarFile.getRowGroupSize(clen);
+		final ValueType[] schema = src.getSchema();
+		final String[] names = src.isColNamesDefault() ? null : src.getColumnNames();
+		final ColumnChunkEncoder enc = new ColumnChunkEncoder();
+
+		try(ColumnarFileWriter writer = new ColumnarFileWriter(fs, path, schema, names)) {
+			for(int bl = rl; bl < ru; bl += rgsize) {
+				final int bu = Math.min(ru, bl + rgsize);
+				ColumnChunk[] chunks = new ColumnChunk[clen];
+				for(int j = 0; j < clen; j++)
+					chunks[j] = writer.writeChunk(enc, enc.encode(src.getColumn(j), schema[j], bl, bu));
+				writer.addRowGroup(bu - bl, chunks);
+			}
+		}
+	}
+}
@@ -48,6 +48,8 @@ public class FrameWriterFactory {
 				return new FrameWriterCompressed(binaryParallel);
 			case BINARY:
 				return binaryParallel ? new FrameWriterBinaryBlockParallel() : new FrameWriterBinaryBlock();
+			case COLUMNAR:
+				return binaryParallel ? new FrameWriterColumnarParallel() : new FrameWriterColumnar();
 			case PROTO:
 				return new FrameWriterProto();
 			default:
@@ -24,6 +24,7 @@ import org.apache.commons.logging.LogFactory;
 import org.apache.sysds.common.Types.FileFormat;
 import org.apache.sysds.conf.CompilerConfig.ConfigType;
 import org.apache.sysds.conf.ConfigurationManager;
+import org.apache.sysds.conf.DMLConfig;
 import org.apache.sysds.runtime.DMLRuntimeException;
 import org.apache.sysds.runtime.compress.io.ReaderCompressed;
 import org.apache.sysds.runtime.data.SparseBlock;
@@ -75,6 +76,11 @@ public class MatrixReaderFactory {
 					new ReaderCOG(new FileFormatPropertiesCOG());
 				break;
 
+			case COLUMNAR:
+				reader = (par & mcsr) ?
+					new ReaderColumnarParallel() : new ReaderColumnar();
+				break;
+
 			case COMPRESSED:
 				reader = ReaderCompressed.create();
 				break;
@@ -94,9 +100,10 @@ public class MatrixReaderFactory {
 		FileFormat fmt = props.fmt;
 		boolean par = ConfigurationManager.getCompilerConfigFlag(ConfigType.PARALLEL_CP_READ_TEXTFORMATS);
 		boolean mcsr = MatrixBlock.DEFAULT_SPARSEBLOCK == SparseBlock.Type.MCSR;
+		boolean compress = ConfigurationManager.getDMLConfig().getBooleanValue(DMLConfig.COMPRESSED_READ);
 
 		if (LOG.isDebugEnabled()){
-			LOG.debug("reading parallel: " + par + " mcsr: " + mcsr);
+			LOG.debug("reading parallel: " + par + " mcsr: " + mcsr + " compress: " + compress);
 		}
 
 		switch(fmt) {
@@ -107,6 +114,12 @@ public class MatrixReaderFactory {
 				break;
 
 			case CSV:
+				//read-time compression of row chunks (independent of parallel reads)
+				if( compress ) {
+					reader = new ReaderTextCSVParallel(props.formatProperties!=null ?
+						(FileFormatPropertiesCSV)props.formatProperties : new FileFormatPropertiesCSV(), true);
+					break;
+				}
 				reader = (par & mcsr) ?
 					new ReaderTextCSVParallel( props.formatProperties!=null ?
 						(FileFormatPropertiesCSV)props.formatProperties : new FileFormatPropertiesCSV()) :
@@ -121,7 +134,7 @@ public class MatrixReaderFactory {
 				break;
 
 			case BINARY:
-				reader = (par & mcsr) ?
+				reader = compress ? new ReaderBinaryBlockParallel(props.localFS, true) : (par & mcsr) ?
 					new ReaderBinaryBlockParallel(props.localFS) : new ReaderBinaryBlock(props.localFS);
 				break;
 
@@ -137,6 +150,11 @@ public class MatrixReaderFactory {
 						new ReaderCOGParallel(fileFormatPropertiesCOG) : new ReaderCOG(fileFormatPropertiesCOG);
 				break;
 
+			case COLUMNAR:
+				reader = (par & mcsr) ?
+					new ReaderColumnarParallel() : new ReaderColumnar();
+				break;
+
 			case COMPRESSED:
 				reader = new ReaderCompressed();
 				break;
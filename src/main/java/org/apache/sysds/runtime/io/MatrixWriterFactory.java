@@ -91,6 +91,13 @@ public class MatrixWriterFactory{
 				else
 					return new WriterHDF5((FileFormatPropertiesHDF5) props);
 
+			case COLUMNAR:
+				if( ConfigurationManager.getCompilerConfigFlag(ConfigType.PARALLEL_CP_WRITE_BINARYFORMATS) )
+					writer = new WriterColumnarParallel();
+				else
+					writer = new WriterColumnar();
+				break;
+
 			case COMPRESSED:
 				return WriterCompressed.create(props);
 
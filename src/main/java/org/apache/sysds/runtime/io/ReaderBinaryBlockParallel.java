@@ -21,8 +21,12 @@ package org.apache.sysds.runtime.io;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Queue;
 import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
 
@@ -34,6 +38,8 @@ import org.apache.hadoop.mapred.JobConf;
 import org.apache.sysds.conf.ConfigurationManager;
 import org.apache.sysds.hops.OptimizerUtils;
 import org.apache.sysds.runtime.DMLRuntimeException;
+import org.apache.sysds.runtime.compress.CompressedMatrixBlockFactory;
+import org.apache.sysds.runtime.compress.io.ChunkedCompressor;
 import org.apache.sysds.runtime.data.SparseBlock;
 import org.apache.sysds.runtime.data.SparseBlockMCSR;
 import org.apache.sysds.runtime.matrix.data.MatrixBlock;
@@ -44,12 +50,22 @@ import org.apache.sysds.runtime.util.HDFSTool;
 
 public class ReaderBinaryBlockParallel extends ReaderBinaryBlock 
 {	
+	/** Fraction of the local memory budget for buffered row blocks of compressed reads */
+	public static double COMPRESSED_READ_BUFFER_RATIO = 0.1;
+	
 	private static int _numThreads = 1;
+	private final boolean _compress;
 	
 	public ReaderBinaryBlockParallel( boolean localFS )
+	{
+		this(localFS, false);
+	}
+	
+	public ReaderBinaryBlockParallel( boolean localFS, boolean compress )
 	{
 		super(localFS);
 		_numThreads = OptimizerUtils.getParallelBinaryReadParallelism();
+		_compress = compress;
 	}
 	
 	@Override
@@ -60,9 +76,6 @@ public class ReaderBinaryBlockParallel extends ReaderBinaryBlock
 		if( RETURN_EMPTY_NNZ0 && estnnz == 0 )
 			return new MatrixBlock((int)rlen, (int)clen, true);
 		
-		//allocate output matrix block (incl block allocation for parallel)
-		MatrixBlock ret = createOutputMatrixBlock(rlen, clen, blen, estnnz, true, true);
-		
 		//prepare file access
 		JobConf job = new JobConf(ConfigurationManager.getCachedJobConf());	
 		Path path = new Path( (_localFS ? "file:///" : "") + fname); 
@@ -71,6 +84,13 @@ public class ReaderBinaryBlockParallel extends ReaderBinaryBlock
 		//check existence and non-empty file
 		checkValidInputFile(fs, path); 
 		
+		//read-time compression of row blocks
+		if( _compress )
+			return readBinaryBlockMatrixFromHDFSCompressed(path, job, fs, rlen, clen, blen, estnnz);
+		
+		//allocate output matrix block (incl block allocation for parallel)
+		MatrixBlock ret = createOutputMatrixBlock(rlen, clen, blen, estnnz, true, true);
+		
 		//core read
 		int numThreads = OptimizerUtils.getParallelBinaryReadParallelism();
 		long numBlocks = (long)Math.ceil((double)rlen / blen);
@@ -125,6 +145,267 @@ public class ReaderBinaryBlockParallel extends ReaderBinaryBlock
 		}
 	}
 
+	/**
+	 * Reads the binary block files in parallel and assembles row blocks of the full width, which are encoded into
+	 * compressed column groups in row order once complete. Incomplete and out-of-order row blocks are buffered
+	 * up to a fraction of the local memory budget, where readers wait for the encoding of preceding row blocks.
+	 * If no reader can make progress within this budget (e.g., for inputs whose row blocks are spread across
+	 * files), the read falls back to a full read and subsequent compression.
+	 */
+	private static MatrixBlock readBinaryBlockMatrixFromHDFSCompressed( Path path, JobConf job, FileSystem fs,
+			long rlen, long clen, int blen, long estnnz )
+		throws IOException, DMLRuntimeException
+	{
+		//set up preferred custom serialization framework for binary block format
+		if( HDFSTool.USE_BINARYBLOCK_SERIALIZATION )
+			HDFSTool.addBinaryBlockSerializationFramework( job );
+		
+		final long nrb = (long)Math.ceil((double)rlen / blen);
+		final boolean sparse = MatrixBlock.evalSparseFormatInMemory(rlen, clen, estnnz);
+		final double sp = (estnnz >= 0) ? OptimizerUtils.getSparsity(rlen, clen, estnnz) : 1.0;
+		final long budget = (long)(OptimizerUtils.getLocalMemBudget() * COMPRESSED_READ_BUFFER_RATIO);
+		final Path[] files = IOUtilFunctions.getSequenceFilePaths(fs, path);
+		final int numTasks = Math.min(_numThreads, files.length);
+		final RowBlockBuffer buff = new RowBlockBuffer(rlen, clen, blen, sparse, sp, budget, numTasks);
+		final ChunkedCompressor comp = new ChunkedCompressor((int)rlen, (int)clen, _numThreads);
+		
+		final ExecutorService pool = CommonThreadPool.get(_numThreads);
+		try 
+		{
+			//create read tasks that pull files from a shared queue
+			Queue<Path> queue = new ConcurrentLinkedQueue<>(Arrays.asList(files));
+			List<Future<Object>> rt = new ArrayList<>();
+			for( int i=0; i<numTasks; i++ )
+				rt.add(pool.submit(new ReadRowBlocksTask(queue, job, buff)));
+			
+			//compress row blocks in row order (missing blocks are empty)
+			for( long bix = 1; bix <= nrb && !buff.isAborted(); bix++ ) {
+				MatrixBlock rb = buff.take(bix);
+				if( rb != null )
+					comp.append(rb);
+			}
+			
+			//check for exceptions
+			for( Future<Object> task : rt )
+				task.get();
+		}
+		catch (Exception e) {
+			throw new IOException("Failed parallel read of binary block input.", e);
+		}
+		finally {
+			buff.abort(); //release waiting readers on errors
+			pool.shutdown();
+		}
+		
+		if( !buff.isStalled() )
+			return comp.finish();
+		
+		//fallback to full read and compression
+		LOG.debug("Buffered row blocks exceeded the memory budget, fallback to full read and compression");
+		MatrixBlock ret = createOutputMatrixBlock(rlen, clen, blen, estnnz, true, true);
+		readBinaryBlockMatrixFromHDFS(path, job, fs, ret, rlen, clen, blen, _numThreads<=nrb);
+		if( !AGGREGATE_BLOCK_NNZ )
+			ret.recomputeNonZeros();
+		ret.examSparsity();
+		return CompressedMatrixBlockFactory.compress(ret, _numThreads).getLeft();
+	}
+	
+	/**
+	 * Bounded buffer of row blocks, which are filled by parallel readers and consumed in row order. Readers wait
+	 * before allocating a new row block if the buffered row blocks exceed the memory budget, unless it is the next
+	 * row block to consume. If all readers wait and the next row block is incomplete, the buffer is stalled and
+	 * aborted.
+	 */
+	private static class RowBlockBuffer
+	{
+		private final long _rlen;
+		private final int _clen, _blen, _ncb;
+		private final boolean _sparse;
+		private final double _sp;
+		private final long _budget;
+		private final int _numTasks;
+		private final HashMap<Long, RowBlock> _blocks = new HashMap<>();
+		private long _size = 0; //size of buffered row blocks
+		private long _next = 1; //next row block to consume
+		private int _started = 0, _finished = 0, _waiting = 0;
+		private boolean _aborted = false, _stalled = false;
+		
+		public RowBlockBuffer(long rlen, long clen, int blen, boolean sparse, double sp, long budget, int numTasks) {
+			_rlen = rlen;
+			_clen = (int)clen;
+			_blen = blen;
+			_ncb = (int)Math.ceil((double)clen / blen);
+			_sparse = sparse;
+			_sp = sp;
+			_budget = budget;
+			_numTasks = numTasks;
+		}
+		
+		public synchronized boolean add(long bix, MatrixBlock value, int col_offset) throws InterruptedException {
+			RowBlock rb = _blocks.get(bix);
+			if( rb == null ) {
+				int rows = Math.min(_blen, (int)(_rlen-(bix-1)*_blen));
+				long size = MatrixBlock.estimateSizeInMemory(rows, _clen, _sp);
+				while( !_aborted && bix != _next && _size > 0 && _size + size > _budget ) {
+					_waiting++;
+					if( _waiting == _started - _finished && _started == _numTasks && !isComplete(_next) ) {
+						_stalled = true;
+						abort();
+					}
+					else
+						wait();
+					_waiting--;
+				}
+				if( _aborted )
+					return false;
+				_blocks.put(bix, rb = new RowBlock(rows, _clen, _sparse, size));
+				_size += size;
+			}
+			rb.add(value, col_offset);
+			if( bix == _next && rb._count == _ncb )
+				notifyAll();
+			return true;
+		}
+		
+		public MatrixBlock take(long bix) throws InterruptedException {
+			RowBlock rb = null;
+			synchronized( this ) {
+				while( !_aborted && !isComplete(bix) && _finished < _numTasks )
+					wait();
+				if( _aborted )
+					return null;
+				rb = _blocks.remove(bix);
+				if( rb != null )
+					_size -= rb._size;
+				_next = bix + 1;
+				notifyAll();
+			}
+			//finalize outside the critical section
+			int rows = Math.min(_blen, (int)(_rlen-(bix-1)*_blen));
+			return (rb != null) ? rb.finish(_clen > _blen) : new MatrixBlock(rows, _clen, true);
+		}
+		
+		public synchronized void start() {
+			_started++;
+		}
+		
+		public synchronized void finish() {
+			_finished++;
+			notifyAll();
+		}
+		
+		public synchronized void abort() {
+			_aborted = true;
+			notifyAll();
+		}
+		
+		public synchronized boolean isAborted() {
+			return _aborted;
+		}
+		
+		public synchronized boolean isStalled() {
+			return _stalled;
+		}
+		
+		private boolean isComplete(long bix) {
+			RowBlock rb = _blocks.get(bix);
+			return rb != null && rb._count == _ncb;
+		}
+	}
+	
+	private static class RowBlock
+	{
+		private final MatrixBlock _mb;
+		private final long _size;
+		private int _count = 0;
+		
+		public RowBlock(int rows, int cols, boolean sparse, long size) {
+			_mb = new MatrixBlock(rows, cols, sparse);
+			_mb.allocateBlock();
+			_size = size;
+		}
+		
+		public void add(MatrixBlock value, int col_offset) {
+			if( !value.isEmptyBlock(false) ) {
+				if( _mb.isInSparseFormat() )
+					_mb.appendToSparse(value, 0, col_offset);
+				else
+					_mb.copy(0, value.getNumRows()-1, col_offset,
+						col_offset+value.getNumColumns()-1, value, false);
+			}
+			_count++;
+		}
+		
+		public MatrixBlock finish(boolean sort) {
+			if( _mb.isInSparseFormat() && sort )
+				_mb.sortSparseRows();
+			_mb.recomputeNonZeros();
+			return _mb;
+		}
+	}
+	
+	private static class ReadRowBlocksTask implements Callable<Object>
+	{
+		private final Queue<Path> _files;
+		private final JobConf _job;
+		private final RowBlockBuffer _buff;
+		
+		public ReadRowBlocksTask(Queue<Path> files, JobConf job, RowBlockBuffer buff) {
+			_files = files;
+			_job = job;
+			_buff = buff;
+		}
+		
+		@Override
+		public Object call() throws Exception {
+			_buff.start();
+			try {
+				Path lpath = null;
+				while( !_buff.isAborted() && (lpath = _files.poll()) != null )
+					readFile(lpath);
+			}
+			catch(Exception ex) {
+				_buff.abort();
+				throw ex;
+			}
+			finally {
+				_buff.finish();
+			}
+			return null;
+		}
+		
+		private void readFile(Path lpath) throws IOException, InterruptedException {
+			final long rlen = _buff._rlen;
+			final int clen = _buff._clen, blen = _buff._blen;
+			MatrixIndexes key = new MatrixIndexes();
+			MatrixBlock value = getReuseBlock(blen, _buff._sparse);
+			final Reader reader = new SequenceFile.Reader(_job, SequenceFile.Reader.file(lpath));
+			try {
+				while( reader.next(key, value) ) {
+					int row_offset = (int)(key.getRowIndex()-1)*blen;
+					int col_offset = (int)(key.getColumnIndex()-1)*blen;
+					int rows = value.getNumRows();
+					int cols = value.getNumColumns();
+					
+					//bound check per block
+					if( row_offset + rows < 0 || row_offset + rows > rlen 
+						|| col_offset + cols<0 || col_offset + cols > clen ) {
+						throw new IOException("Matrix block ["+(row_offset+1)+":"
+							+(row_offset+rows)+","+(col_offset+1)+":"+(col_offset+cols)+"] " +
+							"out of overall matrix range [1:"+rlen+",1:"+clen+"].");
+					}
+					
+					//copy block into its row block
+					if( !_buff.add(key.getRowIndex(), value, col_offset) )
+						return; //aborted
+				}
+			}
+			finally {
+				IOUtilFunctions.closeSilently(reader);
+			}
+		}
+	}
+
 	private static class ReadFileTask implements Callable<Object> 
 	{
 		private final Path _path;
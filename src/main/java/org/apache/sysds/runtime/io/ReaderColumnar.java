@@ -0,0 +1,173 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.runtime.io;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.mapred.JobConf;
+import org.apache.sysds.common.Types.ValueType;
+import org.apache.sysds.conf.ConfigurationManager;
+import org.apache.sysds.runtime.DMLRuntimeException;
+import org.apache.sysds.runtime.data.DenseBlock;
+import org.apache.sysds.runtime.data.SparseBlock;
+import org.apache.sysds.runtime.io.columnar.ColumnChunkDecoder;
+import org.apache.sysds.runtime.io.columnar.ColumnarFile;
+import org.apache.sysds.runtime.io.columnar.ColumnarFooter;
+import org.apache.sysds.runtime.io.columnar.ColumnarFooter.ColumnChunk;
+import org.apache.sysds.runtime.io.columnar.ColumnarFooter.RowGroup;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+
+/**
+ * Single-threaded matrix reader of the native columnar format (see {@link ColumnarFile}). The dimensions and number
+ * of non-zeros are obtained from the file footers, and all-zero column chunks are skipped without reading them.
+ */
+public class ReaderColumnar extends MatrixReader {
+
+	@Override
+	public MatrixBlock readMatrixFromHDFS(String fname, long rlen, long clen, int blen, long estnnz)
+		throws IOException, DMLRuntimeException
+	{
+		//prepare file access
+		JobConf job = new JobConf(ConfigurationManager.getCachedJobConf());
+		Path path = new Path(fname);
+		FileSystem fs = IOUtilFunctions.getFileSystem(path, job);
+
+		//check existence and non-empty file
+		checkValidInputFile(fs, path);
+
+		//open all files and read their footers
+		List<Path> paths = ColumnarFile.getFiles(fs, path);
+		ColumnarFile[] files = new ColumnarFile[paths.size()];
+		try {
+			for(int i = 0; i < files.length; i++)
+				files[i] = ColumnarFile.open(fs, paths.get(i));
+			return readColumnarMatrix(files);
+		}
+		finally {
+			for(ColumnarFile file : files)
+				if(file != null)
+					file.close();
+		}
+	}
+
+	@Override
+	public MatrixBlock readMatrixFromInputStream(InputStream is, long rlen, long clen, int blen, long estnnz)
+		throws IOException, DMLRuntimeException
+	{
+		return readColumnarMatrix(new ColumnarFile[] {ColumnarFile.open(is)});
+	}
+
+	private MatrixBlock readColumnarMatrix(ColumnarFile[] files) throws IOException {
+		//collect row groups and their row offsets
+		List<RowGroupRef> rgs = new ArrayList<>();
+		ValueType[] schema = null;
+		long nrow = 0, nnz = 0;
+		for(ColumnarFile file : files) {
+			ColumnarFooter footer = file.readFooter();
+			if(schema != null && schema.length != footer.getNumColumns())
+				throw new DMLRuntimeException("Inconsistent number of columns in columnar files: "
+					+ footer.getNumColumns() + " vs " + schema.length);
+			schema = footer.getSchema();
+			for(RowGroup rg : footer.getRowGroups()) {
+				rgs.add(new RowGroupRef(file, rg, schema, (int) nrow));
+				nrow += rg.getNumRows();
+			}
+			nnz += footer.getNonZeros();
+		}
+		if(schema == null)
+			throw new IOException("No columnar files found.");
+
+		//allocate output matrix block
+		MatrixBlock ret = createOutputMatrixBlock(nrow, schema.length, (int) Math.max(nrow, 1), nnz, true, true);
+
+		//core read (sequential/parallel)
+		long lnnz = readRowGroups(rgs, ret);
+
+		//finally check if change of sparse/dense block representation required
+		//(nnz explicitly maintained during read)
+		ret.setNonZeros(lnnz);
+		ret.examSparsity();
+		return ret;
+	}
+
+	protected long readRowGroups(List<RowGroupRef> rgs, MatrixBlock dest) throws IOException {
+		long lnnz = 0;
+		for(RowGroupRef rg : rgs)
+			lnnz += readRowGroup(rg, dest);
+		return lnnz;
+	}
+
+	/**
+	 * Reads all non-empty column chunks of a row group into the corresponding rows of the output block. Row groups
+	 * cover disjoint rows and can thus be read concurrently (for MCSR and dense output blocks).
+	 *
+	 * @param ref  row group with its file and row offset
+	 * @param dest output matrix block
+	 * @return number of non-zeros read
+	 * @throws IOException if IOException occurs
+	 */
+	protected static long readRowGroup(RowGroupRef ref, MatrixBlock dest) throws IOException {
+		final int n = ref.rg.getNumRows();
+		final int rl = ref.rl;
+		final double[] col = new double[n];
+		long lnnz = 0;
+		for(int j = 0; j < ref.schema.length; j++) {
+			ColumnChunk chunk = ref.rg.getChunk(j);
+			if(chunk.getNonZeros() == 0 && !chunk.containsNull())
+				continue; //skip all-zero columns
+			ColumnChunkDecoder.decode(ref.file.readChunk(chunk), ref.schema[j], n, col);
+			if(dest.isInSparseFormat()) {
+				SparseBlock sb = dest.getSparseBlock();
+				for(int i = 0; i < n; i++)
+					if(col[i] != 0) {
+						sb.append(rl + i, j, col[i]);
+						lnnz++;
+					}
+			}
+			else {
+				DenseBlock db = dest.getDenseBlock();
+				for(int i = 0; i < n; i++) {
+					db.values(rl + i)[db.pos(rl + i) + j] = col[i];
+					lnnz += (col[i] != 0) ? 1 : 0;
+				}
+			}
+		}
+		return lnnz;
+	}
+
+	protected static class RowGroupRef {
+		protected final ColumnarFile file;
+		protected final RowGroup rg;
+		protected final ValueType[] schema;
+		protected final int rl;
+
+		protected RowGroupRef(ColumnarFile file, RowGroup rg, ValueType[] schema, int rl) {
+			this.file = file;
+			this.rg = rg;
+			this.schema = schema;
+			this.rl = rl;
+		}
+	}
+}
@@ -0,0 +1,84 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.runtime.io;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import org.apache.sysds.hops.OptimizerUtils;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.util.CommonThreadPool;
+
+/**
+ * Multi-threaded matrix reader of the native columnar format, which reads and decodes row groups (of all part files)
+ * concurrently.
+ */
+public class ReaderColumnarParallel extends ReaderColumnar {
+
+	final private int _numThreads;
+
+	public ReaderColumnarParallel() {
+		_numThreads = OptimizerUtils.getParallelBinaryReadParallelism();
+	}
+
+	@Override
+	protected long readRowGroups(List<RowGroupRef> rgs, MatrixBlock dest) throws IOException {
+		if(_numThreads <= 1 || rgs.size() <= 1)
+			return super.readRowGroups(rgs, dest);
+
+		//create and execute tasks
+		ExecutorService pool = CommonThreadPool.get(_numThreads);
+		try {
+			ArrayList<ReadColumnarTask> tasks = new ArrayList<>();
+			for(RowGroupRef rg : rgs)
+				tasks.add(new ReadColumnarTask(rg, dest));
+
+			long nnz = 0;
+			for(Future<Long> task : pool.invokeAll(tasks))
+				nnz += task.get();
+			return nnz;
+		}
+		catch(Exception e) {
+			throw new IOException("Failed parallel read of columnar input.", e);
+		}
+		finally{
+			pool.shutdown();
+		}
+	}
+
+	private static class ReadColumnarTask implements Callable<Long> {
+		private final RowGroupRef _rg;
+		private final MatrixBlock _dest;
+
+		public ReadColumnarTask(RowGroupRef rg, MatrixBlock dest) {
+			_rg = rg;
+			_dest = dest;
+		}
+
+		@Override
+		public Long call() throws IOException {
+			return readRowGroup(_rg, _dest);
+		}
+	}
+}
@@ -19,15 +19,20 @@
 
 package org.apache.sysds.runtime.io;
 
+import java.io.BufferedInputStream;
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+
 import org.apache.hadoop.fs.FileStatus;
 import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.LocalFileSystem;
 import org.apache.hadoop.fs.Path;
-import java.io.BufferedInputStream;
 import org.apache.hadoop.mapred.JobConf;
 import org.apache.sysds.conf.ConfigurationManager;
 import org.apache.sysds.runtime.DMLRuntimeException;
@@ -35,7 +40,7 @@ import org.apache.sysds.runtime.data.DenseBlock;
 import org.apache.sysds.runtime.data.SparseBlock;
 import org.apache.sysds.runtime.io.hdf5.H5;
 import org.apache.sysds.runtime.io.hdf5.H5Constants;
-import org.apache.sysds.runtime.io.hdf5.H5ContiguousDataset;
+import org.apache.sysds.runtime.io.hdf5.H5Dataset;
 import org.apache.sysds.runtime.io.hdf5.H5RootObject;
 import org.apache.sysds.runtime.matrix.data.MatrixBlock;
 import org.apache.sysds.runtime.util.UtilFunctions;
@@ -50,11 +55,24 @@ public class ReaderHDF5 extends MatrixReader {
 	@Override
 	public MatrixBlock readMatrixFromHDFS(String fname, long rlen, long clen, int blen, long estnnz)
 		throws IOException, DMLRuntimeException {
-		//allocate output matrix block
-		MatrixBlock ret = null;
-		if(rlen >= 0 && clen >= 0) //otherwise allocated on read
-			ret = createOutputMatrixBlock(rlen, clen, (int) rlen, estnnz, true, true);
+		return readMatrixRowsFromHDFS(fname, 0, -1, estnnz);
+	}
 
+	/**
+	 * Reads the rows [rl, ru) of the dataset (a hyperslab selection of whole rows). Only the file regions or chunks
+	 * of the requested rows are read, and files of multi-part inputs outside the row range are not accessed beyond
+	 * their headers.
+	 *
+	 * @param fname  file name of the HDF5 file or directory of part files
+	 * @param rl     row lower bound (inclusive, 0-based)
+	 * @param ru     row upper bound (exclusive), or -1 for all remaining rows
+	 * @param estnnz estimated number of non-zeros of the row range
+	 * @return matrix block of ru-rl rows
+	 * @throws IOException         if IOException occurs
+	 * @throws DMLRuntimeException if the row range is invalid
+	 */
+	public MatrixBlock readMatrixRowsFromHDFS(String fname, long rl, long ru, long estnnz)
+		throws IOException, DMLRuntimeException {
 		//prepare file access
 		JobConf job = new JobConf(ConfigurationManager.getCachedJobConf());
 		Path path = new Path(fname);
@@ -62,15 +80,48 @@ public class ReaderHDF5 extends MatrixReader {
 
 		//check existence and non-empty file
 		checkValidInputFile(fs, path);
+		List<Path> files = getFiles(fs, path);
 
-		//core read 
-		ret = readHDF5MatrixFromHDFS(path, job, fs, ret, rlen, clen, blen, _props.getDatasetName());
+		//open all files and determine row offsets from their headers
+		H5Dataset[] datasets = new H5Dataset[files.size()];
+		long[] offsets = new long[files.size() + 1];
+		try {
+			int ncol = -1;
+			for(int i = 0; i < files.size(); i++) {
+				H5Dataset dataset = openDataset(fs, files.get(i), _props.getDatasetName());
+				offsets[i + 1] = offsets[i] + dataset.getNumRows();
+				if(ncol >= 0 && ncol != dataset.getNumCols())
+					throw new DMLRuntimeException("Inconsistent number of columns in HDF5 file " + files.get(i) + ": "
+						+ dataset.getNumCols() + " vs " + ncol);
+				ncol = dataset.getNumCols();
+				//keep only random-access files open (streams buffer the entire file)
+				if(dataset.getRootObject().isRandomAccess())
+					datasets[i] = dataset;
+				else
+					IOUtilFunctions.closeSilently(dataset.getRootObject());
+			}
+			long nrow = offsets[files.size()];
+			ru = (ru < 0) ? nrow : ru;
+			if(rl < 0 || ru > nrow || rl > ru)
+				throw new DMLRuntimeException("Invalid HDF5 row range [" + rl + ", " + ru + ") for " + nrow + " rows.");
 
-		//finally check if change of sparse/dense block representation required
-		//(nnz explicitly maintained during read)
-		ret.examSparsity();
+			//allocate output matrix block
+			MatrixBlock ret = createOutputMatrixBlock(ru - rl, ncol, (int) (ru - rl), estnnz, true, true);
 
-		return ret;
+			//core read
+			long lnnz = readHDF5Rows(files, fs, datasets, offsets, ret, rl, ru);
+
+			//finally check if change of sparse/dense block representation required
+			//(nnz explicitly maintained during read)
+			ret.setNonZeros(lnnz);
+			ret.examSparsity();
+			return ret;
+		}
+		finally {
+			for(H5Dataset dataset : datasets)
+				if(dataset != null)
+					IOUtilFunctions.closeSilently(dataset.getRootObject());
+		}
 	}
 
 	@Override
@@ -92,98 +143,165 @@ public class ReaderHDF5 extends MatrixReader {
 		return ret;
 	}
 
-	private static MatrixBlock readHDF5MatrixFromHDFS(Path path, JobConf job,
-		FileSystem fs, MatrixBlock dest, long rlen, long clen, int blen, String datasetName)
-		throws IOException, DMLRuntimeException
+	/**
+	 * Reads the rows [rl, ru) of the concatenated datasets of all files into the given output block.
+	 *
+	 * @param files    list of files in order
+	 * @param fs       file system
+	 * @param datasets opened datasets of random-access files, null for files to be reopened
+	 * @param offsets  row offsets of the files, with a trailing total number of rows
+	 * @param dest     output matrix block of ru-rl rows
+	 * @param rl       row lower bound (inclusive)
+	 * @param ru       row upper bound (exclusive)
+	 * @return number of non-zeros read
+	 * @throws IOException if IOException occurs
+	 */
+	protected long readHDF5Rows(List<Path> files, FileSystem fs, H5Dataset[] datasets, long[] offsets,
+		MatrixBlock dest, long rl, long ru) throws IOException
 	{
-		//prepare file paths in alphanumeric order
-		ArrayList<Path> files = new ArrayList<>();
-		if(fs.getFileStatus(path).isDirectory()) {
-			for(FileStatus stat : fs.listStatus(path, IOUtilFunctions.hiddenFileFilter))
-				files.add(stat.getPath());
-			Collections.sort(files);
+		long lnnz = 0;
+		for(int i = 0; i < files.size(); i++) {
+			long lo = Math.max(rl, offsets[i]);
+			long hi = Math.min(ru, offsets[i + 1]);
+			if(lo < hi)
+				lnnz += readRows(fs, files.get(i), datasets[i], dest,
+					(int) (lo - offsets[i]), (int) (hi - offsets[i]), offsets[i] - rl);
 		}
-		else
-			files.add(path);
+		return lnnz;
+	}
 
-		//determine matrix size via additional pass if required
-		if(dest == null) {
-			dest = computeHDF5Size(files, fs, datasetName, rlen*clen);
-			clen = dest.getNumColumns();
-			rlen = dest.getNumRows();
+	protected long readRows(FileSystem fs, Path path, H5Dataset dataset, MatrixBlock dest, int rl, int ru, long shift)
+		throws IOException
+	{
+		if(dataset != null)
+			return readMatrixFromHDF5(dataset, dest, rl, ru, shift);
+		H5Dataset tmp = openDataset(fs, path, _props.getDatasetName());
+		try {
+			return readMatrixFromHDF5(tmp, dest, rl, ru, shift);
 		}
-
-		//actual read of individual files
-		long lnnz = 0;
-		for(int fileNo = 0; fileNo < files.size(); fileNo++) {
-			BufferedInputStream bis = new BufferedInputStream(fs.open(files.get(fileNo)),
-				(int) (H5Constants.STATIC_HEADER_SIZE + (clen * rlen * 8)));
-			lnnz += readMatrixFromHDF5(bis, datasetName, dest, 0, rlen, clen, blen);
+		finally {
+			IOUtilFunctions.closeSilently(tmp.getRootObject());
 		}
-		//post processing
-		dest.setNonZeros(lnnz);
-
-		return dest;
 	}
 
 	public static long readMatrixFromHDF5(BufferedInputStream bis, String datasetName, MatrixBlock dest,
 		int rl, long ru, long clen, int blen)
 	{
 		bis.mark(0);
-		long lnnz = 0;
-		H5RootObject rootObject = H5.H5Fopen(bis);
-		H5ContiguousDataset contiguousDataset = H5.H5Dopen(rootObject, datasetName);
-
-		int[] dims = rootObject.getDimensions();
-		int ncol = dims[1];
-
 		try {
-			double[] row = new double[ncol];
+			H5RootObject rootObject = H5.H5Fopen(bis);
+			H5Dataset dataset = H5.H5Dopen(rootObject, datasetName);
+			return readMatrixFromHDF5(dataset, dest, rl, (int) ru, 0);
+		}
+		finally {
+			IOUtilFunctions.closeSilently(bis);
+		}
+	}
+
+	/**
+	 * Reads the rows [rl, ru) of the given dataset into the rows [rl+shift, ru+shift) of the output block. The rows
+	 * are decoded in blocks aligned to the row blocks of the dataset.
+	 *
+	 * @param dataset opened dataset
+	 * @param dest    output matrix block
+	 * @param rl      dataset row lower bound (inclusive)
+	 * @param ru      dataset row upper bound (exclusive)
+	 * @param shift   row offset from dataset rows to output rows
+	 * @return number of non-zeros read
+	 */
+	public static long readMatrixFromHDF5(H5Dataset dataset, MatrixBlock dest, int rl, int ru, long shift) {
+		final int ncol = dataset.getNumCols();
+		final int blk = dataset.getRowBlockSize();
+		final double[] buffer = new double[Math.min(blk, ru - rl) * ncol];
+		long lnnz = 0;
+		for(int bl = rl; bl < ru;) {
+			final int bu = Math.min(ru, (bl / blk + 1) * blk);
+			H5.H5Dread(dataset, bl, bu, buffer);
 			if( dest.isInSparseFormat() ) {
 				SparseBlock sb = dest.getSparseBlock();
-				for(int i = rl; i < ru; i++) {
-					H5.H5Dread(contiguousDataset, i, row);
-					int lnnzi = UtilFunctions.computeNnz(row, 0, (int)clen);
-					sb.allocate(i, lnnzi); //avoid row reallocations
-					for(int j = 0; j < ncol; j++) 
-						sb.append(i, j, row[j]); //prunes zeros
+				for(int i = bl; i < bu; i++) {
+					int ix = (int) (i + shift);
+					int off = (i - bl) * ncol;
+					int lnnzi = UtilFunctions.computeNnz(buffer, off, ncol);
+					sb.allocate(ix, lnnzi); //avoid row reallocations
+					for(int j = 0; j < ncol; j++)
+						sb.append(ix, j, buffer[off + j]); //prunes zeros
 					lnnz += lnnzi;
 				}
 			}
 			else {
 				DenseBlock denseBlock = dest.getDenseBlock();
-				for(int i = rl; i < ru; i++) {
-					H5.H5Dread(contiguousDataset, i, row);
-					for(int j = 0; j < ncol; j++) {
-						if(row[j] != 0) {
-							denseBlock.set(i, j, row[j]);
-							lnnz++;
-						}
-					}
+				for(int i = bl; i < bu; i++) {
+					int ix = (int) (i + shift);
+					int off = (i - bl) * ncol;
+					System.arraycopy(buffer, off, denseBlock.values(ix), denseBlock.pos(ix), ncol);
+					lnnz += UtilFunctions.computeNnz(buffer, off, ncol);
 				}
 			}
-		}
-		finally {
-			IOUtilFunctions.closeSilently(bis);
+			bl = bu;
 		}
 		return lnnz;
 	}
 
+	/**
+	 * Opens the given HDF5 file. Files of the local file system are accessed through a file channel, which allows
+	 * memory-mapped and concurrent positional reads, while other file systems are read through a buffered stream.
+	 *
+	 * @param fs   file system
+	 * @param path path of the file
+	 * @return root object of the opened file
+	 * @throws IOException if IOException occurs
+	 */
+	public static H5RootObject openHDF5(FileSystem fs, Path path) throws IOException {
+		if(fs instanceof LocalFileSystem) {
+			File file = ((LocalFileSystem) fs).pathToFile(path);
+			FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+			try {
+				return H5.H5Fopen(channel);
+			}
+			catch(RuntimeException ex) {
+				IOUtilFunctions.closeSilently(channel);
+				throw ex;
+			}
+		}
+		long len = fs.getFileStatus(path).getLen();
+		return H5.H5Fopen(new BufferedInputStream(fs.open(path), (int) Math.min(len, Integer.MAX_VALUE - 8)));
+	}
+
+	private static H5Dataset openDataset(FileSystem fs, Path path, String datasetName) throws IOException {
+		H5RootObject rootObject = openHDF5(fs, path);
+		try {
+			return H5.H5Dopen(rootObject, datasetName);
+		}
+		catch(RuntimeException ex) {
+			IOUtilFunctions.closeSilently(rootObject);
+			throw ex;
+		}
+	}
+
+	private static List<Path> getFiles(FileSystem fs, Path path) throws IOException {
+		//prepare file paths in alphanumeric order
+		ArrayList<Path> files = new ArrayList<>();
+		if(fs.getFileStatus(path).isDirectory()) {
+			for(FileStatus stat : fs.listStatus(path, IOUtilFunctions.hiddenFileFilter))
+				files.add(stat.getPath());
+			Collections.sort(files);
+		}
+		else
+			files.add(path);
+		return files;
+	}
+
 	public static MatrixBlock computeHDF5Size(List<Path> files, FileSystem fs, String datasetName, long estnnz)
 		throws IOException, DMLRuntimeException
 	{
 		int nrow = 0;
 		int ncol = 0;
 		for(int fileNo = 0; fileNo < files.size(); fileNo++) {
-			BufferedInputStream bis = new BufferedInputStream(fs.open(files.get(fileNo)));
-			H5RootObject rootObject = H5.H5Fopen(bis);
-			H5.H5Dopen(rootObject, datasetName);
-
-			int[] dims = rootObject.getDimensions();
-			nrow += dims[0];
-			ncol += dims[1];
-
-			IOUtilFunctions.closeSilently(bis);
+			H5Dataset dataset = openDataset(fs, files.get(fileNo), datasetName);
+			nrow += dataset.getNumRows();
+			ncol = dataset.getNumCols();
+			IOUtilFunctions.closeSilently(dataset.getRootObject());
 		}
 		// allocate target matrix block based on given size;
 		return createOutputMatrixBlock(nrow, ncol, nrow, estnnz, true, true);
@@ -19,31 +19,25 @@
 
 package org.apache.sysds.runtime.io;
 
-import java.io.BufferedInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
 
 import org.apache.hadoop.fs.FileSystem;
 import org.apache.hadoop.fs.Path;
-import org.apache.hadoop.mapred.FileInputFormat;
-import org.apache.hadoop.mapred.JobConf;
-import org.apache.hadoop.mapred.TextInputFormat;
-import org.apache.sysds.conf.ConfigurationManager;
 import org.apache.sysds.hops.OptimizerUtils;
 import org.apache.sysds.runtime.DMLRuntimeException;
-import org.apache.sysds.runtime.io.hdf5.H5Constants;
+import org.apache.sysds.runtime.io.hdf5.H5Dataset;
 import org.apache.sysds.runtime.matrix.data.MatrixBlock;
 import org.apache.sysds.runtime.util.CommonThreadPool;
-import org.apache.sysds.runtime.util.HDFSTool;
 
 public class ReaderHDF5Parallel extends ReaderHDF5 {
 
 	final private int _numThreads;
-	protected JobConf _job;
 
 	public ReaderHDF5Parallel(FileFormatPropertiesHDF5 props) {
 		super(props);
@@ -51,52 +45,47 @@ public class ReaderHDF5Parallel extends ReaderHDF5 {
 	}
 
 	@Override
-	public MatrixBlock readMatrixFromHDFS(String fname, long rlen, long clen, int blen, long estnnz)
-		throws IOException, DMLRuntimeException {
-
-		// prepare file access
-		_job = new JobConf(ConfigurationManager.getCachedJobConf());
-
-		Path path = new Path(fname);
-		FileSystem fs = IOUtilFunctions.getFileSystem(path, _job);
-
-		FileInputFormat.addInputPath(_job, path);
-		TextInputFormat informat = new TextInputFormat();
-		informat.configure(_job);
-
-		// check existence and non-empty file
-		checkValidInputFile(fs, path);
+	public MatrixBlock readMatrixFromInputStream(InputStream is, long rlen, long clen, int blen, long estnnz)
+		throws IOException, DMLRuntimeException
+	{
+		return new ReaderHDF5(_props).readMatrixFromInputStream(is, rlen, clen, blen, estnnz);
+	}
 
-		// allocate output matrix block
-		ArrayList<Path> files = new ArrayList<>();
-		files.add(path);
-		MatrixBlock src = computeHDF5Size(files, fs, _props.getDatasetName(), estnnz);
-		int numParts = Math.min(files.size(), _numThreads);
-		
+	@Override
+	protected long readHDF5Rows(List<Path> files, FileSystem fs, H5Dataset[] datasets, long[] offsets,
+		MatrixBlock dest, long rl, long ru) throws IOException
+	{
 		//create and execute tasks
 		ExecutorService pool = CommonThreadPool.get(_numThreads);
 		try {
-			int bufferSize = (src.getNumColumns() * src.getNumRows()) * 8 + H5Constants.STATIC_HEADER_SIZE;
 			ArrayList<ReadHDF5Task> tasks = new ArrayList<>();
-			rlen = src.getNumRows();
-			int blklen = (int) Math.ceil((double) rlen / numParts);
-			for(int i = 0; i < _numThreads & i * blklen < rlen; i++) {
-				int rl = i * blklen;
-				int ru = (int) Math.min((i + 1) * blklen, rlen);
-				Path newPath = HDFSTool.isDirectory(fs, path) ? 
-					new Path(path, IOUtilFunctions.getPartFileName(i)) : path;
-				BufferedInputStream bis = new BufferedInputStream(fs.open(newPath), bufferSize);
-
-				//BufferedInputStream bis, String datasetName, MatrixBlock src, MutableInt rl, int ru
-				tasks.add(new ReadHDF5Task(bis, _props.getDatasetName(), src, rl, ru, clen, blklen));
+			for(int i = 0; i < files.size(); i++) {
+				int lo = (int) (Math.max(rl, offsets[i]) - offsets[i]);
+				int hi = (int) (Math.min(ru, offsets[i + 1]) - offsets[i]);
+				long shift = offsets[i] - rl;
+				if(lo >= hi)
+					continue;
+				if(datasets[i] == null) {
+					//stream-based files are read by a single task each
+					tasks.add(new ReadHDF5Task(fs, files.get(i), null, dest, lo, hi, shift));
+					continue;
+				}
+				//random-access files are split into row ranges aligned to row blocks
+				//(e.g., whole chunks), which are read and decoded concurrently
+				int blk = datasets[i].getRowBlockSize();
+				int blklen = (int) Math.ceil((double) (hi - lo) / _numThreads);
+				blklen = Math.max(1, (int) Math.ceil((double) blklen / blk)) * blk;
+				for(int r = lo; r < hi;) {
+					int next = Math.min(hi, (r / blklen + 1) * blklen);
+					tasks.add(new ReadHDF5Task(fs, files.get(i), datasets[i], dest, r, next, shift));
+					r = next;
+				}
 			}
 
 			long nnz = 0;
 			for(Future<Long> task : pool.invokeAll(tasks))
 				nnz += task.get();
-			src.setNonZeros(nnz);
-			
-			return src;
+			return nnz;
 		}
 		catch(Exception e) {
 			throw new IOException("Failed parallel read of HDF5 input.", e);
@@ -106,38 +95,29 @@ public class ReaderHDF5Parallel extends ReaderHDF5 {
 		}
 	}
 
-	@Override
-	public MatrixBlock readMatrixFromInputStream(InputStream is, long rlen, long clen, int blen, long estnnz)
-		throws IOException, DMLRuntimeException
-	{
-		return new ReaderHDF5(_props).readMatrixFromInputStream(is, rlen, clen, blen, estnnz);
-	}
-
-	private static class ReadHDF5Task implements Callable<Long> {
+	private class ReadHDF5Task implements Callable<Long> {
 
-		private final BufferedInputStream _bis;
-		private final String _datasetName;
-		private final MatrixBlock _src;
+		private final FileSystem _fs;
+		private final Path _path;
+		private final H5Dataset _dataset;
+		private final MatrixBlock _dest;
 		private final int _rl;
 		private final int _ru;
-		private final long _clen;
-		private final int _blen;
+		private final long _shift;
 
-		public ReadHDF5Task(BufferedInputStream bis, String datasetName, MatrixBlock src, 
-			int rl, int ru, long clen, int blen)
-		{
-			_bis = bis;
-			_datasetName = datasetName;
-			_src = src;
+		public ReadHDF5Task(FileSystem fs, Path path, H5Dataset dataset, MatrixBlock dest, int rl, int ru, long shift) {
+			_fs = fs;
+			_path = path;
+			_dataset = dataset;
+			_dest = dest;
 			_rl = rl;
 			_ru = ru;
-			_clen = clen;
-			_blen = blen;
+			_shift = shift;
 		}
 
 		@Override
 		public Long call() throws IOException {
-			return readMatrixFromHDF5(_bis, _datasetName, _src, _rl, _ru, _clen, _blen);
+			return readRows(_fs, _path, _dataset, _dest, _rl, _ru, _shift);
 		}
 	}
 }
@@ -40,6 +40,7 @@ import org.apache.hadoop.mapred.TextInputFormat;
 import org.apache.sysds.conf.ConfigurationManager;
 import org.apache.sysds.hops.OptimizerUtils;
 import org.apache.sysds.runtime.DMLRuntimeException;
+import org.apache.sysds.runtime.compress.io.ChunkedCompressor;
 import org.apache.sysds.runtime.data.DenseBlock;
 import org.apache.sysds.runtime.data.SparseBlock;
 import org.apache.sysds.runtime.data.SparseRow;
@@ -55,6 +56,8 @@ import org.apache.sysds.runtime.util.UtilFunctions;
  * inserts. If the matrix is sparse, because splits contain row partitioned lines and hence there is no danger of lost
  * updates. Note, there is also no sorting of sparse rows required because data comes in sorted order per row.
  * 
+ * With read-time compression, the splits are read in waves of #threads splits into row chunks, which are directly
+ * encoded into compressed column groups in order to avoid materializing the entire uncompressed matrix.
  */
 public class ReaderTextCSVParallel extends MatrixReader {
 	final private int _numThreads;
@@ -65,10 +68,16 @@ public class ReaderTextCSVParallel extends MatrixReader {
 	protected int _rLen;
 	protected int _cLen;
 	protected JobConf _job;
+	protected final boolean _compress;
 
 	public ReaderTextCSVParallel(FileFormatPropertiesCSV props) {
+		this(props, false);
+	}
+
+	public ReaderTextCSVParallel(FileFormatPropertiesCSV props, boolean compress) {
 		_numThreads = OptimizerUtils.getParallelTextReadParallelism();
 		_props = props;
+		_compress = compress;
 	}
 
 	@Override
@@ -94,10 +103,12 @@ public class ReaderTextCSVParallel extends MatrixReader {
 
 		// allocate output matrix block
 		// First Read Pass (count rows/cols, determine offsets, allocate matrix block)
-		MatrixBlock ret = computeCSVSizeAndCreateOutputMatrixBlock(splits, path, rlen, clen, blen, estnnz);
+		MatrixBlock ret = computeCSVSizeAndCreateOutputMatrixBlock(splits, path, rlen, clen, blen, estnnz, !_compress);
 		
-		// Second Read Pass (read, parse strings, append to matrix block)
-		readCSVMatrixFromHDFS(splits, path, ret);
+		// Second Read Pass (read, parse strings, append to matrix block or compress chunks)
+		if(_compress)
+			return readCSVMatrixFromHDFSCompressed(splits, path, blen, estnnz);
+		readCSVMatrixFromHDFS(splits, 0, splits.length, path, ret);
 		
 		// post-processing (representation-specific, change of sparse/dense block representation)
 		// - no sorting required for CSV because it is read in sorted order per row
@@ -119,7 +130,44 @@ public class ReaderTextCSVParallel extends MatrixReader {
 		return new ReaderTextCSV(_props).readMatrixFromInputStream(is, rlen, clen, blen, estnnz);
 	}
 
-	private void readCSVMatrixFromHDFS(InputSplit[] splits, Path path, MatrixBlock dest) throws IOException {
+	private MatrixBlock readCSVMatrixFromHDFSCompressed(InputSplit[] splits, Path path, int blen, long estnnz)
+		throws IOException
+	{
+		ChunkedCompressor comp = new ChunkedCompressor(_rLen, _cLen, _numThreads);
+		SplitOffsetInfos offsets = _offsets;
+		try {
+			for(int sl = 0; sl < splits.length; sl += _numThreads) {
+				int su = Math.min(splits.length, sl + _numThreads);
+				int rl = offsets.getOffsetPerSplit(sl);
+				int ru = offsets.getOffsetPerSplit(su - 1) + offsets.getLenghtPerSplit(su - 1);
+				if(ru <= rl)
+					continue;
+
+				// row offsets relative to the current wave of splits
+				_offsets = new SplitOffsetInfos(splits.length);
+				for(int i = sl; i < su; i++) {
+					_offsets.setOffsetPerSplit(i, offsets.getOffsetPerSplit(i) - rl);
+					_offsets.setLenghtPerSplit(i, offsets.getLenghtPerSplit(i));
+				}
+
+				// read the wave of splits into a row chunk and compress
+				long lestnnz = (estnnz < 0) ? (long) (ru - rl) * _cLen :
+					(long) Math.ceil((double) estnnz * (ru - rl) / Math.max(_rLen, 1));
+				MatrixBlock chunk = createOutputMatrixBlock(ru - rl, _cLen, blen, lestnnz, true, true);
+				readCSVMatrixFromHDFS(splits, sl, su, path, chunk);
+				chunk.examSparsity();
+				comp.append(chunk);
+			}
+		}
+		finally {
+			_offsets = offsets;
+		}
+		return comp.finish();
+	}
+
+	private void readCSVMatrixFromHDFS(InputSplit[] splits, int sl, int su, Path path, MatrixBlock dest)
+		throws IOException
+	{
 
 		FileInputFormat.addInputPath(_job, path);
 		TextInputFormat informat = new TextInputFormat();
@@ -130,8 +178,9 @@ public class ReaderTextCSVParallel extends MatrixReader {
 		try {
 			// create read tasks for all splits
 			ArrayList<Callable<Long>> tasks = new ArrayList<>();
-			int splitCount = 0;
-			for(InputSplit split : splits) {
+			int splitCount = sl;
+			for(int i = sl; i < su; i++) {
+				InputSplit split = splits[i];
 				if(dest.isInSparseFormat() && _props.getNAStrings() != null)
 					tasks.add(new CSVReadSparseNanTask(split, informat, dest, splitCount++));
 				else if(dest.isInSparseFormat() && _props.getFillValue() == 0)
@@ -159,8 +208,8 @@ public class ReaderTextCSVParallel extends MatrixReader {
 		}
 	}
 
-	private MatrixBlock computeCSVSizeAndCreateOutputMatrixBlock(InputSplit[] splits,
-		Path path, long rlen, long clen, int blen, long estnnz) throws IOException, DMLRuntimeException {
+	private MatrixBlock computeCSVSizeAndCreateOutputMatrixBlock(InputSplit[] splits, Path path,
+		long rlen, long clen, int blen, long estnnz, boolean alloc) throws IOException, DMLRuntimeException {
 		_rLen = 0;
 		_cLen = 0;
 
@@ -169,7 +218,7 @@ public class ReaderTextCSVParallel extends MatrixReader {
 		
 		// count rows in parallel per split
 		try {
-			Future<MatrixBlock> ret = (rlen<0 || clen<0 || estnnz<0) ? null :
+			Future<MatrixBlock> ret = (!alloc || rlen<0 || clen<0 || estnnz<0) ? null :
 				pool.submit(() -> createOutputMatrixBlock(rlen, clen, blen, estnnz, true, true));
 			
 			FileInputFormat.addInputPath(_job, path);
@@ -228,6 +277,8 @@ public class ReaderTextCSVParallel extends MatrixReader {
 
 			// allocate target matrix block based on given size;
 			// need to allocate sparse as well since lock-free insert into target
+			if(!alloc)
+				return null;
 			long estnnz2 = (estnnz < 0) ? (long) _rLen * _cLen : estnnz;
 			return (ret!=null) ? UtilFunctions.getSafe(ret) :
 				createOutputMatrixBlock(_rLen, _cLen, blen, estnnz2, true, true);
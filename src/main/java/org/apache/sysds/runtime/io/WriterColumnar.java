@@ -0,0 +1,152 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.runtime.io;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.mapred.JobConf;
+import org.apache.sysds.common.Types.ValueType;
+import org.apache.sysds.conf.ConfigurationManager;
+import org.apache.sysds.runtime.DMLRuntimeException;
+import org.apache.sysds.runtime.data.DenseBlock;
+import org.apache.sysds.runtime.data.SparseBlock;
+import org.apache.sysds.runtime.io.columnar.ColumnChunkEncoder;
+import org.apache.sysds.runtime.io.columnar.ColumnarFile;
+import org.apache.sysds.runtime.io.columnar.ColumnarFileWriter;
+import org.apache.sysds.runtime.io.columnar.ColumnarFooter.ColumnChunk;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.util.HDFSTool;
+import org.apache.sysds.runtime.util.UtilFunctions;
+
+/**
+ * Single-threaded matrix writer of the native columnar format (see {@link ColumnarFile}).
+ */
+public class WriterColumnar extends MatrixWriter {
+
+	@Override
+	public void writeMatrixToHDFS(MatrixBlock src, String fname, long rlen, long clen, int blen, long nnz, boolean diag)
+		throws IOException, DMLRuntimeException
+	{
+		//validity check matrix dimensions
+		if(src.getNumRows() != rlen || src.getNumColumns() != clen)
+			throw new IOException("Matrix dimensions mismatch with metadata: " + src.getNumRows() + "x" + src
+				.getNumColumns() + " vs " + rlen + "x" + clen + ".");
+
+		//prepare file access
+		JobConf job = new JobConf(ConfigurationManager.getCachedJobConf());
+		Path path = new Path(fname);
+		FileSystem fs = IOUtilFunctions.getFileSystem(path, job);
+
+		//if the file already exists on HDFS, remove it.
+		HDFSTool.deleteFileIfExistOnHDFS(fname);
+
+		//core write (sequential/parallel)
+		writeColumnarMatrixToHDFS(path, job, fs, src);
+
+		IOUtilFunctions.deleteCrcFilesFromLocalFileSystem(fs, path);
+	}
+
+	@Override
+	public final void writeEmptyMatrixToHDFS(String fname, long rlen, long clen, int blen)
+		throws IOException, DMLRuntimeException
+	{
+		//empty columns are written as single-run chunks
+		MatrixBlock empty = new MatrixBlock((int) rlen, (int) clen, true);
+		writeMatrixToHDFS(empty, fname, rlen, clen, blen, 0, false);
+	}
+
+	protected void writeColumnarMatrixToHDFS(Path path, JobConf job, FileSystem fs, MatrixBlock src)
+		throws IOException
+	{
+		writeColumnarMatrixToFile(path, fs, src, 0, src.getNumRows());
+	}
+
+	/**
+	 * Writes the rows [rl, ru) of the given matrix as a single columnar file.
+	 *
+	 * @param path file path
+	 * @param fs   file system
+	 * @param src  input matrix block
+	 * @param rl   row lower bound (inclusive)
+	 * @param ru   row upper bound (exclusive)
+	 * @throws IOException if IOException occurs
+	 */
+	protected static void writeColumnarMatrixToFile(Path path, FileSystem fs, MatrixBlock src, int rl, int ru)
+		throws IOException
+	{
+		final int clen = src.getNumColumns();
+		final int rgsize = ColumnarFile.getRowGroupSize(clen);
+		final ValueType[] schema = UtilFunctions.nCopies(clen, ValueType.FP64);
+		final ColumnChunkEncoder enc = new ColumnChunkEncoder();
+
+		double[] col = new double[Math.min(rgsize, Math.max(ru - rl, 1))];
+		try(ColumnarFileWriter writer = new ColumnarFileWriter(fs, path, schema, null)) {
+			for(int bl = rl; bl < ru; bl += rgsize) {
+				final int n = Math.min(ru, bl + rgsize) - bl;
+				ColumnChunk[] chunks = new ColumnChunk[clen];
+				if(src.isInSparseFormat() && !src.isEmptyBlock(false)) {
+					//transpose the rows of the row group into column-major order
+					SparseBlock sb = src.getSparseBlock();
+					int[] cptr = new int[clen + 1];
+					for(int i = bl; i < bl + n; i++)
+						if(!sb.isEmpty(i))
+							for(int k = sb.pos(i); k < sb.pos(i) + sb.size(i); k++)
+								cptr[sb.indexes(i)[k] + 1]++;
+					for(int j = 0; j < clen; j++)
+						cptr[j + 1] += cptr[j];
+					int[] rix = new int[cptr[clen]];
+					double[] vals = new double[cptr[clen]];
+					int[] pos = Arrays.copyOf(cptr, clen);
+					for(int i = bl; i < bl + n; i++) {
+						if(sb.isEmpty(i))
+							continue;
+						int apos = sb.pos(i);
+						int alen = sb.size(i);
+						int[] aix = sb.indexes(i);
+						double[] avals = sb.values(i);
+						for(int k = apos; k < apos + alen; k++) {
+							int p = pos[aix[k]]++;
+							rix[p] = i - bl;
+							vals[p] = avals[k];
+						}
+					}
+					for(int j = 0; j < clen; j++) {
+						Arrays.fill(col, 0, n, 0);
+						for(int p = cptr[j]; p < cptr[j + 1]; p++)
+							col[rix[p]] = vals[p];
+						chunks[j] = writer.writeChunk(enc, enc.encode(col, n));
+					}
+				}
+				else {
+					DenseBlock db = src.getDenseBlock();
+					for(int j = 0; j < clen; j++) {
+						for(int i = 0; i < n; i++)
+							col[i] = (db != null) ? db.values(bl + i)[db.pos(bl + i) + j] : 0;
+						chunks[j] = writer.writeChunk(enc, enc.encode(col, n));
+					}
+				}
+				writer.addRowGroup(n, chunks);
+			}
+		}
+	}
+}
@@ -0,0 +1,127 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.runtime.io;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.mapred.JobConf;
+import org.apache.sysds.conf.DMLConfig;
+import org.apache.sysds.hops.OptimizerUtils;
+import org.apache.sysds.runtime.DMLRuntimeException;
+import org.apache.sysds.runtime.io.columnar.ColumnarFile;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.util.CommonThreadPool;
+import org.apache.sysds.runtime.util.HDFSTool;
+import org.apache.sysds.utils.stats.InfrastructureAnalyzer;
+
+/**
+ * Multi-threaded matrix writer of the native columnar format, which writes a directory of part files with disjoint
+ * row ranges aligned to row groups.
+ */
+public class WriterColumnarParallel extends WriterColumnar {
+
+	@Override
+	protected void writeColumnarMatrixToHDFS(Path path, JobConf job, FileSystem fs, MatrixBlock src)
+		throws IOException, DMLRuntimeException
+	{
+		//estimate output size and number of output blocks (min 1)
+		int numPartFiles = (int) (OptimizerUtils.estimateSizeExactSparsity(src.getNumRows(),
+			src.getNumColumns(), src.getNonZeros()) / InfrastructureAnalyzer.getHDFSBlockSize());
+		numPartFiles = Math.max(numPartFiles, 1);
+
+		//determine degree of parallelism
+		int numThreads = OptimizerUtils.getParallelBinaryWriteParallelism();
+		numThreads = Math.min(numThreads, numPartFiles);
+
+		//fall back to sequential write if dop is 1 (e.g., <128MB) in order to create single file
+		if( !_forcedParallel && numThreads <= 1 ) {
+			super.writeColumnarMatrixToHDFS(path, job, fs, src);
+			return;
+		}
+
+		//create directory for concurrent tasks
+		HDFSTool.createDirIfNotExistOnHDFS(path, DMLConfig.DEFAULT_SHARED_DIR_PERMISSION);
+
+		//create and execute tasks
+		ExecutorService pool = CommonThreadPool.get(numThreads);
+		try {
+			ArrayList<WriteColumnarTask> tasks = new ArrayList<>();
+			int rlen = src.getNumRows();
+			int blklen = getPartRowRange(rlen, src.getNumColumns(), numThreads);
+			for(int i = 0, rl = 0; rl < rlen || i == 0; i++, rl += Math.min(blklen, rlen - rl)) {
+				Path newPath = new Path(path, IOUtilFunctions.getPartFileName(i));
+				tasks.add(new WriteColumnarTask(newPath, job, fs, src, rl, rl + Math.min(blklen, rlen - rl)));
+			}
+
+			for(Future<Object> task : pool.invokeAll(tasks))
+				task.get();
+		}
+		catch(Exception e) {
+			throw new IOException("Failed parallel write of columnar output.", e);
+		}
+		finally{
+			pool.shutdown();
+		}
+	}
+
+	/**
+	 * Gets the number of rows per part file, which is a multiple of the row group size.
+	 *
+	 * @param rlen       number of rows
+	 * @param clen       number of columns
+	 * @param numThreads degree of parallelism
+	 * @return number of rows per part file
+	 */
+	protected static int getPartRowRange(long rlen, long clen, int numThreads) {
+		int rgsize = ColumnarFile.getRowGroupSize(clen);
+		long blklen = (long) Math.ceil((double) rlen / numThreads);
+		return (int) Math.min(Integer.MAX_VALUE, Math.max(1, (blklen + rgsize - 1) / rgsize) * rgsize);
+	}
+
+	private static class WriteColumnarTask implements Callable<Object> {
+		private final JobConf _job;
+		private final FileSystem _fs;
+		private final MatrixBlock _src;
+		private final Path _path;
+		private final int _rl, _ru;
+
+		public WriteColumnarTask(Path path, JobConf job, FileSystem fs, MatrixBlock src, int rl, int ru) {
+			_path = path;
+			_job = job;
+			_fs = fs;
+			_src = src;
+			_rl = rl;
+			_ru = ru;
+		}
+
+		@Override
+		public Object call() throws IOException {
+			writeColumnarMatrixToFile(_path, _fs, _src, _rl, _ru);
+			IOUtilFunctions.deleteCrcFilesFromLocalFileSystem(_job, _path);
+			return null;
+		}
+	}
+}
@@ -0,0 +1,212 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.runtime.io.columnar;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import org.apache.sysds.common.Types.ValueType;
+import org.apache.sysds.runtime.DMLRuntimeException;
+import org.apache.sysds.runtime.frame.data.columns.Array;
+import org.apache.sysds.runtime.io.columnar.ColumnarFile.Encoding;
+
+/**
+ * Decoder of column chunks written by {@link ColumnChunkEncoder}. All methods are stateless and thus safe for
+ * concurrent decoding of different chunks.
+ */
+public class ColumnChunkDecoder {
+
+	private ColumnChunkDecoder() {
+		// private constructor
+	}
+
+	/**
+	 * Decodes a numeric column chunk into a dense array of doubles (e.g., a matrix column).
+	 *
+	 * @param data encoded chunk
+	 * @param vt   value type of the column
+	 * @param n    number of rows of the chunk
+	 * @param out  output array of at least n values
+	 */
+	public static void decode(byte[] data, ValueType vt, int n, double[] out) {
+		if(!ColumnarFile.isNumericEncoding(vt))
+			throw new DMLRuntimeException("Invalid decode of non-numeric column chunk (" + vt + ") into doubles.");
+		ByteBuffer bb = ByteBuffer.wrap(data);
+		Encoding enc = Encoding.values()[bb.get()];
+		long[] nulls = readNulls(bb, n);
+		if(enc == Encoding.PLAIN) {
+			for(int i = 0; i < n; i++)
+				out[i] = toDouble(readNumeric(bb, vt), vt);
+		}
+		else {
+			double[] dict = new double[bb.getInt()];
+			for(int k = 0; k < dict.length; k++)
+				dict[k] = toDouble(readNumeric(bb, vt), vt);
+			decodeCodes(bb, enc, n, (i, c) -> out[i] = dict[c]);
+		}
+		if(nulls != null)
+			for(int i = 0; i < n; i++)
+				if(isSet(nulls, i))
+					out[i] = Double.NaN;
+	}
+
+	/**
+	 * Decodes a column chunk into the rows [rl, rl+n) of a frame column. Null values are skipped, i.e., the target
+	 * column is expected to be allocated as optional array if the chunk contains nulls.
+	 *
+	 * @param data encoded chunk
+	 * @param vt   value type of the column
+	 * @param n    number of rows of the chunk
+	 * @param dest output frame column
+	 * @param rl   row offset in the output column
+	 */
+	public static void decode(byte[] data, ValueType vt, int n, Array<?> dest, int rl) {
+		ByteBuffer bb = ByteBuffer.wrap(data);
+		Encoding enc = Encoding.values()[bb.get()];
+		if(!ColumnarFile.isNumericEncoding(vt)) {
+			bb.get(); // nulls encoded as values
+			if(enc == Encoding.PLAIN) {
+				for(int i = 0; i < n; i++)
+					setString(dest, rl + i, readString(bb));
+			}
+			else {
+				String[] dict = new String[bb.getInt()];
+				for(int k = 0; k < dict.length; k++)
+					dict[k] = readString(bb);
+				decodeCodes(bb, enc, n, (i, c) -> setString(dest, rl + i, dict[c]));
+			}
+			return;
+		}
+
+		long[] nulls = readNulls(bb, n);
+		long[] keys = new long[n];
+		if(enc == Encoding.PLAIN) {
+			for(int i = 0; i < n; i++)
+				keys[i] = readNumeric(bb, vt);
+		}
+		else {
+			long[] dict = new long[bb.getInt()];
+			for(int k = 0; k < dict.length; k++)
+				dict[k] = readNumeric(bb, vt);
+			decodeCodes(bb, enc, n, (i, c) -> keys[i] = dict[c]);
+		}
+		setValues(keys, nulls, vt, n, dest, rl);
+	}
+
+	private static void setString(Array<?> dest, int i, String value) {
+		if(value != null) // nulls are the default of string and optional arrays
+			dest.set(i, value);
+	}
+
+	@SuppressWarnings("unchecked")
+	private static void setValues(long[] keys, long[] nulls, ValueType vt, int n, Array<?> dest, int rl) {
+		for(int i = 0; i < n; i++) {
+			if(nulls != null && isSet(nulls, i))
+				continue;
+			switch(vt) {
+				// note: no double conversion of longs (exact values > 2^53)
+				case INT64: ((Array<Long>) dest).set(rl + i, Long.valueOf(keys[i])); break;
+				case FP64: dest.set(rl + i, Double.longBitsToDouble(keys[i])); break;
+				case FP32: dest.set(rl + i, Float.intBitsToFloat((int) keys[i])); break;
+				default: dest.set(rl + i, (double) keys[i]);
+			}
+		}
+	}
+
+	private static void decodeCodes(ByteBuffer bb, Encoding enc, int n, CodeConsumer fn) {
+		if(enc == Encoding.DICT) {
+			int bits = bb.get();
+			long mask = (1L << bits) - 1;
+			long[] words = readWords(bb, ColumnChunkEncoder.getNumWords(n, bits));
+			for(int i = 0; i < n; i++) {
+				long pos = (long) i * bits;
+				int w = (int) (pos >>> 6), off = (int) (pos & 63);
+				long v = words[w] >>> off;
+				if(off + bits > 64)
+					v |= words[w + 1] << (64 - off);
+				fn.accept(i, (int) (v & mask));
+			}
+		}
+		else if(enc == Encoding.RLE) {
+			int runs = bb.getInt();
+			for(int r = 0, i = 0; r < runs; r++) {
+				int code = bb.getInt();
+				int len = bb.getInt();
+				if(i + len > n)
+					throw new DMLRuntimeException("Invalid run-length encoded column chunk.");
+				for(int j = 0; j < len; j++)
+					fn.accept(i++, code);
+			}
+		}
+		else
+			throw new DMLRuntimeException("Unsupported encoding of column chunk: " + enc);
+	}
+
+	/**
+	 * Converts the key (bit representation) of a numeric value into a double.
+	 *
+	 * @param key key of the value
+	 * @param vt  value type of the column
+	 * @return double value
+	 */
+	public static double toDouble(long key, ValueType vt) {
+		switch(vt) {
+			case FP64: return Double.longBitsToDouble(key);
+			case FP32: return Float.intBitsToFloat((int) key);
+			default: return key;
+		}
+	}
+
+	private static long readNumeric(ByteBuffer bb, ValueType vt) {
+		switch(ColumnChunkEncoder.getPlainWidth(vt)) {
+			case 8: return bb.getLong();
+			case 4: return bb.getInt();
+			default: return bb.get();
+		}
+	}
+
+	private static String readString(ByteBuffer bb) {
+		int len = bb.getInt();
+		if(len < 0)
+			return null;
+		String ret = new String(bb.array(), bb.position(), len, StandardCharsets.UTF_8);
+		bb.position(bb.position() + len);
+		return ret;
+	}
+
+	private static long[] readNulls(ByteBuffer bb, int n) {
+		return (bb.get() != 0) ? readWords(bb, ColumnChunkEncoder.getNumWords(n, 1)) : null;
+	}
+
+	private static long[] readWords(ByteBuffer bb, int len) {
+		long[] ret = new long[len];
+		bb.asLongBuffer().get(ret);
+		bb.position(bb.position() + len * 8);
+		return ret;
+	}
+
+	private static boolean isSet(long[] bits, int i) {
+		return (bits[i >>> 6] & (1L << (i & 63))) != 0;
+	}
+
+	private interface CodeConsumer {
+		void accept(int row, int code);
+	}
+}
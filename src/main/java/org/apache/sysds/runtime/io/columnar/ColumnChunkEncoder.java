@@ -0,0 +1,405 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.runtime.io.columnar;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+
+import org.apache.sysds.common.Types.ValueType;
+import org.apache.sysds.runtime.frame.data.columns.Array;
+import org.apache.sysds.runtime.frame.data.columns.DoubleArray;
+import org.apache.sysds.runtime.frame.data.columns.LongArray;
+import org.apache.sysds.runtime.io.columnar.ColumnarFile.Encoding;
+import org.apache.sysds.runtime.io.columnar.ColumnarFooter.ColumnChunk;
+
+/**
+ * Encoder of column chunks. For every chunk, we build a dictionary of distinct values (aborted for high-cardinality
+ * columns), and select the smallest of plain, dictionary (bit-packed codes), and run-length encoding. Numeric values
+ * are handled by their bit representation (i.e., exact round trips of all values incl. NaN and -0), while all
+ * other value types are stored as UTF-8 strings. An encoder is not thread-safe but reuses its buffers across chunks.
+ */
+public class ColumnChunkEncoder {
+	/** Max length of string min/max statistics, longer values disable the statistics of a chunk. */
+	public static final int MAX_STATS_LENGTH = 256;
+
+	private final ByteArrayOutputStream _buff;
+	private final DataOutputStream _out;
+
+	// reused buffers of chunk length
+	private long[] _keys = new long[0];
+	private boolean[] _nulls = new boolean[0];
+	private int[] _codes = new int[0];
+	private String[] _strs = new String[0];
+
+	public ColumnChunkEncoder() {
+		_buff = new ByteArrayOutputStream();
+		_out = new DataOutputStream(_buff);
+	}
+
+	/**
+	 * Encodes a column of a matrix (FP64) into the internal buffer.
+	 *
+	 * @param vals column values
+	 * @param n    number of values
+	 * @return chunk metadata (w/o offset)
+	 * @throws IOException if IOException occurs
+	 */
+	public ColumnChunk encode(double[] vals, int n) throws IOException {
+		long[] keys = allocateKeys(n);
+		for(int i = 0; i < n; i++)
+			keys[i] = Double.doubleToLongBits(vals[i]);
+		return encodeNumeric(keys, null, n, ValueType.FP64);
+	}
+
+	/**
+	 * Encodes the rows [rl, ru) of a frame column into the internal buffer.
+	 *
+	 * @param col frame column
+	 * @param vt  value type of the column
+	 * @param rl  row lower bound (inclusive)
+	 * @param ru  row upper bound (exclusive)
+	 * @return chunk metadata (w/o offset)
+	 * @throws IOException if IOException occurs
+	 */
+	public ColumnChunk encode(Array<?> col, ValueType vt, int rl, int ru) throws IOException {
+		final int n = ru - rl;
+		if(!ColumnarFile.isNumericEncoding(vt)) {
+			String[] strs = (_strs.length < n) ? (_strs = new String[n]) : _strs;
+			for(int i = 0; i < n; i++) {
+				Object v = col.get(rl + i);
+				strs[i] = (v != null) ? v.toString() : null;
+			}
+			return encodeStrings(strs, n);
+		}
+
+		long[] keys = allocateKeys(n);
+		boolean[] nulls = null;
+		if(col.containsNull()) {
+			nulls = (_nulls.length < n) ? (_nulls = new boolean[n]) : _nulls;
+			for(int i = 0; i < n; i++)
+				nulls[i] = col.get(rl + i) == null;
+		}
+		if(vt == ValueType.INT64 && col instanceof LongArray) {
+			long[] data = ((LongArray) col).get();
+			System.arraycopy(data, rl, keys, 0, n);
+		}
+		else if(vt == ValueType.FP64 && col instanceof DoubleArray) {
+			double[] data = ((DoubleArray) col).get();
+			for(int i = 0; i < n; i++)
+				keys[i] = Double.doubleToLongBits(data[rl + i]);
+		}
+		else {
+			for(int i = 0; i < n; i++)
+				keys[i] = (nulls != null && nulls[i]) ? 0 : toKey(col, vt, rl + i);
+		}
+		return encodeNumeric(keys, nulls, n, vt);
+	}
+
+	/**
+	 * Writes the last encoded chunk to the given output stream.
+	 *
+	 * @param os output stream
+	 * @throws IOException if IOException occurs
+	 */
+	public void writeTo(OutputStream os) throws IOException {
+		_out.flush();
+		_buff.writeTo(os);
+	}
+
+	private ColumnChunk encodeNumeric(long[] keys, boolean[] nulls, int n, ValueType vt) throws IOException {
+		// compute statistics and dictionary with code runs
+		double min = Double.POSITIVE_INFINITY, max = Double.NEGATIVE_INFINITY;
+		long nnz = 0;
+		boolean hasNulls = false;
+		for(int i = 0; i < n; i++) {
+			if(nulls != null && nulls[i]) {
+				hasNulls = true;
+				continue;
+			}
+			double v = ColumnChunkDecoder.toDouble(keys[i], vt);
+			nnz += (v != 0) ? 1 : 0;
+			if(!Double.isNaN(v)) {
+				min = Math.min(min, v);
+				max = Math.max(max, v);
+			}
+		}
+		int[] codes = allocateCodes(n);
+		LongIntMap map = new LongIntMap(Math.min(n, 1024));
+		int runs = 0;
+		for(int i = 0; i < n && map.size() <= maxDictSize(n); i++) {
+			codes[i] = map.putIfAbsent(keys[i]);
+			runs += (i == 0 || codes[i] != codes[i - 1]) ? 1 : 0;
+		}
+
+		// select encoding and write chunk
+		_buff.reset();
+		int width = getPlainWidth(vt);
+		Encoding enc = selectEncoding(n, (long) n * width, map.size(), (long) map.size() * width, runs);
+		_out.writeByte(enc.ordinal());
+		_out.writeBoolean(hasNulls);
+		if(hasNulls)
+			writeWords(packBits(nulls, n));
+		if(enc == Encoding.PLAIN) {
+			for(int i = 0; i < n; i++)
+				writeNumeric(keys[i], width);
+		}
+		else {
+			long[] dict = map.keys();
+			_out.writeInt(dict.length);
+			for(long k : dict)
+				writeNumeric(k, width);
+			writeCodes(enc, codes, n, dict.length, runs);
+		}
+		return new ColumnChunk(-1, _buff.size(), enc, nnz, hasNulls,
+			(min <= max) ? min : null, (min <= max) ? max : null);
+	}
+
+	private ColumnChunk encodeStrings(String[] strs, int n) throws IOException {
+		// compute statistics and dictionary with code runs
+		String min = null, max = null;
+		long nnz = 0, plainSize = 0;
+		boolean hasNulls = false;
+		for(int i = 0; i < n; i++) {
+			String s = strs[i];
+			hasNulls |= (s == null);
+			plainSize += 4 + ((s != null) ? s.length() : 0);
+			if(s == null)
+				continue;
+			nnz += s.isEmpty() ? 0 : 1;
+			min = (min == null || s.compareTo(min) < 0) ? s : min;
+			max = (max == null || s.compareTo(max) > 0) ? s : max;
+		}
+		if(min != null && (min.length() > MAX_STATS_LENGTH || max.length() > MAX_STATS_LENGTH))
+			min = max = null;
+		int[] codes = allocateCodes(n);
+		HashMap<String, Integer> map = new HashMap<>();
+		long dictSize = 0;
+		int runs = 0;
+		for(int i = 0; i < n && map.size() <= maxDictSize(n); i++) {
+			Integer code = map.putIfAbsent(strs[i], map.size());
+			if(code == null) {
+				code = map.size() - 1;
+				dictSize += 4 + ((strs[i] != null) ? strs[i].length() : 0);
+			}
+			codes[i] = code;
+			runs += (i == 0 || codes[i] != codes[i - 1]) ? 1 : 0;
+		}
+
+		// select encoding and write chunk
+		_buff.reset();
+		Encoding enc = selectEncoding(n, plainSize, map.size(), dictSize, runs);
+		_out.writeByte(enc.ordinal());
+		_out.writeBoolean(hasNulls);
+		if(enc == Encoding.PLAIN) {
+			for(int i = 0; i < n; i++)
+				writeString(strs[i]);
+		}
+		else {
+			String[] dict = new String[map.size()];
+			map.forEach((k, v) -> dict[v] = k);
+			_out.writeInt(dict.length);
+			for(String s : dict)
+				writeString(s);
+			writeCodes(enc, codes, n, dict.length, runs);
+		}
+		return new ColumnChunk(-1, _buff.size(), enc, nnz, hasNulls, min, max);
+	}
+
+	private static Encoding selectEncoding(int n, long plainSize, int ndict, long dictSize, int runs) {
+		if(ndict > maxDictSize(n))
+			return Encoding.PLAIN; // aborted dictionary
+		long dictEnc = dictSize + 1 + 8 * getNumWords(n, getBitWidth(ndict));
+		long rleEnc = dictSize + 4 + 8L * runs;
+		if(rleEnc < dictEnc && rleEnc < plainSize)
+			return Encoding.RLE;
+		return (dictEnc < plainSize) ? Encoding.DICT : Encoding.PLAIN;
+	}
+
+	private void writeCodes(Encoding enc, int[] codes, int n, int ndict, int runs) throws IOException {
+		if(enc == Encoding.DICT) {
+			int bits = getBitWidth(ndict);
+			_out.writeByte(bits);
+			writeWords(packCodes(codes, n, bits));
+		}
+		else { // RLE
+			_out.writeInt(runs);
+			for(int i = 0; i < n;) {
+				int j = i + 1;
+				while(j < n && codes[j] == codes[i])
+					j++;
+				_out.writeInt(codes[i]);
+				_out.writeInt(j - i);
+				i = j;
+			}
+		}
+	}
+
+	private void writeNumeric(long key, int width) throws IOException {
+		switch(width) {
+			case 8: _out.writeLong(key); break;
+			case 4: _out.writeInt((int) key); break;
+			default: _out.writeByte((int) key);
+		}
+	}
+
+	private void writeString(String s) throws IOException {
+		if(s == null) {
+			_out.writeInt(-1);
+			return;
+		}
+		byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+		_out.writeInt(bytes.length);
+		_out.write(bytes);
+	}
+
+	private void writeWords(long[] words) throws IOException {
+		for(long w : words)
+			_out.writeLong(w);
+	}
+
+	private long[] allocateKeys(int n) {
+		return (_keys.length < n) ? (_keys = new long[n]) : _keys;
+	}
+
+	private int[] allocateCodes(int n) {
+		return (_codes.length < n) ? (_codes = new int[n]) : _codes;
+	}
+
+	private static long toKey(Array<?> col, ValueType vt, int i) {
+		switch(vt) {
+			case FP64: return Double.doubleToLongBits(col.getAsDouble(i));
+			case FP32: return Float.floatToIntBits((float) col.getAsDouble(i));
+			case INT64: return ((Number) col.get(i)).longValue();
+			case BOOLEAN: return (col.getAsDouble(i) != 0) ? 1 : 0;
+			default: return (long) col.getAsDouble(i);
+		}
+	}
+
+	private static int maxDictSize(int n) {
+		return Math.max(n / 2, 1);
+	}
+
+	protected static int getPlainWidth(ValueType vt) {
+		switch(vt) {
+			case FP64:
+			case INT64: return 8;
+			case BOOLEAN: return 1;
+			default: return 4;
+		}
+	}
+
+	protected static int getBitWidth(int ndict) {
+		return Math.max(1, 32 - Integer.numberOfLeadingZeros(ndict - 1));
+	}
+
+	protected static int getNumWords(int n, int bits) {
+		return (int) (((long) n * bits + 63) >>> 6);
+	}
+
+	private static long[] packCodes(int[] codes, int n, int bits) {
+		long[] ret = new long[getNumWords(n, bits)];
+		for(int i = 0; i < n; i++) {
+			long pos = (long) i * bits;
+			int w = (int) (pos >>> 6), off = (int) (pos & 63);
+			ret[w] |= ((long) codes[i]) << off;
+			if(off + bits > 64)
+				ret[w + 1] |= ((long) codes[i]) >>> (64 - off);
+		}
+		return ret;
+	}
+
+	private static long[] packBits(boolean[] bits, int n) {
+		long[] ret = new long[getNumWords(n, 1)];
+		for(int i = 0; i < n; i++)
+			if(bits[i])
+				ret[i >>> 6] |= 1L << (i & 63);
+		return ret;
+	}
+
+	/**
+	 * Open-addressing hash map from long keys to dense codes in order of first occurrence.
+	 */
+	private static class LongIntMap {
+		private long[] _keys;
+		private int[] _vals; // code+1, 0 for empty slots
+		private long[] _dict; // keys in order of codes
+		private int _size = 0;
+
+		public LongIntMap(int capacity) {
+			int cap = Integer.highestOneBit(Math.max(capacity, 8) * 2);
+			_keys = new long[cap];
+			_vals = new int[cap];
+			_dict = new long[Math.max(capacity, 8)];
+		}
+
+		public int size() {
+			return _size;
+		}
+
+		public int putIfAbsent(long key) {
+			int mask = _keys.length - 1;
+			int ix = hash(key) & mask;
+			while(_vals[ix] != 0) {
+				if(_keys[ix] == key)
+					return _vals[ix] - 1;
+				ix = (ix + 1) & mask;
+			}
+			_keys[ix] = key;
+			_vals[ix] = _size + 1;
+			if(_size == _dict.length)
+				_dict = Arrays.copyOf(_dict, _size * 2);
+			_dict[_size] = key;
+			if(++_size * 2 > _keys.length)
+				resize();
+			return _size - 1;
+		}
+
+		public long[] keys() {
+			return Arrays.copyOf(_dict, _size);
+		}
+
+		private void resize() {
+			long[] okeys = _keys;
+			int[] ovals = _vals;
+			_keys = new long[okeys.length * 2];
+			_vals = new int[okeys.length * 2];
+			int mask = _keys.length - 1;
+			for(int i = 0; i < okeys.length; i++) {
+				if(ovals[i] == 0)
+					continue;
+				int ix = hash(okeys[i]) & mask;
+				while(_vals[ix] != 0)
+					ix = (ix + 1) & mask;
+				_keys[ix] = okeys[i];
+				_vals[ix] = ovals[i];
+			}
+		}
+
+		private static int hash(long key) {
+			long h = key * 0x9E3779B97F4A7C15L;
+			return (int) (h ^ (h >>> 32));
+		}
+	}
+}
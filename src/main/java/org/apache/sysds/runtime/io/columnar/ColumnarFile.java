@@ -0,0 +1,177 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.runtime.io.columnar;
+
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.hadoop.fs.FSDataInputStream;
+import org.apache.hadoop.fs.FileStatus;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.sysds.common.Types.ValueType;
+import org.apache.sysds.runtime.io.IOUtilFunctions;
+import org.apache.sysds.runtime.io.columnar.ColumnarFooter.ColumnChunk;
+
+/**
+ * Layout and access of the native columnar file format. A file (or part file of a directory) consists of
+ *
+ * <pre>
+ * MAGIC | row group 1: chunk col 1, ..., chunk col n | ... | row group k | footer | footer length (int) | MAGIC
+ * </pre>
+ *
+ * where each column chunk is encoded independently (plain, dictionary with bit-packed codes, or run-length) and the
+ * footer holds the schema, column names, and the offsets, encodings, and min/max statistics of all column chunks.
+ * Readers first read the footer and then only the chunks of required columns and row groups.
+ */
+public class ColumnarFile implements Closeable {
+	public static final byte[] MAGIC = {'S', 'D', 'S', 'C'};
+	public static final int VERSION = 1;
+
+	/** Max number of rows per row group. */
+	public static final int MAX_ROW_GROUP_SIZE = 64 * 1024;
+	/** Min number of rows per row group (for wide inputs). */
+	public static final int MIN_ROW_GROUP_SIZE = 1024;
+	/** Target number of cells per row group, which bounds the decode buffers of concurrent readers. */
+	public static final int ROW_GROUP_CELLS = 1024 * 1024;
+
+	public enum Encoding {
+		PLAIN, // values in plain encoding of the value type
+		DICT, // dictionary of distinct values and bit-packed codes
+		RLE; // dictionary of distinct values and runs of codes
+	}
+
+	// either a file system stream or an in-memory file
+	private final FSDataInputStream _in;
+	private final byte[] _data;
+	private final long _len;
+
+	private ColumnarFile(FSDataInputStream in, byte[] data, long len) {
+		_in = in;
+		_data = data;
+		_len = len;
+	}
+
+	/**
+	 * Opens a columnar file for positional reads, which are safe for concurrent use.
+	 *
+	 * @param fs   file system
+	 * @param path path of the file
+	 * @return opened file
+	 * @throws IOException if IOException occurs
+	 */
+	public static ColumnarFile open(FileSystem fs, Path path) throws IOException {
+		return new ColumnarFile(fs.open(path), null, fs.getFileStatus(path).getLen());
+	}
+
+	/**
+	 * Reads a columnar file from an input stream into memory.
+	 *
+	 * @param is input stream
+	 * @return opened file
+	 * @throws IOException if IOException occurs
+	 */
+	public static ColumnarFile open(InputStream is) throws IOException {
+		try {
+			byte[] data = is.readAllBytes();
+			return new ColumnarFile(null, data, data.length);
+		}
+		finally {
+			IOUtilFunctions.closeSilently(is);
+		}
+	}
+
+	public byte[] read(long pos, int len) throws IOException {
+		if(pos < 0 || pos + len > _len)
+			throw new IOException("Invalid read of columnar file [" + pos + ", " + (pos + len) + ") of " + _len);
+		if(_data != null)
+			return Arrays.copyOfRange(_data, (int) pos, (int) pos + len);
+		byte[] ret = new byte[len];
+		_in.readFully(pos, ret);
+		return ret;
+	}
+
+	public byte[] readChunk(ColumnChunk chunk) throws IOException {
+		return read(chunk.getOffset(), chunk.getLength());
+	}
+
+	public ColumnarFooter readFooter() throws IOException {
+		if(_len < 2 * MAGIC.length + 4)
+			throw new IOException("Invalid columnar file of length " + _len + ".");
+		DataInputStream tail = new DataInputStream(
+			new ByteArrayInputStream(read(_len - MAGIC.length - 4, MAGIC.length + 4)));
+		int flen = tail.readInt();
+		byte[] magic = new byte[MAGIC.length];
+		tail.readFully(magic);
+		if(!Arrays.equals(MAGIC, magic) || !Arrays.equals(MAGIC, read(0, MAGIC.length)))
+			throw new IOException("Invalid columnar file: magic number mismatch.");
+		return ColumnarFooter.read(new DataInputStream(
+			new ByteArrayInputStream(read(_len - MAGIC.length - 4 - flen, flen))));
+	}
+
+	@Override
+	public void close() {
+		IOUtilFunctions.closeSilently(_in);
+	}
+
+	/**
+	 * Gets the number of rows per row group, which is a multiple of 64 in order to align row groups with the words of
+	 * bitset-based frame columns and null masks.
+	 *
+	 * @param clen number of columns
+	 * @return number of rows per row group
+	 */
+	public static int getRowGroupSize(long clen) {
+		long rows = ROW_GROUP_CELLS / Math.max(clen, 1);
+		rows = Math.max(MIN_ROW_GROUP_SIZE, Math.min(MAX_ROW_GROUP_SIZE, rows));
+		return (int) (rows / 64 * 64);
+	}
+
+	/**
+	 * Indicates if the value type is stored in numeric encoding (with numeric min/max statistics), otherwise values are
+	 * stored as strings.
+	 *
+	 * @param vt value type
+	 * @return true if numeric encoding
+	 */
+	public static boolean isNumericEncoding(ValueType vt) {
+		return vt.isNumeric() || vt == ValueType.BOOLEAN;
+	}
+
+	public static List<Path> getFiles(FileSystem fs, Path path) throws IOException {
+		// prepare file paths in alphanumeric order
+		ArrayList<Path> files = new ArrayList<>();
+		if(fs.getFileStatus(path).isDirectory()) {
+			for(FileStatus stat : fs.listStatus(path, IOUtilFunctions.hiddenFileFilter))
+				files.add(stat.getPath());
+			Collections.sort(files);
+		}
+		else
+			files.add(path);
+		return files;
+	}
+}
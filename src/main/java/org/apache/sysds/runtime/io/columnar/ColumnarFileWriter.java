@@ -0,0 +1,91 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.runtime.io.columnar;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.sysds.common.Types.ValueType;
+import org.apache.sysds.runtime.io.IOUtilFunctions;
+import org.apache.sysds.runtime.io.columnar.ColumnarFooter.ColumnChunk;
+import org.apache.sysds.runtime.io.columnar.ColumnarFooter.RowGroup;
+
+/**
+ * Sequential writer of a single columnar file, which appends row groups of encoded column chunks and finally writes
+ * the footer on close.
+ */
+public class ColumnarFileWriter implements Closeable {
+	private final DataOutputStream _out;
+	private final ColumnarFooter _footer;
+	private long _pos;
+	private boolean _closed = false;
+
+	public ColumnarFileWriter(FileSystem fs, Path path, ValueType[] schema, String[] names) throws IOException {
+		_out = new DataOutputStream(new BufferedOutputStream(fs.create(path, true)));
+		_footer = new ColumnarFooter(schema, names);
+		_out.write(ColumnarFile.MAGIC);
+		_pos = ColumnarFile.MAGIC.length;
+	}
+
+	/**
+	 * Appends the last chunk of the given encoder.
+	 *
+	 * @param enc   column chunk encoder
+	 * @param chunk metadata of the encoded chunk
+	 * @return metadata of the chunk incl. its file offset
+	 * @throws IOException if IOException occurs
+	 */
+	public ColumnChunk writeChunk(ColumnChunkEncoder enc, ColumnChunk chunk) throws IOException {
+		chunk.setOffset(_pos);
+		enc.writeTo(_out);
+		_pos += chunk.getLength();
+		return chunk;
+	}
+
+	public void addRowGroup(int nrow, ColumnChunk[] chunks) {
+		_footer.addRowGroup(new RowGroup(nrow, chunks));
+	}
+
+	@Override
+	public void close() throws IOException {
+		if(_closed)
+			return;
+		_closed = true;
+		try {
+			ByteArrayOutputStream bos = new ByteArrayOutputStream();
+			DataOutputStream dos = new DataOutputStream(bos);
+			_footer.write(dos);
+			dos.flush();
+			bos.writeTo(_out);
+			_out.writeInt(bos.size());
+			_out.write(ColumnarFile.MAGIC);
+			_out.close();
+		}
+		catch(IOException ex) {
+			IOUtilFunctions.closeSilently(_out);
+			throw ex;
+		}
+	}
+}
@@ -0,0 +1,253 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.runtime.io.columnar;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.sysds.common.Types.ValueType;
+import org.apache.sysds.runtime.io.columnar.ColumnarFile.Encoding;
+
+/**
+ * Footer of a columnar file with the schema, optional column names, and the metadata of all row groups and their
+ * column chunks.
+ */
+public class ColumnarFooter {
+	private final ValueType[] _schema;
+	private final String[] _names; // null for default names
+	private final List<RowGroup> _rowGroups;
+
+	public ColumnarFooter(ValueType[] schema, String[] names) {
+		_schema = schema;
+		_names = names;
+		_rowGroups = new ArrayList<>();
+	}
+
+	public ValueType[] getSchema() {
+		return _schema;
+	}
+
+	public String[] getColumnNames() {
+		return _names;
+	}
+
+	public int getNumColumns() {
+		return _schema.length;
+	}
+
+	public long getNumRows() {
+		long ret = 0;
+		for(RowGroup rg : _rowGroups)
+			ret += rg.getNumRows();
+		return ret;
+	}
+
+	/**
+	 * Gets the number of non-zeros (numeric columns) or non-empty values (string columns) over all row groups.
+	 *
+	 * @return number of non-zero values
+	 */
+	public long getNonZeros() {
+		long ret = 0;
+		for(RowGroup rg : _rowGroups)
+			for(ColumnChunk c : rg.getChunks())
+				ret += c.getNonZeros();
+		return ret;
+	}
+
+	public boolean containsNull(int col) {
+		for(RowGroup rg : _rowGroups)
+			if(rg.getChunk(col).containsNull())
+				return true;
+		return false;
+	}
+
+	public List<RowGroup> getRowGroups() {
+		return _rowGroups;
+	}
+
+	public void addRowGroup(RowGroup rg) {
+		if(rg.getChunks().length != _schema.length)
+			throw new IllegalArgumentException("Invalid number of column chunks: "
+				+ rg.getChunks().length + " vs " + _schema.length);
+		_rowGroups.add(rg);
+	}
+
+	public void write(DataOutput out) throws IOException {
+		out.writeInt(ColumnarFile.VERSION);
+		out.writeInt(_schema.length);
+		for(ValueType vt : _schema)
+			out.writeUTF(vt.name());
+		out.writeBoolean(_names != null);
+		if(_names != null)
+			for(String name : _names)
+				out.writeUTF(name);
+		out.writeInt(_rowGroups.size());
+		for(RowGroup rg : _rowGroups) {
+			out.writeInt(rg.getNumRows());
+			for(int j = 0; j < _schema.length; j++)
+				rg.getChunk(j).write(out, ColumnarFile.isNumericEncoding(_schema[j]));
+		}
+	}
+
+	public static ColumnarFooter read(DataInput in) throws IOException {
+		int version = in.readInt();
+		if(version != ColumnarFile.VERSION)
+			throw new IOException("Unsupported version of columnar file: " + version);
+		ValueType[] schema = new ValueType[in.readInt()];
+		for(int j = 0; j < schema.length; j++)
+			schema[j] = ValueType.valueOf(in.readUTF());
+		String[] names = null;
+		if(in.readBoolean()) {
+			names = new String[schema.length];
+			for(int j = 0; j < schema.length; j++)
+				names[j] = in.readUTF();
+		}
+		ColumnarFooter ret = new ColumnarFooter(schema, names);
+		int nrg = in.readInt();
+		for(int i = 0; i < nrg; i++) {
+			int nrow = in.readInt();
+			ColumnChunk[] chunks = new ColumnChunk[schema.length];
+			for(int j = 0; j < schema.length; j++)
+				chunks[j] = ColumnChunk.read(in, ColumnarFile.isNumericEncoding(schema[j]));
+			ret.addRowGroup(new RowGroup(nrow, chunks));
+		}
+		return ret;
+	}
+
+	/**
+	 * Horizontal partition of a columnar file with one chunk per column.
+	 */
+	public static class RowGroup {
+		private final int _nrow;
+		private final ColumnChunk[] _chunks;
+
+		public RowGroup(int nrow, ColumnChunk[] chunks) {
+			_nrow = nrow;
+			_chunks = chunks;
+		}
+
+		public int getNumRows() {
+			return _nrow;
+		}
+
+		public ColumnChunk[] getChunks() {
+			return _chunks;
+		}
+
+		public ColumnChunk getChunk(int col) {
+			return _chunks[col];
+		}
+	}
+
+	/**
+	 * Metadata of an encoded column chunk: position and length in the file, encoding, number of non-zeros, and the
+	 * min/max statistics (Double for numeric and String for string columns, null if not available).
+	 */
+	public static class ColumnChunk {
+		private long _offset;
+		private final int _length;
+		private final Encoding _encoding;
+		private final long _nnz;
+		private final boolean _nulls;
+		private final Object _min;
+		private final Object _max;
+
+		public ColumnChunk(long offset, int length, Encoding encoding, long nnz, boolean nulls, Object min, Object max) {
+			_offset = offset;
+			_length = length;
+			_encoding = encoding;
+			_nnz = nnz;
+			_nulls = nulls;
+			_min = min;
+			_max = max;
+		}
+
+		public long getOffset() {
+			return _offset;
+		}
+
+		public void setOffset(long offset) {
+			_offset = offset;
+		}
+
+		public int getLength() {
+			return _length;
+		}
+
+		public Encoding getEncoding() {
+			return _encoding;
+		}
+
+		public long getNonZeros() {
+			return _nnz;
+		}
+
+		public boolean containsNull() {
+			return _nulls;
+		}
+
+		public boolean hasStatistics() {
+			return _min != null && _max != null;
+		}
+
+		public Object getMin() {
+			return _min;
+		}
+
+		public Object getMax() {
+			return _max;
+		}
+
+		private void write(DataOutput out, boolean numeric) throws IOException {
+			out.writeLong(_offset);
+			out.writeInt(_length);
+			out.writeByte(_encoding.ordinal());
+			out.writeLong(_nnz);
+			out.writeBoolean(_nulls);
+			out.writeBoolean(hasStatistics());
+			if(hasStatistics() && numeric) {
+				out.writeDouble((Double) _min);
+				out.writeDouble((Double) _max);
+			}
+			else if(hasStatistics()) {
+				out.writeUTF((String) _min);
+				out.writeUTF((String) _max);
+			}
+		}
+
+		private static ColumnChunk read(DataInput in, boolean numeric) throws IOException {
+			long offset = in.readLong();
+			int length = in.readInt();
+			Encoding enc = Encoding.values()[in.readByte()];
+			long nnz = in.readLong();
+			boolean nulls = in.readBoolean();
+			Object min = null, max = null;
+			if(in.readBoolean()) {
+				min = numeric ? (Object) in.readDouble() : in.readUTF();
+				max = numeric ? (Object) in.readDouble() : in.readUTF();
+			}
+			return new ColumnChunk(offset, length, enc, nnz, nulls, min, max);
+		}
+	}
+}
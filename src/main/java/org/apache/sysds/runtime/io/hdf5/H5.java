@@ -22,6 +22,8 @@ package org.apache.sysds.runtime.io.hdf5;
 import java.io.BufferedInputStream;
 import java.io.BufferedOutputStream;
 import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
 import java.util.List;
 
 import org.apache.sysds.runtime.io.hdf5.message.H5SymbolTableMessage;
@@ -38,13 +40,30 @@ public class H5 {
 	public static H5RootObject H5Fopen(BufferedInputStream bis) {
 		H5RootObject rootObject = new H5RootObject();
 		bis.mark(0);
+		rootObject.setBufferedInputStream(bis);
+		return H5Fopen(rootObject);
+	}
+
+	/**
+	 * Open a file via a file channel, which enables memory-mapped and concurrent positional reads of datasets.
+	 *
+	 * @param channel file channel opened for reading
+	 * @return root object of the file
+	 */
+	public static H5RootObject H5Fopen(FileChannel channel) {
+		H5RootObject rootObject = new H5RootObject();
+		rootObject.setFileChannel(channel);
+		return H5Fopen(rootObject);
+	}
+
+	private static H5RootObject H5Fopen(H5RootObject rootObject) {
 		try {
 			// Find out if the file is a HDF5 file
 			int maxSignatureLength = 2048;
 			boolean validSignature = false;
 			long offset;
 			for(offset = 0; offset < maxSignatureLength; offset = nextOffset(offset)) {
-				validSignature = H5Superblock.verifySignature(bis, offset);
+				validSignature = H5Superblock.verifySignature(rootObject, offset);
 				if(validSignature) {
 					break;
 				}
@@ -52,9 +71,8 @@ public class H5 {
 			if(!validSignature) {
 				throw new H5RuntimeException("No valid HDF5 signature found");
 			}
-			rootObject.setBufferedInputStream(bis);
 
-			final H5Superblock superblock = new H5Superblock(bis, offset);
+			final H5Superblock superblock = new H5Superblock(rootObject, offset);
 			rootObject.setSuperblock(superblock);
 		}
 		catch(Exception exception) {
@@ -111,7 +129,7 @@ public class H5 {
 	}
 
 	// Open a Data Space
-	public static H5ContiguousDataset H5Dopen(H5RootObject rootObject, String datasetName) {
+	public static H5Dataset H5Dopen(H5RootObject rootObject, String datasetName) {
 		try {
 			H5SymbolTableEntry symbolTableEntry = new H5SymbolTableEntry(rootObject,
 				rootObject.getSuperblock().rootGroupSymbolTableAddress - rootObject.getSuperblock().baseAddressByte);
@@ -119,34 +137,52 @@ public class H5 {
 			H5ObjectHeader objectHeader = new H5ObjectHeader(rootObject, symbolTableEntry.getObjectHeaderAddress());
 
 			final H5SymbolTableMessage stm = (H5SymbolTableMessage) objectHeader.getMessages().get(0);
-			final H5BTree rootBTreeNode = new H5BTree(rootObject, stm.getbTreeAddress());
 			final H5LocalHeap rootNameHeap = new H5LocalHeap(rootObject, stm.getLocalHeapAddress());
 			final ByteBuffer nameBuffer = rootNameHeap.getDataBuffer();
-			final List<Long> childAddresses = rootBTreeNode.getChildAddresses();
-
-			long child = childAddresses.get(0);
-
-			H5GroupSymbolTableNode groupSTE = new H5GroupSymbolTableNode(rootObject, child);
-
-			symbolTableEntry = groupSTE.getSymbolTableEntries()[0];
-
-			nameBuffer.position(symbolTableEntry.getLinkNameOffset());
-			String childName = Utils.readUntilNull(nameBuffer);
 
-			if(!childName.equals(datasetName)) {
-				throw new H5RuntimeException("The requested dataset '" + datasetName + "' differs from available '"+childName+"'.");
+			// search all datasets of the root group
+			final List<String> childNames = new ArrayList<>();
+			symbolTableEntry = findSymbolTableEntry(rootObject, stm.getbTreeAddress(), nameBuffer, datasetName,
+				childNames);
+			if(symbolTableEntry == null) {
+				throw new H5RuntimeException("The requested dataset '" + datasetName + "' differs from available "
+					+ childNames + ".");
 			}
 
 			final H5ObjectHeader header = new H5ObjectHeader(rootObject, symbolTableEntry.getObjectHeaderAddress());
-			final H5ContiguousDataset contiguousDataset = new H5ContiguousDataset(rootObject, header);
-			return contiguousDataset;
-
+			return H5Dataset.create(rootObject, header);
 		}
 		catch(Exception exception) {
 			throw new H5RuntimeException(exception);
 		}
 	}
 
+	private static H5SymbolTableEntry findSymbolTableEntry(H5RootObject rootObject, long bTreeAddress,
+		ByteBuffer nameBuffer, String datasetName, List<String> childNames) {
+		final H5BTree bTreeNode = new H5BTree(rootObject, bTreeAddress);
+		for(long child : bTreeNode.getChildAddresses()) {
+			H5SymbolTableEntry ret = null;
+			if(bTreeNode.getNodeLevel() > 0) {
+				ret = findSymbolTableEntry(rootObject, child, nameBuffer, datasetName, childNames);
+			}
+			else {
+				H5GroupSymbolTableNode groupSTE = new H5GroupSymbolTableNode(rootObject, child);
+				for(H5SymbolTableEntry entry : groupSTE.getSymbolTableEntries()) {
+					nameBuffer.position(entry.getLinkNameOffset());
+					String childName = Utils.readUntilNull(nameBuffer);
+					childNames.add(childName);
+					if(childName.equals(datasetName)) {
+						ret = entry;
+						break;
+					}
+				}
+			}
+			if(ret != null)
+				return ret;
+		}
+		return null;
+	}
+
 	// Create Dataset
 	public static void H5Dcreate(H5RootObject rootObject, long maxRow, long maxCol, String datasetName) {
 
@@ -194,16 +230,19 @@ public class H5 {
 		}
 	}
 
-	public static void H5Dread(H5RootObject rootObject, H5ContiguousDataset dataset, double[][] data) {
+	public static void H5Dread(H5RootObject rootObject, H5Dataset dataset, double[][] data) {
 		for(int i = 0; i < rootObject.getRow(); i++) {
-			ByteBuffer buffer = dataset.getDataBuffer(i);
-			dataset.getDataType().getDoubleDataType().fillData(buffer, data[i]);
+			dataset.readRows(i, i + 1, data[i]);
 		}
 	}
 
-	public static void H5Dread(H5ContiguousDataset dataset, int row, double[] data) {
-		ByteBuffer buffer = dataset.getDataBuffer(row);
-		dataset.getDataType().getDoubleDataType().fillData(buffer, data);
+	public static void H5Dread(H5Dataset dataset, int row, double[] data) {
+		dataset.readRows(row, row + 1, data);
+	}
+
+	// Read a hyperslab of rows [rl, ru) in row-major order
+	public static void H5Dread(H5Dataset dataset, int rl, int ru, double[] data) {
+		dataset.readRows(rl, ru, data);
 	}
 
 }
@@ -57,7 +57,9 @@ public class H5BTree {
 		this.address = address;
 		this.rootObject = rootObject;
 
-		readHeaderAndValidateSignature(rootObject, address);
+		ByteBuffer signature = readHeaderAndValidateSignature(rootObject, address);
+		this.nodeType = signature.get();
+		this.nodeLevel = signature.get();
 
 		int headerSize = 8 * rootObject.getSuperblock().sizeOfOffsets;
 		ByteBuffer header = rootObject.readBufferFromAddress(address + 6, headerSize);
@@ -127,4 +129,12 @@ public class H5BTree {
 	public List<Long> getChildAddresses() {
 		return childAddresses;
 	}
+
+	public byte getNodeType() {
+		return nodeType;
+	}
+
+	public byte getNodeLevel() {
+		return nodeLevel;
+	}
 }
@@ -0,0 +1,195 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.runtime.io.hdf5;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+import org.apache.sysds.runtime.io.hdf5.message.H5FilterPipelineMessage;
+import org.apache.sysds.runtime.io.hdf5.message.H5FilterPipelineMessage.Filter;
+
+/**
+ * Dataset stored in fixed-size chunks that are indexed by a version 1 B-tree. The B-tree is traversed once on open,
+ * and row ranges are read by decoding all intersecting chunks (optionally deflate-compressed) and copying their
+ * valid parts into the output. Partial chunks at the matrix boundaries and unallocated chunks are handled as zeros
+ * beyond the data.
+ */
+public class H5ChunkedDataset extends H5Dataset {
+
+	private static final int BTREE_NODE_TYPE_CHUNK = 1;
+
+	private final int chunkRows;
+	private final int chunkCols;
+	private final List<Filter> filters;
+	// chunks in row-major order of their offsets
+	private final List<Chunk> chunks;
+	// index of the first chunk per row of chunks, with a trailing end index
+	private final int[] chunkRowIndex;
+
+	public H5ChunkedDataset(H5RootObject rootObject, H5ObjectHeader objectHeader) {
+		super(rootObject, objectHeader);
+		int[] dims = dataLayoutMessage.getChunkDimensions();
+		this.chunkRows = dims[0];
+		this.chunkCols = dims.length == 2 ? dims[1] : 1;
+		this.filters = objectHeader.hasMessageOfType(H5FilterPipelineMessage.class) ? objectHeader
+			.getMessageOfType(H5FilterPipelineMessage.class).getFilters() : new ArrayList<>();
+		for(Filter f : filters)
+			if(f.getId() != H5Constants.FILTER_DEFLATE)
+				throw new H5RuntimeException("Unsupported HDF5 filter " + f.getId() + " of chunked dataset.");
+
+		// traverse the chunk B-tree and index chunks by row offset
+		this.chunks = new ArrayList<>();
+		if(dataLayoutMessage.getAddress() != H5Constants.UNDEFINED_ADDRESS)
+			readChunkNode(dataLayoutMessage.getAddress(), dims.length);
+		chunks.sort(Comparator.comparingLong((Chunk c) -> c.rowOffset).thenComparingLong(c -> c.colOffset));
+		int numChunkRows = (nrow + chunkRows - 1) / chunkRows;
+		this.chunkRowIndex = new int[numChunkRows + 1];
+		for(int i = 0, c = 0; i <= numChunkRows; i++) {
+			while(c < chunks.size() && chunks.get(c).rowOffset < (long) i * chunkRows)
+				c++;
+			chunkRowIndex[i] = c;
+		}
+	}
+
+	private void readChunkNode(long address, int rank) {
+		final int sizeOfOffsets = rootObject.getSuperblock().sizeOfOffsets;
+		final ByteBuffer signature = H5BTree.readHeaderAndValidateSignature(rootObject, address);
+		final byte nodeType = signature.get();
+		final byte nodeLevel = signature.get();
+		if(nodeType != BTREE_NODE_TYPE_CHUNK)
+			throw new H5RuntimeException("B tree type is not raw data chunk. Type is: " + nodeType);
+
+		final ByteBuffer header = rootObject.readBufferFromAddress(address + 6, 2);
+		final int entriesUsed = Utils.readBytesAsUnsignedInt(header, 2);
+
+		// keys: chunk size, filter mask, and offsets per dimension including the element dimension
+		final int keyBytes = 8 + (rank + 1) * 8;
+		final long keysAddress = address + 8L + 2L * sizeOfOffsets;
+		final ByteBuffer keysAndPointers = rootObject.readBufferFromAddress(keysAddress,
+			entriesUsed * (keyBytes + sizeOfOffsets) + keyBytes);
+
+		for(int i = 0; i < entriesUsed; i++) {
+			final int size = Utils.readBytesAsUnsignedInt(keysAndPointers, 4);
+			final int filterMask = keysAndPointers.getInt();
+			final long rowOffset = Utils.readBytesAsUnsignedLong(keysAndPointers, 8);
+			final long colOffset = rank == 2 ? Utils.readBytesAsUnsignedLong(keysAndPointers, 8) : 0;
+			keysAndPointers.position(keysAndPointers.position() + 8);
+			final long childAddress = Utils.readBytesAsUnsignedLong(keysAndPointers, sizeOfOffsets);
+			if(nodeLevel > 0)
+				readChunkNode(childAddress, rank);
+			else
+				chunks.add(new Chunk(childAddress, size, filterMask, rowOffset, colOffset));
+		}
+	}
+
+	@Override
+	public void readRows(int rl, int ru, double[] data) {
+		checkRowRange(rl, ru);
+		// unallocated chunks and chunk padding are zero
+		Arrays.fill(data, 0, (ru - rl) * ncol, 0);
+		if(rl == ru)
+			return;
+
+		final double[] buffer = new double[chunkRows * chunkCols];
+		final int cu = chunkRowIndex[(ru - 1) / chunkRows + 1];
+		for(int c = chunkRowIndex[rl / chunkRows]; c < cu; c++) {
+			final Chunk chunk = chunks.get(c);
+			decode(chunk, buffer);
+			final int r0 = (int) Math.max(rl, chunk.rowOffset);
+			final int r1 = (int) Math.min(ru, chunk.rowOffset + chunkRows);
+			final int cols = (int) Math.min(chunkCols, ncol - chunk.colOffset);
+			for(int r = r0; r < r1; r++)
+				System.arraycopy(buffer, (int) (r - chunk.rowOffset) * chunkCols, data,
+					(r - rl) * ncol + (int) chunk.colOffset, cols);
+		}
+	}
+
+	private void decode(Chunk chunk, double[] buffer) {
+		// chunks are small, so positional reads are cheaper than individual mappings
+		ByteBuffer bb = rootObject.readBufferFromAddressNoOrder(chunk.address, chunk.size);
+		// filters are applied in reverse order on read, unless skipped for this chunk
+		for(int i = filters.size() - 1; i >= 0; i--)
+			if((chunk.filterMask & (1 << i)) == 0)
+				bb = inflate(bb, buffer.length * 8);
+		bb.order(order).asDoubleBuffer().get(buffer, 0, buffer.length);
+	}
+
+	private static ByteBuffer inflate(ByteBuffer in, int length) {
+		final byte[] input = new byte[in.remaining()];
+		in.get(input);
+		final byte[] output = new byte[length];
+		final Inflater inflater = new Inflater();
+		try {
+			inflater.setInput(input);
+			int n = 0;
+			while(n < length && !inflater.finished()) {
+				int k = inflater.inflate(output, n, length - n);
+				if(k == 0 && (inflater.needsInput() || inflater.needsDictionary()))
+					break;
+				n += k;
+			}
+			if(n != length)
+				throw new H5RuntimeException("Inflated chunk size " + n + " differs from expected " + length);
+			return ByteBuffer.wrap(output);
+		}
+		catch(DataFormatException e) {
+			throw new H5RuntimeException("Failed to inflate chunk", e);
+		}
+		finally {
+			inflater.end();
+		}
+	}
+
+	@Override
+	public int getRowBlockSize() {
+		// whole rows of chunks, combined up to the read block size
+		long rowSize = (long) ncol * 8 * chunkRows;
+		return (int) Math.min(Math.max(nrow, 1), chunkRows * Math.max(1, READ_BLOCK_SIZE / rowSize));
+	}
+
+	public int[] getChunkDimensions() {
+		return new int[] {chunkRows, chunkCols};
+	}
+
+	public int getNumChunks() {
+		return chunks.size();
+	}
+
+	private static class Chunk {
+		private final long address;
+		private final int size;
+		private final int filterMask;
+		private final long rowOffset;
+		private final long colOffset;
+
+		private Chunk(long address, int size, int filterMask, long rowOffset, long colOffset) {
+			this.address = address;
+			this.size = size;
+			this.filterMask = filterMask;
+			this.rowOffset = rowOffset;
+			this.colOffset = colOffset;
+		}
+	}
+}
@@ -20,27 +20,19 @@
 
 package org.apache.sysds.runtime.io.hdf5;
 
-import org.apache.sysds.runtime.io.hdf5.message.H5DataLayoutMessage;
 import org.apache.sysds.runtime.io.hdf5.message.H5DataSpaceMessage;
-import org.apache.sysds.runtime.io.hdf5.message.H5DataTypeMessage;
 
 import java.nio.ByteBuffer;
 
 import static java.nio.ByteOrder.LITTLE_ENDIAN;
 
-public class H5ContiguousDataset {
+public class H5ContiguousDataset extends H5Dataset {
 
-	private final H5RootObject rootObject;
-	private final H5DataLayoutMessage dataLayoutMessage;
-	private final H5DataTypeMessage dataTypeMessage;
 	@SuppressWarnings("unused")
 	private final H5DataSpaceMessage dataSpaceMessage;
 
 	public H5ContiguousDataset(H5RootObject rootObject, H5ObjectHeader objectHeader) {
-
-		this.rootObject = rootObject;
-		this.dataLayoutMessage = objectHeader.getMessageOfType(H5DataLayoutMessage.class);
-		this.dataTypeMessage = objectHeader.getMessageOfType(H5DataTypeMessage.class);
+		super(rootObject, objectHeader);
 		this.dataSpaceMessage = objectHeader.getMessageOfType(H5DataSpaceMessage.class);
 	}
 
@@ -57,7 +49,19 @@ public class H5ContiguousDataset {
 			throw new H5RuntimeException("Failed to map data buffer for dataset", e);
 		}
 	}
-	public H5DataTypeMessage getDataType() {
-		return dataTypeMessage;
+
+	@Override
+	public void readRows(int rl, int ru, double[] data) {
+		checkRowRange(rl, ru);
+		// rows are stored consecutively, so the hyperslab is a single file region
+		final long rowSize = (long) ncol * 8;
+		final ByteBuffer buffer = rootObject.mapBufferFromAddress(dataLayoutMessage.getAddress() + rl * rowSize,
+			(int) ((ru - rl) * rowSize));
+		buffer.order(order).asDoubleBuffer().get(data, 0, (ru - rl) * ncol);
+	}
+
+	@Override
+	public int getRowBlockSize() {
+		return (int) Math.max(1, Math.min(nrow, READ_BLOCK_SIZE / ((long) ncol * 8)));
 	}
 }
@@ -0,0 +1,118 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.runtime.io.hdf5;
+
+import java.nio.ByteOrder;
+
+import org.apache.sysds.runtime.io.hdf5.message.H5DataLayoutMessage;
+import org.apache.sysds.runtime.io.hdf5.message.H5DataTypeMessage;
+
+/**
+ * Read access to a two-dimensional dataset of 64-bit floating point values, independent of its storage layout.
+ * Implementations are thread-safe for concurrent reads of disjoint or overlapping row ranges if the root object
+ * supports random access.
+ */
+public abstract class H5Dataset {
+
+	/** Target size in bytes of row blocks decoded at a time */
+	public static int READ_BLOCK_SIZE = 8 * 1024 * 1024;
+
+	protected final H5RootObject rootObject;
+	protected final H5DataLayoutMessage dataLayoutMessage;
+	protected final H5DataTypeMessage dataTypeMessage;
+	protected final int nrow;
+	protected final int ncol;
+	protected final ByteOrder order;
+
+	protected H5Dataset(H5RootObject rootObject, H5ObjectHeader objectHeader) {
+		this.rootObject = rootObject;
+		this.dataLayoutMessage = objectHeader.getMessageOfType(H5DataLayoutMessage.class);
+		this.dataTypeMessage = objectHeader.getMessageOfType(H5DataTypeMessage.class);
+
+		// dimensions are parsed into the root object with the data space message
+		int[] dims = rootObject.getDimensions();
+		if(dims.length == 0 || dims.length > 2)
+			throw new H5RuntimeException("Unsupported dataset rank " + dims.length + ", expected a matrix.");
+		this.nrow = dims[0];
+		this.ncol = dims.length == 2 ? dims[1] : 1;
+
+		H5DoubleDataType dataType = dataTypeMessage.getDoubleDataType();
+		if(dataType.getSize() != 8)
+			throw new H5RuntimeException("Unsupported data type size " + dataType.getSize() + ", expected 64-bit floats.");
+		this.order = dataType.getOrder() != null ? dataType.getOrder() : ByteOrder.LITTLE_ENDIAN;
+	}
+
+	/**
+	 * Create a dataset reader for the storage layout of the given object header.
+	 *
+	 * @param rootObject   root object of the opened file
+	 * @param objectHeader object header of the dataset
+	 * @return dataset reader
+	 */
+	public static H5Dataset create(H5RootObject rootObject, H5ObjectHeader objectHeader) {
+		H5DataLayoutMessage layout = objectHeader.getMessageOfType(H5DataLayoutMessage.class);
+		switch(layout.getLayoutClass()) {
+			case H5Constants.LAYOUT_CLASS_CONTIGUOUS:
+				return new H5ContiguousDataset(rootObject, objectHeader);
+			case H5Constants.LAYOUT_CLASS_CHUNKED:
+				return new H5ChunkedDataset(rootObject, objectHeader);
+			default:
+				throw new H5RuntimeException("Unsupported data layout class " + layout.getLayoutClass());
+		}
+	}
+
+	/**
+	 * Read the hyperslab of rows [rl, ru) into a row-major array.
+	 *
+	 * @param rl   row lower bound (inclusive)
+	 * @param ru   row upper bound (exclusive)
+	 * @param data output array of at least (ru-rl)*ncol values
+	 */
+	public abstract void readRows(int rl, int ru, double[] data);
+
+	/**
+	 * Get the number of rows that should be read at a time. Row ranges aligned to multiples of this block size
+	 * avoid redundant reads and decoding of chunks.
+	 *
+	 * @return number of rows per block
+	 */
+	public abstract int getRowBlockSize();
+
+	public int getNumRows() {
+		return nrow;
+	}
+
+	public int getNumCols() {
+		return ncol;
+	}
+
+	public H5RootObject getRootObject() {
+		return rootObject;
+	}
+
+	public H5DataTypeMessage getDataType() {
+		return dataTypeMessage;
+	}
+
+	protected void checkRowRange(int rl, int ru) {
+		if(rl < 0 || ru > nrow || rl > ru)
+			throw new H5RuntimeException("Invalid row range [" + rl + ", " + ru + ") for " + nrow + " rows.");
+	}
+}
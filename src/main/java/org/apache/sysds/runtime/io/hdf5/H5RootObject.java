@@ -21,14 +21,18 @@ package org.apache.sysds.runtime.io.hdf5;
 
 import java.io.BufferedInputStream;
 import java.io.BufferedOutputStream;
+import java.io.Closeable;
 import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
 
 import static java.nio.ByteOrder.LITTLE_ENDIAN;
 
-public class H5RootObject {
+public class H5RootObject implements Closeable {
 
 	protected BufferedInputStream bufferedInputStream;
+	protected FileChannel fileChannel;
 	protected BufferedOutputStream bufferedOutputStream;
 	protected H5Superblock superblock;
 	protected int rank;
@@ -52,6 +56,14 @@ public class H5RootObject {
 	protected byte dataLayoutClass = 1;
 
 	public ByteBuffer readBufferFromAddress(long address, int length) {
+		ByteBuffer bb = readBufferFromAddressNoOrder(address, length);
+		bb.order(LITTLE_ENDIAN);
+		return bb;
+	}
+
+	public ByteBuffer readBufferFromAddressNoOrder(long address, int length) {
+		if(fileChannel != null)
+			return readBufferFromChannel(address, length);
 		ByteBuffer bb = ByteBuffer.allocate(length);
 		try {
 			byte[] b = new byte[length];
@@ -63,19 +75,37 @@ public class H5RootObject {
 		catch(IOException e) {
 			throw new H5RuntimeException(e);
 		}
-		bb.order(LITTLE_ENDIAN);
 		bb.rewind();
 		return bb;
 	}
 
-	public ByteBuffer readBufferFromAddressNoOrder(long address, int length) {
+	/**
+	 * Get a read-only view of the given file region. For file channels, the region is memory-mapped, otherwise it is
+	 * copied from the buffered input stream.
+	 *
+	 * @param address start address of the region
+	 * @param length  length of the region in bytes
+	 * @return byte buffer of the region with big endian byte order
+	 */
+	public ByteBuffer mapBufferFromAddress(long address, int length) {
+		if(fileChannel == null)
+			return readBufferFromAddressNoOrder(address, length);
+		try {
+			return fileChannel.map(MapMode.READ_ONLY, address, length);
+		}
+		catch(IOException e) {
+			throw new H5RuntimeException("Failed to map " + length + " bytes at address " + address, e);
+		}
+	}
+
+	private ByteBuffer readBufferFromChannel(long address, int length) {
+		// positional reads are independent of the channel position and thus thread-safe
 		ByteBuffer bb = ByteBuffer.allocate(length);
 		try {
-			byte[] b = new byte[length];
-			bufferedInputStream.reset();
-			bufferedInputStream.skip(address);
-			bufferedInputStream.read(b);
-			bb.put(b);
+			while(bb.hasRemaining()) {
+				if(fileChannel.read(bb, address + bb.position()) < 0)
+					throw new H5RuntimeException("Unexpected end of file at address " + (address + bb.position()));
+			}
 		}
 		catch(IOException e) {
 			throw new H5RuntimeException(e);
@@ -84,6 +114,46 @@ public class H5RootObject {
 		return bb;
 	}
 
+	/**
+	 * Indicates if the file supports concurrent random access, i.e., reads from multiple threads without reopening the
+	 * file.
+	 *
+	 * @return true if backed by a file channel
+	 */
+	public boolean isRandomAccess() {
+		return fileChannel != null;
+	}
+
+	/**
+	 * Get the size of the underlying file, or an upper bound for input streams.
+	 *
+	 * @return file size in bytes
+	 */
+	public long getFileSize() {
+		try {
+			return fileChannel != null ? fileChannel.size() : Long.MAX_VALUE;
+		}
+		catch(IOException e) {
+			throw new H5RuntimeException(e);
+		}
+	}
+
+	@Override
+	public void close() throws IOException {
+		if(fileChannel != null)
+			fileChannel.close();
+		if(bufferedInputStream != null)
+			bufferedInputStream.close();
+	}
+
+	public FileChannel getFileChannel() {
+		return fileChannel;
+	}
+
+	public void setFileChannel(FileChannel fileChannel) {
+		this.fileChannel = fileChannel;
+	}
+
 	public BufferedInputStream getBufferedInputStream() {
 		return bufferedInputStream;
 	}
@@ -23,6 +23,7 @@ package org.apache.sysds.runtime.io.hdf5.message;
 import org.apache.sysds.runtime.io.hdf5.H5BufferBuilder;
 import org.apache.sysds.runtime.io.hdf5.H5Constants;
 import org.apache.sysds.runtime.io.hdf5.H5RootObject;
+import org.apache.sysds.runtime.io.hdf5.H5RuntimeException;
 import org.apache.sysds.runtime.io.hdf5.Utils;
 
 import java.nio.ByteBuffer;
@@ -30,21 +31,46 @@ import java.util.BitSet;
 
 public class H5DataLayoutMessage extends H5Message {
 
+	private final byte layoutClass;
 	private final long address;
 	private final long size;
+	private final int[] chunkDimensions;
 
 	public H5DataLayoutMessage(H5RootObject rootObject, BitSet flags, ByteBuffer bb) {
 		super(rootObject, flags);
 		rootObject.setDataLayoutVersion(bb.get());
 		rootObject.setDataLayoutClass(bb.get());
-		this.address = Utils.readBytesAsUnsignedLong(bb, rootObject.getSuperblock().sizeOfOffsets);
-		this.size = Utils.readBytesAsUnsignedLong(bb, rootObject.getSuperblock().sizeOfLengths);
+		if(rootObject.getDataLayoutVersion() != 3)
+			throw new H5RuntimeException("Unsupported data layout version " + rootObject.getDataLayoutVersion());
+		this.layoutClass = rootObject.getDataLayoutClass();
+
+		switch(layoutClass) {
+			case H5Constants.LAYOUT_CLASS_CONTIGUOUS:
+				this.address = Utils.readBytesAsUnsignedLong(bb, rootObject.getSuperblock().sizeOfOffsets);
+				this.size = Utils.readBytesAsUnsignedLong(bb, rootObject.getSuperblock().sizeOfLengths);
+				this.chunkDimensions = null;
+				break;
+			case H5Constants.LAYOUT_CLASS_CHUNKED:
+				// the dimensionality includes a trailing dimension of the element size
+				final int rank = bb.get() - 1;
+				this.address = Utils.readBytesAsUnsignedLong(bb, rootObject.getSuperblock().sizeOfOffsets);
+				this.chunkDimensions = new int[rank];
+				for(int i = 0; i < rank; i++)
+					chunkDimensions[i] = Utils.readBytesAsUnsignedInt(bb, 4);
+				// element size
+				this.size = Utils.readBytesAsUnsignedInt(bb, 4);
+				break;
+			default:
+				throw new H5RuntimeException("Unsupported data layout class " + layoutClass);
+		}
 	}
 
 	public H5DataLayoutMessage(H5RootObject rootObject, BitSet flags, long address, long size) {
 		super(rootObject, flags);
+		this.layoutClass = H5Constants.LAYOUT_CLASS_CONTIGUOUS;
 		this.address = address;
 		this.size = size;
+		this.chunkDimensions = null;
 	}
 
 	@Override
@@ -67,12 +93,30 @@ public class H5DataLayoutMessage extends H5Message {
 		bb.writeBytes(reserved);
 	}
 
+	public byte getLayoutClass() {
+		return layoutClass;
+	}
+
+	/**
+	 * Get the address of the contiguous data, or of the root node of the chunk B-tree.
+	 *
+	 * @return file address
+	 */
 	public long getAddress() {
 		return address;
 	}
 
+	/**
+	 * Get the size of the contiguous data, or the element size of chunked data.
+	 *
+	 * @return size in bytes
+	 */
 	public long getSize() {
 		return size;
 	}
 
+	public int[] getChunkDimensions() {
+		return chunkDimensions;
+	}
+
 }
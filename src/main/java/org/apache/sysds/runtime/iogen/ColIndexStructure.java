@@ -19,10 +19,12 @@
 
 package org.apache.sysds.runtime.iogen;
 
+import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.HashSet;
 
-public class ColIndexStructure {
+public class ColIndexStructure implements Serializable {
+	private static final long serialVersionUID = 5824701928817467351L;
 
 	public enum IndexProperties {
 		Identity, // col number of sample raw data equal to the row index of matrix/frame
@@ -30,6 +30,7 @@ import java.util.Set;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
+import java.util.function.IntConsumer;
 
 import org.apache.sysds.hops.OptimizerUtils;
 import org.apache.sysds.lops.Lop;
@@ -38,8 +39,12 @@ import org.apache.sysds.runtime.frame.data.FrameBlock;
 import org.apache.sysds.runtime.matrix.data.MatrixBlock;
 import org.apache.sysds.runtime.matrix.data.Pair;
 import org.apache.sysds.runtime.util.CommonThreadPool;
+import org.apache.sysds.runtime.util.UtilFunctions;
 
 public class FormatIdentifyer {
+	// minimum number of sample cells for multi-threaded per-column extraction
+	private static final long PAR_NUMCELL_THRESHOLD = 4 * 1024;
+
 	private int[][] mapRow;
 	private int[][] mapCol;
 	private int[][] mapLen;
@@ -787,11 +792,11 @@ public class FormatIdentifyer {
 	public Pair<ArrayList<String>[], ArrayList<Integer>[]> extractAllPrefixStringsOfColsSingleLine(boolean reverse, boolean removesSelected) {
 		ArrayList<String>[] prefixStrings = new ArrayList[ncols];
 		ArrayList<Integer>[] rowIndexes = new ArrayList[ncols];
-		for(int c = 0; c < ncols; c++) {
+		forEachColumn(c -> {
 			Pair<ArrayList<String>, ArrayList<Integer>> pair = extractAllPrefixStringsOfAColSingleLine(c, reverse, removesSelected);
 			prefixStrings[c] = pair.getKey();
 			rowIndexes[c] = pair.getValue();
-		}
+		});
 		return new Pair<>(prefixStrings, rowIndexes);
 	}
 
@@ -842,21 +847,39 @@ public class FormatIdentifyer {
 	@SuppressWarnings("unchecked")
 	private ArrayList<String>[] extractAllSuffixStringsOfColsSingleLine(boolean removeData) {
 		ArrayList<String>[] result = new ArrayList[ncols];
-		for(int c = 0; c < ncols; c++) {
-			result[c] = new ArrayList<>();
-			for(int r = 0; r < nrows; r++) {
-				int rowIndex = mapRow[r][c];
-				if(rowIndex == -1)
-					continue;
-				String str;
-				if(removeData)
-					str = sampleRawIndexes[rowIndex].getRemainedTexts(mapCol[r][c] + mapLen[r][c], -1);
-				else
-					str = sampleRawIndexes[rowIndex].getRaw().substring(mapCol[r][c] + mapLen[r][c]);
-				result[c].add(str);
+		forEachColumn(c -> result[c] = extractAllSuffixStringsOfColsSingleLine(c, removeData));
+		return result;
+	}
+
+	// per-column extraction over the read-only sample mappings, multi-threaded over disjoint column ranges
+	private void forEachColumn(IntConsumer fn) {
+		int numThreads = OptimizerUtils.getParallelTextWriteParallelism();
+		if(numThreads <= 1 || ncols <= 1 || (long) nrows * ncols < PAR_NUMCELL_THRESHOLD) {
+			for(int c = 0; c < ncols; c++)
+				fn.accept(c);
+			return;
+		}
+		ExecutorService pool = CommonThreadPool.get(numThreads);
+		try {
+			ArrayList<Callable<Object>> tasks = new ArrayList<>();
+			ArrayList<Integer> blklens = UtilFunctions.getBalancedBlockSizesDefault(ncols, numThreads, false);
+			for(int i = 0, lb = 0; i < blklens.size(); lb += blklens.get(i), i++) {
+				final int cl = lb, cu = lb + blklens.get(i);
+				tasks.add(() -> {
+					for(int c = cl; c < cu; c++)
+						fn.accept(c);
+					return null;
+				});
 			}
+			for(Future<Object> task : pool.invokeAll(tasks))
+				task.get();
+		}
+		catch(Exception e) {
+			throw new RuntimeException("Failed parallel column extraction.", e);
+		}
+		finally{
+			pool.shutdown();
 		}
-		return result;
 	}
 
 	private ArrayList<String> extractAllSuffixStringsOfColsSingleLine(int col, boolean removeData) {
@@ -21,25 +21,62 @@ package org.apache.sysds.runtime.iogen;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
+import org.apache.sysds.conf.ConfigurationManager;
+import org.apache.sysds.conf.DMLConfig;
 import org.apache.sysds.runtime.codegen.CodegenUtils;
 import org.apache.sysds.runtime.io.MatrixReader;
 import org.apache.sysds.runtime.io.FrameReader;
 import org.apache.sysds.runtime.iogen.codegen.FrameCodeGen;
 import org.apache.sysds.runtime.iogen.codegen.MatrixCodeGen;
+import org.apache.sysds.runtime.iogen.template.TemplateCodeGenBase;
 import org.apache.sysds.runtime.frame.data.FrameBlock;
 import org.apache.sysds.runtime.matrix.data.MatrixBlock;
 
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.Arrays;
 import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 
 public abstract class GenerateReader {
 
 	protected static final Log LOG = LogFactory.getLog(GenerateReader.class.getName());
 
+	// placeholder of the class name during code generation, replaced by a name derived from the source fingerprint
+	private static final String CLASS_NAME_PLACEHOLDER = "%className%";
+
+	// identified formats and generated reader sources by fingerprint of the sample (incl parallel flag)
+	private static final ConcurrentHashMap<String, CachedReader> _readerCache = new ConcurrentHashMap<>();
+
 	protected CustomProperties properties;
 
 	protected FormatIdentifyer formatIdentifyer;
 
+	private final String sampleKey;
+
+	private CachedReader cachedReader;
+
 	public GenerateReader(SampleProperties sampleProperties) throws Exception {
+		this(sampleProperties, false);
+	}
+
+	public GenerateReader(SampleProperties sampleProperties, boolean parallel) throws Exception {
+		// probe in-memory and on-disk reader cache to avoid repeated format identification
+		sampleKey = getSampleFingerprint(sampleProperties, parallel);
+		cachedReader = _readerCache.get(sampleKey);
+		if(cachedReader == null && (cachedReader = readCachedReader(sampleKey)) != null)
+			_readerCache.putIfAbsent(sampleKey, cachedReader);
+		if(cachedReader != null) {
+			properties = cachedReader.properties;
+			return;
+		}
 
 		formatIdentifyer = sampleProperties.getDataType().isMatrix() ? new FormatIdentifyer(sampleProperties.getSampleRaw(),
 			sampleProperties.getSampleMatrix()) : new FormatIdentifyer(sampleProperties.getSampleRaw(),
@@ -52,6 +89,7 @@ public abstract class GenerateReader {
 		if(sampleProperties.getDataType().isFrame()){
 			properties.setSchema(sampleProperties.getSampleFrame().getSchema());
 		}
+		properties.setParallel(parallel);
 	}
 
 	public String getRandomClassName() {
@@ -67,6 +105,125 @@ public abstract class GenerateReader {
 		return properties;
 	}
 
+	/**
+	 * Generates (or reuses) the reader source and instantiates the compiled reader class. The class name is derived
+	 * from the fingerprint of the generated source, which allows samples with identical formats to share a single
+	 * compiled class via the codegen class cache.
+	 *
+	 * @param codegen code generator for a given class name
+	 * @return new reader instance
+	 * @throws Exception if the code generation, compilation, or instantiation fails
+	 */
+	protected Object createReader(Function<String, TemplateCodeGenBase> codegen) throws Exception {
+		if(cachedReader == null) {
+			String src = codegen.apply(CLASS_NAME_PLACEHOLDER).generateCodeJava(formatIdentifyer);
+			String className = "GIOReader_" + getFingerprint(src).substring(0, 24);
+			cachedReader = new CachedReader(properties, className, src.replace(CLASS_NAME_PLACEHOLDER, className));
+			if(_readerCache.putIfAbsent(sampleKey, cachedReader) == null)
+				writeCachedReader(sampleKey, cachedReader);
+		}
+		// constructor with arguments as CustomProperties
+		Class<?>[] cArg = new Class[1];
+		cArg[0] = CustomProperties.class;
+		return CodegenUtils.compileClass(cachedReader.className, cachedReader.src)
+			.getDeclaredConstructor(cArg).newInstance(properties);
+	}
+
+	/**
+	 * Indicates if the reader of this generator is reused from the reader cache, i.e., without format identification.
+	 *
+	 * @return true if the reader was obtained from the in-memory or on-disk cache
+	 */
+	public boolean isCached() {
+		return formatIdentifyer == null;
+	}
+
+	public static void clearReaderCache() {
+		_readerCache.clear();
+	}
+
+	private static String getSampleFingerprint(SampleProperties sampleProperties, boolean parallel) throws Exception {
+		StringBuilder sb = new StringBuilder();
+		sb.append(sampleProperties.getDataType()).append(',').append(parallel).append('\n');
+		if(sampleProperties.getDataType().isMatrix()) {
+			MatrixBlock mb = sampleProperties.getSampleMatrix();
+			sb.append(mb.getNumRows()).append('x').append(mb.getNumColumns()).append('\n');
+			for(int r = 0; r < mb.getNumRows(); r++)
+				for(int c = 0; c < mb.getNumColumns(); c++)
+					sb.append(mb.get(r, c)).append(',');
+		}
+		else {
+			FrameBlock fb = sampleProperties.getSampleFrame();
+			sb.append(Arrays.toString(fb.getSchema())).append('\n');
+			for(int r = 0; r < fb.getNumRows(); r++)
+				for(int c = 0; c < fb.getNumColumns(); c++)
+					sb.append(fb.get(r, c)).append(',');
+		}
+		sb.append('\n').append(sampleProperties.getSampleRaw());
+		return getFingerprint(sb.toString());
+	}
+
+	private static String getFingerprint(String str) throws Exception {
+		byte[] hash = MessageDigest.getInstance("SHA-256").digest(str.getBytes(StandardCharsets.UTF_8));
+		StringBuilder sb = new StringBuilder();
+		for(byte b : hash)
+			sb.append(String.format("%02x", b));
+		return sb.toString();
+	}
+
+	private static File getCacheFile(String key) {
+		String dir = ConfigurationManager.getDMLConfig().getTextValue(DMLConfig.IOGEN_CACHE_DIR);
+		return (dir == null || dir.isEmpty()) ? null : new File(dir, key + ".gior");
+	}
+
+	private static CachedReader readCachedReader(String key) {
+		File file = getCacheFile(key);
+		if(file == null || !file.exists())
+			return null;
+		try(ObjectInputStream in = new ObjectInputStream(new FileInputStream(file))) {
+			return (CachedReader) in.readObject();
+		}
+		catch(Exception ex) {
+			// corrupted or incompatible cache entries are regenerated
+			LOG.warn("Failed to read cached reader " + file + ": " + ex.getMessage());
+			return null;
+		}
+	}
+
+	private static void writeCachedReader(String key, CachedReader reader) {
+		File file = getCacheFile(key);
+		if(file == null)
+			return;
+		// write to temporary file and rename for robustness against concurrent readers
+		File tmp = new File(file.getParentFile(), file.getName() + "." + System.nanoTime() + ".tmp");
+		try {
+			file.getParentFile().mkdirs();
+			try(ObjectOutputStream out = new ObjectOutputStream(new FileOutputStream(tmp))) {
+				out.writeObject(reader);
+			}
+			if(!tmp.renameTo(file))
+				tmp.delete();
+		}
+		catch(Exception ex) {
+			LOG.warn("Failed to write cached reader " + file + ": " + ex.getMessage());
+			tmp.delete();
+		}
+	}
+
+	private static class CachedReader implements Serializable {
+		private static final long serialVersionUID = 3346402129391655373L;
+
+		private final CustomProperties properties;
+		private final String className;
+		private final String src;
+
+		public CachedReader(CustomProperties properties, String className, String src) {
+			this.properties = properties;
+			this.className = className;
+			this.src = src;
+		}
+	}
+
 	// Generate Reader for Matrix
 	public static class GenerateReaderMatrix extends GenerateReader {
 
@@ -77,18 +234,11 @@ public abstract class GenerateReader {
 		}
 
 		public GenerateReaderMatrix(String sampleRaw, MatrixBlock sampleMatrix, boolean parallel) throws Exception {
-			super(new SampleProperties(sampleRaw, sampleMatrix));
-			properties.setParallel(parallel);
+			super(new SampleProperties(sampleRaw, sampleMatrix), parallel);
 		}
 
 		public MatrixReader getReader() throws Exception {
-			String className = getRandomClassName();
-			MatrixCodeGen src = new MatrixCodeGen(properties, className);
-			// constructor with arguments as CustomProperties
-			Class<?>[] cArg = new Class[1];
-			cArg[0] = CustomProperties.class;
-			String srcJava =  src.generateCodeJava(formatIdentifyer);
-			matrixReader = (MatrixReader) CodegenUtils.compileClass(className, srcJava).getDeclaredConstructor(cArg).newInstance(properties);
+			matrixReader = (MatrixReader) createReader(className -> new MatrixCodeGen(properties, className));
 			return matrixReader;
 		}
 	}
@@ -103,18 +253,11 @@ public abstract class GenerateReader {
 		}
 
 		public GenerateReaderFrame(String sampleRaw, FrameBlock sampleFrame, boolean parallel) throws Exception {
-			super(new SampleProperties(sampleRaw, sampleFrame));
-			properties.setParallel(parallel);
+			super(new SampleProperties(sampleRaw, sampleFrame), parallel);
 		}
 
 		public FrameReader getReader() throws Exception {
-			String className = getRandomClassName();
-			FrameCodeGen src = new FrameCodeGen(properties, className);
-			// constructor with arguments as CustomProperties
-			Class<?>[] cArg = new Class[1];
-			cArg[0] = CustomProperties.class;
-			String srcJava = src.generateCodeJava(formatIdentifyer);
-			frameReader = (FrameReader) CodegenUtils.compileClass(className, srcJava).getDeclaredConstructor(cArg).newInstance(properties);
+			frameReader = (FrameReader) createReader(className -> new FrameCodeGen(properties, className));
 			return frameReader;
 		}
 	}
@@ -19,9 +19,12 @@
 
 package org.apache.sysds.runtime.iogen;
 
+import java.io.Serializable;
+
 import org.apache.sysds.common.Types;
 
-public class MappingProperties {
+public class MappingProperties implements Serializable {
+	private static final long serialVersionUID = -1094837251468922014L;
 
 	public enum RepresentationProperties {
 		TYPICAL,
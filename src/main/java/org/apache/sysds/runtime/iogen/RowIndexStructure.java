@@ -19,10 +19,12 @@
 
 package org.apache.sysds.runtime.iogen;
 
+import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.HashSet;
 
-public class RowIndexStructure {
+public class RowIndexStructure implements Serializable {
+	private static final long serialVersionUID = -4371589153076603612L;
 
 	public enum IndexProperties {
 		Identity, // line number of sample raw data equal to the row index of matrix/frame
@@ -45,11 +45,11 @@ import java.util.ArrayList;
 
 public abstract class MatrixGenerateReader extends MatrixReader {
 
-	protected static CustomProperties _props;
+	protected CustomProperties _props;
 	protected TemplateUtil.SplitOffsetInfos _offsets;
 
 	public MatrixGenerateReader(CustomProperties _props) {
-		MatrixGenerateReader._props = _props;
+		this._props = _props;
 	}
 
 	@Override
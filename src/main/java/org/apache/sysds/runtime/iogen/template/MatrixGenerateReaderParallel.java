@@ -50,7 +50,7 @@ import java.util.concurrent.Future;
 
 public abstract class MatrixGenerateReaderParallel extends MatrixReader {
 
-	protected static CustomProperties _props;
+	protected CustomProperties _props;
 	protected int _numThreads = 1;
 	protected JobConf job;
 	protected TemplateUtil.SplitOffsetInfos _offsets;
@@ -59,7 +59,7 @@ public abstract class MatrixGenerateReaderParallel extends MatrixReader {
 
 	public MatrixGenerateReaderParallel(CustomProperties _props) {
 		_numThreads = OptimizerUtils.getParallelTextReadParallelism();
-		MatrixGenerateReaderParallel._props = _props;
+		this._props = _props;
 	}
 
 	@Override
@@ -343,7 +343,7 @@ public abstract class MatrixGenerateReaderParallel extends MatrixReader {
 		}
 	}
 
-	private static class CountCellRowsTask implements Callable<TemplateUtil.SplitInfo> {
+	private class CountCellRowsTask implements Callable<TemplateUtil.SplitInfo> {
 		private final InputSplit _split;
 		private final TextInputFormat _inputFormat;
 		private final JobConf _jobConf;
@@ -64,6 +64,7 @@ import org.apache.sysds.runtime.lineage.LineageCacheConfig.LineageCacheStatus;
 import org.apache.sysds.runtime.lineage.LineageCacheConfig.ReuseCacheType;
 import org.apache.sysds.runtime.matrix.data.MatrixBlock;
 import org.apache.sysds.runtime.meta.MetaDataFormat;
+import org.apache.sysds.utils.stats.JFREvents;
 
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -208,6 +209,7 @@ public class LineageCache
 					ec.replaceLineageItem(outName, e._key);
 				}
 				maintainReuseStatistics(ec, inst, liList.get(0).getValue());
+				JFREvents.lineageCacheHit(inst.getOpcode(), liList.get(0).getValue()._computeTime);
 			}
 		}
 		
@@ -374,6 +376,7 @@ public class LineageCache
 
 			if (DMLScript.STATISTICS) //increment saved time
 				LineageCacheStatistics.incrementSavedComputeTime(savedComputeTime);
+			JFREvents.lineageCacheHit(name, savedComputeTime);
 		}
 		return reuse;
 	}
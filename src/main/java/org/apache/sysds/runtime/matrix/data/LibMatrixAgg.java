@@ -41,6 +41,7 @@ import org.apache.sysds.runtime.data.DenseBlockFP64DEDUP;
 import org.apache.sysds.runtime.data.DenseBlockFactory;
 import org.apache.sysds.runtime.data.SparseBlock;
 import org.apache.sysds.runtime.data.SparseBlockCSR;
+import org.apache.sysds.runtime.data.SparseBlockDCSR;
 import org.apache.sysds.runtime.data.SparseBlockFactory;
 import org.apache.sysds.runtime.functionobjects.Builtin;
 import org.apache.sysds.runtime.functionobjects.Builtin.BuiltinCode;
@@ -2554,7 +2555,7 @@ public class LibMatrixAgg {
 		if(a.isContiguous()) {
 			final double[] aVal = a.values(rl);
 			final int s = a.pos(rl);
-			final long e = a.size(rl, ru);
+			final long e = s + a.size(rl, ru);
 			for(int i = s; i < e; i++)
 				tmp += aVal[i];
 		}
@@ -2577,6 +2578,18 @@ public class LibMatrixAgg {
 	 * @param ru    Row upper index
 	 */
 	private static void s_uarkp( SparseBlock a, DenseBlock c, int n, KahanObject kbuff, KahanPlus kplus, int rl, int ru ) {
+		//compute row aggregates over non-empty rows of hyper-sparse blocks
+		if( a instanceof SparseBlockDCSR ) {
+			final SparseBlockDCSR da = (SparseBlockDCSR) a;
+			final int[] rix = da.rowIndexes();
+			final int[] rptr = da.rowPointers();
+			for( int k=da.posRowIndex(rl), ku=da.posRowIndex(ru); k<ku; k++ ) {
+				kbuff.set(0, 0); //reset buffer
+				sum( da.values(), rptr[k], rptr[k+1]-rptr[k], kbuff, kplus );
+				c.set(rix[k], kbuff);
+			}
+			return;
+		}
 		//compute row aggregates
 		for( int i=rl; i<ru; i++ ) {
 			if( a.isEmpty(i) ) continue;
@@ -2587,6 +2600,21 @@ public class LibMatrixAgg {
 	}
 
 	private static void s_uarp(SparseBlock a, DenseBlock c, int n, int rl, int ru) {
+		// compute row aggregates over non-empty rows of hyper-sparse blocks
+		// (the output is allocated with zeros)
+		if(a instanceof SparseBlockDCSR) {
+			final SparseBlockDCSR da = (SparseBlockDCSR) a;
+			final int[] rix = da.rowIndexes();
+			final int[] rptr = da.rowPointers();
+			final double[] aVal = da.values();
+			for(int k = da.posRowIndex(rl), ku = da.posRowIndex(ru); k < ku; k++) {
+				double tmp = 0.0;
+				for(int j = rptr[k]; j < rptr[k + 1]; j++)
+					tmp += aVal[j];
+				c.set(rix[k], 0, tmp);
+			}
+			return;
+		}
 		// compute row aggregates
 		for(int i = rl; i < ru; i++)
 			c.set(i, 0, s_sumRow(a, i));
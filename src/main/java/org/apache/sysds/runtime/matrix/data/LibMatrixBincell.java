@@ -35,6 +35,7 @@ import org.apache.sysds.runtime.DMLRuntimeException;
 import org.apache.sysds.runtime.data.DenseBlock;
 import org.apache.sysds.runtime.data.SparseBlock;
 import org.apache.sysds.runtime.data.SparseBlockCSR;
+import org.apache.sysds.runtime.data.SparseBlockDCSR;
 import org.apache.sysds.runtime.data.SparseBlockFactory;
 import org.apache.sysds.runtime.data.SparseBlockMCSR;
 import org.apache.sysds.runtime.data.SparseRow;
@@ -77,6 +78,9 @@ public class LibMatrixBincell {
 
 	private static final Log LOG = LogFactory.getLog(LibMatrixBincell.class.getName());
 	private static final long PAR_NUMCELL_THRESHOLD2 = 16*1024;   //Min 16K elements
+	
+	//enables the two-phase sparse-sparse kernels w/ preallocated CSR output (otherwise MCSR)
+	public static boolean ALLOW_SPARSE_TWO_PHASE = true;
 
 	public enum BinaryAccessType {
 		MATRIX_MATRIX,
@@ -168,7 +172,8 @@ public class LibMatrixBincell {
 		
 		// fallback to singlet-threaded for special cases
 		if( k <= 1 || m1.isEmpty() || !op.sparseSafe 
-			|| ret.getLength() < PAR_NUMCELL_THRESHOLD2 ) {
+			|| ret.getLength() < PAR_NUMCELL_THRESHOLD2
+			|| m1.sparseBlock instanceof SparseBlockDCSR ) {
 			bincellOpScalarSingleThread(m1, ret, op);
 		}
 		else{
@@ -208,6 +213,26 @@ public class LibMatrixBincell {
 			if(skipEmpty && (e1 || e2))
 				return ret;
 			
+			//hyper-sparse inputs with sparse-safe operations (union of non-empty rows)
+			if(atype == BinaryAccessType.MATRIX_MATRIX && op.sparseSafe && ret.sparse
+				&& m1.sparseBlock instanceof SparseBlockDCSR && m2.sparseBlock instanceof SparseBlockDCSR) {
+				safeBinaryMMSparseSparseDCSR(m1, m2, ret, op);
+				if(ret.isEmptyBlock(false))
+					ret.examSparsity();
+				return ret;
+			}
+			
+			//sparse-safe operations over sparse inputs, two-phase into a preallocated CSR output
+			if(ALLOW_SPARSE_TWO_PHASE && atype == BinaryAccessType.MATRIX_MATRIX && op.sparseSafe
+				&& ret.sparse && m1.sparse && m2.sparse && !e1 && !e2 && m1.sparseBlock.size() + m2.sparseBlock.size() <= Integer.MAX_VALUE) {
+				int k2 = (ret.getLength() < PAR_NUMCELL_THRESHOLD2 || !CommonThreadPool.useParallelismOnThread()) ?
+					1 : op.getNumThreads();
+				safeBinaryMMSparseSparseCSR(m1, m2, ret, op, k2);
+				if(ret.isEmptyBlock(false))
+					ret.examSparsity(k2);
+				return ret;
+			}
+			
 			ret.allocateBlock();
 			int k = op.getNumThreads();
 
@@ -454,7 +479,9 @@ public class LibMatrixBincell {
 	private static void bincellOpScalarSingleThread(MatrixBlock m1, MatrixBlock ret, ScalarOperator op) {	
 		//execute binary cell operations
 		long nnz = 0;
-		if(op.sparseSafe)
+		if(op.sparseSafe && ret.sparse && m1.sparseBlock instanceof SparseBlockDCSR)
+			nnz = safeBinaryScalarDCSR(m1, ret, op);
+		else if(op.sparseSafe)
 			nnz = safeBinaryScalar(m1, ret, op, 0, m1.rlen);
 		else
 			nnz = unsafeBinaryScalar(m1, ret, op);
@@ -590,7 +617,39 @@ public class LibMatrixBincell {
 		final int m = m1.rlen;
 		final int n = m1.clen;
 		
-		if( m1.sparse && ret.sparse ) //SPARSE <- SPARSE
+		if( m1.sparse && ret.sparse && m1.sparseBlock instanceof SparseBlockDCSR ) //DCSR <- DCSR
+		{
+			//map the non-zeros of the non-empty rows of the hyper-sparse input,
+			//directly into DCSR (w/o allocating all output rows)
+			SparseBlockDCSR a = (SparseBlockDCSR) m1.sparseBlock;
+			int[] rix = a.rowIndexes();
+			int[] rptr = a.rowPointers();
+			int[] aix = a.indexes();
+			double[] avals = a.values();
+			int nnzr = a.numNonEmptyRows();
+			int[] crix = new int[nnzr];
+			int[] crptr = new int[nnzr+1];
+			int[] cix = new int[(int) a.size()];
+			double[] cvals = new double[cix.length];
+			int cnnzr = 0, p = 0;
+			for( int k=0; k<nnzr; k++ ) {
+				int p0 = p;
+				for( int j=rptr[k]; j<rptr[k+1]; j++ ) {
+					double val = op.fn.execute(avals[j]);
+					if( val != 0 ) {
+						cix[p] = aix[j];
+						cvals[p++] = val;
+					}
+				}
+				if( p > p0 ) {
+					crix[cnnzr] = rix[k];
+					crptr[++cnnzr] = p;
+				}
+			}
+			ret.sparseBlock = new SparseBlockDCSR(crix, crptr, cix, cvals, m, p, cnnzr);
+			ret.nonZeros = p;
+		}
+		else if( m1.sparse && ret.sparse ) //SPARSE <- SPARSE
 		{
 			ret.allocateSparseRowsBlock();
 			SparseBlock a = m1.sparseBlock;
@@ -2255,6 +2314,187 @@ public class LibMatrixBincell {
 			return safeBinaryScalarDenseDense(m1, ret, op, rl, ru);
 	}
 
+	private static long safeBinaryScalarDCSR(MatrixBlock m1, MatrixBlock ret, ScalarOperator op) {
+		//sparse-safe operation over the non-empty rows of the hyper-sparse input, which
+		//directly constructs the output in DCSR (w/o allocating all output rows)
+		final SparseBlockDCSR a = (SparseBlockDCSR) m1.sparseBlock;
+		final int[] rix = a.rowIndexes();
+		final int[] rptr = a.rowPointers();
+		final int[] aix = a.indexes();
+		final double[] avals = a.values();
+		final int nnzr = a.numNonEmptyRows();
+		final int[] crix = new int[nnzr];
+		final int[] crptr = new int[nnzr + 1];
+		final int[] cix = new int[(int) a.size()];
+		final double[] cvals = new double[cix.length];
+		int cnnzr = 0, p = 0;
+		for(int k = 0; k < nnzr; k++) {
+			final int p0 = p;
+			for(int j = rptr[k]; j < rptr[k + 1]; j++) {
+				final double v = op.executeScalar(avals[j]);
+				if(v != 0) {
+					cix[p] = aix[j];
+					cvals[p++] = v;
+				}
+			}
+			if(p > p0) {
+				crix[cnnzr] = rix[k];
+				crptr[++cnnzr] = p;
+			}
+		}
+		ret.sparseBlock = new SparseBlockDCSR(crix, crptr, cix, cvals, m1.rlen, p, cnnzr);
+		return p;
+	}
+
+	private static void safeBinaryMMSparseSparseDCSR(MatrixBlock m1, MatrixBlock m2, MatrixBlock ret,
+		BinaryOperator op) {
+		//merge of the non-empty rows of both hyper-sparse inputs (rows that are empty 
+		//in both inputs remain empty due to sparse-safeness), directly into DCSR
+		final SparseBlockDCSR a = (SparseBlockDCSR) m1.sparseBlock;
+		final SparseBlockDCSR b = (SparseBlockDCSR) m2.sparseBlock;
+		final int[] arix = a.rowIndexes(), arptr = a.rowPointers(), aix = a.indexes();
+		final int[] brix = b.rowIndexes(), brptr = b.rowPointers(), bix = b.indexes();
+		final double[] avals = a.values(), bvals = b.values();
+		final int na = a.numNonEmptyRows();
+		final int nb = b.numNonEmptyRows();
+		final int[] crix = new int[na + nb];
+		final int[] crptr = new int[na + nb + 1];
+		final int[] cix = new int[(int) (a.size() + b.size())];
+		final double[] cvals = new double[cix.length];
+		int ka = 0, kb = 0, cnnzr = 0, p = 0;
+		while(ka < na || kb < nb) {
+			final int ra = (ka < na) ? arix[ka] : Integer.MAX_VALUE;
+			final int rb = (kb < nb) ? brix[kb] : Integer.MAX_VALUE;
+			final int r = Math.min(ra, rb);
+			int apos = 0, aend = 0, bpos = 0, bend = 0;
+			if(ra == r) {
+				apos = arptr[ka];
+				aend = arptr[++ka];
+			}
+			if(rb == r) {
+				bpos = brptr[kb];
+				bend = brptr[++kb];
+			}
+			final int p0 = p;
+			while(apos < aend || bpos < bend) {
+				final int ca = (apos < aend) ? aix[apos] : Integer.MAX_VALUE;
+				final int cb = (bpos < bend) ? bix[bpos] : Integer.MAX_VALUE;
+				final int c = Math.min(ca, cb);
+				final double v = op.fn.execute((ca == c) ? avals[apos++] : 0, (cb == c) ? bvals[bpos++] : 0);
+				if(v != 0) {
+					cix[p] = c;
+					cvals[p++] = v;
+				}
+			}
+			if(p > p0) {
+				crix[cnnzr] = r;
+				crptr[++cnnzr] = p;
+			}
+		}
+		ret.sparseBlock = new SparseBlockDCSR(crix, crptr, cix, cvals, ret.rlen, p, cnnzr);
+		ret.nonZeros = p;
+	}
+
+	private static void safeBinaryMMSparseSparseCSR(MatrixBlock m1, MatrixBlock m2, MatrixBlock ret,
+		BinaryOperator op, int k) {
+		//two-phase construction: (1) symbolic phase that counts the union of non-zero
+		//positions per row, (2) numeric phase that fills the rows of the once allocated
+		//CSR block in parallel, followed by a compaction if the operation produced zeros
+		//(multiply only merges the intersection of rows, and skips rows where either side is empty)
+		final SparseBlock a = m1.sparseBlock;
+		final SparseBlock b = m2.sparseBlock;
+		final boolean mult = op.fn instanceof Multiply;
+		final int m = ret.rlen;
+		final int[] rptr = new int[m + 1];
+		final long bound = LibMatrixMult.executeRowRanges(m, k, 
+			(rl, ru) -> countSparseSparseMerge(a, b, mult, rptr, rl, ru));
+		for(int i = 0; i < m; i++)
+			rptr[i + 1] += rptr[i];
+		final int[] cix = new int[(int) bound];
+		final double[] cvals = new double[(int) bound];
+		final long nnz = LibMatrixMult.executeRowRanges(m, k, 
+			(rl, ru) -> mergeSparseSparseRows(a, b, op, mult, rptr, cix, cvals, rl, ru));
+		final SparseBlockCSR c = new SparseBlockCSR(rptr, cix, cvals, (int) bound);
+		if(nnz < bound)
+			c.compact();
+		ret.sparseBlock = c;
+		ret.nonZeros = nnz;
+	}
+
+	private static long countSparseSparseMerge(SparseBlock a, SparseBlock b, boolean mult, int[] rptr, int rl,
+		int ru) {
+		long lnnz = 0;
+		for(int r = rl; r < ru; r++) {
+			final int alen = a.isEmpty(r) ? 0 : a.size(r);
+			final int blen = b.isEmpty(r) ? 0 : b.size(r);
+			int common = 0;
+			if(alen > 0 && blen > 0) {
+				final int[] aix = a.indexes(r);
+				final int[] bix = b.indexes(r);
+				final int aend = a.pos(r) + alen;
+				final int bend = b.pos(r) + blen;
+				for(int i = a.pos(r), j = b.pos(r); i < aend && j < bend;) {
+					if(aix[i] < bix[j])
+						i++;
+					else if(aix[i] > bix[j])
+						j++;
+					else {
+						common++;
+						i++;
+						j++;
+					}
+				}
+			}
+			//multiply skips rows where either side is empty (like the MCSR kernels)
+			rptr[r + 1] = !mult ? alen + blen - common : (alen > 0 && blen > 0) ? common : 0;
+			lnnz += rptr[r + 1];
+		}
+		return lnnz;
+	}
+
+	private static long mergeSparseSparseRows(SparseBlock a, SparseBlock b, BinaryOperator op, boolean mult,
+		int[] rptr, int[] cix, double[] cvals, int rl, int ru) {
+		long lnnz = 0;
+		for(int r = rl; r < ru; r++) {
+			if(rptr[r + 1] == rptr[r])
+				continue;
+			final boolean ea = a.isEmpty(r);
+			final boolean eb = b.isEmpty(r);
+			int apos = ea ? 0 : a.pos(r);
+			int bpos = eb ? 0 : b.pos(r);
+			final int aend = ea ? 0 : apos + a.size(r);
+			final int bend = eb ? 0 : bpos + b.size(r);
+			final int[] aix = ea ? null : a.indexes(r);
+			final int[] bix = eb ? null : b.indexes(r);
+			final double[] avals = ea ? null : a.values(r);
+			final double[] bvals = eb ? null : b.values(r);
+			if(mult) { //intersection (both rows non-empty, otherwise rptr=0)
+				for(int p = rptr[r]; apos < aend && bpos < bend;) {
+					if(aix[apos] < bix[bpos])
+						apos++;
+					else if(aix[apos] > bix[bpos])
+						bpos++;
+					else {
+						cix[p] = aix[apos];
+						cvals[p] = op.fn.execute(avals[apos++], bvals[bpos++]);
+						lnnz += (cvals[p++] != 0) ? 1 : 0;
+					}
+				}
+				continue;
+			}
+			//union, zeros are retained and removed by compaction
+			for(int p = rptr[r]; apos < aend || bpos < bend; p++) {
+				final int ca = (apos < aend) ? aix[apos] : Integer.MAX_VALUE;
+				final int cb = (bpos < bend) ? bix[bpos] : Integer.MAX_VALUE;
+				final int c = Math.min(ca, cb);
+				cix[p] = c;
+				cvals[p] = op.fn.execute((ca == c) ? avals[apos++] : 0, (cb == c) ? bvals[bpos++] : 0);
+				lnnz += (cvals[p] != 0) ? 1 : 0;
+			}
+		}
+		return lnnz;
+	}
+
 	private static long safeBinaryScalarSparseSparse(MatrixBlock m1, MatrixBlock ret, ScalarOperator op, int rl,
 		int ru) {
 		ret.allocateSparseRowsBlock();
@@ -2796,6 +3036,9 @@ public class LibMatrixBincell {
 
 		if(m1ret.isEmpty()) // early termination... it is empty and safe... just stop.
 			return;
+		//the in-place compaction requires MCSR or CSR, hence we convert DCSR to CSR
+		if(m1ret.sparseBlock instanceof SparseBlockDCSR)
+			m1ret.sparseBlock = new SparseBlockCSR(m1ret.sparseBlock);
 		final SparseBlock sb = m1ret.getSparseBlock();
 		final double[] b = m2.getDenseBlockValues();
 		final int rlen = m1ret.rlen;
@@ -19,15 +19,16 @@
 
 package org.apache.sysds.runtime.matrix.data;
 
-import java.util.HashMap;
-import java.util.HashSet;
-import java.util.Map;
-import java.util.Set;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
 import org.apache.commons.lang3.NotImplementedException;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.apache.sysds.api.DMLException;
+import org.apache.sysds.runtime.DMLRuntimeException;
 import org.apache.sysds.runtime.compress.CompressedMatrixBlock;
 import org.apache.sysds.runtime.data.DenseBlock;
 import org.apache.sysds.runtime.data.SparseBlock;
@@ -39,6 +40,8 @@ import org.apache.sysds.runtime.matrix.data.sketch.MatrixSketch;
 import org.apache.sysds.runtime.matrix.data.sketch.MatrixSketchFactory;
 import org.apache.sysds.runtime.matrix.operators.CountDistinctOperator;
 import org.apache.sysds.runtime.matrix.operators.CountDistinctOperatorTypes;
+import org.apache.sysds.runtime.util.CommonThreadPool;
+import org.apache.sysds.runtime.util.DoubleHashSet;
 import org.apache.sysds.utils.Hash.HashType;
 
 /**
@@ -53,6 +56,12 @@ public interface LibMatrixCountDistinct {
 	 */
 	int minimumSize = 1024;
 
+	/**
+	 * The minimum number of cells in the input before counting the exact number of distinct values over all cells
+	 * with multiple threads.
+	 */
+	long PAR_NUMCELL_THRESHOLD = 1024 * 1024;
+
 	/**
 	 * Public method to count the number of distinct values inside a matrix. Depending on which CountDistinctOperator
 	 * selected it either gets the absolute number or a estimated value.
@@ -69,9 +78,6 @@ public interface LibMatrixCountDistinct {
 			throw new DMLException(
 				"Invalid hashing configuration using " + op.getHashType() + " and " + op.getOperatorType());
 		}
-		else if(op.getOperatorType() == CountDistinctOperatorTypes.HLL) {
-			throw new NotImplementedException("HyperLogLog has not been implemented yet");
-		}
 
 		// shortcut in the simplest case.
 		if(in.getLength() == 1 || in.isEmpty()) {
@@ -104,6 +110,7 @@ public interface LibMatrixCountDistinct {
 					res = countDistinctValuesNaive(in, op);
 					break;
 				case KMV:
+				case HLL:
 					res = MatrixSketchFactory.get(op).getValue(in);
 					break;
 				default:
@@ -131,46 +138,22 @@ public interface LibMatrixCountDistinct {
 			throw new NotImplementedException("countDistinct() does not support CompressedMatrixBlock");
 		}
 
-		Set<Double> distinct = new HashSet<>();
+		DoubleHashSet distinct = new DoubleHashSet();
 		MatrixBlock blkOut;
 		double[] data;
 
 		if (op.getDirection().isRowCol()) {
 			blkOut = new MatrixBlock(1, 1, false);
 
-			long distinctCount = 0;
-			long nonZeros = blkIn.getNonZeros();
-
-			// Check if input matrix contains any 0 values for RowCol case.
-			// This does not apply to row/col case, where we count nnz per row or col during iteration.
-			if(nonZeros != -1 && nonZeros < (long) blkIn.getNumColumns() * blkIn.getNumRows()) {
-				distinct.add(0d);
-			}
-
-			if(blkIn.getSparseBlock() != null) {
-				SparseBlock sb = blkIn.getSparseBlock();
-				if(blkIn.getSparseBlock().isContiguous()) {
-					// COO, CSR
-					data = sb.values(0);
-					distinctCount = countDistinctValuesNaive(data, distinct);
-				} else {
-					// MCSR
-					for(int i = 0; i < blkIn.getNumRows(); i++) {
-						if(!sb.isEmpty(i)) {
-							data = blkIn.getSparseBlock().values(i);
-							distinctCount = countDistinctValuesNaive(data, distinct);
-						}
-					}
-				}
-			} else if(blkIn.getDenseBlock() != null) {
-				DenseBlock db = blkIn.getDenseBlock();
-				for (int i = 0; i <= db.numBlocks(); i++) {
-					data = db.valuesAt(i);
-					distinctCount = countDistinctValuesNaive(data, distinct);
-				}
-			}
+			// Count on disjoint row partitions with thread-local sets, which are merged afterwards.
+			// Note that implicit zeros are detected per row, which also covers unknown nnz.
+			int k = op.getNumThreads();
+			if(k > 1 && blkIn.getNumRows() > 1 && (long) blkIn.getNumRows() * blkIn.getNumColumns() > PAR_NUMCELL_THRESHOLD)
+				distinct = countDistinctValuesNaiveParallel(blkIn, k);
+			else
+				countDistinctValuesNaive(blkIn, 0, blkIn.getNumRows(), distinct);
 
-			blkOut.set(0, 0, distinctCount);
+			blkOut.set(0, 0, distinct.size());
 		} else if (op.getDirection().isRow()) {
 			blkOut = new MatrixBlock(blkIn.getNumRows(), 1, false, blkIn.getNumRows());
 			blkOut.allocateBlock();
@@ -203,8 +186,7 @@ public interface LibMatrixCountDistinct {
 							continue;
 						}
 						distinct.clear();
-						data = sb.values(rix);
-						countDistinctValuesNaive(data, distinct);
+						distinct.addAll(sb.values(rix), sb.pos(rix), sb.size(rix));
 						blkOut.set(rix, 0, distinct.size());
 					}
 				} else if (SparseBlockFactory.isSparseBlockType(sb, SparseBlock.Type.CSR)) {
@@ -220,11 +202,7 @@ public interface LibMatrixCountDistinct {
 							continue;
 						}
 						distinct.clear();
-						int rpos = csrBlock.pos(rix);
-						int clen = csrBlock.size(rix);
-						for (int colOffset=0; colOffset<clen; ++colOffset) {
-							distinct.add(data[rpos + colOffset]);
-						}
+						distinct.addAll(data, csrBlock.pos(rix), csrBlock.size(rix));
 						blkOut.set(rix, 0, distinct.size());
 					}
 				} else { // COO
@@ -263,22 +241,21 @@ public interface LibMatrixCountDistinct {
 			// in column-major order besides iterating through every (i, j) pair. getValue() skips over empty cells in CSR
 			// and MCSR formats, but not so in COO format. This results in O(log2 R * log2 C) time for every lookup,
 			// amounting to O(RC * log2R * log2C) for the whole block (R, C <= 1000 in CP case). We will eschew this
-			// approach in favor of one using a hash map M of (column index, distinct values) to obtain a pseudo column-major
-			// grouping of distinct values instead. Given this setup, we will simply iterate over the input
+			// approach in favor of one using an array M of per-column sets of distinct values to obtain a pseudo
+			// column-major grouping of distinct values instead. Given this setup, we will simply iterate over the input
 			// (according to specific dense/sparse format) in row-major order and populate M. Finally, an O(C) iteration
 			// over M will yield the final result.
-			Map<Integer, Set<Double>> distinctValuesByCol = new HashMap<>();
+			DoubleHashSet[] distinctValuesByCol = new DoubleHashSet[blkIn.getNumColumns()];
 			if (blkIn.getDenseBlock() != null) {
 				DenseBlock db = blkIn.getDenseBlock();
 				for (int bix=0; bix<db.numBlocks(); ++bix) {
 					data = db.valuesAt(bix);
 					for (int cix=0; cix<blkIn.getNumColumns(); ++cix) {
-						Set<Double> distinctValues = distinctValuesByCol.getOrDefault(cix, new HashSet<>());
+						DoubleHashSet distinctValues = getColumnSet(distinctValuesByCol, cix);
 						for (int rix=bix * db.blockSize(); rix<blkIn.getNumRows(); rix++) {
 							double val = data[db.pos(rix, cix)];
 							distinctValues.add(val);
 						}
-						distinctValuesByCol.put(cix, distinctValues);
 					}
 				}
 			} else if (blkIn.getSparseBlock() != null) {
@@ -291,27 +268,21 @@ public interface LibMatrixCountDistinct {
 						int[] cixs = sb.indexes(rix);
 						data = sb.values(rix);
 						for (int j=0; j<sb.size(rix); ++j) {
-							int cix = cixs[j];
-							Set<Double> distinctValues = distinctValuesByCol.getOrDefault(cix, new HashSet<>());
-							distinctValues.add(data[j]);
-							distinctValuesByCol.put(cix, distinctValues);
+							getColumnSet(distinctValuesByCol, cixs[j]).add(data[j]);
 						}
 					}
 				} else if (SparseBlockFactory.isSparseBlockType(sb, SparseBlock.Type.CSR)) {
 					SparseBlockCSR csrBlock = (SparseBlockCSR) sb;
 					data = csrBlock.values();
+					int[] cixs = csrBlock.indexes();
 					for (int rix=0; rix<blkIn.getNumRows(); ++rix) {
 						if (csrBlock.isEmpty(rix)) {
 							continue;
 						}
 						int rpos = csrBlock.pos(rix);
 						int clen = csrBlock.size(rix);
-						int[] cixs = csrBlock.indexes();
 						for (int colOffset=0; colOffset<clen; ++colOffset) {
-							int cix = cixs[rpos + colOffset];
-							Set<Double> distinctValues = distinctValuesByCol.getOrDefault(cix, new HashSet<>());
-							distinctValues.add(data[rpos + colOffset]);
-							distinctValuesByCol.put(cix, distinctValues);
+							getColumnSet(distinctValuesByCol, cixs[rpos + colOffset]).add(data[rpos + colOffset]);
 						}
 					}
 				} else {  // COO
@@ -327,36 +298,97 @@ public interface LibMatrixCountDistinct {
 					int i = 0;  // data iterator
 					while (i < rixs.length) {
 						while (i + 1 < rixs.length && rixs[i] == rixs[i + 1]) {
-							int cix = cixs[i];
-							Set<Double> distinctValues = distinctValuesByCol.getOrDefault(cix, new HashSet<>());
-							distinctValues.add(data[i]);
-							distinctValuesByCol.put(cix, distinctValues);
+							getColumnSet(distinctValuesByCol, cixs[i]).add(data[i]);
 							i++;
 						}
 						if (i + 1 < rixs.length) {
-							int cix = cixs[i];
-							Set<Double> distinctValues = distinctValuesByCol.getOrDefault(cix, new HashSet<>());
-							distinctValues.add(data[i]);
-							distinctValuesByCol.put(cix, distinctValues);
+							getColumnSet(distinctValuesByCol, cixs[i]).add(data[i]);
 						}
 						i++;
 					}
 				}
 			}
 			// Fill in output block with column aggregation results
-			for (int cix : distinctValuesByCol.keySet()) {
-				blkOut.set(0, cix, distinctValuesByCol.get(cix).size());
+			for (int cix=0; cix<distinctValuesByCol.length; ++cix) {
+				if (distinctValuesByCol[cix] != null) {
+					blkOut.set(0, cix, distinctValuesByCol[cix].size());
+				}
 			}
 		}
 
 		return blkOut;
 	}
 
-	private static long countDistinctValuesNaive(double[] valuesPart, Set<Double> distinct) {
-		for(double v : valuesPart)
-			distinct.add(v);
+	private static DoubleHashSet getColumnSet(DoubleHashSet[] sets, int cix) {
+		if (sets[cix] == null) {
+			sets[cix] = new DoubleHashSet();
+		}
+		return sets[cix];
+	}
+
+	private static void countDistinctValuesNaive(MatrixBlock blkIn, int rl, int ru, DoubleHashSet distinct) {
+		final int clen = blkIn.getNumColumns();
+		if(blkIn.isInSparseFormat()) {
+			SparseBlock sb = blkIn.getSparseBlock();
+			for(int i = rl; i < ru; i++) {
+				if(sb == null || sb.isEmpty(i)) {
+					distinct.add(0);
+					continue;
+				}
+				int size = sb.size(i);
+				if(size < clen)
+					distinct.add(0);
+				distinct.addAll(sb.values(i), sb.pos(i), size);
+			}
+		}
+		else {
+			DenseBlock db = blkIn.getDenseBlock();
+			for(int i = rl; i < ru; i++)
+				distinct.addAll(db.values(i), db.pos(i), clen);
+		}
+	}
+
+	private static DoubleHashSet countDistinctValuesNaiveParallel(MatrixBlock blkIn, int k) {
+		final ExecutorService pool = CommonThreadPool.get(k);
+		try {
+			// thread-local partial sets over disjoint row ranges
+			final int rlen = blkIn.getNumRows();
+			final int blklen = (int) Math.ceil((double) rlen / k);
+			List<Future<DoubleHashSet>> tasks = new ArrayList<>();
+			for(int rl = 0; rl < rlen; rl += blklen) {
+				final int lrl = rl, lru = Math.min(rl + blklen, rlen);
+				tasks.add(pool.submit(() -> {
+					DoubleHashSet partial = new DoubleHashSet();
+					countDistinctValuesNaive(blkIn, lrl, lru, partial);
+					return partial;
+				}));
+			}
 
-		return distinct.size();
+			// pairwise tree merge of partial sets, merging the smaller into the larger set
+			while(tasks.size() > 1) {
+				List<Future<DoubleHashSet>> merged = new ArrayList<>();
+				for(int i = 0; i < tasks.size(); i += 2) {
+					if(i + 1 == tasks.size()) {
+						merged.add(tasks.get(i));
+						continue;
+					}
+					final DoubleHashSet a = tasks.get(i).get(), b = tasks.get(i + 1).get();
+					merged.add(pool.submit(() -> {
+						DoubleHashSet large = a.size() >= b.size() ? a : b;
+						large.addAll(large == a ? b : a);
+						return large;
+					}));
+				}
+				tasks = merged;
+			}
+			return tasks.get(0).get();
+		}
+		catch(Exception ex) {
+			throw new DMLRuntimeException(ex);
+		}
+		finally {
+			pool.shutdown();
+		}
 	}
 
 	static MatrixBlock countDistinctValuesFromSketch(CountDistinctOperator op, CorrMatrixBlock corrBlkIn) {
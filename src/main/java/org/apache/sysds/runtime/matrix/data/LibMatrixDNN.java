@@ -659,7 +659,7 @@ public class LibMatrixDNN {
 			params.output3.allocateDenseBlock();
 			params.output4.allocateDenseBlock();
 			params.output5.allocateDenseBlock();
-			nnz = execute(LibMatrixDNNLSTM.getLSTMWorkers(params), params);
+			nnz = LibMatrixDNNLSTM.lstmFused(params);
 		}
 		else
 			nnz = LibMatrixDNNLSTM.lstmGeneric(params);
@@ -670,11 +670,8 @@ public class LibMatrixDNN {
 
 	public static void lstmBackward(DnnParameters params) {
 		long nnz;
-		if(LibMatrixDNNLSTM.checkLSTMBackwardInputForOptimisation(params)){
-			//out.allocateDenseBlock();
-			//cout.allocateDenseBlock();
-			nnz = execute(LibMatrixDNNLSTM.getLSTMWorkers(params), params);
-		}
+		if(LibMatrixDNNLSTM.checkLSTMBackwardInputForOptimisation(params))
+			nnz = LibMatrixDNNLSTM.lstmBackwardFused(params);
 		else
 			nnz = LibMatrixDNNLSTM.lstmBackwardGeneric(params);
 		//post-processing: maintain nnz
@@ -688,7 +685,7 @@ public class LibMatrixDNN {
 	 * @param tasks deep learning related tasks
 	 * @param params convolution parameters
 	 */
-	private static long execute(ArrayList<Callable<Long>> tasks, DnnParameters params) {
+	static long execute(ArrayList<Callable<Long>> tasks, DnnParameters params) {
 		int k = OptimizerUtils.getConstrainedNumThreads(params.numThreads);
 		long lnnz = 0;
 		try {
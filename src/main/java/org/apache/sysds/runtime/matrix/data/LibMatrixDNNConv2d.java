@@ -34,6 +34,19 @@ import org.apache.sysds.utils.stats.NativeStatistics;
  */
 public class LibMatrixDNNConv2d 
 {
+	public static enum ConvAlgorithm {
+		IM2COL, DIRECT, WINOGRAD
+	}
+	
+	/** Forced convolution algorithm for dense inputs (if supported), or null to apply the cost heuristic */
+	public static ConvAlgorithm FORCED_ALGORITHM = null;
+	
+	//max size of the per-thread im2col intermediate (in cells) before preferring direct convolutions
+	private static final long IM2COL_MAX_CELLS = 256 * 1024;
+	
+	//number of output (or input) channels processed together by the direct kernels
+	private static final int BLOCKSIZE_K = 8;
+	
 	/**
 	 * Factory method that returns list of callable tasks for performing conv2d
 	 * 
@@ -64,10 +77,19 @@ public class LibMatrixDNNConv2d
 				new MatrixBlock(params.input2.clen, params.input2.rlen, false), k);
 		}
 		
+		ConvAlgorithm alg = applyNative ? ConvAlgorithm.IM2COL :
+			getConv2dAlgorithm(params, params.input1, params.input2);
+		double[] U = (alg == ConvAlgorithm.WINOGRAD) ? LibMatrixDNNWinograd
+			.transformFilter(params.input2.getDenseBlockValues(), params.K, params.C, false) : null;
+		
 		for(int i = 0; i*taskSize < params.N; i++) {
 			//note: we prefer the java backend for sparse inputs because the native 
 			//implementation simply converts the sparse input into dense rows
-			if( applyNative ) 
+			if( alg == ConvAlgorithm.WINOGRAD )
+				ret.add(new LibMatrixDNNWinograd.WinogradConv2d(i*taskSize, Math.min((i+1)*taskSize, params.N), params, U));
+			else if( alg == ConvAlgorithm.DIRECT )
+				ret.add(new DirectConv2d(i*taskSize, Math.min((i+1)*taskSize, params.N), params));
+			else if( applyNative ) 
 				ret.add(new SparseNativeConv2d(i*taskSize, Math.min((i+1)*taskSize, params.N), params));
 			else if(!isEmptyDenseInput && isTransPref)
 				ret.add(new LoopedIm2ColConv2dTransAllChan(i*taskSize, Math.min((i+1)*taskSize, params.N), params));
@@ -100,10 +122,15 @@ public class LibMatrixDNNConv2d
 		if( applyNative )
 			NativeStatistics.incrementNumSparseConv2dBwdFilterCalls();
 		
+		ConvAlgorithm alg = applyNative ? ConvAlgorithm.IM2COL :
+			getConv2dAlgorithm(params, params.input1, params.input2);
+		
 		for(int i = 0; i*taskSize < params.N; i++) {
 			//note: we prefer the java backend for sparse filters because the native 
 			//implementation simply rotates the sparse filters into dense rows
-			if( applyNative ) 
+			if( alg == ConvAlgorithm.DIRECT ) //no winograd variant
+				ret.add(new DirectConv2dBackwardFilter(i*taskSize, Math.min((i+1)*taskSize, params.N), params));
+			else if( applyNative ) 
 				ret.add(new SparseNativeConv2dBackwardFilterDense(i*taskSize, Math.min((i+1)*taskSize, params.N), params));
 			else if( params.input2.sparse && params.input1.getSparsity() > params.input2.getSparsity() )
 				ret.add(new Conv2dBackwardFilterTrans(i*taskSize, Math.min((i+1)*taskSize, params.N), params));
@@ -137,10 +164,19 @@ public class LibMatrixDNNConv2d
 		if( applyNative )
 			NativeStatistics.incrementNumSparseConv2dBwdDataCalls();
 		
+		ConvAlgorithm alg = applyNative ? ConvAlgorithm.IM2COL :
+			getConv2dAlgorithm(params, params.input2, params.input1);
+		double[] U = (alg == ConvAlgorithm.WINOGRAD) ? LibMatrixDNNWinograd
+			.transformFilter(params.input1.getDenseBlockValues(), params.K, params.C, true) : null;
+		
 		for(int i = 0; i*taskSize < params.N; i++) {
 			//note: we prefer the java backend for sparse filters because the native 
 			//implementation simply converts the sparse filters into dense rows
-			if( applyNative ) 
+			if( alg == ConvAlgorithm.WINOGRAD )
+				ret.add(new LibMatrixDNNWinograd.WinogradConv2dBackwardData(i*taskSize, Math.min((i+1)*taskSize, params.N), params, U));
+			else if( alg == ConvAlgorithm.DIRECT )
+				ret.add(new DirectConv2dBackwardData(i*taskSize, Math.min((i+1)*taskSize, params.N), params));
+			else if( applyNative ) 
 				ret.add(new SparseNativeConv2dBackwardDataDense(i*taskSize, Math.min((i+1)*taskSize, params.N), params));
 			else if(!isEmptyDenseInput)
 				ret.add(new Conv2dBackwardData(i*taskSize, Math.min((i+1)*taskSize, params.N), params));
@@ -537,6 +573,218 @@ public class LibMatrixDNNConv2d
 		}
 	}
 	
+	/**
+	 * Selects the convolution algorithm based on a simple cost heuristic. The dense algorithms require dense,
+	 * single-block inputs and outputs. Winograd F(2x2,3x3) reduces the number of multiplies by 2.25x for
+	 * 3x3 filters with unit strides, but requires enough channels and filters to amortize the transforms.
+	 * Direct convolutions avoid the R*S memory inflation of im2col, which pays off for large im2col
+	 * intermediates or few filters, where the subsequent matrix multiplication is bandwidth-bound.
+	 * 
+	 * @param params convolution parameters
+	 * @param images input images or errors of shape [N x C*H*W] or [N x K*P*Q]
+	 * @param filter filter of shape [K x C*R*S]
+	 * @return the convolution algorithm
+	 */
+	public static ConvAlgorithm getConv2dAlgorithm(DnnParameters params, MatrixBlock images, MatrixBlock filter) {
+		if( !isDenseSingleBlock(images) || !isDenseSingleBlock(filter) || !isDenseSingleBlock(params.output) )
+			return ConvAlgorithm.IM2COL;
+		boolean winograd = LibMatrixDNNWinograd.isSupported(params) && params.P >= 2 && params.Q >= 2;
+		if( FORCED_ALGORITHM != null )
+			return (FORCED_ALGORITHM != ConvAlgorithm.WINOGRAD || winograd) ?
+				FORCED_ALGORITHM : ConvAlgorithm.DIRECT;
+		if( winograd && params.C * params.K >= 64 )
+			return ConvAlgorithm.WINOGRAD;
+		long im2colCells = (long) params.C * params.R * params.S * params.P * params.Q;
+		if( params.R * params.S > 1 && (params.K <= 16 || im2colCells > IM2COL_MAX_CELLS) )
+			return ConvAlgorithm.DIRECT;
+		return ConvAlgorithm.IM2COL;
+	}
+	
+	private static boolean isDenseSingleBlock(MatrixBlock mb) {
+		return !mb.isInSparseFormat() && mb.getDenseBlock() != null && mb.getDenseBlock().isContiguous();
+	}
+	
+	/**
+	 * Performs conv2d directly on the dense NCHW input without im2col intermediates, blocked over
+	 * output channels in order to reuse the input channel planes across filters.
+	 */
+	private static class DirectConv2d implements Callable<Long> 
+	{
+		private final int _rl, _ru;
+		private final DnnParameters _params;
+		
+		public DirectConv2d(int rl, int ru, DnnParameters params) {
+			_rl = rl; _ru = ru;
+			_params = params;
+		}
+		
+		@Override
+		public Long call() throws Exception {
+			final int C = _params.C, H = _params.H, W = _params.W, K = _params.K;
+			final int R = _params.R, S = _params.S, P = _params.P, Q = _params.Q;
+			final int CHW = C*H*W, HW = H*W, PQ = P*Q, CRS = C*R*S, RS = R*S;
+			final int sh = _params.stride_h, sw = _params.stride_w, ph = _params.pad_h, pw = _params.pad_w;
+			double[] in = _params.input1.getDenseBlockValues();
+			double[] filter = _params.input2.getDenseBlockValues();
+			double[] out = _params.output.getDenseBlockValues();
+			int[] qmin = new int[S], qmax = new int[S];
+			getValidRange(S, Q, W, sw, pw, qmin, qmax);
+			
+			for(int n = _rl; n < _ru; n++) {
+				for(int bk = 0; bk < K; bk += BLOCKSIZE_K) {
+					int bkmin = Math.min(K, bk + BLOCKSIZE_K);
+					for(int c = 0; c < C; c++)
+						for(int k = bk; k < bkmin; k++) {
+							int outOff = n*K*PQ + k*PQ;
+							for(int r = 0; r < R; r++)
+								for(int s = 0; s < S; s++) {
+									double w = filter[k*CRS + c*RS + r*S + s];
+									if( w == 0 || qmin[s] >= qmax[s] ) continue;
+									for(int p = 0; p < P; p++) {
+										int h = p*sh - ph + r;
+										if( h < 0 || h >= H ) continue;
+										int inOff = n*CHW + c*HW + h*W - pw + s;
+										int oix = outOff + p*Q;
+										if( sw == 1 )
+											LibMatrixMult.vectMultiplyAdd(w, in, out, inOff + qmin[s], oix + qmin[s], qmax[s] - qmin[s]);
+										else
+											for(int q = qmin[s]; q < qmax[s]; q++)
+												out[oix + q] += w * in[inOff + q*sw];
+									}
+								}
+						}
+				}
+				// Add bias to current row if necessary, always dense
+				if(_params.bias != null)
+					addBias(n, out, _params.bias.getDenseBlockValues(), K, PQ);
+			}
+			//multi-threaded nnz maintenance of current working set
+			return _params.output.recomputeNonZeros(_rl, _ru-1);
+		}
+	}
+	
+	/**
+	 * Performs conv2d backward data directly by scattering the errors of each filter
+	 * into the dense NCHW output, blocked over input channels.
+	 */
+	private static class DirectConv2dBackwardData implements Callable<Long> 
+	{
+		private final int _rl, _ru;
+		private final DnnParameters _params;
+		
+		public DirectConv2dBackwardData(int rl, int ru, DnnParameters params) {
+			_rl = rl; _ru = ru;
+			_params = params;
+		}
+		
+		@Override
+		public Long call() throws Exception {
+			final int C = _params.C, H = _params.H, W = _params.W, K = _params.K;
+			final int R = _params.R, S = _params.S, P = _params.P, Q = _params.Q;
+			final int CHW = C*H*W, HW = H*W, PQ = P*Q, CRS = C*R*S, RS = R*S;
+			final int sh = _params.stride_h, sw = _params.stride_w, ph = _params.pad_h, pw = _params.pad_w;
+			double[] filter = _params.input1.getDenseBlockValues();
+			double[] dout = _params.input2.getDenseBlockValues();
+			double[] out = _params.output.getDenseBlockValues();
+			int[] qmin = new int[S], qmax = new int[S];
+			getValidRange(S, Q, W, sw, pw, qmin, qmax);
+			
+			for(int n = _rl; n < _ru; n++) {
+				for(int bc = 0; bc < C; bc += BLOCKSIZE_K) {
+					int bcmin = Math.min(C, bc + BLOCKSIZE_K);
+					for(int k = 0; k < K; k++)
+						for(int c = bc; c < bcmin; c++) {
+							int doutOff = n*K*PQ + k*PQ;
+							for(int r = 0; r < R; r++)
+								for(int s = 0; s < S; s++) {
+									double w = filter[k*CRS + c*RS + r*S + s];
+									if( w == 0 || qmin[s] >= qmax[s] ) continue;
+									for(int p = 0; p < P; p++) {
+										int h = p*sh - ph + r;
+										if( h < 0 || h >= H ) continue;
+										int oix = n*CHW + c*HW + h*W - pw + s;
+										int dix = doutOff + p*Q;
+										if( sw == 1 )
+											LibMatrixMult.vectMultiplyAdd(w, dout, out, dix + qmin[s], oix + qmin[s], qmax[s] - qmin[s]);
+										else
+											for(int q = qmin[s]; q < qmax[s]; q++)
+												out[oix + q*sw] += w * dout[dix + q];
+									}
+								}
+						}
+				}
+			}
+			//multi-threaded nnz maintenance of current working set
+			return _params.output.recomputeNonZeros(_rl, _ru-1);
+		}
+	}
+	
+	/**
+	 * Performs conv2d backward filter directly via dot products of the dense NCHW input
+	 * and errors, with thread-local partial results of shape [K x CRS].
+	 */
+	private static class DirectConv2dBackwardFilter implements Callable<Long> 
+	{
+		private final int _rl, _ru;
+		private final DnnParameters _params;
+		
+		public DirectConv2dBackwardFilter(int rl, int ru, DnnParameters params) {
+			_rl = rl; _ru = ru;
+			_params = params;
+		}
+		
+		@Override
+		public Long call() throws Exception {
+			final int C = _params.C, H = _params.H, W = _params.W, K = _params.K;
+			final int R = _params.R, S = _params.S, P = _params.P, Q = _params.Q;
+			final int CHW = C*H*W, HW = H*W, PQ = P*Q, CRS = C*R*S, RS = R*S;
+			final int sh = _params.stride_h, sw = _params.stride_w, ph = _params.pad_h, pw = _params.pad_w;
+			double[] in = _params.input1.getDenseBlockValues();
+			double[] dout = _params.input2.getDenseBlockValues();
+			int[] qmin = new int[S], qmax = new int[S];
+			getValidRange(S, Q, W, sw, pw, qmin, qmax);
+			
+			double [] partRet = new double[K*CRS];
+			for(int n = _rl; n < _ru; n++) {
+				for(int k = 0; k < K; k++) {
+					int doutOff = n*K*PQ + k*PQ;
+					for(int c = 0; c < C; c++)
+						for(int r = 0; r < R; r++)
+							for(int s = 0; s < S; s++) {
+								if( qmin[s] >= qmax[s] ) continue;
+								double sum = 0;
+								for(int p = 0; p < P; p++) {
+									int h = p*sh - ph + r;
+									if( h < 0 || h >= H ) continue;
+									int inOff = n*CHW + c*HW + h*W - pw + s;
+									int dix = doutOff + p*Q;
+									if( sw == 1 )
+										sum += LibMatrixMult.dotProduct(dout, in, dix + qmin[s], inOff + qmin[s], qmax[s] - qmin[s]);
+									else
+										for(int q = qmin[s]; q < qmax[s]; q++)
+											sum += dout[dix + q] * in[inOff + q*sw];
+								}
+								partRet[k*CRS + c*RS + r*S + s] += sum;
+							}
+				}
+			}
+			inplaceAdd(partRet, _params);
+			return 0L;
+		}
+	}
+	
+	/**
+	 * Computes the range of output columns [qmin, qmax) per filter column s, for which
+	 * the input column q*stride_w - pad_w + s is within the input width.
+	 */
+	private static void getValidRange(int S, int Q, int W, int sw, int pw, int[] qmin, int[] qmax) {
+		for(int s = 0; s < S; s++) {
+			int lo = pw - s; //first valid q*sw
+			qmin[s] = Math.min(Q, Math.max(0, (lo + sw - 1) / sw));
+			qmax[s] = Math.max(qmin[s], Math.min(Q, Math.floorDiv(W - 1 + pw - s, sw) + 1));
+		}
+	}
+	
 	private static void inplaceAdd(double[] a, DnnParameters params) {
 		synchronized (params.output.denseBlock) {
 			LibMatrixMult.vectAdd(a, params.output.getDenseBlockValues(), 0, 0, a.length);
@@ -585,7 +833,7 @@ public class LibMatrixDNNConv2d
 		}
 	}
 	
-	private static void addBias(int r, double [] out, double [] bias, int K, int PQ) {
+	static void addBias(int r, double [] out, double [] bias, int K, int PQ) {
 		for(int k=0, cix=r*K*PQ; k<K; k++, cix+=PQ)
 			LibMatrixMult.vectAddInPlace(bias[k], out, cix, PQ);
 	}
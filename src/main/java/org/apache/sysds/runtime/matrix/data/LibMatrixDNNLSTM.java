@@ -32,9 +32,9 @@ import org.apache.sysds.runtime.matrix.operators.BinaryOperator;
 import org.apache.sysds.runtime.matrix.operators.ReorgOperator;
 import org.apache.sysds.runtime.matrix.operators.UnaryOperator;
 import org.apache.sysds.runtime.matrix.operators.ScalarOperator;
-import org.apache.sysds.runtime.util.UtilFunctions;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.concurrent.Callable;
 
 import static org.apache.sysds.runtime.functionobjects.KahanPlus.getKahanPlusFnObject;
@@ -44,6 +44,12 @@ public class LibMatrixDNNLSTM {
 	private static final int row_tile_size = 4;
 	private static final boolean kahan = false;
 	private static final boolean optimized = true;
+	// number of batch rows processed together in the fused kernels
+	private static final int fused_row_tile_size = 32;
+	// number of gate columns per block of the recurrent projection
+	private static final int fused_col_tile_size = 1024;
+	// thread-local gate and state buffers of the fused kernels
+	private static final ThreadLocal<double[]> arena = new ThreadLocal<>();
 	public static ArrayList<Callable<Long>> getLSTMWorkers(DnnParameters params) {
 		ArrayList<Callable<Long>> ret = new ArrayList<>();
 		int k = OptimizerUtils.getConstrainedNumThreads(params.numThreads);
@@ -453,6 +459,315 @@ public class LibMatrixDNNLSTM {
 		return params.output.recomputeNonZeros();
 	}
 
+	/**
+	 * Fused LSTM forward pass. The input projection of all timesteps is computed upfront by a single matrix
+	 * multiplication (N*T, D) %*% W[1:D,], which parallelizes over batch rows and timesteps. The recurrence is then
+	 * executed per tile of batch rows, where the gate buffers are taken from thread-local arenas and the cell and
+	 * hidden states are written in place into the caches, which also serve as state of the previous timestep.
+	 *
+	 * @param params dnn parameters with allocated dense outputs
+	 * @return number of non-zeros of the output
+	 */
+	public static long lstmFused(DnnParameters params) {
+		final int k = OptimizerUtils.getConstrainedNumThreads(params.numThreads);
+		final double[] xw = inputProjection(params, k);
+
+		ArrayList<Callable<Long>> tasks = new ArrayList<>();
+		int taskSize = getTaskSize(params, k);
+		for(int i = 0; i * taskSize < params.N; i++)
+			tasks.add(new LSTMFusedExecutor(i * taskSize, Math.min((i + 1) * taskSize, params.N), params, xw));
+		long nnz = LibMatrixDNN.execute(tasks, params);
+
+		// maintain nnz of the final cell state and caches
+		params.output2.recomputeNonZeros(k);
+		params.output3.recomputeNonZeros(k);
+		params.output4.recomputeNonZeros(k);
+		params.output5.recomputeNonZeros(k);
+		return nnz;
+	}
+
+	/**
+	 * Fused LSTM backward pass. The gate gradients of all timesteps are computed per tile of batch rows, where only
+	 * the gradient w.r.t. the hidden state is propagated through the recurrent weights. The gradients w.r.t. the
+	 * input, the input weights, and the recurrent weights are then computed for all timesteps at once by single
+	 * matrix multiplications.
+	 *
+	 * @param params dnn parameters
+	 * @return number of non-zeros of the input gradient
+	 */
+	public static long lstmBackwardFused(DnnParameters params) {
+		final int N = params.N, D = params.D, T = params.T, M = params.M, M4 = 4 * M;
+		final int k = OptimizerUtils.getConstrainedNumThreads(params.numThreads);
+
+		// gate gradients and previous hidden states of all timesteps, both in (N*T) row order
+		final MatrixBlock difog = new MatrixBlock(N * T, M4, false);
+		difog.allocateDenseBlock();
+		final MatrixBlock hprev = new MatrixBlock(N * T, M, false);
+		hprev.allocateDenseBlock();
+		params.output4.allocateDenseBlock();
+		params.output5.allocateDenseBlock();
+
+		ArrayList<Callable<Long>> tasks = new ArrayList<>();
+		int taskSize = getTaskSize(params, k);
+		for(int i = 0; i * taskSize < N; i++)
+			tasks.add(new LSTMBackwardFusedExecutor(i * taskSize, Math.min((i + 1) * taskSize, N), params,
+				difog.getDenseBlockValues(), hprev.getDenseBlockValues()));
+		LibMatrixDNN.execute(tasks, params);
+		difog.recomputeNonZeros(k);
+		hprev.recomputeNonZeros(k);
+
+		// dX = difog %*% t(W[1:D,]), reshaped from (N*T, D) to (N, T*D)
+		MatrixBlock w = params.input2;
+		MatrixBlock wx = w.slice(0, D - 1);
+		MatrixBlock dx = LibMatrixMult.matrixMult(difog, LibMatrixReorg.transpose(wx, k), k);
+		copyDense(dx, params.output, 0);
+
+		// dW = rbind(t(X) %*% difog, t(hprev) %*% difog)
+		MatrixBlock xr = reshapeInput(params.input1, N * T, D);
+		MatrixBlock dwx = LibMatrixMult.matrixMult(LibMatrixReorg.transpose(xr, k), difog, k);
+		MatrixBlock dwh = LibMatrixMult.matrixMult(LibMatrixReorg.transpose(hprev, k), difog, k);
+		copyDense(dwx, params.output2, 0);
+		copyDense(dwh, params.output2, D * M4);
+
+		// db = colSums(difog)
+		params.output3.allocateDenseBlock();
+		double[] db = params.output3.getDenseBlockValues();
+		double[] dvals = difog.getDenseBlockValues();
+		for(int i = 0; i < N * T; i++)
+			for(int j = 0, off = i * M4; j < M4; j++)
+				db[j] += dvals[off + j];
+
+		params.output2.recomputeNonZeros(k);
+		params.output3.recomputeNonZeros();
+		params.output4.recomputeNonZeros(k);
+		params.output5.recomputeNonZeros(k);
+		return params.output.recomputeNonZeros(k);
+	}
+
+	private static int getTaskSize(DnnParameters params, int k) {
+		int taskSize = (int) (Math.ceil((double) params.N / k));
+		//very small input => use less threads
+		if(taskSize < row_tile_size && (params.D+params.M)*params.T < 256*25)
+			taskSize = row_tile_size;
+		return taskSize;
+	}
+
+	private static double[] inputProjection(DnnParameters params, int k) {
+		// X (N, T*D) is row-major equivalent to X (N*T, D)
+		MatrixBlock x = params.input1, w = params.input2;
+		if(x.isEmptyBlock(false) || w.isEmptyBlock(false))
+			return null;
+		MatrixBlock xr = reshapeInput(x, params.N * params.T, params.D);
+		MatrixBlock ret = LibMatrixMult.matrixMult(xr, w.slice(0, params.D - 1), k);
+		if(ret.isEmptyBlock(false))
+			return null;
+		if(ret.isInSparseFormat())
+			ret.sparseToDense();
+		return ret.getDenseBlockValues();
+	}
+
+	private static MatrixBlock reshapeInput(MatrixBlock x, int rows, int cols) {
+		if(!x.isAllocated())
+			return new MatrixBlock(rows, cols, true);
+		MatrixBlock ret = new MatrixBlock(rows, cols, x.getDenseBlockValues());
+		ret.setNonZeros(x.getNonZeros());
+		return ret;
+	}
+
+	private static void copyDense(MatrixBlock in, MatrixBlock out, int pos) {
+		if(!out.isAllocated())
+			out.allocateDenseBlock();
+		if(in.isEmptyBlock(false))
+			return;
+		if(in.isInSparseFormat())
+			in.sparseToDense();
+		double[] vals = in.getDenseBlockValues();
+		System.arraycopy(vals, 0, out.getDenseBlockValues(), pos, in.getNumRows() * in.getNumColumns());
+	}
+
+	private static double[] getArena(int size) {
+		double[] ret = arena.get();
+		if(ret == null || ret.length < size) {
+			ret = new double[size];
+			arena.set(ret);
+		}
+		return ret;
+	}
+
+	private static double sigmoid(double x) {
+		return 1.0 / (FastMath.exp(-x) + 1.0);
+	}
+
+	private static void lstmFusedTile(DnnParameters params, double[] xw, int rl, int ru) {
+		final int N = params.N, D = params.D, T = params.T, M = params.M, M4 = 4 * M, NM = N * M;
+		final int tile = ru - rl;
+
+		final double[] bias = params.bias.getDenseBlockValues();
+		final double[] w = params.input2.getDenseBlockValues();
+		final double[] out0 = params.input3.getDenseBlockValues();
+		final double[] c0 = params.input4.getDenseBlockValues();
+		final double[] out = params.output.getDenseBlockValues();
+		final double[] cout = params.output2.getDenseBlockValues();
+		final double[] cacheOut = params.output3.getDenseBlockValues();
+		final double[] cacheC = params.output4.getDenseBlockValues();
+		final double[] cacheIfog = params.output5.getDenseBlockValues();
+
+		// reused gate buffer of the row tile
+		final double[] ifog = getArena(tile * M4);
+
+		for(int t = 0; t < T; t++) {
+			// hidden and cell state of the previous timestep
+			final double[] hprev = (t == 0) ? out0 : cacheOut;
+			final double[] cprev = (t == 0) ? c0 : cacheC;
+			final int prevOff = (t == 0) ? 0 : (t - 1) * NM;
+
+			// init gates with the precomputed input projection and bias
+			for(int i = rl, ii = 0; i < ru; i++, ii += M4) {
+				if(xw != null)
+					System.arraycopy(xw, (i * T + t) * M4, ifog, ii, M4);
+				else
+					Arrays.fill(ifog, ii, ii + M4, 0);
+				if(bias != null)
+					for(int j = 0; j < M4; j++)
+						ifog[ii + j] += bias[j];
+			}
+
+			// add recurrent projection hprev %*% W[D+1:D+M,], blocked over gate columns to
+			// reuse the weight segments across the rows of the tile
+			if(w != null && hprev != null) {
+				for(int bk = 0; bk < M4; bk += fused_col_tile_size) {
+					final int bkmin = Math.min(M4, bk + fused_col_tile_size);
+					for(int j = 0; j < M; j++) {
+						final int woff = (D + j) * M4;
+						for(int i = rl, ii = 0; i < ru; i++, ii += M4) {
+							final double h = hprev[prevOff + i * M + j];
+							if(h == 0)
+								continue;
+							for(int c = bk; c < bkmin; c++)
+								ifog[ii + c] += h * w[woff + c];
+						}
+					}
+				}
+			}
+
+			// gate activations, and in-place state updates
+			final int stateOff = t * NM;
+			final int ifogOff = t * N * M4;
+			for(int i = rl, ii = 0; i < ru; i++, ii += M4) {
+				final int si = stateOff + i * M;
+				final int gi = ifogOff + i * M4;
+				for(int j = 0; j < M; j++) {
+					final double ig = sigmoid(ifog[ii + j]);
+					final double fg = sigmoid(ifog[ii + M + j]);
+					final double og = sigmoid(ifog[ii + 2 * M + j]);
+					final double gg = FastMath.tanh(ifog[ii + 3 * M + j]);
+					final double cp = (cprev != null) ? cprev[prevOff + i * M + j] : 0;
+					final double c = cp * fg + ig * gg;
+					final double o = FastMath.tanh(c) * og;
+
+					cacheOut[si + j] = o;
+					cacheC[si + j] = c;
+					cacheIfog[gi + j] = ig;
+					cacheIfog[gi + M + j] = fg;
+					cacheIfog[gi + 2 * M + j] = og;
+					cacheIfog[gi + 3 * M + j] = gg;
+					if(params.return_sequences)
+						out[i * T * M + t * M + j] = o;
+				}
+			}
+		}
+
+		// final hidden and cell states
+		final int lastOff = (T - 1) * NM;
+		System.arraycopy(cacheC, lastOff + rl * M, cout, rl * M, tile * M);
+		if(!params.return_sequences)
+			System.arraycopy(cacheOut, lastOff + rl * M, out, rl * M, tile * M);
+	}
+
+	private static void lstmBackwardFusedTile(DnnParameters params, double[] difog, double[] hprevAll, int rl,
+		int ru) {
+		final int N = params.N, D = params.D, T = params.T, M = params.M, M4 = 4 * M, NM = N * M;
+		final int tile = ru - rl;
+
+		final double[] w = params.input2.getDenseBlockValues();
+		final double[] out0 = params.input3.getDenseBlockValues();
+		final double[] c0 = params.input4.getDenseBlockValues();
+		final double[] dout = params.input5.getDenseBlockValues();
+		final double[] dcIn = params.input6.getDenseBlockValues();
+		final double[] cacheOut = params.input7.getDenseBlockValues();
+		final double[] cacheC = params.input8.getDenseBlockValues();
+		final double[] cacheIfog = params.input9.getDenseBlockValues();
+		final double[] dout0 = params.output4.getDenseBlockValues();
+		final double[] dc0 = params.output5.getDenseBlockValues();
+
+		// reused buffers of hidden state gradient, cell state gradient, and next hidden state gradient
+		final double[] buff = getArena(3 * tile * M);
+		final int dhOff = 0, dcOff = tile * M, dhnOff = 2 * tile * M;
+		Arrays.fill(buff, 0, 3 * tile * M, 0);
+		for(int i = rl, ii = 0; i < ru; i++, ii += M) {
+			if(dcIn != null)
+				System.arraycopy(dcIn, i * M, buff, dcOff + ii, M);
+			if(!params.return_sequences && dout != null)
+				System.arraycopy(dout, i * M, buff, dhOff + ii, M);
+		}
+
+		for(int t = T - 1; t >= 0; t--) {
+			final double[] hprev = (t == 0) ? out0 : cacheOut;
+			final double[] cprev = (t == 0) ? c0 : cacheC;
+			final int prevOff = (t == 0) ? 0 : (t - 1) * NM;
+			final int stateOff = t * NM;
+			final int ifogOff = t * N * M4;
+
+			for(int i = rl, ii = 0; i < ru; i++, ii += M) {
+				final int si = stateOff + i * M;
+				final int gi = ifogOff + i * M4;
+				final int di = (i * T + t) * M4;
+				final int hi = (i * T + t) * M;
+				for(int j = 0; j < M; j++) {
+					double dh = buff[dhOff + ii + j];
+					if(params.return_sequences && dout != null)
+						dh += dout[i * T * M + t * M + j];
+					final double ig = cacheIfog[gi + j];
+					final double fg = cacheIfog[gi + M + j];
+					final double og = cacheIfog[gi + 2 * M + j];
+					final double gg = cacheIfog[gi + 3 * M + j];
+					final double tc = FastMath.tanh(cacheC[si + j]);
+					final double cp = (cprev != null) ? cprev[prevOff + i * M + j] : 0;
+
+					final double dct = buff[dcOff + ii + j] + og * (1 - tc * tc) * dh;
+					difog[di + j] = ig * (1 - ig) * gg * dct;
+					difog[di + M + j] = fg * (1 - fg) * cp * dct;
+					difog[di + 2 * M + j] = og * (1 - og) * tc * dh;
+					difog[di + 3 * M + j] = (1 - gg * gg) * ig * dct;
+					buff[dcOff + ii + j] = fg * dct;
+					hprevAll[hi + j] = (hprev != null) ? hprev[prevOff + i * M + j] : 0;
+				}
+			}
+
+			// propagate the hidden state gradient: dh = difog %*% t(W[D+1:D+M,])
+			Arrays.fill(buff, dhnOff, dhnOff + tile * M, 0);
+			if(w != null) {
+				for(int j = 0; j < M; j++) {
+					final int woff = (D + j) * M4;
+					for(int i = rl, ii = 0; i < ru; i++, ii += M) {
+						final int di = (i * T + t) * M4;
+						double sum = 0;
+						for(int c = 0; c < M4; c++)
+							sum += difog[di + c] * w[woff + c];
+						buff[dhnOff + ii + j] = sum;
+					}
+				}
+			}
+			System.arraycopy(buff, dhnOff, buff, dhOff, tile * M);
+		}
+
+		// gradients w.r.t. the initial hidden and cell states
+		for(int i = rl, ii = 0; i < ru; i++, ii += M) {
+			System.arraycopy(buff, dhOff + ii, dout0, i * M, M);
+			System.arraycopy(buff, dcOff + ii, dc0, i * M, M);
+		}
+	}
+
 	public static boolean checkLSTMInputForOptimisation(DnnParameters params) {
 		//optimised just for FP64 single block or Empty:
 //		System.out.println(!params.input1.isAllocated() + " | " + !params.input1.sparse + " | " + (params.input1.denseBlock.numBlocks() == 1));
@@ -462,8 +777,8 @@ public class LibMatrixDNNLSTM {
 //		System.out.println(!params.input3.isAllocated() + " | " + !params.input3.sparse + " | " + (params.input3.denseBlock.numBlocks() == 1));
 //		System.out.println(optimized);
 
-		//largest output size if cache_ifog (T, N*M)
-		boolean fits_FP64 = (UtilFunctions.prod(new int[]{params.T,params.N,params.M}) < Integer.MAX_VALUE);
+		//largest output size is cache_ifog (T, N*4M)
+		boolean fits_FP64 = 4L * params.T * params.N * params.M < Integer.MAX_VALUE;
 
 		return  (!params.input1.isAllocated() || (!params.input1.sparse && params.input1.denseBlock.numBlocks() == 1))
 				&& (!params.input2.isAllocated() || (!params.input2.sparse && params.input2.denseBlock.numBlocks() == 1))
@@ -475,7 +790,19 @@ public class LibMatrixDNNLSTM {
 	}
 
 	public static boolean checkLSTMBackwardInputForOptimisation(DnnParameters params) {
-		return false;
+		//largest intermediate is the gate gradient (N*T, 4M), largest output dX (N, T*D)
+		boolean fits_FP64 = 4L * params.T * params.N * params.M < Integer.MAX_VALUE
+			&& (long) params.T * params.N * params.D < Integer.MAX_VALUE;
+
+		return checkLSTMInputForOptimisation(params)
+			&& isDenseSingleBlock(params.input5) && isDenseSingleBlock(params.input6)
+			&& isDenseSingleBlock(params.input7) && isDenseSingleBlock(params.input8)
+			&& isDenseSingleBlock(params.input9)
+			&& fits_FP64;
+	}
+
+	private static boolean isDenseSingleBlock(MatrixBlock mb) {
+		return mb == null || !mb.isAllocated() || (!mb.sparse && mb.denseBlock.numBlocks() == 1);
 	}
 
 	private static class LSTMExecutor implements Callable<Long> {
@@ -495,4 +822,46 @@ public class LibMatrixDNNLSTM {
 			return _params.output.recomputeNonZeros(_rl, _ru - 1);
 		}
 	}
+
+	private static class LSTMFusedExecutor implements Callable<Long> {
+		protected final int _rl, _ru;
+		protected final DnnParameters _params;
+		protected final double[] _xw;
+
+		public LSTMFusedExecutor(int rl, int ru, DnnParameters params, double[] xw) {
+			_rl = rl;
+			_ru = ru;
+			_params = params;
+			_xw = xw;
+		}
+
+		@Override
+		public Long call() throws Exception {
+			for(int bi = _rl; bi < _ru; bi += fused_row_tile_size)
+				lstmFusedTile(_params, _xw, bi, Math.min(_ru, bi + fused_row_tile_size));
+			//multithreaded nnz maintenance of current working set
+			return _params.output.recomputeNonZeros(_rl, _ru - 1);
+		}
+	}
+
+	private static class LSTMBackwardFusedExecutor implements Callable<Long> {
+		protected final int _rl, _ru;
+		protected final DnnParameters _params;
+		protected final double[] _difog, _hprev;
+
+		public LSTMBackwardFusedExecutor(int rl, int ru, DnnParameters params, double[] difog, double[] hprev) {
+			_rl = rl;
+			_ru = ru;
+			_params = params;
+			_difog = difog;
+			_hprev = hprev;
+		}
+
+		@Override
+		public Long call() throws Exception {
+			for(int bi = _rl; bi < _ru; bi += fused_row_tile_size)
+				lstmBackwardFusedTile(_params, _difog, _hprev, bi, Math.min(_ru, bi + fused_row_tile_size));
+			return 0L;
+		}
+	}
 }
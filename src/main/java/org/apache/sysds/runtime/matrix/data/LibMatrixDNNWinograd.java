@@ -0,0 +1,260 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.sysds.runtime.matrix.data;
+
+import java.util.Arrays;
+import java.util.concurrent.Callable;
+
+/**
+ * This class contains the Winograd F(2x2,3x3) convolution kernels for dense inputs, 3x3 filters and unit strides.
+ * The filters are transformed once into 4x4 tiles (U = G g G^T), while each input is processed in blocks of 2x2
+ * output tiles that are transformed (V = B^T d B), multiplied element-wise with the filter tiles and accumulated over
+ * channels (16 independent matrix multiplications), and transformed back (Y = A^T M A). Compared to im2col, this
+ * requires only constant-sized intermediates per thread and 16 instead of 36 multiplies per 2x2 output tile.
+ *
+ * The backward data pass is a convolution of dout with the rotated and channel-transposed filter and a padding of
+ * 2-pad, and thus reuses the forward kernel.
+ */
+public class LibMatrixDNNWinograd
+{
+	//number of output tiles processed per block (transformed inputs of 16 x C x 64)
+	private static final int TILE_BLOCK = 64;
+
+	/**
+	 * Indicates if the given convolution is supported by the Winograd kernels, which requires 3x3 filters, unit
+	 * strides, and a padding of at most 2 (to allow the backward data pass).
+	 *
+	 * @param params convolution parameters
+	 * @return true if supported
+	 */
+	public static boolean isSupported(DnnParameters params) {
+		return params.R == 3 && params.S == 3
+			&& params.stride_h == 1 && params.stride_w == 1
+			&& params.pad_h <= 2 && params.pad_w <= 2;
+	}
+
+	/**
+	 * Transforms the filters into Winograd tiles of layout [16 x Kout x Cin].
+	 *
+	 * @param filter dense filter of shape [K x C*3*3]
+	 * @param K number of filters
+	 * @param C number of channels
+	 * @param rotate rotate the filters by 180 degrees and swap K and C (for backward data)
+	 * @return transformed filter tiles
+	 */
+	public static double[] transformFilter(double[] filter, int K, int C, boolean rotate) {
+		final int Kout = rotate ? C : K, Cin = rotate ? K : C;
+		double[] U = new double[16 * Kout * Cin];
+		double[] g = new double[9];
+		double[] tmp = new double[12];
+		for(int ko = 0; ko < Kout; ko++) {
+			for(int ci = 0; ci < Cin; ci++) {
+				//load 3x3 filter
+				if( rotate ) {
+					int off = ci * C * 9 + ko * 9;
+					for(int i = 0; i < 9; i++)
+						g[i] = filter[off + 8 - i];
+				}
+				else
+					System.arraycopy(filter, ko * C * 9 + ci * 9, g, 0, 9);
+				//G g (4x3)
+				for(int j = 0; j < 3; j++) {
+					tmp[j] = g[j];
+					tmp[3 + j] = 0.5 * (g[j] + g[3 + j] + g[6 + j]);
+					tmp[6 + j] = 0.5 * (g[j] - g[3 + j] + g[6 + j]);
+					tmp[9 + j] = g[6 + j];
+				}
+				//(G g) G^T (4x4)
+				for(int i = 0; i < 4; i++) {
+					int ti = i * 3;
+					U[((i * 4) * Kout + ko) * Cin + ci] = tmp[ti];
+					U[((i * 4 + 1) * Kout + ko) * Cin + ci] = 0.5 * (tmp[ti] + tmp[ti + 1] + tmp[ti + 2]);
+					U[((i * 4 + 2) * Kout + ko) * Cin + ci] = 0.5 * (tmp[ti] - tmp[ti + 1] + tmp[ti + 2]);
+					U[((i * 4 + 3) * Kout + ko) * Cin + ci] = tmp[ti + 2];
+				}
+			}
+		}
+		return U;
+	}
+
+	/**
+	 * Performs a 3x3 convolution with unit strides of a single image via Winograd F(2x2,3x3).
+	 *
+	 * @param in input array
+	 * @param inOff offset of the image [Cin x H x W] in the input
+	 * @param Cin number of input channels
+	 * @param H input height
+	 * @param W input width
+	 * @param U transformed filter tiles [16 x Kout x Cin]
+	 * @param Kout number of output channels
+	 * @param padH padding height
+	 * @param padW padding width
+	 * @param out output array
+	 * @param outOff offset of the output image [Kout x P x Q] in the output
+	 * @param P output height
+	 * @param Q output width
+	 * @param V buffer for transformed input tiles of size 16*Cin*TILE_BLOCK
+	 * @param M buffer for transformed output tiles of size 16*Kout*TILE_BLOCK
+	 */
+	public static void conv2d(double[] in, int inOff, int Cin, int H, int W, double[] U, int Kout,
+		int padH, int padW, double[] out, int outOff, int P, int Q, double[] V, double[] M)
+	{
+		final int TW = (Q + 1) / 2, numTiles = ((P + 1) / 2) * TW;
+		final double[] d = new double[16];
+		for(int t0 = 0; t0 < numTiles; t0 += TILE_BLOCK) {
+			final int tb = Math.min(TILE_BLOCK, numTiles - t0);
+
+			//input transform V = B^T d B
+			for(int c = 0; c < Cin; c++) {
+				final int cOff = inOff + c * H * W;
+				for(int t = 0; t < tb; t++) {
+					final int h0 = 2 * ((t0 + t) / TW) - padH, w0 = 2 * ((t0 + t) % TW) - padW;
+					for(int i = 0; i < 4; i++) {
+						final int h = h0 + i;
+						for(int j = 0; j < 4; j++) {
+							final int w = w0 + j;
+							d[i * 4 + j] = (h >= 0 && h < H && w >= 0 && w < W) ? in[cOff + h * W + w] : 0;
+						}
+					}
+					for(int j = 0; j < 4; j++) {
+						double d0 = d[j], d1 = d[4 + j], d2 = d[8 + j], d3 = d[12 + j];
+						d[j] = d0 - d2;
+						d[4 + j] = d1 + d2;
+						d[8 + j] = d2 - d1;
+						d[12 + j] = d1 - d3;
+					}
+					for(int i = 0; i < 4; i++) {
+						int di = i * 4;
+						double d0 = d[di], d1 = d[di + 1], d2 = d[di + 2], d3 = d[di + 3];
+						V[((di) * Cin + c) * tb + t] = d0 - d2;
+						V[((di + 1) * Cin + c) * tb + t] = d1 + d2;
+						V[((di + 2) * Cin + c) * tb + t] = d2 - d1;
+						V[((di + 3) * Cin + c) * tb + t] = d1 - d3;
+					}
+				}
+			}
+
+			//element-wise products accumulated over channels: M_e = U_e %*% V_e
+			Arrays.fill(M, 0, 16 * Kout * tb, 0);
+			for(int e = 0; e < 16; e++)
+				for(int k = 0; k < Kout; k++) {
+					final int uix = (e * Kout + k) * Cin, mix = (e * Kout + k) * tb;
+					for(int c = 0; c < Cin; c++) {
+						final double u = U[uix + c];
+						if( u != 0 )
+							LibMatrixMult.vectMultiplyAdd(u, V, M, (e * Cin + c) * tb, mix, tb);
+					}
+				}
+
+			//output transform Y = A^T M A
+			for(int k = 0; k < Kout; k++) {
+				final int kOff = outOff + k * P * Q;
+				for(int t = 0; t < tb; t++) {
+					for(int e = 0; e < 16; e++)
+						d[e] = M[(e * Kout + k) * tb + t];
+					final int p0 = 2 * ((t0 + t) / TW), q0 = 2 * ((t0 + t) % TW);
+					for(int i = 0; i < 2; i++) {
+						if( p0 + i >= P )
+							break;
+						double r0, r1, r2, r3;
+						if( i == 0 ) {
+							r0 = d[0] + d[4] + d[8]; r1 = d[1] + d[5] + d[9];
+							r2 = d[2] + d[6] + d[10]; r3 = d[3] + d[7] + d[11];
+						}
+						else {
+							r0 = d[4] - d[8] - d[12]; r1 = d[5] - d[9] - d[13];
+							r2 = d[6] - d[10] - d[14]; r3 = d[7] - d[11] - d[15];
+						}
+						final int oix = kOff + (p0 + i) * Q + q0;
+						out[oix] = r0 + r1 + r2;
+						if( q0 + 1 < Q )
+							out[oix + 1] = r1 - r2 - r3;
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * Performs conv2d via Winograd F(2x2,3x3), where the filter is expected in transformed form.
+	 */
+	public static class WinogradConv2d implements Callable<Long>
+	{
+		private final int _rl, _ru;
+		private final DnnParameters _params;
+		private final double[] _U;
+
+		public WinogradConv2d(int rl, int ru, DnnParameters params, double[] U) {
+			_rl = rl; _ru = ru;
+			_params = params;
+			_U = U;
+		}
+
+		@Override
+		public Long call() throws Exception {
+			final int C = _params.C, K = _params.K, P = _params.P, Q = _params.Q;
+			final int CHW = C * _params.H * _params.W, KPQ = K * P * Q;
+			double[] in = _params.input1.getDenseBlockValues();
+			double[] out = _params.output.getDenseBlockValues();
+			double[] V = new double[16 * C * TILE_BLOCK];
+			double[] M = new double[16 * K * TILE_BLOCK];
+			for(int n = _rl; n < _ru; n++) {
+				conv2d(in, n * CHW, C, _params.H, _params.W, _U, K,
+					_params.pad_h, _params.pad_w, out, n * KPQ, P, Q, V, M);
+				// Add bias to current row if necessary, always dense
+				if(_params.bias != null)
+					LibMatrixDNNConv2d.addBias(n, out, _params.bias.getDenseBlockValues(), K, P * Q);
+			}
+			//multi-threaded nnz maintenance of current working set
+			return _params.output.recomputeNonZeros(_rl, _ru-1);
+		}
+	}
+
+	/**
+	 * Performs conv2d backward data via Winograd F(2x2,3x3), where the filter is expected in rotated and
+	 * transformed form.
+	 */
+	public static class WinogradConv2dBackwardData implements Callable<Long>
+	{
+		private final int _rl, _ru;
+		private final DnnParameters _params;
+		private final double[] _U;
+
+		public WinogradConv2dBackwardData(int rl, int ru, DnnParameters params, double[] U) {
+			_rl = rl; _ru = ru;
+			_params = params;
+			_U = U;
+		}
+
+		@Override
+		public Long call() throws Exception {
+			final int C = _params.C, K = _params.K, H = _params.H, W = _params.W;
+			final int CHW = C * H * W, KPQ = K * _params.P * _params.Q;
+			double[] dout = _params.input2.getDenseBlockValues();
+			double[] out = _params.output.getDenseBlockValues();
+			double[] V = new double[16 * K * TILE_BLOCK];
+			double[] M = new double[16 * C * TILE_BLOCK];
+			for(int n = _rl; n < _ru; n++)
+				conv2d(dout, n * KPQ, K, _params.P, _params.Q, _U, C,
+					2 - _params.pad_h, 2 - _params.pad_w, out, n * CHW, H, W, V, M);
+			//multi-threaded nnz maintenance of current working set
+			return _params.output.recomputeNonZeros(_rl, _ru-1);
+		}
+	}
+}
@@ -47,6 +47,7 @@ import org.apache.sysds.runtime.data.DenseBlockFactory;
 import org.apache.sysds.runtime.data.SparseBlock;
 import org.apache.sysds.runtime.data.SparseBlock.Type;
 import org.apache.sysds.runtime.data.SparseBlockCSR;
+import org.apache.sysds.runtime.data.SparseBlockDCSR;
 import org.apache.sysds.runtime.data.SparseBlockFactory;
 import org.apache.sysds.runtime.data.SparseBlockMCSR;
 import org.apache.sysds.runtime.data.SparseRow;
@@ -77,6 +78,7 @@ public class LibMatrixMult
 	private static final long PAR_MINFLOP_THRESHOLD2 = 128L*1024; //MIN 2 MFLOP
 	public static final int L2_CACHESIZE = 256 * 1024; //256KB (common size)
 	public static final int L3_CACHESIZE = 16 * 1024 * 1024; //16MB (common size)
+	public static boolean ALLOW_SPARSE_TWO_PHASE = true; //two-phase sparse-sparse w/ CSR output
 	private static final Log LOG = LogFactory.getLog(LibMatrixMult.class.getName());
 
 	private LibMatrixMult() {
@@ -215,6 +217,15 @@ public class LibMatrixMult
 			((SparseBlockMCSR) ret.getSparseBlock()).setNnzEstimatePerRow(m2.clen, m2.clen);
 		}
 		
+		// two-phase sparse-sparse matrix multiplication into a preallocated CSR output
+		if(ALLOW_SPARSE_TWO_PHASE && sparse && m1.sparse && m2.sparse && !m1Perm) {
+			int k2 = satisfiesMultiThreadingConstraints(m1, m2, m1.rlen==1, true, 2, k) ? k : 1;
+			if(matrixMultSparseSparseSparseCSR(m1, m2, ret, k2)) {
+				ret.examSparsity(k2);
+				return ret;
+			}
+		}
+		
 		if(m1.denseBlock instanceof DenseBlockFP64DEDUP){
 			DenseBlockFP64DEDUP tmp = (DenseBlockFP64DEDUP) m1.denseBlock;
 			if(tmp.getNrEmbsPerRow() != 1){
@@ -1420,6 +1431,9 @@ public class LibMatrixMult
 			if( !a.isEmpty(0) )
 				c.set(0, 0, dotProduct(a.values(0), b.values(0), a.indexes(0), a.pos(0), 0, a.size(0)));
 		}
+		else if( a instanceof SparseBlockDCSR && !pm2 ) { //HYPER-SPARSE LHS
+			matrixMultSparseDenseDCSR((SparseBlockDCSR)a, b, c, n, rl, ru);
+		}
 		else if( n==1 && cd<=2*1024 ) { //MATRIX-VECTOR (short rhs)
 			matrixMultSparseDenseMVShortRHS(a, b, c, cd, rl, ru);
 		}
@@ -1440,6 +1454,28 @@ public class LibMatrixMult
 		}
 	}
 	
+	private static void matrixMultSparseDenseDCSR(SparseBlockDCSR a, DenseBlock b, DenseBlock c, int n, int rl, int ru) {
+		//iterate over the non-empty rows only, without cache blocking because the
+		//few non-zeros per row rarely reuse rows of B (dense) across rows of A
+		final int[] rix = a.rowIndexes();
+		final int[] rptr = a.rowPointers();
+		final int[] aix = a.indexes();
+		final double[] avals = a.values();
+		final int ku = a.posRowIndex(ru);
+		for( int k=a.posRowIndex(rl); k<ku; k++ ) {
+			final int i = rix[k];
+			final int apos = rptr[k];
+			final int alen = rptr[k+1] - apos;
+			double[] cvals = c.values(i);
+			int cix = c.pos(i);
+			if( n == 1 ) //MATRIX-VECTOR
+				cvals[cix] = dotProduct(avals, b.valuesAt(0), aix, apos, 0, alen);
+			else //MATRIX-MATRIX
+				for( int j=apos; j<apos+alen; j++ )
+					vectMultiplyAdd(avals[j], b.values(aix[j]), cvals, b.pos(aix[j]), cix, n);
+		}
+	}
+	
 	private static void matrixMultSparseDenseMVShortRHS(SparseBlock a, DenseBlock b, DenseBlock c, int cd, int rl, int ru) {
 		double[] bvals = b.valuesAt(0);
 		double[] cvals = c.valuesAt(0);
@@ -1663,6 +1699,157 @@ public class LibMatrixMult
 			}
 	}
 	
+	/**
+	 * Two-phase sparse-sparse matrix multiplication with sparse output. The symbolic phase
+	 * computes the exact number of structural non-zeros per output row, which allows
+	 * allocating the CSR output once. The numeric phase then fills disjoint row segments
+	 * in parallel (w/o row reallocations), and a final compaction removes cancelled values.
+	 * 
+	 * @param m1 sparse left input
+	 * @param m2 sparse right input
+	 * @param ret sparse output
+	 * @param k degree of parallelism
+	 * @return false if the output exceeds the CSR size limits, otherwise true
+	 */
+	private static boolean matrixMultSparseSparseSparseCSR(MatrixBlock m1, MatrixBlock m2, MatrixBlock ret, int k) {
+		final SparseBlock a = m1.sparseBlock;
+		final SparseBlock b = m2.sparseBlock;
+		final int m = m1.rlen;
+		final int n = m2.clen;
+		final int[] rptr = new int[m + 1];
+		
+		// phase 1: symbolic (structural nnz per row)
+		long bound = executeRowRanges(m, k, (rl, ru) -> matrixMultSparseSparseSymbolic(a, b, rptr, n, rl, ru));
+		if(bound > Integer.MAX_VALUE)
+			return false;
+		for(int i = 0; i < m; i++)
+			rptr[i + 1] += rptr[i];
+		
+		// phase 2: numeric (fill of preallocated rows)
+		final int[] cix = new int[(int) bound];
+		final double[] cvals = new double[(int) bound];
+		long nnz = executeRowRanges(m, k, (rl, ru) -> matrixMultSparseSparseNumeric(a, b, rptr, cix, cvals, n, rl, ru));
+		SparseBlockCSR c = new SparseBlockCSR(rptr, cix, cvals, (int) bound);
+		if(nnz < bound)
+			c.compact();
+		ret.sparseBlock = c;
+		ret.nonZeros = nnz;
+		return true;
+	}
+	
+	private static long matrixMultSparseSparseSymbolic(SparseBlock a, SparseBlock b, int[] rptr, int n, int rl, int ru) {
+		final int[] marker = new int[n];
+		Arrays.fill(marker, -1);
+		long lnnz = 0;
+		for(int i = rl; i < ru; i++) {
+			if(a.isEmpty(i))
+				continue;
+			final int apos = a.pos(i);
+			final int alen = a.size(i);
+			final int[] aix = a.indexes(i);
+			int cnt = 0;
+			for(int k = apos; k < apos + alen; k++) {
+				if(b.isEmpty(aix[k]))
+					continue;
+				final int bpos = b.pos(aix[k]);
+				final int blen = b.size(aix[k]);
+				final int[] bix = b.indexes(aix[k]);
+				for(int j = bpos; j < bpos + blen; j++)
+					if(marker[bix[j]] != i) {
+						marker[bix[j]] = i;
+						cnt++;
+					}
+			}
+			rptr[i + 1] = cnt;
+			lnnz += cnt;
+		}
+		return lnnz;
+	}
+	
+	private static long matrixMultSparseSparseNumeric(SparseBlock a, SparseBlock b, int[] rptr, int[] cix,
+		double[] cvals, int n, int rl, int ru) {
+		final double[] tmp = new double[n];
+		final boolean[] touched = new boolean[n];
+		long lnnz = 0;
+		for(int i = rl; i < ru; i++) {
+			final int cpos = rptr[i];
+			final int clen = rptr[i + 1] - cpos;
+			if(clen == 0)
+				continue;
+			final int apos = a.pos(i);
+			final int alen = a.size(i);
+			final int[] aix = a.indexes(i);
+			final double[] avals = a.values(i);
+			// accumulate row in dense buffer, and collect touched columns
+			int cnt = 0;
+			for(int k = apos; k < apos + alen; k++) {
+				if(b.isEmpty(aix[k]))
+					continue;
+				final int bpos = b.pos(aix[k]);
+				final int blen = b.size(aix[k]);
+				final int[] bix = b.indexes(aix[k]);
+				final double[] bvals = b.values(aix[k]);
+				for(int j = bpos; j < bpos + blen; j++) {
+					final int col = bix[j];
+					tmp[col] += avals[k] * bvals[j];
+					if(!touched[col]) {
+						touched[col] = true;
+						cix[cpos + cnt++] = col;
+					}
+				}
+			}
+			// copy sorted touched columns into the output row, and reset buffers
+			// (cancelled values remain as zeros, which are removed by compaction)
+			Arrays.sort(cix, cpos, cpos + clen);
+			for(int j = cpos; j < cpos + clen; j++) {
+				final int col = cix[j];
+				cvals[j] = tmp[col];
+				lnnz += (tmp[col] != 0) ? 1 : 0;
+				tmp[col] = 0;
+				touched[col] = false;
+			}
+		}
+		return lnnz;
+	}
+	
+	/**
+	 * Executes the given kernel over balanced row ranges of [0, m) with k threads
+	 * and returns the sum of the kernel results (e.g., the number of non-zeros).
+	 * 
+	 * @param m number of rows
+	 * @param k degree of parallelism
+	 * @param kernel row range kernel
+	 * @return sum of kernel results
+	 */
+	static long executeRowRanges(int m, int k, RowRangeKernel kernel) {
+		if(k <= 1)
+			return kernel.execute(0, m);
+		final ExecutorService pool = CommonThreadPool.get(k);
+		try {
+			ArrayList<Callable<Long>> tasks = new ArrayList<>();
+			ArrayList<Integer> blklens = UtilFunctions.getBalancedBlockSizesDefault(m, k, false);
+			for(int i = 0, lb = 0; i < blklens.size(); lb += blklens.get(i), i++) {
+				final int rl = lb, ru = lb + blklens.get(i);
+				tasks.add(() -> kernel.execute(rl, ru));
+			}
+			long ret = 0;
+			for(Future<Long> task : pool.invokeAll(tasks))
+				ret += task.get();
+			return ret;
+		}
+		catch(Exception ex) {
+			throw new DMLRuntimeException(ex);
+		}
+		finally {
+			pool.shutdown();
+		}
+	}
+	
+	@FunctionalInterface
+	interface RowRangeKernel {
+		long execute(int rl, int ru);
+	}
+	
 	private static long matrixMultSparseSparseSparseMM(SparseBlock a, SparseBlock b, SparseBlock c, int n, int rl, int ru) {
 		double[] tmp = new double[n];
 		long nnz = 0;
@@ -1882,6 +2069,23 @@ public class LibMatrixMult
 
 	private static void matrixMultUltraSparseDenseSparseLeftRow(SparseBlock a, DenseBlock b, SparseBlockMCSR c, int m, int n,
 		int rl, int ru) {
+		if(a instanceof SparseBlockDCSR) {
+			//iterate over the non-empty rows of the hyper-sparse lhs only
+			final SparseBlockDCSR da = (SparseBlockDCSR) a;
+			final int[] rix = da.rowIndexes();
+			final int[] rptr = da.rowPointers();
+			final int[] aixs = da.indexes();
+			final double[] avals = da.values();
+			for(int k = da.posRowIndex(rl), ku = da.posRowIndex(ru); k < ku; k++) {
+				final int apos = rptr[k];
+				final int alen = rptr[k + 1] - apos;
+				if(alen == 1)
+					matrixMultUltraSparseDenseSparseLeftRowOneNonZero(rix[k], aixs[apos], avals[apos], b, c, m, n);
+				else
+					matrixMultUltraSparseDenseSparseLeftRowGeneric(rix[k], apos, alen, aixs, avals, b, c, m, n);
+			}
+			return;
+		}
 		for(int i = rl; i < ru; i++) {
 			if(a.isEmpty(i))
 				continue;
@@ -1948,6 +2152,23 @@ public class LibMatrixMult
 
 	private static void matrixMultUltraSparseSparseSparseLeft(SparseBlock a, SparseBlock b, SparseBlockMCSR c, int m,
 		int n, int rl, int ru) {
+		if(a instanceof SparseBlockDCSR) {
+			//iterate over the non-empty rows of the hyper-sparse lhs only
+			final SparseBlockDCSR da = (SparseBlockDCSR) a;
+			final int[] rix = da.rowIndexes();
+			final int[] rptr = da.rowPointers();
+			final int[] aixs = da.indexes();
+			final double[] avals = da.values();
+			for(int k = da.posRowIndex(rl), ku = da.posRowIndex(ru); k < ku; k++) {
+				final int apos = rptr[k];
+				final int alen = rptr[k + 1] - apos;
+				if(alen == 1)
+					matrixMultUltraSparseSparseSparseLeftRowOneNonZero(rix[k], aixs[apos], avals[apos], b, c, m, n);
+				else
+					matrixMultUltraSparseSparseSparseLeftRowGeneric(rix[k], apos, alen, aixs, avals, b, c, m, n);
+			}
+			return;
+		}
 		for(int i = rl; i < ru; i++) {
 			if(a.isEmpty(i))
 				continue;
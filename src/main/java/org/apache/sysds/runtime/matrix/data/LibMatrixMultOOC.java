@@ -0,0 +1,308 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.runtime.matrix.data;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map.Entry;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.io.SequenceFile;
+import org.apache.hadoop.io.SequenceFile.Writer;
+import org.apache.hadoop.mapred.JobConf;
+import org.apache.sysds.conf.ConfigurationManager;
+import org.apache.sysds.lops.MMTSJ.MMTSJType;
+import org.apache.sysds.runtime.DMLRuntimeException;
+import org.apache.sysds.runtime.functionobjects.Plus;
+import org.apache.sysds.runtime.instructions.InstructionUtils;
+import org.apache.sysds.runtime.io.IOUtilFunctions;
+import org.apache.sysds.runtime.matrix.operators.AggregateBinaryOperator;
+import org.apache.sysds.runtime.matrix.operators.BinaryOperator;
+import org.apache.sysds.runtime.meta.DataCharacteristics;
+import org.apache.sysds.runtime.meta.MatrixCharacteristics;
+import org.apache.sysds.runtime.util.CommonThreadPool;
+import org.apache.sysds.runtime.util.HDFSTool;
+import org.apache.sysds.runtime.util.LocalFileUtils;
+import org.apache.sysds.runtime.util.UtilFunctions;
+
+/**
+ * Out-of-core matrix multiplications for single-node execution of operations whose inputs or outputs exceed the local
+ * memory budget. The binary-block inputs are first partitioned into individual local block files (streaming one block
+ * at a time), then the output blocks are computed in parallel, where the input blocks are served from a bounded,
+ * least-recently-used block buffer. Output blocks are directly appended to the binary-block output file, which allows
+ * the resulting matrix object to be read lazily on demand.
+ */
+public class LibMatrixMultOOC {
+	private static final Log LOG = LogFactory.getLog(LibMatrixMultOOC.class.getName());
+
+	private static final AggregateBinaryOperator MMULT_OP = InstructionUtils.getMatMultOperator(1);
+	private static final BinaryOperator PLUS_OP = new BinaryOperator(Plus.getPlusFnObject());
+
+	private LibMatrixMultOOC() {
+		// prevent instantiation via private constructor
+	}
+
+	/**
+	 * Out-of-core matrix multiplication C = A %*% B over binary-block files.
+	 *
+	 * @param fnameA  file name of the left input in binary-block format
+	 * @param dcA     data characteristics of the left input
+	 * @param fnameB  file name of the right input in binary-block format
+	 * @param dcB     data characteristics of the right input
+	 * @param fnameC  file name of the output, written in binary-block format
+	 * @param budget  memory budget in bytes for buffered input blocks
+	 * @param k       degree of parallelism
+	 * @return data characteristics of the output including its number of non-zeros
+	 */
+	public static DataCharacteristics matrixMult(String fnameA, DataCharacteristics dcA, String fnameB,
+		DataCharacteristics dcB, String fnameC, long budget, int k) {
+		if(dcA.getCols() != dcB.getRows())
+			throw new DMLRuntimeException("Dimensions do not match for matrix multiplication ("
+				+ dcA.getCols() + "!=" + dcB.getRows() + ").");
+		final int blen = dcA.getBlocksize();
+		final DataCharacteristics dcC = new MatrixCharacteristics(dcA.getRows(), dcB.getCols(), blen);
+		final boolean same = fnameA.equals(fnameB);
+		final String dirA = LocalFileUtils.getUniqueWorkingDir(LocalFileUtils.CATEGORY_WORK);
+		final String dirB = same ? dirA : LocalFileUtils.getUniqueWorkingDir(LocalFileUtils.CATEGORY_WORK);
+		try {
+			partitionBlocks(fnameA, dcA, dirA);
+			if(!same)
+				partitionBlocks(fnameB, dcB, dirB);
+			final BlockBuffer buff = new BlockBuffer(budget);
+			final long nnz = computeBlocks(fnameC, dcC, k, (i, j) -> {
+				MatrixBlock ret = null;
+				for(int l = 0; l < dcA.getNumColBlocks(); l++) {
+					MatrixBlock a = buff.get(dirA, i, l);
+					MatrixBlock b = buff.get(dirB, l, j);
+					if(a == null || b == null || a.isEmptyBlock(false) || b.isEmptyBlock(false))
+						continue;
+					ret = aggregate(ret, a.aggregateBinaryOperations(a, b, new MatrixBlock(), MMULT_OP));
+				}
+				return ret;
+			});
+			dcC.setNonZeros(nnz);
+			return dcC;
+		}
+		catch(Exception ex) {
+			throw new DMLRuntimeException("Failed out-of-core matrix multiplication.", ex);
+		}
+		finally {
+			LocalFileUtils.deleteFileIfExists(dirA);
+			LocalFileUtils.deleteFileIfExists(dirB);
+		}
+	}
+
+	/**
+	 * Out-of-core transpose-self matrix multiplication, i.e., t(X) %*% X (LEFT) or X %*% t(X) (RIGHT) over a
+	 * binary-block file.
+	 *
+	 * @param fnameX file name of the input in binary-block format
+	 * @param dcX    data characteristics of the input
+	 * @param type   the tsmm type
+	 * @param fnameC file name of the output, written in binary-block format
+	 * @param budget memory budget in bytes for buffered input blocks
+	 * @param k      degree of parallelism
+	 * @return data characteristics of the output including its number of non-zeros
+	 */
+	public static DataCharacteristics tsmm(String fnameX, DataCharacteristics dcX, MMTSJType type, String fnameC,
+		long budget, int k) {
+		final boolean left = type.isLeft();
+		final int blen = dcX.getBlocksize();
+		final long n = left ? dcX.getCols() : dcX.getRows();
+		final int nblk = (int) (left ? dcX.getNumRowBlocks() : dcX.getNumColBlocks());
+		final DataCharacteristics dcC = new MatrixCharacteristics(n, n, blen);
+		final String dirX = LocalFileUtils.getUniqueWorkingDir(LocalFileUtils.CATEGORY_WORK);
+		try {
+			partitionBlocks(fnameX, dcX, dirX);
+			final BlockBuffer buff = new BlockBuffer(budget);
+			final long nnz = computeBlocks(fnameC, dcC, k, (i, j) -> {
+				MatrixBlock ret = null;
+				for(int l = 0; l < nblk; l++) {
+					// left: C(i,j) = t(X(l,i)) %*% X(l,j), right: C(i,j) = X(i,l) %*% t(X(j,l))
+					MatrixBlock a = left ? buff.get(dirX, l, i) : buff.get(dirX, i, l);
+					MatrixBlock b = left ? buff.get(dirX, l, j) : buff.get(dirX, j, l);
+					if(a == null || b == null || a.isEmptyBlock(false) || b.isEmptyBlock(false))
+						continue;
+					MatrixBlock tmp = null;
+					if(i == j)
+						tmp = a.transposeSelfMatrixMultOperations(new MatrixBlock(), type);
+					else if(left) {
+						MatrixBlock ta = LibMatrixReorg.transpose(a);
+						tmp = ta.aggregateBinaryOperations(ta, b, new MatrixBlock(), MMULT_OP);
+					}
+					else
+						tmp = a.aggregateBinaryOperations(a, LibMatrixReorg.transpose(b), new MatrixBlock(), MMULT_OP);
+					ret = aggregate(ret, tmp);
+				}
+				return ret;
+			});
+			dcC.setNonZeros(nnz);
+			return dcC;
+		}
+		catch(Exception ex) {
+			throw new DMLRuntimeException("Failed out-of-core tsmm.", ex);
+		}
+		finally {
+			LocalFileUtils.deleteFileIfExists(dirX);
+		}
+	}
+
+	private static MatrixBlock aggregate(MatrixBlock acc, MatrixBlock tmp) {
+		if(acc == null)
+			return tmp;
+		acc.binaryOperationsInPlace(PLUS_OP, tmp);
+		return acc;
+	}
+
+	private static String getBlockFileName(String dir, long r, long c) {
+		return dir + File.separator + r + "_" + c;
+	}
+
+	/**
+	 * Streams the blocks of a binary-block file into individual local block files (0-based block indexes), which
+	 * provides random access to blocks while holding only a single block in memory at a time.
+	 */
+	private static void partitionBlocks(String fname, DataCharacteristics dc, String dir) throws IOException {
+		LocalFileUtils.createLocalFileIfNotExist(dir);
+		final JobConf job = new JobConf(ConfigurationManager.getCachedJobConf());
+		final Path path = new Path(fname);
+		final FileSystem fs = IOUtilFunctions.getFileSystem(path, job);
+		if(HDFSTool.USE_BINARYBLOCK_SERIALIZATION)
+			HDFSTool.addBinaryBlockSerializationFramework(job);
+
+		final MatrixIndexes key = new MatrixIndexes();
+		final MatrixBlock value = new MatrixBlock();
+		long nblocks = 0;
+		for(Path lpath : IOUtilFunctions.getSequenceFilePaths(fs, path)) {
+			SequenceFile.Reader reader = new SequenceFile.Reader(job, SequenceFile.Reader.file(lpath));
+			try {
+				while(reader.next(key, value)) {
+					if(value.isEmptyBlock(false))
+						continue;
+					LocalFileUtils.writeMatrixBlockToLocal(
+						getBlockFileName(dir, key.getRowIndex() - 1, key.getColumnIndex() - 1), value);
+					nblocks++;
+				}
+			}
+			finally {
+				IOUtilFunctions.closeSilently(reader);
+			}
+		}
+		if(LOG.isDebugEnabled())
+			LOG.debug("Partitioned " + nblocks + " non-empty blocks of " + fname + " (" + dc + ") into " + dir);
+	}
+
+	private static long computeBlocks(String fnameC, DataCharacteristics dcC, int k, BlockFunction fn)
+		throws Exception {
+		final JobConf job = new JobConf(ConfigurationManager.getCachedJobConf());
+		final Path path = new Path(fnameC);
+		HDFSTool.deleteFileIfExistOnHDFS(fnameC);
+		final Writer writer = IOUtilFunctions.getSeqWriter(path, job, 1);
+		final LongAdder nnz = new LongAdder();
+		final ExecutorService pool = CommonThreadPool.get(k);
+		try {
+			// row-major task order for temporal locality of the left row panel in the block buffer
+			final List<Future<?>> tasks = new ArrayList<>();
+			for(int i = 0; i < dcC.getNumRowBlocks(); i++) {
+				for(int j = 0; j < dcC.getNumColBlocks(); j++) {
+					final int bi = i, bj = j;
+					tasks.add(pool.submit(() -> {
+						MatrixBlock ret = fn.compute(bi, bj);
+						int rows = UtilFunctions.computeBlockSize(dcC.getRows(), bi + 1, dcC.getBlocksize());
+						int cols = UtilFunctions.computeBlockSize(dcC.getCols(), bj + 1, dcC.getBlocksize());
+						if(ret == null)
+							ret = new MatrixBlock(rows, cols, true);
+						ret.examSparsity();
+						nnz.add(ret.getNonZeros());
+						synchronized(writer) {
+							writer.append(new MatrixIndexes(bi + 1, bj + 1), ret);
+						}
+						return null;
+					}));
+				}
+			}
+			for(Future<?> f : tasks)
+				f.get();
+		}
+		finally {
+			pool.shutdown();
+			IOUtilFunctions.closeSilently(writer);
+		}
+		IOUtilFunctions.deleteCrcFilesFromLocalFileSystem(job, path);
+		return nnz.longValue();
+	}
+
+	private interface BlockFunction {
+		MatrixBlock compute(int i, int j) throws IOException;
+	}
+
+	/**
+	 * Bounded buffer of input blocks read from local block files, evicting the least-recently-used blocks once the
+	 * size of buffered blocks exceeds the given budget.
+	 */
+	private static class BlockBuffer {
+		private final long _budget;
+		private final LinkedHashMap<String, MatrixBlock> _blocks = new LinkedHashMap<>(16, 0.75f, true);
+		private long _size = 0;
+
+		protected BlockBuffer(long budget) {
+			_budget = budget;
+		}
+
+		protected MatrixBlock get(String dir, int r, int c) throws IOException {
+			final String fname = getBlockFileName(dir, r, c);
+			synchronized(this) {
+				MatrixBlock ret = _blocks.get(fname);
+				if(ret != null)
+					return ret;
+			}
+			if(!LocalFileUtils.isExisting(fname))
+				return null; // empty block
+			// read outside the critical section, concurrent reads of the same block are harmless
+			final MatrixBlock ret = LocalFileUtils.readMatrixBlockFromLocal(fname);
+			synchronized(this) {
+				if(!_blocks.containsKey(fname)) {
+					_blocks.put(fname, ret);
+					_size += ret.getInMemorySize();
+					evict();
+				}
+			}
+			return ret;
+		}
+
+		private void evict() {
+			Iterator<Entry<String, MatrixBlock>> iter = _blocks.entrySet().iterator();
+			while(_size > _budget && _blocks.size() > 1 && iter.hasNext()) {
+				_size -= iter.next().getValue().getInMemorySize();
+				iter.remove();
+			}
+		}
+	}
+}
@@ -46,6 +46,7 @@ import org.apache.sysds.runtime.data.DenseBlock;
 import org.apache.sysds.runtime.data.DenseBlockFactory;
 import org.apache.sysds.runtime.data.SparseBlock;
 import org.apache.sysds.runtime.data.SparseBlockCSR;
+import org.apache.sysds.runtime.data.SparseBlockDCSR;
 import org.apache.sysds.runtime.data.SparseBlockMCSR;
 import org.apache.sysds.runtime.data.SparseRow;
 import org.apache.sysds.runtime.data.SparseRowVector;
@@ -186,6 +187,12 @@ public class LibMatrixReorg {
 			return out;
 		}
 		
+		//hyper-sparse transpose over non-empty rows (w/o allocating empty output rows)
+		if( in.sparse && out.sparse && in.sparseBlock instanceof SparseBlockDCSR ) {
+			transposeDCSR(in, out);
+			return out;
+		}
+		
 		// Timing time = new Timing(true);
 		
 		//allocate output arrays (if required)
@@ -238,7 +245,8 @@ public class LibMatrixReorg {
 			|| (SHALLOW_COPY_REORG && !in.sparse && !out.sparse && (in.rlen == 1 || in.clen == 1)) //
 			|| (in.sparse && !out.sparse && in.rlen == 1) //
 			|| (!in.sparse && out.sparse && in.rlen == 1) //
-			|| (in.sparse && out.sparse && in.isUltraSparse(false)))
+			|| (in.sparse && out.sparse && in.isUltraSparse(false)) //
+			|| (in.sparse && out.sparse && in.sparseBlock instanceof SparseBlockDCSR))
 		{
 			return transpose(in, out);
 		}
@@ -564,56 +572,34 @@ public class LibMatrixReorg {
 
 		//step 3: index vector sorting
 		//create index vector and extract values
-		//TODO perf: reconsider partition sort to avoid unnecessary barriers
 		int[] vix = new int[rlen];
 		double[] values = new double[rlen];
-		for( int i=0; i<rlen; i++ ) {
-			vix[i] = i;
-			values[i] = in.get(i, by[0]-1);
-		}
+		int kSort = (rlen < PAR_NUMCELL_THRESHOLD_SORT) ? 1 : k;
+		extractSortColumn(in, by[0]-1, values, vix, kSort);
 
-		// step 4: split the data into number of blocks of PAR_NUMCELL_THRESHOLD_SORT (1024) elements.
-		if (k == 1 || rlen < PAR_NUMCELL_THRESHOLD_SORT){ // There is no parallel
-			//sort index vector on extracted data (unstable)
-			SortUtils.sortByValue(0, rlen, values, vix);
-		} else {
-			ExecutorService pool = CommonThreadPool.get(k);
-			try {
-				ArrayList<SortTask> tasks = new ArrayList<>();
-				
-				// sort smaller blocks.
-				int blklen = (int)(Math.ceil((double)rlen/k));
-				for( int i=0; i*blklen<rlen; i++ ){
-					int start = i*blklen;
-					int stop = Math.min(rlen , i*blklen + blklen);
-					tasks.add(new SortTask(start, stop, vix, values));
-				}
-				CommonThreadPool.invokeAndShutdown(pool, tasks);
-				mergeSortedBlocks(blklen, vix, values, k);
-			}
-			catch(Exception ex) {
-				throw new DMLRuntimeException(ex);
-			}
-			finally{
-				pool.shutdown();
-			}
+		if( by.length == 1 ) {
+			//stable (parallel) sort of index vector on extracted data,
+			//incl descending order w/ ties in ascending index order
+			SortUtils.sortByValueStable(0, rlen, values, vix, desc, kSort);
 		}
-
-
-		//sort by secondary columns if required (in-place)
-		if( by.length > 1 )
+		else {
+			//stable (parallel) sort of index vector on extracted data
+			SortUtils.sortByValueStable(0, rlen, values, vix, false, kSort);
+			
+			//sort by secondary columns (in-place)
 			sortBySecondary(0, rlen, values, vix, in, by, 1);
-
-		//flip order if descending requested (note that this needs to happen
-		//before we ensure stable outputs, hence we also flip values)
-		if(desc) {
-			sortReverseDense(vix);
-			sortReverseDense(values);
+			
+			//flip order if descending requested (note that this needs to happen
+			//before we ensure stable outputs, hence we also flip values)
+			if(desc) {
+				sortReverseDense(vix);
+				sortReverseDense(values);
+			}
+			
+			//final pass to ensure stable output
+			sortIndexesStable(0, rlen, values, vix, in, by, 1);
 		}
 
-		//final pass to ensure stable output
-		sortIndexesStable(0, rlen, values, vix, in, by, 1);
-
 		//step 4: create output matrix (guaranteed non-empty, see step 2)
 		if( !ixret ) {
 			out.allocateBlock();
@@ -1366,6 +1352,65 @@ public class LibMatrixReorg {
 		}
 	}
 
+	private static void transposeDCSR(MatrixBlock in, MatrixBlock out) {
+		//note: the output is directly constructed in CSR or DCSR (if again hyper-sparse)
+		//from the non-empty input rows, which avoids the allocation of all output rows
+		final SparseBlockDCSR a = (SparseBlockDCSR) in.sparseBlock;
+		final int[] rix = a.rowIndexes();
+		final int[] rptr = a.rowPointers();
+		final int[] aix = a.indexes();
+		final double[] avals = a.values();
+		final int nnzr = a.numNonEmptyRows();
+		final int nnz = (int) a.size();
+		final int[] cix = new int[nnz];
+		final double[] cvals = new double[nnz];
+		
+		if( !MatrixBlock.evalHyperSparseFormatInMemory(in.clen, nnz) ) {
+			//counting sort by column index (stable, i.e., sorted row indexes)
+			final int[] cptr = new int[in.clen + 1];
+			for( int j=0; j<nnz; j++ )
+				cptr[aix[j]+1]++;
+			for( int j=0; j<in.clen; j++ )
+				cptr[j+1] += cptr[j];
+			final int[] pos = Arrays.copyOf(cptr, in.clen);
+			for( int k=0; k<nnzr; k++ )
+				for( int j=rptr[k]; j<rptr[k+1]; j++ ) {
+					final int p = pos[aix[j]]++;
+					cix[p] = rix[k];
+					cvals[p] = avals[j];
+				}
+			out.sparseBlock = new SparseBlockCSR(cptr, cix, cvals, nnz);
+		}
+		else {
+			//sort by column index and position (i.e., row-major input order),
+			//which avoids count arrays of the number of output rows
+			final int[] rowOf = new int[nnz];
+			final long[] keys = new long[nnz];
+			for( int k=0; k<nnzr; k++ )
+				for( int j=rptr[k]; j<rptr[k+1]; j++ ) {
+					rowOf[j] = rix[k];
+					keys[j] = ((long)aix[j] << 32) | j;
+				}
+			Arrays.sort(keys);
+			final int[] crix = new int[nnz];
+			final int[] crptr = new int[nnz + 1];
+			int cnnzr = 0;
+			for( int p=0; p<nnz; p++ ) {
+				final int col = (int)(keys[p] >>> 32);
+				final int j = (int) keys[p];
+				if( cnnzr == 0 || crix[cnnzr-1] != col ) {
+					crix[cnnzr] = col;
+					crptr[cnnzr++] = p;
+				}
+				cix[p] = rowOf[j];
+				cvals[p] = avals[j];
+			}
+			crptr[cnnzr] = nnz;
+			out.sparseBlock = new SparseBlockDCSR(crix, crptr, cix, cvals, in.clen, nnz, cnnzr);
+		}
+		out.setNonZeros(nnz);
+	}
+
 	private static void transposeUltraSparse(MatrixBlock in, MatrixBlock out) {
 		//note: applied if nnz < max(rlen, clen) - so no cache blocking
 		// but basic, naive transposition in a single-threaded context
@@ -3823,37 +3868,48 @@ public class LibMatrixReorg {
 		}
 	}
 
-	// Method to merge all blocks of a specified length.
-	private static void mergeSortedBlocks(int blockLength, int[] valueIndexes, double[] values, int k){
-		// Check if the blocklength is bigger than the size of the values
-		// if it is smaller then merge the blocks, if not merging is done
-
-		int vlen = values.length;
-		int mergeBlockSize = blockLength * 2;
-		if (mergeBlockSize <= vlen + blockLength){
-			ExecutorService pool = CommonThreadPool.get(k);
-			try {
-				ArrayList<MergeTask> tasks = new ArrayList<>();
-				for( int i=0; i*mergeBlockSize<vlen; i++ ){
-					int start = i*mergeBlockSize;
-					if (start + blockLength < vlen){
-						int stop = Math.min(vlen , (i+1)*mergeBlockSize);
-						tasks.add(new MergeTask(start, stop, blockLength, valueIndexes, values));
-					}
-				}
-				CommonThreadPool.invokeAndShutdown(pool, tasks);
-				// recursive merge larger blocks.
-				mergeSortedBlocks(mergeBlockSize, valueIndexes, values, k);
-			}
-			catch(Exception ex) {
-				throw new DMLRuntimeException(ex);
-			}
-			finally{
-				pool.shutdown();
+	private static void extractSortColumn(MatrixBlock in, int col, double[] values, int[] vix, int k) {
+		final int rlen = in.rlen;
+		if( k <= 1 ) {
+			extractSortColumn(in, col, values, vix, 0, rlen);
+			return;
+		}
+		ExecutorService pool = CommonThreadPool.get(k);
+		try {
+			ArrayList<Future<?>> tasks = new ArrayList<>();
+			ArrayList<Integer> blklen = UtilFunctions.getBalancedBlockSizesDefault(rlen, k, false);
+			for( int i=0, lb=0; i<blklen.size(); lb+=blklen.get(i), i++ ) {
+				final int rl = lb, ru = lb + blklen.get(i);
+				tasks.add(pool.submit(() -> extractSortColumn(in, col, values, vix, rl, ru)));
 			}
-		} 
+			for( Future<?> f : tasks )
+				f.get();
+		}
+		catch(Exception ex) {
+			throw new DMLRuntimeException(ex);
+		}
+		finally {
+			pool.shutdown();
+		}
 	}
-	
+
+	private static void extractSortColumn(MatrixBlock in, int col, double[] values, int[] vix, int rl, int ru) {
+		for( int i=rl; i<ru; i++ )
+			vix[i] = i;
+		if( in.isEmptyBlock(false) )
+			return;
+		if( !in.sparse ) {
+			DenseBlock a = in.getDenseBlock();
+			for( int i=rl; i<ru; i++ )
+				values[i] = a.get(i, col);
+		}
+		else {
+			SparseBlock a = in.getSparseBlock();
+			for( int i=rl; i<ru; i++ )
+				values[i] = a.get(i, col);
+		}
+	}
+
 	private static void sortBySecondary(int rl, int ru, double[] values, int[] vix, MatrixBlock in, int[] by, int off) {
 		//find runs of equal values in current offset and index range
 		//replace value by next column, sort, and recurse until single value
@@ -4121,85 +4177,6 @@ public class LibMatrixReorg {
 		}
 	}
 
-	private static class SortTask implements Callable<Object>
-	{
-		private final int _start;
-		private final int _end;
-		private final int[] _indexes;
-		private final double[] _values;
-
-
-		protected SortTask(int start, int end, int[] indexes, double[] values){
-			_start = start;
-			_end = end;
-			_indexes = indexes;
-			_values = values;
-			
-		}
-
-		@Override
-		public Long call(){
-			SortUtils.sortByValue(_start, _end, _values, _indexes);
-			return 1l;
-		}
-
-	}
-
-	private static class MergeTask implements Callable<Object>
-	{
-		private final int _start;
-		private final int _end;
-		private final int _blockSize;
-		private final int[] _indexes;
-		private final double[] _values;
-
-		protected MergeTask(int start, int end, int blockSize, int[] indexes, double[] values){
-			_start = start;
-			_end = end;
-			_blockSize = blockSize;
-			_indexes = indexes;
-			_values = values;
-		}
-
-		@Override
-		public Long call(){
-			// Find the middle index of the two merge blocks
-			int middle = _start + _blockSize;
-			// Early return if edge case
-			if (middle == _end) return 1l;
-			
-			// Pointer left side merge.
-			int pointlIndex = middle -1;
-			// Pointer to merge index.
-			int positionToAssign = _end - 1;
-			
-			// Make copy of entire right side so that we use left side directly as output.
-			// Results in worst case (and most cases) allocation of extra array of half input size. 
-			int[] rhsCopy = Arrays.copyOfRange(_indexes, middle, _end);
-			double[] rhsCopyV = Arrays.copyOfRange(_values, middle, _end);
-			
-			int pointrIndex = _end - middle - 1;
-			while (positionToAssign >= _start && pointrIndex >= 0) {
-				if( pointrIndex < 0 
-					|| ( pointlIndex >= _start && _values[pointlIndex] > rhsCopyV[pointrIndex]) )
-				{
-					_values[positionToAssign] = _values[pointlIndex];
-					_indexes[positionToAssign] = _indexes[pointlIndex];
-					pointlIndex--;
-					positionToAssign--;
-				}
-				else {
-					_values[positionToAssign] = rhsCopyV[pointrIndex];
-					_indexes[positionToAssign] = rhsCopy[pointrIndex];
-					positionToAssign--;
-					pointrIndex--;
-				}
-			}
-
-			return 1l;
-		}
-	}
-	
 	private static class CopyTask implements Callable<Object>
 	{
 		private final MatrixBlock _in;
@@ -66,6 +66,7 @@ import org.apache.sysds.runtime.data.DenseBlockFactory;
 import org.apache.sysds.runtime.data.SparseBlock;
 import org.apache.sysds.runtime.data.SparseBlockCOO;
 import org.apache.sysds.runtime.data.SparseBlockCSR;
+import org.apache.sysds.runtime.data.SparseBlockDCSR;
 import org.apache.sysds.runtime.data.SparseBlockFactory;
 import org.apache.sysds.runtime.data.SparseBlockMCSR;
 import org.apache.sysds.runtime.data.SparseRow;
@@ -134,6 +135,9 @@ public class MatrixBlock extends MatrixValue implements CacheBlock<MatrixBlock>,
 	public static final double ULTRA_SPARSITY_TURN_POINT  = 0.00004;
 	public static final double ULTRA_SPARSITY_TURN_POINT2 = 0.0004;
 	public static final int ULTRA_SPARSE_BLOCK_NNZ = 40;
+	//hyper-sparse threshold (nnz per row) and min rows, for which DCSR avoids the row pointer arrays of MCSR/CSR
+	public static final double HYPER_SPARSITY_ROW_TURN_POINT = 0.1;
+	public static final int HYPER_SPARSE_MIN_ROWS = 1024;
 	//default sparse block type: modified compressed sparse rows, for efficient incremental construction
 	public static final SparseBlock.Type DEFAULT_SPARSEBLOCK = SparseBlock.Type.MCSR;
 	//default sparse block type for update in place: compressed sparse rows, to prevent serialization
@@ -331,6 +335,13 @@ public class MatrixBlock extends MatrixValue implements CacheBlock<MatrixBlock>,
 	private void resetSparse() {
 		if(sparseBlock == null)
 			return;
+		//drop DCSR blocks, which are inefficient for incremental construction
+		//(kernels reallocate the default sparse block, and examSparsity reconverts)
+		if(sparseBlock instanceof SparseBlockDCSR) {
+			sparseBlock = null;
+			denseBlock = null;
+			return;
+		}
 		sparseBlock.reset(estimatedNNzsPerRow, clen);
 		denseBlock = null;
 	}
@@ -1193,6 +1204,29 @@ public class MatrixBlock extends MatrixValue implements CacheBlock<MatrixBlock>,
 			&& (!checkNnz || nonZeros<ULTRA_SPARSE_BLOCK_NNZ);
 	}
 	
+	/**
+	 * Indicates if this sparse block is hyper-sparse, i.e., has far fewer non-zeros than rows
+	 * and thus mostly empty rows, for which DCSR is the preferred sparse block representation.
+	 * 
+	 * @return true if hyper-sparse
+	 */
+	public boolean isHyperSparse() {
+		return sparse && evalHyperSparseFormatInMemory(rlen, nonZeros);
+	}
+
+	/**
+	 * Evaluates if a sparse matrix block with the given characteristics should be represented
+	 * as a doubly-compressed sparse block (DCSR) in memory, which only stores the non-empty rows.
+	 * 
+	 * @param nrows number of rows
+	 * @param nnz number of non-zeros
+	 * @return true if the sparse block should be represented in DCSR
+	 */
+	public static boolean evalHyperSparseFormatInMemory(long nrows, long nnz) {
+		return nrows >= HYPER_SPARSE_MIN_ROWS && nnz > 0
+			&& nnz < nrows * HYPER_SPARSITY_ROW_TURN_POINT;
+	}
+	
 	public boolean isSparsePermutationMatrix() {
 		if( !isInSparseFormat() || nonZeros > rlen )
 			return false;
@@ -1311,6 +1345,19 @@ public class MatrixBlock extends MatrixValue implements CacheBlock<MatrixBlock>,
 			sparseToDense(k);
 		else if( !sparse && sparseDst )
 			denseToSparse(allowCSR, k);
+		
+		//change the sparse block representation for hyper-sparse blocks
+		//(DCSR only stores non-empty rows, and is only used if CSR is allowed)
+		if( sparse && sparseBlock != null && allowCSR )
+			examHyperSparsity();
+	}
+	
+	private void examHyperSparsity() {
+		boolean dcsr = sparseBlock instanceof SparseBlockDCSR;
+		if( !dcsr && isHyperSparse() )
+			sparseBlock = new SparseBlockDCSR(sparseBlock);
+		else if( dcsr && !isHyperSparse() && nonZeros <= Integer.MAX_VALUE )
+			sparseBlock = new SparseBlockCSR(sparseBlock);
 	}
 	
 	public static boolean evalSparseFormatInMemory(DataCharacteristics dc) {
@@ -2951,6 +2998,7 @@ public class MatrixBlock extends MatrixValue implements CacheBlock<MatrixBlock>,
 		boolean sparseDst = evalSparseFormatOnDisk();
 		return !sparse || !sparseDst
 			|| (sparse && sparseBlock instanceof SparseBlockCSR)
+			|| (sparse && sparseBlock instanceof SparseBlockDCSR)
 			|| (sparse && sparseBlock instanceof SparseBlockMCSR
 				&& getInMemorySize() / MAX_SHALLOW_SERIALIZE_OVERHEAD 
 				<= getExactSerializedSize())
@@ -4225,9 +4273,11 @@ public class MatrixBlock extends MatrixValue implements CacheBlock<MatrixBlock>,
 		else if( cl==0 && cu==clen-1 ) //ROW batch
 		{
 			//note: always sparse dest, but also works for dense
+			//(skip empty rows, which would otherwise allocate empty rows for CSR/DCSR)
 			boolean ldeep = (deep && sparseBlock instanceof SparseBlockMCSR);
 			for(int i = rl; i <= ru; i++)
-				dest.appendRow(i-rl, sparseBlock.get(i), ldeep);
+				if( !sparseBlock.isEmpty(i) )
+					dest.appendRow(i-rl, sparseBlock.get(i), ldeep);
 		}
 		else //general case (sparse/dense dest)
 		{
@@ -4675,7 +4725,10 @@ public class MatrixBlock extends MatrixValue implements CacheBlock<MatrixBlock>,
 		// Copy the input elements into a temporary array for sorting
 		// First column is data and second column is weights
 		// (since the inputs are vectors, they are likely dense - hence quickget is sufficient)
+		// (direct dense block access, w/o incremental nnz maintenance)
 		MatrixBlock tdw = new MatrixBlock(dim1, 2, false);
+		tdw.allocateDenseBlock();
+		DenseBlock c = tdw.getDenseBlock();
 		double d, w, zero_wt=0;
 		int ind = 1;
 		if( wtflag ) // w/ weights
@@ -4684,28 +4737,47 @@ public class MatrixBlock extends MatrixValue implements CacheBlock<MatrixBlock>,
 				d = get(i,0);
 				w = wts.get(i,0);
 				if ( d != 0 ) {
-					tdw.set(ind, 0, d);
-					tdw.set(ind, 1, w);
+					c.set(ind, 0, d);
+					c.set(ind, 1, w);
 					ind++;
 				}
 				else
 					zero_wt += w;
 			}
 		} 
-		else //w/o weights
+		else if( sparse ) //w/o weights, sparse
 		{
 			zero_wt = getNumRows() - getNonZeros();
-			for( int i=0; i<rlen; i++ ) {
-				d = get(i,0);
+			for( int i=0; sparseBlock!=null && i<rlen; i++ ) {
+				if( sparseBlock.isEmpty(i) )
+					continue;
+				double[] avals = sparseBlock.values(i);
+				int apos = sparseBlock.pos(i);
+				int alen = sparseBlock.size(i);
+				for( int j=apos; j<apos+alen; j++ ) {
+					if( avals[j] != 0 ) {
+						c.set(ind, 0, avals[j]);
+						c.set(ind, 1, 1);
+						ind++;
+					}
+				}
+			}
+		}
+		else //w/o weights, dense
+		{
+			zero_wt = getNumRows() - getNonZeros();
+			for( int i=0; denseBlock!=null && i<rlen; i++ ) {
+				d = denseBlock.get(i, 0);
 				if( d != 0 ){
-					tdw.set(ind, 0, d);
-					tdw.set(ind, 1, 1);
+					c.set(ind, 0, d);
+					c.set(ind, 1, 1);
 					ind++;
 				}
 			}
 		}
-		tdw.set(0, 0, 0.0);
-		tdw.set(0, 1, zero_wt); //num zeros in input
+		c.set(0, 0, 0.0);
+		c.set(0, 1, zero_wt); //num zeros in input
+		tdw.recomputeNonZeros(k);
 		
 		// Sort td and tw based on values inside td (ascending sort), incl copy into result
 		SortIndex sfn = new SortIndex(1, false, false);
@@ -21,6 +21,7 @@ package org.apache.sysds.runtime.matrix.data.sketch;
 
 import org.apache.commons.lang3.NotImplementedException;
 import org.apache.sysds.runtime.matrix.data.sketch.countdistinct.CountDistinctFunctionSketch;
+import org.apache.sysds.runtime.matrix.data.sketch.countdistinctapprox.HLLSketch;
 import org.apache.sysds.runtime.matrix.data.sketch.countdistinctapprox.KMVSketch;
 import org.apache.sysds.runtime.matrix.operators.CountDistinctOperator;
 import org.apache.sysds.runtime.matrix.operators.CountDistinctOperatorTypes;
@@ -34,8 +35,10 @@ public class MatrixSketchFactory {
 				return new CountDistinctFunctionSketch(op);
 			} else if (cdop.getOperatorType() == CountDistinctOperatorTypes.KMV) {
 				return new KMVSketch(op);
+			} else if (cdop.getOperatorType() == CountDistinctOperatorTypes.HLL) {
+				return new HLLSketch(op);
 			} else {
-				throw new NotImplementedException("Only COUNT and KMV count distinct sketches are supported for now");
+				throw new NotImplementedException("Unsupported count distinct sketch: " + cdop.getOperatorType());
 			}
 		} else {
 			throw new IllegalArgumentException("Only sketches for count distinct operators are supported for now");
@@ -0,0 +1,405 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.runtime.matrix.data.sketch.countdistinctapprox;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import org.apache.commons.lang3.NotImplementedException;
+import org.apache.sysds.runtime.DMLRuntimeException;
+import org.apache.sysds.runtime.compress.CompressedMatrixBlock;
+import org.apache.sysds.runtime.data.DenseBlock;
+import org.apache.sysds.runtime.data.SparseBlock;
+import org.apache.sysds.runtime.functionobjects.Builtin;
+import org.apache.sysds.runtime.functionobjects.Builtin.BuiltinCode;
+import org.apache.sysds.runtime.instructions.spark.data.CorrMatrixBlock;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.matrix.data.sketch.CountDistinctSketch;
+import org.apache.sysds.runtime.matrix.operators.BinaryOperator;
+import org.apache.sysds.runtime.matrix.operators.Operator;
+import org.apache.sysds.runtime.util.CommonThreadPool;
+
+/**
+ * HyperLogLog++ Distinct-Value Estimation
+ *
+ * Philippe Flajolet, Eric Fusy, Olivier Gandouet, Frederic Meunier: HyperLogLog: the analysis of a near-optimal
+ * cardinality estimation algorithm. AofA 2007
+ *
+ * Stefan Heule, Marc Nunkesser, Alexander Hall: HyperLogLog in Practice: Algorithmic Engineering of a State of The
+ * Art Cardinality Estimation Algorithm. EDBT 2013
+ *
+ * From HLL++, we use 64-bit hashes, which makes the large range correction obsolete. Without the empirical bias
+ * correction (and the sparse representation) of HLL++, small cardinalities up to 2.5m are estimated via linear
+ * counting as in the original HLL. The registers are stored in the sketch blocks (1 x m for RowCol, n x m for Row, m x n for Col) and
+ * merged by cell-wise max, which makes sketches of arbitrary partitions (e.g., Spark blocks, federated workers)
+ * mergeable in any order. The metadata block contains a (p, m, D) row per output cell, where D is an upper bound
+ * for the number of distinct values.
+ */
+public class HLLSketch extends CountDistinctSketch {
+
+	/** Precision of full aggregates, i.e., 4096 registers and a standard error of ~1.6% */
+	public static final int P_FULL = 12;
+	/** Precision of row and column aggregates, i.e., 1024 registers per row/column and a standard error of ~3.3% */
+	public static final int P_ROWCOL = 10;
+
+	// minimum number of cells per thread for multi-threaded register updates
+	private static final long PAR_MIN_CELLS = 1024 * 1024;
+
+	private final int _p;
+
+	public HLLSketch(Operator op) {
+		super(op);
+		_p = this.op.getDirection().isRowCol() ? P_FULL : P_ROWCOL;
+	}
+
+	@Override
+	public MatrixBlock getValue(MatrixBlock blkIn) {
+		if(blkIn instanceof CompressedMatrixBlock)
+			throw new NotImplementedException("Cannot approximate distinct count for compressed matrices");
+
+		final int m = 1 << _p;
+		final int rlen = blkIn.getNumRows();
+		final int clen = blkIn.getNumColumns();
+		if(op.getDirection().isRowCol()) {
+			byte[] reg = createRegisters(blkIn, _p, op.getNumThreads());
+			return new MatrixBlock(estimate(reg, getUpperBound(blkIn.getNonZeros(), (long) rlen * clen)));
+		}
+		else if(op.getDirection().isRow()) {
+			MatrixBlock blkOut = new MatrixBlock(rlen, 1, false, rlen);
+			blkOut.allocateBlock();
+			byte[] reg = new byte[m];
+			for(int i = 0; i < rlen; i++) {
+				if(i > 0)
+					Arrays.fill(reg, (byte) 0);
+				long nnz = updateRegisters(blkIn, i, i + 1, reg, _p);
+				blkOut.set(i, 0, estimate(reg, getUpperBound(nnz, clen)));
+			}
+			return blkOut;
+		}
+		else { // Col
+			byte[][] regs = new byte[clen][m];
+			long[] nnz = updateColumnRegisters(blkIn, regs, _p);
+			MatrixBlock blkOut = new MatrixBlock(1, clen, false, clen);
+			blkOut.allocateBlock();
+			for(int j = 0; j < clen; j++)
+				blkOut.set(0, j, estimate(regs[j], getUpperBound(nnz[j], rlen)));
+			return blkOut;
+		}
+	}
+
+	@Override
+	public MatrixBlock getValueFromSketch(CorrMatrixBlock arg0) {
+		MatrixBlock regs = arg0.getValue();
+		MatrixBlock meta = arg0.getCorrection();
+		validateSketchMetadata(meta);
+
+		int n = meta.getNumRows();
+		MatrixBlock blkOut = op.getDirection().isCol() ?
+			new MatrixBlock(1, n, false, n) : new MatrixBlock(n, 1, false, n);
+		blkOut.allocateBlock();
+		for(int idx = 0; idx < n; idx++) {
+			int p = (int) meta.get(idx, 0);
+			byte[] reg = extractRegisters(regs, idx, p);
+			double est = estimate(reg, (long) meta.get(idx, 2));
+			if(op.getDirection().isCol())
+				blkOut.set(0, idx, est);
+			else
+				blkOut.set(idx, 0, est);
+		}
+		return blkOut;
+	}
+
+	@Override
+	public CorrMatrixBlock create(MatrixBlock blkIn) {
+		if(blkIn instanceof CompressedMatrixBlock)
+			throw new NotImplementedException("Cannot approximate distinct count for compressed matrices");
+
+		final int m = 1 << _p;
+		final int rlen = blkIn.getNumRows();
+		final int clen = blkIn.getNumColumns();
+		MatrixBlock regs, meta;
+		if(op.getDirection().isRowCol()) {
+			byte[] reg = createRegisters(blkIn, _p, op.getNumThreads());
+			regs = new MatrixBlock(1, m, false);
+			regs.allocateDenseBlock();
+			double[] vals = regs.getDenseBlockValues();
+			for(int j = 0; j < m; j++)
+				vals[j] = reg[j];
+			meta = new MatrixBlock(1, 3, false);
+			setMetadata(meta, 0, _p, getUpperBound(blkIn.getNonZeros(), (long) rlen * clen));
+		}
+		else if(op.getDirection().isRow()) {
+			regs = new MatrixBlock(rlen, m, false);
+			regs.allocateDenseBlock();
+			double[] vals = regs.getDenseBlockValues();
+			meta = new MatrixBlock(rlen, 3, false);
+			byte[] reg = new byte[m];
+			for(int i = 0; i < rlen; i++) {
+				if(i > 0)
+					Arrays.fill(reg, (byte) 0);
+				long nnz = updateRegisters(blkIn, i, i + 1, reg, _p);
+				for(int j = 0; j < m; j++)
+					vals[i * m + j] = reg[j];
+				setMetadata(meta, i, _p, getUpperBound(nnz, clen));
+			}
+		}
+		else { // Col
+			byte[][] reg = new byte[clen][m];
+			long[] nnz = updateColumnRegisters(blkIn, reg, _p);
+			regs = new MatrixBlock(m, clen, false);
+			regs.allocateDenseBlock();
+			double[] vals = regs.getDenseBlockValues();
+			meta = new MatrixBlock(clen, 3, false);
+			for(int j = 0; j < clen; j++) {
+				for(int i = 0; i < m; i++)
+					vals[i * clen + j] = reg[j][i];
+				setMetadata(meta, j, _p, getUpperBound(nnz[j], rlen));
+			}
+		}
+		regs.recomputeNonZeros();
+		return new CorrMatrixBlock(regs, meta);
+	}
+
+	@Override
+	public CorrMatrixBlock union(CorrMatrixBlock arg0, CorrMatrixBlock arg1) {
+		MatrixBlock meta0 = arg0.getCorrection();
+		MatrixBlock meta1 = arg1.getCorrection();
+		validateSketchMetadata(meta0);
+		validateSketchMetadata(meta1);
+
+		MatrixBlock regs0 = arg0.getValue();
+		MatrixBlock regs1 = arg1.getValue();
+		if(regs0.getNumRows() != regs1.getNumRows() || regs0.getNumColumns() != regs1.getNumColumns()
+			|| meta0.getNumRows() != meta1.getNumRows())
+			throw new DMLRuntimeException("Cannot take the union of sketches: rows/columns are not aligned");
+
+		// cell-wise max of registers, and sum of upper bounds (minus the shared zero)
+		MatrixBlock regs = regs0.binaryOperations(
+			new BinaryOperator(Builtin.getBuiltinFnObject(BuiltinCode.MAX)), regs1, new MatrixBlock());
+		MatrixBlock meta = new MatrixBlock(meta0.getNumRows(), 3, false);
+		for(int idx = 0; idx < meta0.getNumRows(); idx++) {
+			if(meta0.get(idx, 0) != meta1.get(idx, 0))
+				throw new DMLRuntimeException("Cannot take the union of sketches with different precisions: "
+					+ meta0.get(idx, 0) + " vs " + meta1.get(idx, 0));
+			setMetadata(meta, idx, (int) meta0.get(idx, 0),
+				(long) (meta0.get(idx, 2) + meta1.get(idx, 2) - 1));
+		}
+		return new CorrMatrixBlock(regs, meta);
+	}
+
+	@Override
+	public CorrMatrixBlock intersection(CorrMatrixBlock arg0, CorrMatrixBlock arg1) {
+		// the registers of an intersection cannot be derived from the registers of its inputs
+		throw new NotImplementedException(
+			String.format("%s intersection is not supported", HLLSketch.class.getSimpleName()));
+	}
+
+	/**
+	 * Estimate the number of distinct values from the given registers.
+	 *
+	 * @param reg registers
+	 * @param D   upper bound of the number of distinct values
+	 * @return rounded estimate in [1, D]
+	 */
+	protected static long estimate(byte[] reg, long D) {
+		final int m = reg.length;
+		double sum = 0;
+		int zeros = 0;
+		for(byte r : reg) {
+			sum += Math.scalb(1.0, -r);
+			zeros += (r == 0) ? 1 : 0;
+		}
+		double est = getAlpha(m) * m * m / sum;
+		if(zeros > 0 && est <= 2.5 * m) {
+			// linear counting for small cardinalities, where the raw estimate is biased
+			est = m * Math.log((double) m / zeros);
+		}
+		return Math.max(1, Math.min(Math.round(est), D));
+	}
+
+	private static double getAlpha(int m) {
+		switch(m) {
+			case 16: return 0.673;
+			case 32: return 0.697;
+			case 64: return 0.709;
+			default: return 0.7213 / (1 + 1.079 / m);
+		}
+	}
+
+	private static long getUpperBound(long nnz, long ncells) {
+		// at most all non-zeros plus zero distinct values (the number of non-zeros might be unknown)
+		return (nnz >= 0) ? Math.min(nnz + 1, ncells) : ncells;
+	}
+
+	private static void setMetadata(MatrixBlock meta, int idx, int p, long D) {
+		meta.set(idx, 0, p);
+		meta.set(idx, 1, 1 << p);
+		meta.set(idx, 2, D);
+	}
+
+	private byte[] extractRegisters(MatrixBlock regs, int idx, int p) {
+		byte[] reg = new byte[1 << p];
+		for(int j = 0; j < reg.length; j++)
+			reg[j] = (byte) (op.getDirection().isCol() ? regs.get(j, idx) : regs.get(idx, j));
+		return reg;
+	}
+
+	private static byte[] createRegisters(MatrixBlock blkIn, int p, int k) {
+		final int rlen = blkIn.getNumRows();
+		final long ncells = (long) rlen * blkIn.getNumColumns();
+		k = (int) Math.min(k, Math.min(rlen, ncells / PAR_MIN_CELLS));
+		if(k <= 1) {
+			byte[] reg = new byte[1 << p];
+			updateRegisters(blkIn, 0, rlen, reg, p);
+			return reg;
+		}
+
+		// thread-local registers over disjoint row ranges, merged by max
+		ExecutorService pool = CommonThreadPool.get(k);
+		try {
+			List<Future<byte[]>> tasks = new ArrayList<>();
+			final int blklen = (int) Math.ceil((double) rlen / k);
+			for(int rl = 0; rl < rlen; rl += blklen) {
+				final int lrl = rl, lru = Math.min(rl + blklen, rlen);
+				tasks.add(pool.submit(() -> {
+					byte[] reg = new byte[1 << p];
+					updateRegisters(blkIn, lrl, lru, reg, p);
+					return reg;
+				}));
+			}
+			byte[] ret = tasks.get(0).get();
+			for(int t = 1; t < tasks.size(); t++) {
+				byte[] reg = tasks.get(t).get();
+				for(int j = 0; j < ret.length; j++)
+					ret[j] = (byte) Math.max(ret[j], reg[j]);
+			}
+			return ret;
+		}
+		catch(Exception ex) {
+			throw new DMLRuntimeException(ex);
+		}
+		finally {
+			pool.shutdown();
+		}
+	}
+
+	/**
+	 * Update the registers with all cells of the given row range, including implicit zeros of sparse rows.
+	 *
+	 * @return number of non-zeros in the row range
+	 */
+	private static long updateRegisters(MatrixBlock blkIn, int rl, int ru, byte[] reg, int p) {
+		final int clen = blkIn.getNumColumns();
+		long nnz = 0;
+		if(blkIn.isEmptyBlock(false)) {
+			update(reg, p, 0);
+		}
+		else if(blkIn.isInSparseFormat()) {
+			SparseBlock sb = blkIn.getSparseBlock();
+			for(int i = rl; i < ru; i++) {
+				int size = sb.isEmpty(i) ? 0 : sb.size(i);
+				if(size < clen)
+					update(reg, p, 0);
+				if(size == 0)
+					continue;
+				int apos = sb.pos(i);
+				double[] avals = sb.values(i);
+				for(int k = apos; k < apos + size; k++)
+					update(reg, p, avals[k]);
+				nnz += size;
+			}
+		}
+		else {
+			DenseBlock db = blkIn.getDenseBlock();
+			for(int i = rl; i < ru; i++) {
+				double[] avals = db.values(i);
+				int apos = db.pos(i);
+				for(int k = apos; k < apos + clen; k++) {
+					update(reg, p, avals[k]);
+					nnz += (avals[k] != 0) ? 1 : 0;
+				}
+			}
+		}
+		return nnz;
+	}
+
+	private static long[] updateColumnRegisters(MatrixBlock blkIn, byte[][] regs, int p) {
+		final int rlen = blkIn.getNumRows();
+		final int clen = blkIn.getNumColumns();
+		long[] nnz = new long[clen];
+		if(blkIn.isEmptyBlock(false)) {
+			for(int j = 0; j < clen; j++)
+				update(regs[j], p, 0);
+		}
+		else if(blkIn.isInSparseFormat()) {
+			SparseBlock sb = blkIn.getSparseBlock();
+			for(int i = 0; i < rlen; i++) {
+				if(sb.isEmpty(i))
+					continue;
+				int apos = sb.pos(i);
+				int alen = sb.size(i);
+				int[] aix = sb.indexes(i);
+				double[] avals = sb.values(i);
+				for(int k = apos; k < apos + alen; k++) {
+					update(regs[aix[k]], p, avals[k]);
+					nnz[aix[k]]++;
+				}
+			}
+			for(int j = 0; j < clen; j++)
+				if(nnz[j] < rlen)
+					update(regs[j], p, 0);
+		}
+		else {
+			DenseBlock db = blkIn.getDenseBlock();
+			for(int i = 0; i < rlen; i++) {
+				double[] avals = db.values(i);
+				int apos = db.pos(i);
+				for(int j = 0; j < clen; j++) {
+					update(regs[j], p, avals[apos + j]);
+					nnz[j] += (avals[apos + j] != 0) ? 1 : 0;
+				}
+			}
+		}
+		return nnz;
+	}
+
+	private static void update(byte[] reg, int p, double v) {
+		long h = hash(v);
+		int ix = (int) (h >>> (64 - p));
+		// number of leading zeros of the remaining bits, bounded by 64-p+1 via a sentinel bit
+		byte rank = (byte) (Long.numberOfLeadingZeros((h << p) | (1L << (p - 1))) + 1);
+		if(rank > reg[ix])
+			reg[ix] = rank;
+	}
+
+	private static long hash(double v) {
+		// 64-bit murmur3 finalizer over the raw bits (all NaNs are considered equal)
+		long h = Double.doubleToLongBits(v) ^ 0x9e3779b97f4a7c15L;
+		h ^= h >>> 33;
+		h *= 0xff51afd7ed558ccdL;
+		h ^= h >>> 33;
+		h *= 0xc4ceb9fe1a85ec53L;
+		h ^= h >>> 33;
+		return h;
+	}
+}
@@ -24,6 +24,7 @@ import java.util.concurrent.Callable;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
@@ -37,9 +38,11 @@ public class DependencyTask<E> implements Comparable<DependencyTask<?>>, Callabl
 	private final Callable<E> _task;
 	protected final List<DependencyTask<?>> _dependantTasks;
 	private CompletableFuture<Future<?>> _future;
-	private int _rdy = 0;
+	private final AtomicInteger _rdy = new AtomicInteger(0);
 	private Integer _priority = 0;
 	private ExecutorService _pool;
+	private DependencyTaskScheduler _scheduler;
+	private E _result;
 
 	public DependencyTask(Callable<E> task, List<DependencyTask<?>> dependantTasks) {
 		_dependantTasks = dependantTasks;
@@ -54,8 +57,25 @@ public class DependencyTask<E> implements Comparable<DependencyTask<?>>, Callabl
 		_future = f;
 	}
 
+	protected void setScheduler(DependencyTaskScheduler scheduler) {
+		_scheduler = scheduler;
+	}
+
+	protected DependencyTaskScheduler getScheduler() {
+		return _scheduler;
+	}
+
 	public boolean isReady() {
-		return _rdy == 0;
+		return _rdy.get() == 0;
+	}
+
+	/**
+	 * Gets the result of this task, which is only valid after the task has been executed.
+	 * 
+	 * @return result of the task
+	 */
+	public E getResult() {
+		return _result;
 	}
 
 	public void setPriority(int priority) {
@@ -63,15 +83,12 @@ public class DependencyTask<E> implements Comparable<DependencyTask<?>>, Callabl
 	}
 
 	private boolean decrease() {
-		synchronized(this) {
-			_rdy -= 1;
-			return isReady();
-		}
+		return _rdy.decrementAndGet() == 0;
 	}
 	
 	public void addDependent(DependencyTask<?> dependencyTask) {
 		_dependantTasks.add(dependencyTask);
-		dependencyTask._rdy += 1;
+		dependencyTask._rdy.incrementAndGet();
 	}
 	
 	public boolean hasDependency (DependencyTask<?> dependencyTask) {
@@ -80,16 +97,22 @@ public class DependencyTask<E> implements Comparable<DependencyTask<?>>, Callabl
 
 	@Override
 	public E call() throws Exception {
-		LOG.debug("Executing Task: " + this);
+		if(LOG.isDebugEnabled())
+			LOG.debug("Executing Task: " + this);
 		long t0 = System.nanoTime();
 		E ret = _task.call();
-		LOG.debug("Finished Task: " + this + " in: " +
+		_result = ret;
+		if(LOG.isDebugEnabled())
+			LOG.debug("Finished Task: " + this + " in: " +
 				(String.format("%.3f", (System.nanoTime()-t0)*1e-9)) + "sec.");
 		_dependantTasks.forEach(t -> {
 			if(t.decrease()) {
-				if(_pool == null)
+				if(_scheduler != null)
+					_scheduler.schedule(t);
+				else if(_pool == null)
 					throw new DMLRuntimeException("ExecutorService was not set for DependencyTask");
-				t._future.complete(_pool.submit(t));
+				else
+					t._future.complete(_pool.submit(t));
 			}
 		});
 
@@ -0,0 +1,254 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.runtime.util;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+/**
+ * Lightweight executor for a DAG of dependency tasks. Instead of wrapping every task into nested futures, the
+ * scheduler runs k worker loops that take ready tasks from per-worker deques (with work stealing from other workers)
+ * and uses the atomic in-degree counters of the tasks to release their dependents. Dependents that become ready are
+ * pushed to the deque of the worker that completed their last input. Wrapper tasks are expanded at runtime into their
+ * wrapped tasks, which inherit the dependents of the wrapper.
+ *
+ * If debug logging is enabled, the scheduler additionally records a task-graph trace with the worker, start time, and
+ * duration of each executed task.
+ */
+public class DependencyTaskScheduler {
+	protected static final Log LOG = LogFactory.getLog(DependencyTaskScheduler.class.getName());
+
+	// number of deque scans before a worker returns its permit
+	private static final int MAX_POLL_RETRIES = 64;
+
+	private final ExecutorService _pool;
+	private final int _k;
+	private final ConcurrentLinkedDeque<DependencyTask<?>>[] _queues;
+	private final Semaphore _ready = new Semaphore(0);
+	private final AtomicInteger _remaining = new AtomicInteger(0);
+	private final AtomicInteger _next = new AtomicInteger(0);
+	private final AtomicReference<Throwable> _error = new AtomicReference<>();
+	private final ThreadLocal<Integer> _workerID = new ThreadLocal<>();
+	private final ConcurrentLinkedQueue<TaskTrace> _trace;
+	private long _t0;
+
+	@SuppressWarnings("unchecked")
+	public DependencyTaskScheduler(ExecutorService pool, int k) {
+		_pool = pool;
+		_k = Math.max(k, 1);
+		_queues = new ConcurrentLinkedDeque[_k];
+		for(int i = 0; i < _k; i++)
+			_queues[i] = new ConcurrentLinkedDeque<>();
+		_trace = LOG.isDebugEnabled() ? new ConcurrentLinkedQueue<>() : null;
+	}
+
+	/**
+	 * Executes all tasks in priority order subject to their dependencies, and waits for their completion.
+	 *
+	 * @param tasks list of dependency tasks (sorted by priority)
+	 * @return list of task results in the order of tasks, with the results of wrapped tasks instead of their wrappers
+	 * @throws ExecutionException   if a task failed
+	 * @throws InterruptedException if interrupted while waiting
+	 */
+	public List<Object> execute(List<DependencyTask<?>> tasks) throws ExecutionException, InterruptedException {
+		if(tasks == null || tasks.isEmpty())
+			return new ArrayList<>();
+		_t0 = System.nanoTime();
+		Collections.sort(tasks);
+
+		// collect ready tasks before any execution to avoid duplicate starts
+		List<DependencyTask<?>> rdyTasks = new ArrayList<>();
+		for(DependencyTask<?> t : tasks) {
+			t.setScheduler(this);
+			if(t.isReady())
+				rdyTasks.add(t);
+		}
+		_remaining.set(tasks.size());
+		for(DependencyTask<?> t : rdyTasks)
+			schedule(t);
+
+		try {
+			// run worker loops and wait for completion or error
+			List<Future<?>> workers = new ArrayList<>();
+			for(int i = 0; i < _k; i++) {
+				final int wid = i;
+				workers.add(_pool.submit(() -> runWorker(wid)));
+			}
+			for(Future<?> f : workers)
+				f.get();
+			if(_error.get() != null)
+				throw new ExecutionException(_error.get());
+			if(_trace != null)
+				explainTrace();
+
+			// collect results (after all workers joined)
+			List<Object> res = new ArrayList<>();
+			for(DependencyTask<?> t : tasks) {
+				if(t instanceof DependencyWrapperTask)
+					for(DependencyTask<?> w : ((DependencyWrapperTask<?>) t).getExpandedTasks())
+						res.add(w.getResult());
+				else
+					res.add(t.getResult());
+			}
+			return res;
+		}
+		finally {
+			// detach the tasks to not retain the scheduler and its queues
+			clearScheduler(tasks);
+		}
+	}
+
+	/**
+	 * Schedules a task whose dependencies are satisfied. Tasks released by a worker are pushed to the front of its
+	 * own deque, all other tasks are distributed round-robin across workers.
+	 *
+	 * @param t ready dependency task
+	 */
+	protected void schedule(DependencyTask<?> t) {
+		Integer wid = _workerID.get();
+		if(wid != null)
+			_queues[wid].addFirst(t);
+		else
+			_queues[Math.floorMod(_next.getAndIncrement(), _k)].addLast(t);
+		_ready.release();
+	}
+
+	/**
+	 * Registers the wrapped tasks of an executing wrapper task, and schedules the ones without dependencies. This
+	 * needs to be called before the wrapper completes in order to keep its dependents and the scheduler alive.
+	 *
+	 * @param wrapped wrapped tasks
+	 */
+	protected void expand(List<DependencyTask<?>> wrapped) {
+		_remaining.addAndGet(wrapped.size());
+		for(DependencyTask<?> t : wrapped)
+			t.setScheduler(this);
+		for(DependencyTask<?> t : wrapped)
+			if(t.isReady())
+				schedule(t);
+	}
+
+	private void runWorker(int wid) {
+		_workerID.set(wid);
+		try {
+			while(true) {
+				DependencyTask<?> t = take(wid);
+				if(t == null)
+					return;
+				long t1 = _trace != null ? System.nanoTime() : 0;
+				try {
+					t.call();
+				}
+				catch(Throwable ex) {
+					abort(ex);
+					return;
+				}
+				if(_trace != null)
+					_trace.add(new TaskTrace(t.toString(), wid, t1 - _t0, System.nanoTime() - t1));
+				if(_remaining.decrementAndGet() == 0)
+					_ready.release(_k); // terminate all workers
+			}
+		}
+		catch(InterruptedException ex) {
+			abort(ex);
+		}
+		finally {
+			_workerID.remove();
+		}
+	}
+
+	private DependencyTask<?> take(int wid) throws InterruptedException {
+		while(true) {
+			_ready.acquire();
+			if(_remaining.get() == 0 || _error.get() != null)
+				return null;
+			// a permit guarantees a queued task, which might be concurrently stolen though by a worker whose own
+			// task was pushed to an already scanned deque; hence, retry a bounded number of times and otherwise
+			// return the permit and re-acquire it, to not occupy a core while the pushing worker is descheduled
+			for(int i = 0; i < MAX_POLL_RETRIES; i++) {
+				DependencyTask<?> t = poll(wid);
+				if(t != null)
+					return t;
+				Thread.onSpinWait();
+			}
+			_ready.release();
+			Thread.yield();
+		}
+	}
+
+	private DependencyTask<?> poll(int wid) {
+		DependencyTask<?> t = _queues[wid].pollFirst();
+		for(int i = 1; i < _k && t == null; i++)
+			t = _queues[(wid + i) % _k].pollLast();
+		return t;
+	}
+
+	private static void clearScheduler(List<DependencyTask<?>> tasks) {
+		for(DependencyTask<?> t : tasks) {
+			t.setScheduler(null);
+			if(t instanceof DependencyWrapperTask && ((DependencyWrapperTask<?>) t).getExpandedTasks() != null)
+				clearScheduler(((DependencyWrapperTask<?>) t).getExpandedTasks());
+		}
+	}
+
+	private void abort(Throwable ex) {
+		if(_error.compareAndSet(null, ex))
+			_ready.release(_k);
+	}
+
+	private void explainTrace() {
+		StringBuilder sb = new StringBuilder("\n");
+		sb.append("EXPLAIN (TASK-TRACE):\n");
+		_trace.stream().sorted((a, b) -> Long.compare(a._start, b._start)).forEach(t -> sb.append(t).append("\n"));
+		LOG.debug(sb.toString());
+	}
+
+	private static class TaskTrace {
+		private final String _name;
+		private final int _worker;
+		private final long _start;
+		private final long _duration;
+
+		private TaskTrace(String name, int worker, long start, long duration) {
+			_name = name;
+			_worker = worker;
+			_start = start;
+			_duration = duration;
+		}
+
+		@Override
+		public String toString() {
+			return String.format("--[worker %d, start %.3fms, time %.3fms] %s",
+				_worker, _start * 1e-6, _duration * 1e-6, _name);
+		}
+	}
+}
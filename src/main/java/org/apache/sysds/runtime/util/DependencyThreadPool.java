@@ -43,9 +43,11 @@ public class DependencyThreadPool {
 
 	protected static final Log LOG = LogFactory.getLog(DependencyThreadPool.class.getName());
 	private final ExecutorService _pool;
+	private final int _k;
 
 	public DependencyThreadPool(int k) {
 		_pool = CommonThreadPool.get(k);
+		_k = k;
 	}
 
 	public void shutdown() {
@@ -89,27 +91,22 @@ public class DependencyThreadPool {
 		return submitAll(dtasks);
 	}
 
+	/**
+	 * Executes all tasks subject to their dependencies and waits for their completion. In contrast to
+	 * {@link #submitAll(List)}, the tasks are executed by a {@link DependencyTaskScheduler} without per-task futures.
+	 * 
+	 * @param dtasks list of dependency tasks
+	 * @return list of task results, with the results of wrapped tasks instead of their wrappers
+	 * @throws ExecutionException   if a task failed
+	 * @throws InterruptedException if interrupted while waiting
+	 */
 	public List<Object> submitAllAndWait(List<DependencyTask<?>> dtasks)
 		throws ExecutionException, InterruptedException {
-		List<Object> res = new ArrayList<>();
 		if(LOG.isDebugEnabled()) {
 			if (dtasks != null && dtasks.size() > 0)
 				explainTaskGraph(dtasks);
 		}
-		List<Future<Future<?>>> futures = submitAll(dtasks);
-		int i = 0;
-		for(Future<Future<?>> ff : futures) {
-			if(dtasks.get(i) instanceof DependencyWrapperTask) {
-				for(Future<Future<?>> f : ((DependencyWrapperTask<?>) dtasks.get(i)).getWrappedTaskFuture()) {
-					res.add(f.get().get());
-				}
-			}
-			else {
-				res.add(ff.get().get());
-			}
-			i++;
-		}
-		return res;
+		return new DependencyTaskScheduler(_pool, _k).execute(dtasks);
 	}
 
 	public static DependencyTask<?> createDependencyTask(Callable<?> task) {
@@ -35,6 +35,7 @@ public abstract class DependencyWrapperTask<E> extends DependencyTask<E> {
 	private final List<Future<Future<?>>> _wrappedTaskFutures = new ArrayList<>();
 	private final CompletableFuture<Void> _submitted = new CompletableFuture<>();
 	private final DependencyThreadPool _pool;
+	private List<DependencyTask<?>> _expandedTasks = null;
 
 	public DependencyWrapperTask(DependencyThreadPool pool) {
 		super(() -> null, new ArrayList<>());
@@ -52,12 +53,25 @@ public abstract class DependencyWrapperTask<E> extends DependencyTask<E> {
 
 	public abstract List<DependencyTask<?>> getWrappedTasks();
 
+	/**
+	 * Gets the wrapped tasks this task expanded into during its execution.
+	 * 
+	 * @return list of wrapped tasks, or null if not executed yet
+	 */
+	public List<DependencyTask<?>> getExpandedTasks() {
+		return _expandedTasks;
+	}
+
 	@Override
 	public E call() throws Exception {
 		List<DependencyTask<?>> wrappedTasks = getWrappedTasks();
+		_expandedTasks = wrappedTasks;
 		// passing the dependency to the wrapped tasks.
 		_dependantTasks.forEach(t -> wrappedTasks.forEach(w -> w.addDependent(t)));
-		_pool.submitAll(wrappedTasks).forEach(this::addWrappedTaskFuture);
+		if(getScheduler() != null)
+			getScheduler().expand(wrappedTasks);
+		else
+			_pool.submitAll(wrappedTasks).forEach(this::addWrappedTaskFuture);
 		_submitted.complete(null);
 		return super.call();
 	}
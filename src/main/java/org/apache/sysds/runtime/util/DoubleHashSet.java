@@ -0,0 +1,162 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.runtime.util;
+
+import java.util.Arrays;
+
+import org.apache.sysds.runtime.DMLRuntimeException;
+
+/**
+ * This native double hash set uses open addressing with linear probing over the raw bits of the values. In contrast
+ * to a boxed {@code HashSet<Double>}, it requires a single long array (8-16 bytes per distinct value instead of
+ * ~50 bytes), which keeps large exact distinct counts in memory and in the caches.
+ *
+ * Values are compared by {@link Double#doubleToLongBits(double)}, i.e., with the same semantics as
+ * {@link Double#equals(Object)}: all NaNs are equal, while 0.0 and -0.0 are distinct.
+ */
+public class DoubleHashSet {
+	private static final int INIT_CAPACITY = 16;
+	private static final float LOAD_FACTOR = 0.5f;
+
+	// bits of 0.0 mark empty slots, 0.0 itself is tracked separately
+	private long[] _data;
+	private int _size;
+	private boolean _zero;
+
+	public DoubleHashSet() {
+		this(INIT_CAPACITY);
+	}
+
+	public DoubleHashSet(int expectedSize) {
+		_data = new long[getCapacity(expectedSize)];
+		_size = 0;
+		_zero = false;
+	}
+
+	/**
+	 * Get the number of distinct values in this set.
+	 *
+	 * @return number of distinct values
+	 */
+	public int size() {
+		return _size + (_zero ? 1 : 0);
+	}
+
+	/**
+	 * Add a value to the set.
+	 *
+	 * @param v value
+	 * @return true if the value was not contained before
+	 */
+	public boolean add(double v) {
+		long bits = Double.doubleToLongBits(v);
+		if(bits == 0) {
+			boolean ret = !_zero;
+			_zero = true;
+			return ret;
+		}
+		boolean ret = insert(_data, bits);
+		if(ret && ++_size > LOAD_FACTOR * _data.length)
+			resize();
+		return ret;
+	}
+
+	/**
+	 * Add all values of the given array range to the set.
+	 *
+	 * @param values input values
+	 * @param off    start position (inclusive)
+	 * @param len    number of values
+	 */
+	public void addAll(double[] values, int off, int len) {
+		for(int i = off; i < off + len; i++)
+			add(values[i]);
+	}
+
+	/**
+	 * Add all values of another set to this set.
+	 *
+	 * @param that other set
+	 */
+	public void addAll(DoubleHashSet that) {
+		_zero |= that._zero;
+		for(long bits : that._data)
+			if(bits != 0 && insert(_data, bits) && ++_size > LOAD_FACTOR * _data.length)
+				resize();
+	}
+
+	public boolean contains(double v) {
+		long bits = Double.doubleToLongBits(v);
+		if(bits == 0)
+			return _zero;
+		final int mask = _data.length - 1;
+		for(int ix = hash(bits) & mask; _data[ix] != 0; ix = (ix + 1) & mask)
+			if(_data[ix] == bits)
+				return true;
+		return false;
+	}
+
+	/**
+	 * Remove all values but keep the allocated capacity for reuse (e.g., per row).
+	 */
+	public void clear() {
+		if(_size > 0)
+			Arrays.fill(_data, 0);
+		_size = 0;
+		_zero = false;
+	}
+
+	private static boolean insert(long[] data, long bits) {
+		final int mask = data.length - 1;
+		int ix = hash(bits) & mask;
+		while(data[ix] != 0) {
+			if(data[ix] == bits)
+				return false;
+			ix = (ix + 1) & mask;
+		}
+		data[ix] = bits;
+		return true;
+	}
+
+	private void resize() {
+		if(_data.length >= 1 << 30)
+			throw new DMLRuntimeException("DoubleHashSet exceeded maximum capacity of 2^30 entries.");
+		long[] olddata = _data;
+		_data = new long[_data.length * 2];
+		for(long bits : olddata)
+			if(bits != 0)
+				insert(_data, bits);
+	}
+
+	private static int getCapacity(int expectedSize) {
+		long cap = Math.max(INIT_CAPACITY, (long) Math.ceil(expectedSize / LOAD_FACTOR));
+		return (int) Math.min(1L << 30, Long.highestOneBit(cap - 1) << 1);
+	}
+
+	private static int hash(long bits) {
+		// murmur3 finalizer, as the raw bits of doubles are poorly distributed in the low bits
+		bits ^= bits >>> 33;
+		bits *= 0xff51afd7ed558ccdL;
+		bits ^= bits >>> 33;
+		bits *= 0xc4ceb9fe1a85ec53L;
+		bits ^= bits >>> 33;
+		return (int) bits;
+	}
+}
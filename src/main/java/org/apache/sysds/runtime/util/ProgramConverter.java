@@ -195,19 +195,17 @@ public class ProgramConverter
 			Data dat = cpec.getVariables().get(var);
 			if( dat instanceof MatrixObject && ((MatrixObject)dat).getUpdateType().isInPlace() ) {
 				MatrixObject mo = (MatrixObject)dat;
-				MatrixObject moNew = new MatrixObject(mo); 
-				if( mo.getNnz() != 0 ){
-					// If output matrix is not empty (NNZ != 0), then local copy is created so that 
-					// update in place operation can be applied.
-					MatrixBlock mbVar = mo.acquireRead();
-					moNew.acquireModify (new MatrixBlock(mbVar));
-					mo.release();
-				} else {
-					//create empty matrix block w/ dense representation (preferred for update in-place)
-					//Creating a dense matrix block is valid because empty block not allocated and transfer 
-					// to sparse representation happens in left indexing in place operation.
-					moNew.acquireModify(new MatrixBlock((int)mo.getNumRows(), (int)mo.getNumColumns(), false));
+				if( mo.getNnz() != 0 ) {
+					// If output matrix is not empty (NNZ != 0), the worker shares the existing matrix
+					// as read-only view, and the first update in-place creates the local copy (copy-on-write).
+					mo.retainSharedView();
+					continue;
 				}
+				//create empty matrix block w/ dense representation (preferred for update in-place)
+				//Creating a dense matrix block is valid because empty block not allocated and transfer 
+				// to sparse representation happens in left indexing in place operation.
+				MatrixObject moNew = new MatrixObject(mo); 
+				moNew.acquireModify(new MatrixBlock((int)mo.getNumRows(), (int)mo.getNumColumns(), false));
 				moNew.release();
 				cpec.setVariable(var, moNew);
 			}
@@ -216,6 +214,21 @@ public class ProgramConverter
 		return cpec;
 	}
 	
+	/**
+	 * Releases the read-only views of non-empty in-place result variables, which a
+	 * deep copy of the given execution context shares with its parent context.
+	 * 
+	 * @param ec parent execution context
+	 */
+	public static void releaseSharedViews(ExecutionContext ec) {
+		for( String var : ec.getVariables().keySet() ) {
+			Data dat = ec.getVariables().get(var);
+			if( dat instanceof MatrixObject && ((MatrixObject)dat).getUpdateType().isInPlace()
+				&& ((MatrixObject)dat).getNnz() != 0 )
+				((MatrixObject)dat).releaseSharedView();
+		}
+	}
+	
 	/**
 	 * This recursively creates a deep copy of program blocks and transparently replaces filenames according to the
 	 * specified parallel worker in order to avoid conflicts between parworkers. This happens recursively in order
@@ -19,8 +19,13 @@
 
 package org.apache.sysds.runtime.util;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
+import org.apache.sysds.runtime.DMLRuntimeException;
 import org.apache.sysds.runtime.matrix.data.MatrixBlock;
 
 /**
@@ -28,6 +33,9 @@ import org.apache.sysds.runtime.matrix.data.MatrixBlock;
  * 
  */
 public class SortUtils {
+	/** Minimum number of values per chunk of the parallel stable sort */
+	public static int PAR_SORT_MIN_CHUNK = 16384;
+
 	public static boolean isSorted(int start, int end, int[] indexes) {
 		boolean ret = true;
 		for(int i = start + 1; i < end && ret; i++)
@@ -418,6 +426,159 @@ public class SortUtils {
 		}
 	}
 
+	/**
+	 * Multi-threaded, stable in-place sort of two arrays, where values are used for comparison and runs of equal
+	 * values are ordered by ascending index (i.e., stable for ascending input indexes). The range is partitioned into
+	 * chunks that are sorted concurrently, followed by rounds of pairwise merges. Each merge is split into independent
+	 * segments via binary search, which keeps all threads busy in the last rounds with few but large merges.
+	 * 
+	 * @param start   start index
+	 * @param end     end index
+	 * @param values  double array of values to sort by
+	 * @param indexes int array of indexes sorted accordingly
+	 * @param desc    sort in descending instead of ascending order
+	 * @param k       degree of parallelism
+	 */
+	public static void sortByValueStable(int start, int end, double[] values, int[] indexes, boolean desc, int k) {
+		final int len = end - start;
+		final int nChunks = Math.min(k, len / PAR_SORT_MIN_CHUNK);
+		if(nChunks <= 1) {
+			sortChunkStable(start, end, values, indexes, desc);
+			return;
+		}
+
+		// chunk boundaries (balanced)
+		int[] bounds = new int[nChunks + 1];
+		for(int i = 0; i <= nChunks; i++)
+			bounds[i] = start + (int) ((long) len * i / nChunks);
+
+		final ExecutorService pool = CommonThreadPool.get(k);
+		try {
+			// sort chunks concurrently
+			List<Future<?>> tasks = new ArrayList<>();
+			for(int i = 0; i < nChunks; i++) {
+				final int rl = bounds[i], ru = bounds[i + 1];
+				tasks.add(pool.submit(() -> sortChunkStable(rl, ru, values, indexes, desc)));
+			}
+			for(Future<?> f : tasks)
+				f.get();
+
+			// pairwise merge rounds w/ ping-pong buffers, where positions
+			// are mapped to array indexes by subtracting the buffer offset
+			double[] srcV = values, dstV = new double[len];
+			int[] srcI = indexes, dstI = new int[len];
+			int srcOff = 0, dstOff = start;
+			while(bounds.length > 2) {
+				final int nMerge = (bounds.length - 1) / 2;
+				final int nSeg = Math.max(1, k / nMerge);
+				final int[] nbounds = new int[(bounds.length - 1 + 1) / 2 + 1];
+				tasks.clear();
+				for(int i = 0; i < bounds.length - 1; i += 2) {
+					final int lo = bounds[i], hi = bounds[Math.min(i + 2, bounds.length - 1)];
+					final int mid = (i + 1 < bounds.length - 1) ? bounds[i + 1] : hi;
+					nbounds[i / 2] = lo;
+					mergeSegmented(lo, mid, hi, srcV, srcI, srcOff, dstV, dstI, dstOff,
+						desc, mid == hi ? 1 : nSeg, pool, tasks);
+				}
+				nbounds[nbounds.length - 1] = end;
+				for(Future<?> f : tasks)
+					f.get();
+				// swap buffers
+				double[] tV = srcV; srcV = dstV; dstV = tV;
+				int[] tI = srcI; srcI = dstI; dstI = tI;
+				int tOff = srcOff; srcOff = dstOff; dstOff = tOff;
+				bounds = nbounds;
+			}
+			if(srcV != values) {
+				System.arraycopy(srcV, 0, values, start, len);
+				System.arraycopy(srcI, 0, indexes, start, len);
+			}
+		}
+		catch(Exception ex) {
+			throw new DMLRuntimeException("Failed parallel stable sort.", ex);
+		}
+		finally {
+			pool.shutdown();
+		}
+	}
+
+	private static void sortChunkStable(int start, int end, double[] values, int[] indexes, boolean desc) {
+		sortByValue(start, end, values, indexes);
+		if(desc) {
+			for(int i = start, j = end - 1; i < j; i++, j--) {
+				double tmpV = values[i];
+				values[i] = values[j];
+				values[j] = tmpV;
+				int tmpI = indexes[i];
+				indexes[i] = indexes[j];
+				indexes[j] = tmpI;
+			}
+		}
+		// order runs of equal values by index
+		for(int i = start; i < end - 1; i++) {
+			int len = 0;
+			while(i + len + 1 < end && values[i] == values[i + len + 1])
+				len++;
+			if(len > 0) {
+				Arrays.sort(indexes, i, i + len + 1);
+				i += len; // skip processed run
+			}
+		}
+	}
+
+	/**
+	 * Merges the sorted runs [lo,mid) and [mid,hi) of the source into the destination, split into up to nSeg
+	 * independent segments. Positions are global indexes shifted by the given source and destination offsets.
+	 */
+	private static void mergeSegmented(int lo, int mid, int hi, double[] srcV, int[] srcI, int srcOff, double[] dstV,
+		int[] dstI, int dstOff, boolean desc, int nSeg, ExecutorService pool, List<Future<?>> tasks) {
+		final int segs = Math.max(1, Math.min(nSeg, (mid - lo) / PAR_SORT_MIN_CHUNK));
+		int al = lo, bl = mid;
+		for(int j = 1; j <= segs; j++) {
+			// split the left run evenly, and the right run at the first value not ordered before the split value
+			final int au = (j == segs) ? mid : lo + (int) ((long) (mid - lo) * j / segs);
+			final int bu = (j == segs) ? hi : lowerBound(srcV, mid - srcOff, hi - srcOff, srcV[au - srcOff], desc) + srcOff;
+			final int a0 = al, b0 = bl;
+			final int pos = a0 + (b0 - mid);
+			tasks.add(pool.submit(
+				() -> merge(srcV, srcI, a0 - srcOff, au - srcOff, b0 - srcOff, bu - srcOff, dstV, dstI, pos - dstOff, desc)));
+			al = au;
+			bl = bu;
+		}
+	}
+
+	private static int lowerBound(double[] values, int lo, int hi, double v, boolean desc) {
+		// first position, where the value is not strictly ordered before v
+		while(lo < hi) {
+			final int m = (lo + hi) >>> 1;
+			if(desc ? values[m] > v : values[m] < v)
+				lo = m + 1;
+			else
+				hi = m;
+		}
+		return lo;
+	}
+
+	private static void merge(double[] srcV, int[] srcI, int al, int au, int bl, int bu, double[] dstV, int[] dstI,
+		int pos, boolean desc) {
+		// ties are taken from the left run first (stable)
+		while(al < au && bl < bu) {
+			if(desc ? srcV[al] >= srcV[bl] : srcV[al] <= srcV[bl]) {
+				dstV[pos] = srcV[al];
+				dstI[pos++] = srcI[al++];
+			}
+			else {
+				dstV[pos] = srcV[bl];
+				dstI[pos++] = srcI[bl++];
+			}
+		}
+		final int nA = au - al, nB = bu - bl;
+		System.arraycopy(srcV, al, dstV, pos, nA);
+		System.arraycopy(srcI, al, dstI, pos, nA);
+		System.arraycopy(srcV, bl, dstV, pos + nA, nB);
+		System.arraycopy(srcI, bl, dstI, pos + nA, nB);
+	}
+
 	private static int med3(int[] array, int a, int b, int c) {
 		int x = array[a], y = array[b], z = array[c];
 		return x < y ? (y < z ? b : (x < z ? c : a)) : (y > z ? b : (x > z ? c : a));
@@ -40,6 +40,7 @@ import org.apache.sysds.runtime.lineage.LineageCacheStatistics;
 import org.apache.sysds.runtime.lineage.LineageItem;
 import org.apache.sysds.runtime.lineage.LineageItemUtils;
 import org.apache.sysds.utils.stats.CodegenStatistics;
+import org.apache.sysds.utils.stats.LatencyHistogram;
 import org.apache.sysds.utils.stats.NGramBuilder;
 import org.apache.sysds.utils.stats.NativeStatistics;
 import org.apache.sysds.utils.stats.ParForStatistics;
@@ -76,6 +77,7 @@ public class Statistics
 	private static class InstStats {
 		private final LongAdder time = new LongAdder();
 		private final LongAdder count = new LongAdder();
+		private final LatencyHistogram hist = new LatencyHistogram();
 	}
 
 	public static class NGramStats {
@@ -473,6 +475,7 @@ public class Statistics
 		//thread-local maintenance of instruction stats
 		tmp.time.add(timeNanos);
 		tmp.count.increment();
+		tmp.hist.record(timeNanos);
 	}
 
 	public static void prepareNGramInst(Entry<String, LineageItem> li) {
@@ -802,6 +805,18 @@ public class Statistics
 		return (tmp != null) ? tmp.count.longValue() : 0;
 	}
 
+	/**
+	 * Gets the latency histogram of the given instruction/op, which is
+	 * maintained along with the total time and count.
+	 * 
+	 * @param opcode name of the instruction/op
+	 * @return latency histogram, or null if never executed
+	 */
+	public static LatencyHistogram getCPHeavyHitterHistogram(String opcode) {
+		InstStats tmp = _instStats.get(opcode);
+		return (tmp != null) ? tmp.hist : null;
+	}
+
 	public static HashMap<String, Pair<Long, Double>> getHeavyHittersHashMap() {
 		HashMap<String, Pair<Long, Double>> heavyHitters = new HashMap<>();
 		for(String opcode : _instStats.keySet()) {
@@ -1058,6 +1073,8 @@ public class Statistics
 			sb.append("Cache hits (Mem/Li/WB/FS/HDFS):\t" + CacheStatistics.displayHits() + ".\n");
 			sb.append("Cache writes (Li/WB/FS/HDFS):\t" + CacheStatistics.displayWrites() + ".\n");
 			sb.append("Cache times (ACQr/m, RLS, EXP):\t" + CacheStatistics.displayTime() + " sec.\n");
+			if (CacheStatistics.getReadAhead() > 0)
+				sb.append("Cache read-ahead (#/saved):\t" + CacheStatistics.displayReadAhead() + " sec.\n");
 			if (DMLScript.JMLC_MEM_STATISTICS)
 				sb.append("Max size of live objects:\t" + byteCountToDisplaySize(getSizeofPinnedObjects()) + " ("  + getNumPinnedObjects() + " total objects)" + "\n");
 
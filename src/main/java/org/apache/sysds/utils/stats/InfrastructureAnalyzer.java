@@ -19,7 +19,10 @@
 
 package org.apache.sysds.utils.stats;
 
+import java.io.File;
 import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
 import java.util.StringTokenizer;
 
 import org.apache.hadoop.fs.FileSystem;
@@ -49,6 +52,8 @@ public class InfrastructureAnalyzer
 	private static int  _localPar        = -1;
 	private static long _localJVMMaxMem  = -1; //mutable
 	private static long _fLocalJVMMaxMem = -1; //immutable
+	private static int  _localNumaNodes  = -1;
+	private static boolean _numaHeap     = false;
 	
 	//static hadoop cluster properties
 	private static int  _remotePar       = -1;
@@ -79,6 +84,41 @@ public class InfrastructureAnalyzer
 		return _localPar;
 	}	
 	
+	/**
+	 * Gets the number of NUMA nodes (e.g., sockets) of the current node,
+	 * as reported by the Linux sysfs. On other platforms or if the topology
+	 * is not available, a single NUMA node is assumed.
+	 * 
+	 * @return number of local NUMA nodes
+	 */
+	public static int getLocalNumaNodes() {
+		return _localNumaNodes;
+	}
+	
+	/**
+	 * Indicates if the current node has more than one NUMA node, in which case
+	 * memory accesses across sockets are more expensive than socket-local ones.
+	 * Note that SystemDS does not pin threads to sockets; node-local placement
+	 * of new objects is delegated to the JVM (see {@link #isNumaAwareHeap()}).
+	 * 
+	 * @return true if multiple local NUMA nodes
+	 */
+	public static boolean isLocalNuma() {
+		return _localNumaNodes > 1;
+	}
+	
+	/**
+	 * Indicates if the JVM allocates new objects in the eden space of the
+	 * allocating thread's NUMA node, i.e., runs with -XX:+UseNUMA and a
+	 * collector that honors it. On JDK 11, this is only the parallel
+	 * collector, while G1 silently ignores UseNUMA before JDK 14.
+	 * 
+	 * @return true if the heap is NUMA-aware
+	 */
+	public static boolean isNumaAwareHeap() {
+		return _numaHeap;
+	}
+	
 	/**
 	 * Gets the number of cluster nodes (number of tasktrackers). If multiple tasktracker
 	 * are started per node, each tasktracker is viewed as individual node.
@@ -318,6 +358,68 @@ public class InfrastructureAnalyzer
 		_localPar       = Runtime.getRuntime().availableProcessors();
 		_localJVMMaxMem = Runtime.getRuntime().maxMemory();
 		_fLocalJVMMaxMem = _localJVMMaxMem;
+		
+		//step 2: numa topology (linux only)
+		_localNumaNodes = analyzeNumaNodes(new File("/sys/devices/system/node/online"));
+		_numaHeap = analyzeNumaHeap();
+	}
+	
+	/**
+	 * Analyzes if the JVM runs with a NUMA-aware heap, with fallback
+	 * to false if the HotSpot diagnostic options are not available.
+	 * 
+	 * @return true if UseNUMA is enabled and honored by the collector
+	 */
+	private static boolean analyzeNumaHeap() {
+		try {
+			com.sun.management.HotSpotDiagnosticMXBean bean = ManagementFactory
+				.getPlatformMXBean(com.sun.management.HotSpotDiagnosticMXBean.class);
+			if( bean == null || !Boolean.parseBoolean(bean.getVMOption("UseNUMA").getValue()) )
+				return false;
+			return Boolean.parseBoolean(bean.getVMOption("UseParallelGC").getValue())
+				|| (Boolean.parseBoolean(bean.getVMOption("UseG1GC").getValue())
+					&& Runtime.version().feature() >= 14);
+		}
+		catch(Exception ex) {
+			return false;
+		}
+	}
+	
+	/**
+	 * Analyzes the number of NUMA nodes from a sysfs node list such as
+	 * "0-1" or "0,2-3", with fallback to a single node on errors.
+	 * 
+	 * @param nodeList sysfs file of online nodes
+	 * @return number of NUMA nodes
+	 */
+	public static int analyzeNumaNodes(File nodeList) {
+		try {
+			if( !nodeList.exists() )
+				return 1;
+			return Math.max(parseNodeList(new String(Files.readAllBytes(nodeList.toPath())).trim()), 1);
+		}
+		catch(Exception ex) {
+			return 1;
+		}
+	}
+	
+	/**
+	 * Parses the number of nodes from a sysfs node list of comma-separated
+	 * node ids and inclusive ranges, e.g., "0-3,5" with 5 nodes.
+	 * 
+	 * @param nodeList node list
+	 * @return number of nodes
+	 */
+	public static int parseNodeList(String nodeList) {
+		int count = 0;
+		for( String range : nodeList.split(",") ) {
+			if( range.isEmpty() )
+				continue;
+			int pos = range.indexOf('-');
+			count += (pos < 0) ? 1 : Integer.parseInt(range.substring(pos+1).trim())
+				- Integer.parseInt(range.substring(0, pos).trim()) + 1;
+		}
+		return count;
 	}
 	
 	/**
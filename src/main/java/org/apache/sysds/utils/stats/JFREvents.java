@@ -0,0 +1,269 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.utils.stats;
+
+import java.net.InetSocketAddress;
+
+import org.apache.sysds.runtime.controlprogram.caching.CacheBlock;
+import org.apache.sysds.runtime.controlprogram.caching.CacheableData;
+import org.apache.sysds.runtime.controlprogram.context.ExecutionContext;
+import org.apache.sysds.runtime.controlprogram.federated.FederatedRequest;
+import org.apache.sysds.runtime.instructions.Instruction;
+import org.apache.sysds.runtime.instructions.cp.BuiltinNaryCPInstruction;
+import org.apache.sysds.runtime.instructions.cp.CPOperand;
+import org.apache.sysds.runtime.instructions.cp.ComputationCPInstruction;
+import org.apache.sysds.runtime.instructions.cp.Data;
+import org.apache.sysds.runtime.instructions.fed.ComputationFEDInstruction;
+import org.apache.sysds.runtime.instructions.spark.ComputationSPInstruction;
+import org.apache.sysds.runtime.meta.DataCharacteristics;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * Java Flight Recorder (JFR) events of the SystemDS runtime. In contrast to the aggregated statistics, these events
+ * are recorded with timestamps and thread information, which allows correlating slow phases with GC, eviction,
+ * recompilation, or federated requests via standard JFR tooling (e.g., started with
+ * <code>-XX:StartFlightRecording</code> and analyzed with JDK Mission Control or <code>jfr print</code>).
+ *
+ * The events are enabled by default whenever a recording is running, and thresholds can be configured per event name
+ * in custom JFR settings. If no recording is running, the begin methods return null after a single volatile read, and
+ * the commit methods are no-ops.
+ */
+public class JFREvents {
+	private static final EventType INSTRUCTION = EventType.getEventType(InstructionEvent.class);
+	private static final EventType BUFFER_POOL = EventType.getEventType(BufferPoolEvent.class);
+	private static final EventType RECOMPILE = EventType.getEventType(RecompileEvent.class);
+	private static final EventType LINEAGE = EventType.getEventType(LineageCacheEvent.class);
+	private static final EventType FEDERATED = EventType.getEventType(FederatedRequestEvent.class);
+
+	@Name("org.apache.sysds.Instruction")
+	@Label("Instruction")
+	@Description("Execution of a runtime instruction")
+	@Category({"SystemDS", "Runtime"})
+	@StackTrace(false)
+	public static class InstructionEvent extends Event {
+		@Label("Opcode")
+		public String opcode;
+		@Label("Type")
+		public String type;
+		@Label("Inputs")
+		public int numInputs;
+		@Label("Input Cells")
+		public long inputCells;
+		@Label("Input Non-Zeros")
+		public long inputNnz;
+		@Label("Lineage Reuse")
+		public boolean reused;
+		@Label("Success")
+		public boolean success;
+	}
+
+	@Name("org.apache.sysds.BufferPool")
+	@Label("Buffer Pool")
+	@Description("Write (eviction) into, or restore or read from the buffer pool")
+	@Category({"SystemDS", "Buffer Pool"})
+	@StackTrace(false)
+	public static class BufferPoolEvent extends Event {
+		@Label("Operation")
+		public String operation;
+		@Label("Variable")
+		public String variable;
+		@Label("Size")
+		@DataAmount
+		public long size;
+		@Label("Evicted")
+		@Description("Number of blocks evicted from the buffer pool to make room")
+		public int numEvicted;
+	}
+
+	@Name("org.apache.sysds.Recompile")
+	@Label("Recompile")
+	@Description("Dynamic recompilation of a HOP DAG or function")
+	@Category({"SystemDS", "Compiler"})
+	@StackTrace(false)
+	public static class RecompileEvent extends Event {
+		@Label("Kind")
+		public String kind;
+		@Label("Begin Line")
+		public int beginLine;
+		@Label("End Line")
+		public int endLine;
+		@Label("Instructions")
+		@Description("Number of recompiled instructions (0 for entire functions)")
+		public int numInstructions;
+	}
+
+	@Name("org.apache.sysds.LineageCacheHit")
+	@Label("Lineage Cache Hit")
+	@Description("Reuse of an instruction, function, or block output from the lineage cache")
+	@Category({"SystemDS", "Lineage"})
+	@StackTrace(false)
+	public static class LineageCacheEvent extends Event {
+		@Label("Name")
+		public String name;
+		@Label("Saved Compute Time")
+		@Timespan(Timespan.NANOSECONDS)
+		public long savedComputeTime;
+	}
+
+	@Name("org.apache.sysds.FederatedRequest")
+	@Label("Federated Request")
+	@Description("Round trip of a batch of requests to a federated worker")
+	@Category({"SystemDS", "Federated"})
+	@StackTrace(false)
+	public static class FederatedRequestEvent extends Event {
+		@Label("Address")
+		public String address;
+		@Label("Requests")
+		public int numRequests;
+		@Label("Request Types")
+		public String requestTypes;
+		@Label("Success")
+		public boolean success;
+	}
+
+	public static InstructionEvent beginInstruction(Instruction inst, ExecutionContext ec) {
+		if(!INSTRUCTION.isEnabled())
+			return null;
+		InstructionEvent ev = new InstructionEvent();
+		ev.opcode = inst.getExtendedOpcode();
+		ev.type = inst.getType().name();
+		// capture inputs before execution (which might remove them)
+		CPOperand[] inputs = getInputs(inst);
+		if(inputs != null) {
+			for(CPOperand in : inputs) {
+				if(in == null)
+					continue;
+				ev.numInputs++;
+				Data dat = in.isLiteral() ? null : ec.getVariable(in.getName());
+				if(dat instanceof CacheableData) {
+					DataCharacteristics dc = ((CacheableData<?>) dat).getDataCharacteristics();
+					if(dc.dimsKnown())
+						ev.inputCells += dc.getLength();
+					if(dc.nnzKnown())
+						ev.inputNnz += dc.getNonZeros();
+				}
+			}
+		}
+		ev.begin();
+		return ev;
+	}
+
+	public static void commitInstruction(InstructionEvent ev, boolean reused, boolean success) {
+		if(ev == null)
+			return;
+		ev.reused = reused;
+		ev.success = success;
+		ev.commit();
+	}
+
+	public static BufferPoolEvent beginBufferPool(String operation, CacheableData<?> cd) {
+		if(!BUFFER_POOL.isEnabled())
+			return null;
+		BufferPoolEvent ev = new BufferPoolEvent();
+		ev.operation = operation;
+		ev.variable = cd.getDebugName();
+		ev.begin();
+		return ev;
+	}
+
+	public static void commitBufferPool(BufferPoolEvent ev, CacheBlock<?> data, int numEvicted) {
+		if(ev == null)
+			return;
+		ev.size = (data != null) ? data.getInMemorySize() : 0;
+		ev.numEvicted = numEvicted;
+		ev.commit();
+	}
+
+	public static RecompileEvent beginRecompile(String kind, int beginLine, int endLine) {
+		if(!RECOMPILE.isEnabled())
+			return null;
+		RecompileEvent ev = new RecompileEvent();
+		ev.kind = kind;
+		ev.beginLine = beginLine;
+		ev.endLine = endLine;
+		ev.begin();
+		return ev;
+	}
+
+	public static void commitRecompile(RecompileEvent ev, int numInstructions) {
+		if(ev == null)
+			return;
+		ev.numInstructions = numInstructions;
+		ev.commit();
+	}
+
+	public static void lineageCacheHit(String name, long savedComputeTime) {
+		if(!LINEAGE.isEnabled())
+			return;
+		LineageCacheEvent ev = new LineageCacheEvent();
+		ev.name = name;
+		ev.savedComputeTime = savedComputeTime;
+		ev.commit();
+	}
+
+	public static FederatedRequestEvent beginFederatedRequest(InetSocketAddress address, FederatedRequest[] requests) {
+		if(!FEDERATED.isEnabled())
+			return null;
+		FederatedRequestEvent ev = new FederatedRequestEvent();
+		ev.address = String.valueOf(address);
+		ev.numRequests = requests.length;
+		StringBuilder sb = new StringBuilder();
+		for(FederatedRequest fr : requests) {
+			if(sb.length() > 0)
+				sb.append(',');
+			sb.append(fr.getType().name());
+		}
+		ev.requestTypes = sb.toString();
+		ev.begin();
+		return ev;
+	}
+
+	public static void commitFederatedRequest(FederatedRequestEvent ev, boolean success) {
+		if(ev == null)
+			return;
+		ev.success = success;
+		ev.commit();
+	}
+
+	private static CPOperand[] getInputs(Instruction inst) {
+		if(inst instanceof ComputationCPInstruction)
+			return ((ComputationCPInstruction) inst).getInputs();
+		else if(inst instanceof BuiltinNaryCPInstruction)
+			return ((BuiltinNaryCPInstruction) inst).getInputs();
+		else if(inst instanceof ComputationSPInstruction) {
+			ComputationSPInstruction sp = (ComputationSPInstruction) inst;
+			return new CPOperand[] {sp.input1, sp.input2, sp.input3};
+		}
+		else if(inst instanceof ComputationFEDInstruction) {
+			ComputationFEDInstruction fed = (ComputationFEDInstruction) inst;
+			return new CPOperand[] {fed.input1, fed.input2, fed.input3};
+		}
+		return null;
+	}
+}
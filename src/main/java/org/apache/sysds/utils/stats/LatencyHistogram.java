@@ -0,0 +1,131 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.utils.stats;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free latency histogram with log-linear buckets (similar to HDR histograms): every power of two is split into
+ * 2^SUB_BITS linear sub-buckets, which bounds the relative error of reported percentiles by 1/2^SUB_BITS (~3%) with a
+ * constant memory footprint. Recording is a single atomic increment of the bucket counter plus uncontended adders for
+ * count and sum, which allows concurrent updates from parfor workers and federated request handlers.
+ */
+public class LatencyHistogram {
+	private static final int SUB_BITS = 5;
+	private static final int SUB_COUNT = 1 << SUB_BITS;
+	// values are clamped to 2^MAX_EXP-1 ns (~4.9h)
+	private static final int MAX_EXP = 44;
+	private static final int NUM_BUCKETS = (MAX_EXP - SUB_BITS + 1) * SUB_COUNT;
+
+	private final AtomicLongArray _counts = new AtomicLongArray(NUM_BUCKETS);
+	private final LongAdder _count = new LongAdder();
+	private final LongAdder _sum = new LongAdder();
+	private final AtomicLong _max = new AtomicLong();
+
+	/**
+	 * Records a single latency.
+	 *
+	 * @param nanos latency in nano seconds
+	 */
+	public void record(long nanos) {
+		final long v = Math.max(nanos, 0);
+		_counts.incrementAndGet(getBucketIndex(v));
+		_count.increment();
+		_sum.add(v);
+		long max = _max.get();
+		while(v > max && !_max.compareAndSet(max, v))
+			max = _max.get();
+	}
+
+	public long getCount() {
+		return _count.sum();
+	}
+
+	public long getSum() {
+		return _sum.sum();
+	}
+
+	public long getMax() {
+		return _max.get();
+	}
+
+	/**
+	 * Gets the number of recorded values less than or equal to the given value, where values in the bucket of the
+	 * given value are included (i.e., the bound is rounded up to the bucket resolution).
+	 *
+	 * @param nanos upper bound in nano seconds
+	 * @return cumulative count
+	 */
+	public long getCountAtOrBelow(long nanos) {
+		final int ix = getBucketIndex(Math.max(nanos, 0));
+		long ret = 0;
+		for(int i = 0; i <= ix; i++)
+			ret += _counts.get(i);
+		return ret;
+	}
+
+	/**
+	 * Gets the value at the given percentile, i.e., the upper bound of the bucket containing the q-th recorded value
+	 * (capped by the maximum recorded value).
+	 *
+	 * @param percentile percentile in [0, 100]
+	 * @return latency in nano seconds, or 0 if empty
+	 */
+	public long getValueAtPercentile(double percentile) {
+		long total = 0;
+		long[] counts = new long[NUM_BUCKETS];
+		for(int i = 0; i < NUM_BUCKETS; i++)
+			total += counts[i] = _counts.get(i);
+		if(total == 0)
+			return 0;
+		final long rank = Math.max(1, (long) Math.ceil(Math.min(percentile, 100) / 100 * total));
+		long cum = 0;
+		for(int i = 0; i < NUM_BUCKETS; i++) {
+			cum += counts[i];
+			if(cum >= rank) // last bucket holds all clamped values
+				return (i < NUM_BUCKETS - 1) ? Math.min(getBucketUpperBound(i), getMax()) : getMax();
+		}
+		return getMax();
+	}
+
+	public double getMean() {
+		final long cnt = getCount();
+		return cnt == 0 ? 0 : (double) getSum() / cnt;
+	}
+
+	protected static int getBucketIndex(long v) {
+		if(v < SUB_COUNT)
+			return (int) v;
+		final int exp = Math.min(63 - Long.numberOfLeadingZeros(v), MAX_EXP - 1);
+		final long mantissa = (exp == MAX_EXP - 1 && v >= (1L << MAX_EXP)) ?
+			2 * SUB_COUNT - 1 : v >>> (exp - SUB_BITS);
+		return (exp - SUB_BITS + 1) * SUB_COUNT + (int) (mantissa - SUB_COUNT);
+	}
+
+	protected static long getBucketUpperBound(int ix) {
+		if(ix < SUB_COUNT)
+			return ix;
+		final int exp = ix / SUB_COUNT + SUB_BITS - 1;
+		final long mantissa = SUB_COUNT + ix % SUB_COUNT;
+		return ((mantissa + 1) << (exp - SUB_BITS)) - 1;
+	}
+}
@@ -0,0 +1,319 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.utils.stats;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.sysds.conf.DMLConfig;
+import org.apache.sysds.runtime.DMLRuntimeException;
+import org.apache.sysds.runtime.controlprogram.caching.CacheStatistics;
+import org.apache.sysds.runtime.controlprogram.caching.LazyWriteBuffer;
+import org.apache.sysds.runtime.lineage.LineageCacheStatistics;
+import org.apache.sysds.utils.Statistics;
+
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Exporter of runtime metrics in the Prometheus text exposition format, which allows scraping long-running JMLC and
+ * federated worker processes instead of relying on {@link Statistics#display()} at exit. The metrics include
+ * per-opcode latency histograms and percentiles (maintained if statistics are enabled), as well as buffer pool,
+ * lineage cache, and codegen counters and gauges.
+ *
+ * The metrics are either served via a local HTTP endpoint (<code>sysds.stats.metrics.port</code>, bound to the
+ * loopback interface) or periodically written as file snapshots (<code>sysds.stats.metrics.file</code>), for example,
+ * for the textfile collector of a node exporter.
+ */
+public class MetricsExporter {
+	private static final Log LOG = LogFactory.getLog(MetricsExporter.class.getName());
+
+	public static final String CONTEXT = "/metrics";
+	public static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+	public static final long SNAPSHOT_INTERVAL_MS = 10000;
+
+	// latency histogram bucket bounds in seconds, and reported percentiles
+	private static final double[] BUCKETS = {1e-6, 1e-5, 1e-4, 1e-3, 1e-2, 1e-1, 1, 10, 100};
+	private static final double[] QUANTILES = {0.5, 0.9, 0.99, 0.999};
+
+	private static HttpServer _server = null;
+	private static ScheduledExecutorService _snapshots = null;
+	private static int _refs = 0;
+
+	/**
+	 * Starts the HTTP endpoint and/or file snapshots if configured and not yet running. Every call that returns true
+	 * acquires a reference to the shared exporter (e.g., per open JMLC connection), which needs to be released via
+	 * {@link #release()}.
+	 *
+	 * @param conf dml configuration
+	 * @return true if the metrics export is configured and a reference was acquired
+	 */
+	public static synchronized boolean startIfConfigured(DMLConfig conf) {
+		int port = conf.getIntValue(DMLConfig.STATS_METRICS_PORT);
+		String fname = conf.getTextValue(DMLConfig.STATS_METRICS_FILE);
+		boolean file = fname != null && !fname.isEmpty();
+		if(port < 0 && !file)
+			return false;
+		if(port >= 0 && _server == null)
+			startServer(port);
+		if(file && _snapshots == null)
+			startSnapshots(fname, SNAPSHOT_INTERVAL_MS);
+		_refs++;
+		return true;
+	}
+
+	/**
+	 * Releases a reference acquired via {@link #startIfConfigured(DMLConfig)}, and stops the exporter once the last
+	 * reference is released (the http dispatcher would otherwise keep the jvm alive).
+	 */
+	public static synchronized void release() {
+		if(_refs > 0 && --_refs == 0)
+			stop();
+	}
+
+	/**
+	 * Starts a local HTTP endpoint serving the metrics under {@value #CONTEXT}.
+	 *
+	 * @param port local port (0 for an ephemeral port)
+	 * @return the bound port
+	 */
+	public static synchronized int startServer(int port) {
+		if(_server != null)
+			return _server.getAddress().getPort();
+		try {
+			HttpServer server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+			server.createContext(CONTEXT, exchange -> {
+				try {
+					byte[] body = getMetrics().getBytes(StandardCharsets.UTF_8);
+					exchange.getResponseHeaders().set("Content-Type", CONTENT_TYPE);
+					exchange.sendResponseHeaders(200, body.length);
+					try(OutputStream os = exchange.getResponseBody()) {
+						os.write(body);
+					}
+				}
+				finally {
+					exchange.close();
+				}
+			});
+			server.setExecutor(Executors.newSingleThreadExecutor(r -> {
+				Thread t = new Thread(r, "sysds-metrics");
+				t.setDaemon(true);
+				return t;
+			}));
+			server.start();
+			_server = server;
+			LOG.info("Started metrics endpoint at " + server.getAddress() + CONTEXT);
+			return server.getAddress().getPort();
+		}
+		catch(IOException ex) {
+			throw new DMLRuntimeException("Failed to start metrics endpoint on port " + port, ex);
+		}
+	}
+
+	/**
+	 * Starts periodic snapshots of the metrics into the given file, which is atomically replaced on every update.
+	 *
+	 * @param fname     output file name
+	 * @param intervalMs snapshot interval in milliseconds
+	 */
+	public static synchronized void startSnapshots(String fname, long intervalMs) {
+		if(_snapshots != null)
+			return;
+		final Path path = Paths.get(fname);
+		_snapshots = Executors.newSingleThreadScheduledExecutor(r -> {
+			Thread t = new Thread(r, "sysds-metrics-snapshot");
+			t.setDaemon(true);
+			return t;
+		});
+		_snapshots.scheduleAtFixedRate(() -> writeSnapshot(path), 0, intervalMs, TimeUnit.MILLISECONDS);
+	}
+
+	public static synchronized boolean isRunning() {
+		return _server != null || _snapshots != null;
+	}
+
+	/**
+	 * Stops the HTTP endpoint and file snapshots, independent of any acquired references.
+	 */
+	public static synchronized void stop() {
+		_refs = 0;
+		if(_server != null) {
+			_server.stop(0);
+			_server = null;
+		}
+		if(_snapshots != null) {
+			_snapshots.shutdownNow();
+			_snapshots = null;
+		}
+	}
+
+	public static void writeSnapshot(Path path) {
+		try {
+			Path tmp = path.resolveSibling(path.getFileName() + ".tmp");
+			Files.write(tmp, getMetrics().getBytes(StandardCharsets.UTF_8));
+			Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		}
+		catch(IOException ex) {
+			LOG.warn("Failed to write metrics snapshot " + path, ex);
+		}
+	}
+
+	/**
+	 * Gets the current metrics in Prometheus text exposition format.
+	 *
+	 * @return metrics string
+	 */
+	public static String getMetrics() {
+		StringBuilder sb = new StringBuilder(4096);
+		appendInstructionMetrics(sb);
+
+		// buffer pool
+		appendHeader(sb, "sysds_bufferpool_hits_total", "counter", "Buffer pool acquires by source");
+		appendSample(sb, "sysds_bufferpool_hits_total", "source", "mem", CacheStatistics.getMemHits());
+		appendSample(sb, "sysds_bufferpool_hits_total", "source", "fsbuff", CacheStatistics.getFSBuffHits());
+		appendSample(sb, "sysds_bufferpool_hits_total", "source", "fs", CacheStatistics.getFSHits());
+		appendSample(sb, "sysds_bufferpool_hits_total", "source", "hdfs", CacheStatistics.getHDFSHits());
+		appendSample(sb, "sysds_bufferpool_hits_total", "source", "lineage", CacheStatistics.getLinHits());
+		appendHeader(sb, "sysds_bufferpool_writes_total", "counter", "Buffer pool writes by target");
+		appendSample(sb, "sysds_bufferpool_writes_total", "target", "fsbuff", CacheStatistics.getFSBuffWrites());
+		appendSample(sb, "sysds_bufferpool_writes_total", "target", "fs", CacheStatistics.getFSWrites());
+		appendSample(sb, "sysds_bufferpool_writes_total", "target", "hdfs", CacheStatistics.getHDFSWrites());
+		appendSample(sb, "sysds_bufferpool_writes_total", "target", "lineage", CacheStatistics.getLinWrites());
+		appendGauge(sb, "sysds_bufferpool_write_buffer_bytes", "Size of the buffer pool write buffer",
+			LazyWriteBuffer.getWriteBufferSize());
+		appendGauge(sb, "sysds_bufferpool_write_buffer_limit_bytes", "Limit of the buffer pool write buffer",
+			LazyWriteBuffer.getWriteBufferLimit());
+		appendGauge(sb, "sysds_pinned_objects_max", "Maximum number of pinned objects",
+			Statistics.getNumPinnedObjects());
+
+		// lineage cache
+		appendHeader(sb, "sysds_lineage_cache_hits_total", "counter", "Lineage cache hits by type");
+		appendSample(sb, "sysds_lineage_cache_hits_total", "type", "mem", LineageCacheStatistics.getMemHits());
+		appendSample(sb, "sysds_lineage_cache_hits_total", "type", "fs", LineageCacheStatistics.getFSHits());
+		appendSample(sb, "sysds_lineage_cache_hits_total", "type", "del", LineageCacheStatistics.getDelHits());
+		appendSample(sb, "sysds_lineage_cache_hits_total", "type", "inst", LineageCacheStatistics.getInstHits());
+		appendSample(sb, "sysds_lineage_cache_hits_total", "type", "sb", LineageCacheStatistics.getSBHits());
+		appendSample(sb, "sysds_lineage_cache_hits_total", "type", "func", LineageCacheStatistics.getFuncHits());
+		appendHeader(sb, "sysds_lineage_cache_writes_total", "counter", "Lineage cache writes by target");
+		appendSample(sb, "sysds_lineage_cache_writes_total", "target", "mem", LineageCacheStatistics.getMemWrites());
+		appendSample(sb, "sysds_lineage_cache_writes_total", "target", "fs", LineageCacheStatistics.getFSWrites());
+		appendCounter(sb, "sysds_lineage_cache_deletes_total", "Lineage cache evictions from memory",
+			LineageCacheStatistics.getMemDeletes());
+
+		// codegen
+		appendHeader(sb, "sysds_codegen_compile_total", "counter", "Codegen compilations by type");
+		appendSample(sb, "sysds_codegen_compile_total", "type", "dag", CodegenStatistics.getDAGCompile());
+		appendSample(sb, "sysds_codegen_compile_total", "type", "cplan", CodegenStatistics.getCPlanCompile());
+		appendSample(sb, "sysds_codegen_compile_total", "type", "class", CodegenStatistics.getClassCompile());
+		appendCounter(sb, "sysds_codegen_compile_seconds_total", "Codegen compile time",
+			CodegenStatistics.getCompileTime() / 1e9);
+		appendHeader(sb, "sysds_codegen_plan_cache_total", "counter", "Codegen plan cache lookups and hits");
+		appendSample(sb, "sysds_codegen_plan_cache_total", "result", "hit", CodegenStatistics.getPlanCacheHits());
+		appendSample(sb, "sysds_codegen_plan_cache_total", "result", "lookup", CodegenStatistics.getPlanCacheTotal());
+
+		// jvm
+		Runtime rt = Runtime.getRuntime();
+		appendGauge(sb, "sysds_jvm_heap_used_bytes", "Used JVM heap", rt.totalMemory() - rt.freeMemory());
+		appendGauge(sb, "sysds_jvm_heap_max_bytes", "Maximum JVM heap", rt.maxMemory());
+		return sb.toString();
+	}
+
+	private static void appendInstructionMetrics(StringBuilder sb) {
+		List<String> opcodes = new ArrayList<>(Statistics.getCPHeavyHitterOpCodes());
+		Collections.sort(opcodes);
+
+		final String hname = "sysds_instruction_latency_seconds";
+		appendHeader(sb, hname, "histogram", "Latency of executed instructions by opcode");
+		for(String opcode : opcodes) {
+			LatencyHistogram hist = Statistics.getCPHeavyHitterHistogram(opcode);
+			if(hist == null)
+				continue;
+			String label = "opcode=\"" + escape(opcode) + "\"";
+			for(double b : BUCKETS)
+				appendValue(sb, hname + "_bucket", label + ",le=\"" + b + "\"",
+					hist.getCountAtOrBelow((long) (b * 1e9)));
+			long count = hist.getCount();
+			appendValue(sb, hname + "_bucket", label + ",le=\"+Inf\"", count);
+			appendValue(sb, hname + "_sum", label, hist.getSum() / 1e9);
+			appendValue(sb, hname + "_count", label, count);
+		}
+
+		final String qname = "sysds_instruction_latency_quantile_seconds";
+		appendHeader(sb, qname, "gauge", "Latency percentiles of executed instructions by opcode");
+		for(String opcode : opcodes) {
+			LatencyHistogram hist = Statistics.getCPHeavyHitterHistogram(opcode);
+			if(hist == null)
+				continue;
+			String label = "opcode=\"" + escape(opcode) + "\"";
+			for(double q : QUANTILES)
+				appendValue(sb, qname, label + ",quantile=\"" + q + "\"", hist.getValueAtPercentile(q * 100) / 1e9);
+			appendValue(sb, qname, label + ",quantile=\"1.0\"", hist.getMax() / 1e9);
+		}
+	}
+
+	private static void appendHeader(StringBuilder sb, String name, String type, String help) {
+		sb.append("# HELP ").append(name).append(' ').append(help).append('\n');
+		sb.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+	}
+
+	private static void appendCounter(StringBuilder sb, String name, String help, double value) {
+		appendHeader(sb, name, "counter", help);
+		appendValue(sb, name, null, value);
+	}
+
+	private static void appendGauge(StringBuilder sb, String name, String help, double value) {
+		appendHeader(sb, name, "gauge", help);
+		appendValue(sb, name, null, value);
+	}
+
+	private static void appendSample(StringBuilder sb, String name, String label, String value, long count) {
+		appendValue(sb, name, label + "=\"" + value + "\"", count);
+	}
+
+	private static void appendValue(StringBuilder sb, String name, String labels, double value) {
+		sb.append(name);
+		if(labels != null)
+			sb.append('{').append(labels).append('}');
+		sb.append(' ');
+		if(value == Math.rint(value) && Math.abs(value) < 1e15)
+			sb.append((long) value);
+		else
+			sb.append(value);
+		sb.append('\n');
+	}
+
+	private static String escape(String label) {
+		return label.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+	}
+}
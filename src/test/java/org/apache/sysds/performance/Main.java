@@ -19,6 +19,9 @@
 
 package org.apache.sysds.performance;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import org.apache.sysds.performance.compression.IOBandwidth;
 import org.apache.sysds.performance.compression.SchemaTest;
 import org.apache.sysds.performance.compression.Serialize;
@@ -31,18 +34,22 @@ import org.apache.sysds.performance.generators.FrameTransformFile;
 import org.apache.sysds.performance.generators.GenMatrices;
 import org.apache.sysds.performance.generators.IGenerate;
 import org.apache.sysds.performance.generators.MatrixFile;
+import org.apache.sysds.performance.matrix.LSTMPerf;
 import org.apache.sysds.performance.matrix.MatrixAppend;
 import org.apache.sysds.performance.matrix.MatrixBinaryCellPerf;
 import org.apache.sysds.performance.matrix.MatrixMulPerformance;
 import org.apache.sysds.performance.matrix.MatrixReplacePerf;
 import org.apache.sysds.performance.matrix.MatrixStorage;
 import org.apache.sysds.performance.matrix.ReshapePerf;
+import org.apache.sysds.performance.matrix.SortPerf;
+import org.apache.sysds.performance.matrix.SparkShufflePerf;
 import org.apache.sysds.performance.matrix.SparseAppend;
 import org.apache.sysds.runtime.data.SparseBlock;
 import org.apache.sysds.runtime.frame.data.FrameBlock;
 import org.apache.sysds.runtime.matrix.data.MatrixBlock;
 import org.apache.sysds.runtime.util.CommonThreadPool;
 import org.apache.sysds.test.TestUtils;
+import org.apache.sysds.utils.stats.InfrastructureAnalyzer;
 
 public class Main {
 
@@ -139,6 +146,18 @@ public class Main {
 			case 1008:
 				MatrixAppend.main(args);
 				break;
+			case 1009:
+				SortPerf.main(args);
+				break;
+			case 1010:
+				LSTMPerf.main(args);
+				break;
+			case 1011:
+				SparkShufflePerf.main(args);
+				break;
+			case 1012:
+				run1012(args);
+				break;
 			default:
 				break;
 		}
@@ -266,6 +285,22 @@ public class Main {
 		perf.testSparseFormat(SparseBlock.Type.DCSR, SparseBlock.Type.DCSR);
 	}
 
+	private static void run1012(String[] args) {
+		// ... [rl] [cl] [warmupRuns] [repetitions]
+		int rl = args.length > 1 ? Integer.parseInt(args[1]) : 8192;
+		int cl = args.length > 2 ? Integer.parseInt(args[2]) : 2048;
+		int warmupRuns = args.length > 3 ? Integer.parseInt(args[3]) : 3;
+		int repetitions = args.length > 4 ? Integer.parseInt(args[4]) : 10;
+		// thread counts 1, 2, 4, ... up to all local cores (across NUMA nodes)
+		int maxK = InfrastructureAnalyzer.getLocalParallelism();
+		List<Integer> tmp = new ArrayList<>();
+		for(int k = 1; k < maxK; k *= 2)
+			tmp.add(k);
+		tmp.add(maxK);
+		int[] threads = tmp.stream().mapToInt(Integer::intValue).toArray();
+		new MatrixMulPerformance(rl, cl, warmupRuns, repetitions, 1, 1f, 1f).testDenseParallel(threads);
+	}
+
 	private static void run1001(String[] args) {
 		// ... [rl] [cl] [repetitions] [resolution] [maxSparsity]
 		MatrixStorage ms;
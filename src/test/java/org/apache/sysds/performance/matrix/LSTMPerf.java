@@ -0,0 +1,132 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.performance.matrix;
+
+import java.util.concurrent.ExecutorService;
+
+import org.apache.sysds.performance.compression.APerfTest;
+import org.apache.sysds.performance.generators.ConstMatrix;
+import org.apache.sysds.performance.generators.IGenerate;
+import org.apache.sysds.runtime.matrix.data.DnnParameters;
+import org.apache.sysds.runtime.matrix.data.LibMatrixDNNLSTM;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.util.CommonThreadPool;
+import org.apache.sysds.test.TestUtils;
+import org.apache.sysds.utils.stats.InfrastructureAnalyzer;
+
+public class LSTMPerf extends APerfTest<Object, MatrixBlock> {
+
+	private final int T, D, M, k;
+	private final MatrixBlock w, bias;
+
+	public LSTMPerf(int N, IGenerate<MatrixBlock> gen, int T, int D, int M, int k) {
+		super(N, gen);
+		this.T = T;
+		this.D = D;
+		this.M = M;
+		this.k = k;
+		w = TestUtils.generateTestMatrixBlock(D + M, 4 * M, -0.5, 0.5, 1.0, 2);
+		bias = TestUtils.generateTestMatrixBlock(1, 4 * M, -0.1, 0.1, 1.0, 3);
+	}
+
+	public void run() throws Exception {
+		MatrixBlock x = gen.take();
+		String info = String.format("N: %5d T: %4d D: %4d M: %4d par: %2d", x.getNumRows(), T, D, M, k);
+		warmup(() -> forward(0), 5);
+		execute(() -> forward(0), info + " forward generic");
+		execute(() -> forward(1), info + " forward tiled");
+		execute(() -> forward(2), info + " forward fused");
+		execute(() -> backward(false), info + " backward generic");
+		execute(() -> backward(true), info + " backward fused");
+	}
+
+	private DnnParameters forward(int type) {
+		MatrixBlock x = gen.take();
+		int n = x.getNumRows();
+		DnnParameters params = new DnnParameters(n, D, T, M, x, w, bias, new MatrixBlock(n, M, true),
+			new MatrixBlock(n, M, true), true, k);
+		params.output = new MatrixBlock(n, T * M, false);
+		params.output2 = new MatrixBlock(n, M, false);
+		params.output3 = new MatrixBlock(T, n * M, false);
+		params.output4 = new MatrixBlock(T, n * M, false);
+		params.output5 = new MatrixBlock(T, n * 4 * M, false);
+		if(type == 0)
+			LibMatrixDNNLSTM.lstmGeneric(params);
+		else {
+			params.output.allocateDenseBlock();
+			params.output2.allocateDenseBlock();
+			params.output3.allocateDenseBlock();
+			params.output4.allocateDenseBlock();
+			params.output5.allocateDenseBlock();
+			if(type == 1)
+				tiled(params);
+			else
+				LibMatrixDNNLSTM.lstmFused(params);
+		}
+		ret.add(null);
+		return params;
+	}
+
+	private void tiled(DnnParameters params) {
+		ExecutorService pool = CommonThreadPool.get(k);
+		try {
+			pool.invokeAll(LibMatrixDNNLSTM.getLSTMWorkers(params));
+		}
+		catch(InterruptedException e) {
+			throw new RuntimeException(e);
+		}
+		finally {
+			pool.shutdown();
+		}
+	}
+
+	private void backward(boolean fused) {
+		MatrixBlock x = gen.take();
+		int n = x.getNumRows();
+		DnnParameters fw = forward(2);
+		ret.remove(ret.size() - 1);
+		MatrixBlock dout = TestUtils.generateTestMatrixBlock(n, T * M, -1, 1, 1.0, 5);
+		DnnParameters params = new DnnParameters(n, D, T, M, x, w, bias, fw.input3, fw.input4, fw.output3,
+			fw.output4, fw.output5, true, dout, new MatrixBlock(n, M, true), new MatrixBlock(n, T * D, false),
+			new MatrixBlock(D + M, 4 * M, false), new MatrixBlock(1, 4 * M, false), new MatrixBlock(n, M, false),
+			new MatrixBlock(n, M, false), k);
+		if(fused)
+			LibMatrixDNNLSTM.lstmBackwardFused(params);
+		else
+			LibMatrixDNNLSTM.lstmBackwardGeneric(params);
+		ret.add(null);
+	}
+
+	@Override
+	protected String makeResString() {
+		return "";
+	}
+
+	public static void main(String[] args) throws Exception {
+		int n = args.length > 1 ? Integer.parseInt(args[1]) : 256;
+		int k = InfrastructureAnalyzer.getLocalParallelism();
+		for(int[] cfg : new int[][] {{32, 64, 64}, {128, 32, 128}, {16, 256, 256}}) {
+			int T = cfg[0], D = cfg[1], M = cfg[2];
+			MatrixBlock x = TestUtils.generateTestMatrixBlock(n, T * D, -1, 1, 1.0, 42);
+			new LSTMPerf(10, new ConstMatrix(x), T, D, M, 1).run();
+			new LSTMPerf(10, new ConstMatrix(x), T, D, M, k).run();
+		}
+	}
+}
@@ -30,6 +30,7 @@ import org.apache.sysds.runtime.instructions.InstructionUtils;
 import org.apache.sysds.runtime.matrix.data.MatrixBlock;
 import org.apache.sysds.runtime.util.DataConverter;
 import org.apache.sysds.test.TestUtils;
+import org.apache.sysds.utils.stats.InfrastructureAnalyzer;
 
 public class MatrixMulPerformance {
 
@@ -117,6 +118,31 @@ public class MatrixMulPerformance {
 		System.out.println("avgNanos" + (btype2 == null ? "Dense" : btype2.name()) + " =  " + printAsPythonList(avgNanosPerSparsity));
 	}
 
+	public void testDenseParallel(int[] threads) {
+		MatrixBlock m1 = TestUtils.generateTestMatrixBlock(_rl, _cl, -10, 10, 1.0, 7654321);
+		MatrixBlock m2 = TestUtils.generateTestMatrixBlock(_cl, _cl, -10, 10, 1.0, 7654322);
+		double[] avgNanosPerThreads = new double[threads.length];
+		long[] results = new long[repetitions];
+		for (int i = 0; i < threads.length; i++) {
+			for (int j = 0; j < warmupRuns; j++)
+				runDenseParallelTest(m1, m2, threads[i]);
+			for (int j = 0; j < repetitions; j++)
+				results[j] = runDenseParallelTest(m1, m2, threads[i]);
+			avgNanosPerThreads[i] = Arrays.stream(results).average().getAsDouble();
+		}
+
+		System.out.println("numaNodes = " + InfrastructureAnalyzer.getLocalNumaNodes());
+		System.out.println("threads = " + Arrays.toString(threads));
+		System.out.println("avgNanosDenseParallel = " + printAsPythonList(avgNanosPerThreads));
+	}
+
+	private static long runDenseParallelTest(MatrixBlock m1, MatrixBlock m2, int k) {
+		long nanos = System.nanoTime();
+		MatrixBlock m3 = m1.aggregateBinaryOperations(m1, m2, InstructionUtils.getMatMultOperator(k));
+		m3.sum(); // forced execution
+		return System.nanoTime() - nanos;
+	}
+
 	@SuppressWarnings("null")
 	private long runSparsityEstimateTest(SparseBlock.Type btype1, SparseBlock.Type btype2, float sparsity) {
 		double[][] A = TestUtils.generateTestMatrix(_rl, _cl, -10, 10, sparsity, 7654321);
@@ -0,0 +1,89 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.performance.matrix;
+
+import org.apache.sysds.common.Types.ValueType;
+import org.apache.sysds.performance.compression.APerfTest;
+import org.apache.sysds.performance.generators.ConstMatrix;
+import org.apache.sysds.performance.generators.IGenerate;
+import org.apache.sysds.runtime.frame.data.FrameBlock;
+import org.apache.sysds.runtime.matrix.data.LibMatrixReorg;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.test.TestUtils;
+import org.apache.sysds.utils.stats.InfrastructureAnalyzer;
+
+public class SortPerf extends APerfTest<Object, MatrixBlock> {
+
+	private final int k;
+
+	public SortPerf(int N, IGenerate<MatrixBlock> gen, int k) {
+		super(N, gen);
+		this.k = k;
+	}
+
+	public void run() throws Exception {
+		MatrixBlock mb = gen.take();
+		String info = String.format("rows: %9d sp: %5.3f par: %2d", mb.getNumRows(), mb.getSparsity(), k);
+		warmup(() -> sort(false), 10);
+		execute(() -> sort(false), info + " sort");
+		execute(() -> sort(true), info + " order index.return");
+		execute(() -> quantileSort(), info + " quantile sort");
+	}
+
+	private void sort(boolean ixret) {
+		MatrixBlock in = gen.take();
+		LibMatrixReorg.sort(in, new MatrixBlock(), new int[] {1}, false, ixret, k);
+		ret.add(null);
+	}
+
+	private void quantileSort() {
+		MatrixBlock in = gen.take();
+		in.sortOperations(null, new MatrixBlock(), k);
+		ret.add(null);
+	}
+
+	@Override
+	protected String makeResString() {
+		return "";
+	}
+
+	private static void frameSort(FrameBlock fb, int k) {
+		long t0 = System.nanoTime();
+		fb.sort(new int[] {1, 2}, false, k);
+		System.out.println(String.format("frame rows: %9d par: %2d multi-column sort: %10.3f ms", fb.getNumRows(), k,
+			(System.nanoTime() - t0) / 1e6));
+	}
+
+	public static void main(String[] args) throws Exception {
+		int rows = args.length > 1 ? Integer.parseInt(args[1]) : 10000000;
+		int k = InfrastructureAnalyzer.getLocalParallelism();
+		for(double sp : new double[] {1.0, 0.1}) {
+			// values with duplicates to exercise the stable index permutations
+			MatrixBlock a = TestUtils.round(TestUtils.generateTestMatrixBlock(rows, 1, 0, 1000, sp, 42));
+			new SortPerf(10, new ConstMatrix(a), 1).run();
+			new SortPerf(10, new ConstMatrix(a), k).run();
+		}
+
+		FrameBlock fb = TestUtils.generateRandomFrameBlock(rows / 10,
+			new ValueType[] {ValueType.INT32, ValueType.STRING, ValueType.FP64}, 7);
+		frameSort(fb, 1);
+		frameSort(fb, k);
+	}
+}
@@ -0,0 +1,75 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.performance.matrix;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.spark.HashPartitioner;
+import org.apache.spark.SparkConf;
+import org.apache.spark.api.java.JavaPairRDD;
+import org.apache.spark.api.java.JavaSparkContext;
+import org.apache.sysds.runtime.controlprogram.context.SparkExecutionContext;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.matrix.data.MatrixIndexes;
+import org.apache.sysds.test.TestUtils;
+
+import scala.Tuple2;
+
+/**
+ * Shuffle-heavy local[*] job (re-keying and repartitioning of all blocks) that compares the java serializer baseline
+ * with the default kryo configuration of SystemDS.
+ */
+public class SparkShufflePerf {
+
+	private static void run(SparkConf conf, List<Tuple2<MatrixIndexes, MatrixBlock>> blocks, int reps) {
+		conf.setMaster("local[*]").setAppName("SparkShufflePerf");
+		try(JavaSparkContext sc = new JavaSparkContext(conf)) {
+			JavaPairRDD<MatrixIndexes, MatrixBlock> in = sc.parallelizePairs(blocks, blocks.size() / 4);
+			int numParts = sc.defaultParallelism();
+			for(int i = 0; i < reps + 1; i++) {
+				long t0 = System.nanoTime();
+				long cnt = in
+					.mapToPair(t -> new Tuple2<>(new MatrixIndexes(t._1.getColumnIndex(), t._1.getRowIndex()), t._2))
+					.partitionBy(new HashPartitioner(numParts)).count();
+				if(i > 0) // first rep as warmup
+					System.out.println(String.format("%-45s blocks: %5d shuffle: %10.3f ms",
+						conf.get("spark.serializer"), cnt, (System.nanoTime() - t0) / 1e6));
+			}
+		}
+	}
+
+	public static void main(String[] args) throws Exception {
+		int nblocks = args.length > 1 ? Integer.parseInt(args[1]) : 8;
+		int reps = args.length > 2 ? Integer.parseInt(args[2]) : 5;
+		for(double sp : new double[] {1.0, 0.05}) {
+			List<Tuple2<MatrixIndexes, MatrixBlock>> blocks = new ArrayList<>();
+			MatrixBlock mb = TestUtils.generateTestMatrixBlock(1000, 1000, -1, 1, sp, 7);
+			for(int i = 1; i <= nblocks; i++)
+				for(int j = 1; j <= nblocks; j++)
+					blocks.add(new Tuple2<>(new MatrixIndexes(i, j), mb));
+			System.out.println("sparsity: " + sp);
+			SparkConf java = SparkExecutionContext.createSystemDSSparkConf()
+				.set("spark.serializer", "org.apache.spark.serializer.JavaSerializer");
+			run(java, blocks, reps);
+			run(SparkExecutionContext.createSystemDSSparkConf(), blocks, reps);
+		}
+	}
+}
@@ -0,0 +1,207 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.test.component.compress.io;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.io.SequenceFile.Writer;
+import org.apache.hadoop.mapred.JobConf;
+import org.apache.sysds.common.Types.FileFormat;
+import org.apache.sysds.conf.ConfigurationManager;
+import org.apache.sysds.runtime.compress.CompressedMatrixBlock;
+import org.apache.sysds.runtime.compress.io.ChunkedCompressor;
+import org.apache.sysds.runtime.io.FileFormatPropertiesCSV;
+import org.apache.sysds.runtime.io.IOUtilFunctions;
+import org.apache.sysds.runtime.io.MatrixReader;
+import org.apache.sysds.runtime.io.MatrixWriterFactory;
+import org.apache.sysds.runtime.io.ReaderBinaryBlockParallel;
+import org.apache.sysds.runtime.io.ReaderTextCSVParallel;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.matrix.data.MatrixIndexes;
+import org.apache.sysds.runtime.util.HDFSTool;
+import org.apache.sysds.test.TestUtils;
+import org.junit.Test;
+
+public class ChunkedCompressorTest {
+	private static final String DIR = "target/testTemp/component/compress/io/ChunkedCompressorTest/";
+
+	@Test
+	public void testEqualChunks() {
+		MatrixBlock mb = TestUtils.ceil(TestUtils.generateTestMatrixBlock(10000, 6, 0, 4, 1.0, 3));
+		runTest(mb, 1000, 1000, 1, true);
+	}
+
+	@Test
+	public void testUnalignedAppends() {
+		MatrixBlock mb = TestUtils.ceil(TestUtils.generateTestMatrixBlock(10000, 6, 0, 4, 1.0, 3));
+		runTest(mb, 1000, 777, 4, true);
+	}
+
+	@Test
+	public void testGrowingDictionaries() {
+		// distinct values of later chunks are not contained in the first chunk
+		MatrixBlock mb = new MatrixBlock(12000, 4, false);
+		mb.allocateDenseBlock();
+		for(int i = 0; i < 12000; i++)
+			for(int j = 0; j < 4; j++)
+				mb.set(i, j, (i / 1500) * (j + 1));
+		runTest(mb, 2000, 3000, 1, true);
+	}
+
+	@Test
+	public void testSparse() {
+		MatrixBlock mb = TestUtils.ceil(TestUtils.generateTestMatrixBlock(10000, 20, 0, 3, 0.05, 7));
+		runTest(mb, 2500, 1300, 1, true);
+	}
+
+	@Test
+	public void testEmptyChunks() {
+		MatrixBlock mb = new MatrixBlock(8000, 3, false);
+		mb.allocateDenseBlock();
+		for(int i = 6000; i < 8000; i++)
+			mb.set(i, i % 3, i % 4 + 1);
+		runTest(mb, 2000, 2000, 1, true);
+	}
+
+	@Test
+	public void testNotCompressible() {
+		MatrixBlock mb = TestUtils.generateTestMatrixBlock(3000, 10, -1, 1, 1.0, 3);
+		runTest(mb, 1000, 1000, 1, false);
+	}
+
+	@Test
+	public void testPadding() {
+		MatrixBlock mb = TestUtils.ceil(TestUtils.generateTestMatrixBlock(5000, 4, 0, 4, 1.0, 3));
+		ChunkedCompressor comp = new ChunkedCompressor(6000, 4, 1000, 1);
+		comp.append(mb);
+		MatrixBlock ret = comp.finish();
+		assertEquals(6000, ret.getNumRows());
+		TestUtils.compareMatrices(mb, ret.slice(0, 4999), 0);
+		assertTrue(ret.slice(5000, 5999).isEmptyBlock(false));
+	}
+
+	@Test
+	public void testReadCSVCompressed() {
+		MatrixBlock mb = TestUtils.ceil(TestUtils.generateTestMatrixBlock(10000, 8, 0, 5, 0.7, 11));
+		runReadTest(mb, FileFormat.CSV);
+	}
+
+	@Test
+	public void testReadBinaryCompressed() {
+		MatrixBlock mb = TestUtils.ceil(TestUtils.generateTestMatrixBlock(5000, 1200, 0, 5, 0.7, 11));
+		runReadTest(mb, FileFormat.BINARY);
+	}
+
+	@Test
+	public void testReadBinaryCompressedBounded() {
+		// row-ordered blocks are consumed while reading, even w/o buffer budget
+		double ratio = ReaderBinaryBlockParallel.COMPRESSED_READ_BUFFER_RATIO;
+		try {
+			ReaderBinaryBlockParallel.COMPRESSED_READ_BUFFER_RATIO = 0;
+			MatrixBlock mb = TestUtils.ceil(TestUtils.generateTestMatrixBlock(5000, 1200, 0, 5, 0.7, 11));
+			runReadTest(mb, FileFormat.BINARY);
+		}
+		finally {
+			ReaderBinaryBlockParallel.COMPRESSED_READ_BUFFER_RATIO = ratio;
+		}
+	}
+
+	@Test
+	public void testReadBinaryCompressedColumnOrder() {
+		// blocks in column-major order exceed the buffer budget, fallback to full read
+		double ratio = ReaderBinaryBlockParallel.COMPRESSED_READ_BUFFER_RATIO;
+		try {
+			ReaderBinaryBlockParallel.COMPRESSED_READ_BUFFER_RATIO = 0;
+			MatrixBlock mb = TestUtils.ceil(TestUtils.generateTestMatrixBlock(5000, 1200, 0, 5, 0.7, 11));
+			String fname = DIR + "BINARY_colorder";
+			HDFSTool.deleteFileIfExistOnHDFS(fname);
+			Path path = new Path(fname);
+			Writer writer = IOUtilFunctions.getSeqWriter(path, new JobConf(ConfigurationManager.getCachedJobConf()), 1);
+			try {
+				for(int cl = 0; cl < mb.getNumColumns(); cl += 1000)
+					for(int rl = 0; rl < mb.getNumRows(); rl += 1000)
+						writer.append(new MatrixIndexes(rl / 1000 + 1, cl / 1000 + 1),
+							mb.slice(rl, Math.min(rl + 1000, mb.getNumRows()) - 1, cl,
+								Math.min(cl + 1000, mb.getNumColumns()) - 1));
+			}
+			finally {
+				IOUtilFunctions.closeSilently(writer);
+			}
+
+			MatrixBlock ret = new ReaderBinaryBlockParallel(false, true)
+				.readMatrixFromHDFS(fname, mb.getNumRows(), mb.getNumColumns(), 1000, mb.getNonZeros());
+			assertTrue(ret instanceof CompressedMatrixBlock);
+			TestUtils.compareMatrices(mb, ret, 0);
+		}
+		catch(Exception e) {
+			e.printStackTrace();
+			fail(e.getMessage());
+		}
+		finally {
+			ReaderBinaryBlockParallel.COMPRESSED_READ_BUFFER_RATIO = ratio;
+		}
+	}
+
+	private static void runTest(MatrixBlock mb, int chunkRows, int appendRows, int k, boolean compressed) {
+		try {
+			ChunkedCompressor comp = new ChunkedCompressor(mb.getNumRows(), mb.getNumColumns(), chunkRows, k);
+			for(int rl = 0; rl < mb.getNumRows(); rl += appendRows)
+				comp.append(mb.slice(rl, Math.min(mb.getNumRows(), rl + appendRows) - 1));
+			MatrixBlock ret = comp.finish();
+
+			assertEquals(compressed, ret instanceof CompressedMatrixBlock);
+			if(ret instanceof CompressedMatrixBlock)
+				assertFalse(((CompressedMatrixBlock) ret).isOverlapping());
+			assertEquals(mb.getNumRows(), ret.getNumRows());
+			assertEquals(mb.getNumColumns(), ret.getNumColumns());
+			TestUtils.compareMatrices(mb, ret, 0);
+		}
+		catch(Exception e) {
+			e.printStackTrace();
+			fail(e.getMessage());
+		}
+	}
+
+	private static void runReadTest(MatrixBlock mb, FileFormat fmt) {
+		try {
+			String fname = DIR + fmt;
+			HDFSTool.deleteFileIfExistOnHDFS(fname);
+			MatrixWriterFactory.createMatrixWriter(fmt)
+				.writeMatrixToHDFS(mb, fname, mb.getNumRows(), mb.getNumColumns(), 1000, mb.getNonZeros());
+
+			MatrixReader reader = (fmt == FileFormat.CSV) ?
+				new ReaderTextCSVParallel(new FileFormatPropertiesCSV(), true) : new ReaderBinaryBlockParallel(false, true);
+			MatrixBlock ret = reader.readMatrixFromHDFS(fname, mb.getNumRows(), mb.getNumColumns(), 1000,
+				mb.getNonZeros());
+
+			assertTrue(ret instanceof CompressedMatrixBlock);
+			assertEquals(mb.getNumRows(), ret.getNumRows());
+			TestUtils.compareMatrices(mb, ret, 0);
+		}
+		catch(Exception e) {
+			e.printStackTrace();
+			fail(e.getMessage());
+		}
+	}
+}
@@ -19,6 +19,7 @@
 
 package org.apache.sysds.test.component.compress.lib;
 
+import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.when;
 
@@ -30,8 +31,11 @@ import org.apache.sysds.runtime.compress.lib.CLALibBinaryCellOp;
 import org.apache.sysds.runtime.functionobjects.GreaterThanEquals;
 import org.apache.sysds.runtime.functionobjects.LessThanEquals;
 import org.apache.sysds.runtime.functionobjects.Minus;
+import org.apache.sysds.runtime.functionobjects.Multiply;
+import org.apache.sysds.runtime.functionobjects.Plus;
 import org.apache.sysds.runtime.matrix.data.MatrixBlock;
 import org.apache.sysds.runtime.matrix.operators.BinaryOperator;
+import org.apache.sysds.runtime.matrix.operators.RightScalarOperator;
 import org.apache.sysds.test.TestUtils;
 import org.junit.Test;
 
@@ -144,4 +148,37 @@ public class CLALibBinaryCellOpCustomTest {
 		TestUtils.compareMatricesBitAvgDistance(new MatrixBlock(10, 10, 324.0 - 2.5), cRet, 0, 0, op.toString());
 	}
 
+	@Test
+	public void doubleCompressedSharedMapping() {
+		BinaryOperator op = new BinaryOperator(Plus.getPlusFnObject(), 2);
+		MatrixBlock mb = TestUtils.ceil(TestUtils.generateTestMatrixBlock(1000, 10, 0, 5, 1.0, 7));
+		CompressedMatrixBlock c1 = (CompressedMatrixBlock) CompressedMatrixBlockFactory.compress(mb, 1).getKey();
+		MatrixBlock c2 = c1.scalarOperations(new RightScalarOperator(Multiply.getMultiplyFnObject(), 3), null);
+		MatrixBlock cRet = CLALibBinaryCellOp.binaryOperationsRight(op, c1, c2);
+
+		// result stays compressed with the dictionaries combined directly
+		assertTrue(cRet instanceof CompressedMatrixBlock);
+		MatrixBlock ucRet = mb.binaryOperations(op, CompressedMatrixBlock.getUncompressed(c2));
+		TestUtils.compareMatricesBitAvgDistance(ucRet, cRet, 0, 0, op.toString());
+		MatrixBlock cRetLeft = CLALibBinaryCellOp.binaryOperationsLeft(op, c1, c2);
+		assertTrue(cRetLeft instanceof CompressedMatrixBlock);
+		TestUtils.compareMatricesBitAvgDistance(ucRet, cRetLeft, 0, 0, op.toString());
+	}
+
+	@Test
+	public void doubleCompressedPartialPairing() {
+		BinaryOperator op = new BinaryOperator(Minus.getMinusFnObject(), 2);
+		MatrixBlock mb1 = TestUtils.ceil(TestUtils.generateTestMatrixBlock(1000, 10, 0, 5, 1.0, 7));
+		MatrixBlock mb2 = TestUtils.ceil(TestUtils.generateTestMatrixBlock(1000, 10, 0, 3, 1.0, 13));
+		for(int i = 0; i < 1000; i++)
+			mb2.set(i, 3, 4); // constant column
+		CompressedMatrixBlock c1 = (CompressedMatrixBlock) CompressedMatrixBlockFactory.compress(mb1, 1).getKey();
+		MatrixBlock c2 = CompressedMatrixBlockFactory.compress(mb2, 1).getKey();
+
+		// unpaired column groups fall back to decompressed processing
+		MatrixBlock cRet = CLALibBinaryCellOp.binaryOperationsRight(op, c1, c2);
+		TestUtils.compareMatricesBitAvgDistance(mb1.binaryOperations(op, mb2), cRet, 0, 0, op.toString());
+		MatrixBlock cRetLeft = CLALibBinaryCellOp.binaryOperationsLeft(op, c1, c2);
+		TestUtils.compareMatricesBitAvgDistance(mb2.binaryOperations(op, mb1), cRetLeft, 0, 0, op.toString());
+	}
 }
@@ -0,0 +1,91 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.test.component.estim;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import org.apache.sysds.common.Types.FileFormat;
+import org.apache.sysds.common.Types.ValueType;
+import org.apache.sysds.hops.estim.EstimatorMatrixHistogram;
+import org.apache.sysds.hops.estim.EstimatorMatrixHistogram.MatrixHistogram;
+import org.apache.sysds.hops.estim.MMNode;
+import org.apache.sysds.hops.estim.SparsityEstimator.OpCode;
+import org.apache.sysds.runtime.controlprogram.caching.MatrixObject;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.meta.MatrixCharacteristics;
+import org.apache.sysds.runtime.meta.MetaDataFormat;
+import org.junit.Test;
+
+/**
+ * Tests the reuse of matrix histograms attached to matrix objects.
+ */
+public class SynopsisCacheTest {
+
+	@Test
+	public void testSynopsisReuse() {
+		MatrixObject mo = createMatrixObject(MatrixBlock.randOperations(300, 200, 0.01, 1, 1, "uniform", 1));
+		MatrixHistogram h1 = EstimatorMatrixHistogram.getSynopsis(mo);
+		MatrixHistogram h2 = EstimatorMatrixHistogram.getSynopsis(mo);
+		assertSame(h1, h2);
+		assertEquals(mo.getNnz(), h1.getNonZeros());
+	}
+
+	@Test
+	public void testSynopsisInvalidation() {
+		MatrixObject mo = createMatrixObject(MatrixBlock.randOperations(300, 200, 0.01, 1, 1, "uniform", 1));
+		MatrixHistogram h1 = EstimatorMatrixHistogram.getSynopsis(mo);
+		MatrixBlock mb = MatrixBlock.randOperations(300, 200, 0.05, 1, 1, "uniform", 2);
+		mo.acquireModify(mb);
+		mo.release();
+		assertNull(mo.getSynopsis());
+		mo.refreshMetaData();
+		MatrixHistogram h2 = EstimatorMatrixHistogram.getSynopsis(mo);
+		assertNotSame(h1, h2);
+		assertEquals(mb.getNonZeros(), h2.getNonZeros());
+	}
+
+	@Test
+	public void testEstimateWithSynopsisLeafs() {
+		MatrixBlock m1 = MatrixBlock.randOperations(500, 300, 0.002, 1, 1, "uniform", 3);
+		MatrixBlock m2 = MatrixBlock.randOperations(300, 400, 0.003, 1, 1, "uniform", 4);
+		double expected = new EstimatorMatrixHistogram(true)
+			.estim(new MMNode(new MMNode(m1), new MMNode(m2), OpCode.MM)).getSparsity();
+
+		MatrixObject mo1 = createMatrixObject(m1), mo2 = createMatrixObject(m2);
+		MMNode leaf1 = new MMNode(mo1.getDataCharacteristics(), EstimatorMatrixHistogram.getSynopsis(mo1));
+		MMNode leaf2 = new MMNode(mo2.getDataCharacteristics(), EstimatorMatrixHistogram.getSynopsis(mo2));
+		MMNode root = new MMNode(leaf1, leaf2, OpCode.MM);
+		assertEquals(expected, new EstimatorMatrixHistogram(true).estim(root).getSparsity(), 1e-10);
+
+		// reset retains the precomputed leaf synopses
+		root.reset();
+		assertSame(mo1.getSynopsis(), leaf1.getSynopsis());
+		assertEquals(expected, new EstimatorMatrixHistogram(true).estim(root).getSparsity(), 1e-10);
+	}
+
+	private static MatrixObject createMatrixObject(MatrixBlock mb) {
+		MatrixCharacteristics mc = new MatrixCharacteristics(mb.getNumRows(), mb.getNumColumns(), 1000,
+			mb.getNonZeros());
+		return new MatrixObject(ValueType.FP64, "/dev/null", new MetaDataFormat(mc, FileFormat.BINARY), mb);
+	}
+}
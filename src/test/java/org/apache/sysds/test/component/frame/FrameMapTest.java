@@ -0,0 +1,136 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.test.component.frame;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.apache.sysds.common.Types.ValueType;
+import org.apache.sysds.runtime.frame.data.FrameBlock;
+import org.apache.sysds.runtime.frame.data.FrameBlock.FrameMapFunction;
+import org.apache.sysds.runtime.frame.data.columns.Array;
+import org.apache.sysds.runtime.frame.data.columns.ArrayFactory;
+import org.apache.sysds.runtime.frame.data.columns.DDCArray;
+import org.apache.sysds.runtime.frame.data.lib.FrameLibMap;
+import org.apache.sysds.test.TestUtils;
+import org.junit.Test;
+
+public class FrameMapTest {
+
+	private static final FrameMapFunction UPPER = new FrameMapFunction() {
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		public String apply(String input) {
+			return input.toUpperCase() + "_";
+		}
+	};
+
+	@Test
+	public void mapCellsSingleVsParallel() {
+		FrameBlock in = TestUtils.generateRandomFrameBlock(5000,
+			new ValueType[] {ValueType.STRING, ValueType.FP64, ValueType.INT32, ValueType.INT64, ValueType.BOOLEAN},
+			7);
+		FrameBlock a = in.map(UPPER, 0, 1);
+		FrameBlock b = in.map(UPPER, 0, 4);
+		TestUtils.compareFrames(a, b, false);
+		for(int j = 0; j < in.getNumColumns(); j++)
+			assertEquals(String.valueOf(in.get(13, j)).toUpperCase() + "_", b.get(13, j));
+	}
+
+	@Test
+	public void mapCellsSmallBlocks() {
+		final int tmp = FrameLibMap.PAR_ROW_THRESHOLD;
+		try {
+			FrameLibMap.PAR_ROW_THRESHOLD = 10;
+			FrameBlock in = TestUtils.generateRandomFrameBlock(1000, new ValueType[] {ValueType.STRING, ValueType.FP32},
+				3);
+			TestUtils.compareFrames(in.map(UPPER, 0, 1), in.map(UPPER, 0, 16), false);
+		}
+		finally {
+			FrameLibMap.PAR_ROW_THRESHOLD = tmp;
+		}
+	}
+
+	@Test
+	public void mapCellsNull() {
+		FrameBlock in = new FrameBlock(new Array<?>[] {ArrayFactory.create(new String[] {"a", null, "c"})});
+		FrameBlock out = in.map(UPPER, 0, 2);
+		assertEquals("A_", out.get(0, 0));
+		assertNull(out.get(1, 0));
+		assertEquals("C_", out.get(2, 0));
+	}
+
+	@Test
+	public void mapCellsDDC() {
+		String[] v = new String[100];
+		for(int i = 0; i < v.length; i++)
+			v[i] = "v" + (i % 3);
+		Array<?> ddc = DDCArray.compressToDDC(ArrayFactory.create(v));
+		assertTrue(ddc instanceof DDCArray);
+		FrameBlock in = new FrameBlock(new Array<?>[] {ddc});
+		FrameBlock out = in.map(UPPER, 0, 1);
+		assertTrue(out.getColumn(0) instanceof DDCArray);
+		assertEquals(ValueType.STRING, out.getSchema()[0]);
+		for(int i = 0; i < v.length; i++)
+			assertEquals(v[i].toUpperCase() + "_", out.get(i, 0));
+	}
+
+	@Test
+	public void mapRowsParallel() {
+		FrameMapFunction rev = new FrameMapFunction() {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			public String[] apply(String[] input) {
+				String[] ret = new String[input.length];
+				for(int i = 0; i < input.length; i++)
+					ret[i] = input[input.length - 1 - i];
+				return ret;
+			}
+		};
+		FrameBlock in = TestUtils.generateRandomFrameBlock(3000, new ValueType[] {ValueType.STRING, ValueType.INT64}, 1);
+		FrameBlock out = in.map(rev, 1, 4);
+		TestUtils.compareFrames(in.map(rev, 1, 1), out, false);
+		assertEquals(String.valueOf(in.get(5, 1)), out.get(5, 0));
+		assertEquals(String.valueOf(in.get(5, 0)), out.get(5, 1));
+	}
+
+	@Test
+	public void mapColumnsParallel() {
+		FrameMapFunction first = new FrameMapFunction() {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			public String[] apply(String[] input) {
+				String[] ret = new String[input.length];
+				for(int i = 0; i < input.length; i++)
+					ret[i] = input[0];
+				return ret;
+			}
+		};
+		FrameBlock in = TestUtils.generateRandomFrameBlockWithSchemaOfStrings(100, 3, 2);
+		FrameBlock out = in.map(first, 2, 3);
+		for(int j = 0; j < 3; j++)
+			for(int i = 0; i < 100; i++)
+				assertEquals(in.get(0, j), out.get(i, j));
+	}
+}
@@ -0,0 +1,122 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.test.component.frame;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.util.Arrays;
+import java.util.Comparator;
+
+import org.apache.sysds.common.Types.ValueType;
+import org.apache.sysds.runtime.DMLRuntimeException;
+import org.apache.sysds.runtime.frame.data.FrameBlock;
+import org.apache.sysds.runtime.frame.data.columns.Array;
+import org.apache.sysds.runtime.frame.data.columns.ArrayFactory;
+import org.apache.sysds.runtime.frame.data.lib.FrameLibSort;
+import org.apache.sysds.test.TestUtils;
+import org.junit.Test;
+
+public class FrameSortTest {
+
+	@Test
+	public void sortSingleNumeric() {
+		FrameBlock in = new FrameBlock(new Array<?>[] {ArrayFactory.create(new int[] {3, 1, 2, 1, 3}),
+			ArrayFactory.create(new String[] {"a", "b", "c", "d", "e"})});
+		FrameBlock out = in.sort(new int[] {1}, false, 1);
+		assertArrayEquals(new String[] {"b", "d", "c", "a", "e"}, getStrings(out, 1));
+		out = in.sort(new int[] {1}, true, 1);
+		assertArrayEquals(new String[] {"a", "e", "c", "b", "d"}, getStrings(out, 1));
+	}
+
+	@Test
+	public void sortMultiColumnStrings() {
+		FrameBlock in = new FrameBlock(new Array<?>[] {ArrayFactory.create(new String[] {"x", "y", null, "x", "y"}),
+			ArrayFactory.create(new double[] {2, 1, 5, 1, 1}), ArrayFactory.create(new int[] {0, 1, 2, 3, 4})});
+		int[] ix = FrameLibSort.sortIndexes(in, new int[] {1, 2}, false, 1);
+		assertArrayEquals(new int[] {2, 3, 0, 1, 4}, ix);
+		ix = FrameLibSort.sortIndexes(in, new int[] {1, 2}, true, 4);
+		assertArrayEquals(new int[] {1, 4, 0, 3, 2}, ix);
+	}
+
+	@Test
+	public void sortParallelVsSingle() {
+		FrameBlock in = TestUtils.generateRandomFrameBlock(20000,
+			new ValueType[] {ValueType.BOOLEAN, ValueType.STRING, ValueType.FP64, ValueType.INT64}, 13);
+		for(int[] by : new int[][] {{3}, {1, 2}, {1, 4, 3}}) {
+			for(boolean desc : new boolean[] {false, true}) {
+				FrameBlock a = in.sort(by, desc, 1);
+				FrameBlock b = in.sort(by, desc, 8);
+				TestUtils.compareFrames(a, b, true);
+				assertArrayEquals(getStableOrder(in, by, desc), FrameLibSort.sortIndexes(in, by, desc, 8));
+			}
+		}
+	}
+
+	@Test
+	public void sortKeepsSchemaAndNames() {
+		FrameBlock in = TestUtils.generateRandomFrameBlock(100, new ValueType[] {ValueType.INT32, ValueType.FP32}, 3);
+		in.setColumnNames(new String[] {"a", "b"});
+		FrameBlock out = in.sort(new int[] {2}, false, 2);
+		assertArrayEquals(in.getSchema(), out.getSchema());
+		assertArrayEquals(in.getColumnNames(), out.getColumnNames());
+		assertEquals(in.getNumRows(), out.getNumRows());
+	}
+
+	@Test(expected = DMLRuntimeException.class)
+	public void sortInvalidColumn() {
+		TestUtils.generateRandomFrameBlock(10, new ValueType[] {ValueType.INT32}, 3).sort(new int[] {2}, false, 1);
+	}
+
+	private static String[] getStrings(FrameBlock fb, int col) {
+		String[] ret = new String[fb.getNumRows()];
+		for(int i = 0; i < ret.length; i++)
+			ret[i] = (String) fb.get(i, col);
+		return ret;
+	}
+
+	private static int[] getStableOrder(FrameBlock in, int[] by, boolean desc) {
+		Integer[] ix = new Integer[in.getNumRows()];
+		for(int i = 0; i < ix.length; i++)
+			ix[i] = i;
+		Comparator<Integer> cmp = (a, b) -> {
+			for(int c : by) {
+				Array<?> col = in.getColumn(c - 1);
+				int ret = col.getValueType() == ValueType.STRING ? //
+					compare((String) col.get(a), (String) col.get(b)) : //
+					Double.compare(col.getAsDouble(a), col.getAsDouble(b));
+				if(ret != 0)
+					return desc ? -ret : ret;
+			}
+			return 0;
+		};
+		Arrays.sort(ix, cmp);
+		int[] ret = new int[ix.length];
+		for(int i = 0; i < ix.length; i++)
+			ret[i] = ix[i];
+		return ret;
+	}
+
+	private static int compare(String a, String b) {
+		if(a == null)
+			return b == null ? 0 : -1;
+		return b == null ? 1 : a.compareTo(b);
+	}
+}
@@ -0,0 +1,209 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.test.component.io;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import java.io.FileInputStream;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collection;
+
+import org.apache.sysds.runtime.frame.data.FrameBlock;
+import org.apache.sysds.runtime.frame.data.columns.Array;
+import org.apache.sysds.runtime.frame.data.columns.ArrayFactory;
+import org.apache.sysds.runtime.io.FrameReadFilter;
+import org.apache.sysds.runtime.io.FrameReader;
+import org.apache.sysds.runtime.io.FrameReaderColumnar;
+import org.apache.sysds.runtime.io.FrameReaderColumnarParallel;
+import org.apache.sysds.runtime.io.FrameWriter;
+import org.apache.sysds.runtime.io.FrameWriterColumnar;
+import org.apache.sysds.runtime.io.FrameWriterColumnarParallel;
+import org.apache.sysds.runtime.io.MatrixReader;
+import org.apache.sysds.runtime.io.MatrixWriter;
+import org.apache.sysds.runtime.io.ReaderColumnar;
+import org.apache.sysds.runtime.io.ReaderColumnarParallel;
+import org.apache.sysds.runtime.io.WriterColumnar;
+import org.apache.sysds.runtime.io.WriterColumnarParallel;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.util.HDFSTool;
+import org.apache.sysds.test.TestUtils;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameters;
+
+@RunWith(value = Parameterized.class)
+public class ColumnarFormatTest {
+	private static final String DIR = "target/testTemp/component/io/ColumnarFormatTest/";
+
+	@Parameterized.Parameter
+	public boolean parallel;
+
+	@Parameters
+	public static Collection<Object[]> data() {
+		ArrayList<Object[]> tests = new ArrayList<>();
+		tests.add(new Object[] {false});
+		tests.add(new Object[] {true});
+		return tests;
+	}
+
+	@Test
+	public void testMatrixDense() {
+		runMatrixTest(TestUtils.generateTestMatrixBlock(12000, 100, -10, 10, 0.9, 7));
+	}
+
+	@Test
+	public void testMatrixSparse() {
+		runMatrixTest(TestUtils.generateTestMatrixBlock(12000, 100, -10, 10, 0.05, 7));
+	}
+
+	@Test
+	public void testMatrixUltraSparse() {
+		runMatrixTest(TestUtils.generateTestMatrixBlock(3000, 2000, 0, 1, 0.0001, 7));
+	}
+
+	@Test
+	public void testMatrixLowCardinality() {
+		// rounded values are encoded as dictionary or run-length encoded chunks
+		MatrixBlock mb = TestUtils.round(TestUtils.generateTestMatrixBlock(12000, 10, 0, 3, 1.0, 7));
+		runMatrixTest(mb);
+	}
+
+	@Test
+	public void testMatrixEmpty() {
+		runMatrixTest(new MatrixBlock(500, 20, true));
+	}
+
+	@Test
+	public void testMatrixInputStream() {
+		try {
+			MatrixBlock mb = TestUtils.generateTestMatrixBlock(1000, 50, -10, 10, 0.5, 3);
+			String fname = DIR + "matrix_stream";
+			new WriterColumnar().writeMatrixToHDFS(mb, fname, mb.getNumRows(), mb.getNumColumns(), 1000,
+				mb.getNonZeros());
+			try(InputStream is = new FileInputStream(fname)) {
+				MatrixBlock ret = new ReaderColumnar()
+					.readMatrixFromInputStream(is, mb.getNumRows(), mb.getNumColumns(), 1000, mb.getNonZeros());
+				TestUtils.compareMatrices(mb, ret, 0);
+			}
+		}
+		catch(Exception e) {
+			e.printStackTrace();
+			fail(e.getMessage());
+		}
+	}
+
+	@Test
+	public void testFrameMixedWithNulls() {
+		runFrameTest(createFrame(5000, true), null);
+	}
+
+	@Test
+	public void testFrameProjection() {
+		runFrameTest(createFrame(5000, false), new FrameReadFilter(5, new int[] {1, 3}));
+	}
+
+	@Test
+	public void testFramePredicateRowGroupSkipping() {
+		// 3 row groups, of which the first two cannot match the predicate
+		runFrameTest(createFrame(150000, false), new FrameReadFilter(5, new int[] {1, 2}, 0, ">=", "140000"));
+	}
+
+	@Test
+	public void testFramePredicateString() {
+		runFrameTest(createFrame(5000, true), new FrameReadFilter(5, null, 1, "==", "s2"));
+	}
+
+	private void runMatrixTest(MatrixBlock mb) {
+		try {
+			String fname = DIR + "matrix_" + parallel;
+			MatrixWriter writer = parallel ? new WriterColumnarParallel() : new WriterColumnar();
+			writer.setForcedParallel(parallel);
+			writer.writeMatrixToHDFS(mb, fname, mb.getNumRows(), mb.getNumColumns(), 1000, mb.getNonZeros());
+
+			MatrixReader reader = parallel ? new ReaderColumnarParallel() : new ReaderColumnar();
+			MatrixBlock ret = reader.readMatrixFromHDFS(fname, mb.getNumRows(), mb.getNumColumns(), 1000,
+				mb.getNonZeros());
+			assertEquals(mb.getNonZeros(), ret.getNonZeros());
+			TestUtils.compareMatrices(mb, ret, 0);
+		}
+		catch(Exception e) {
+			e.printStackTrace();
+			fail(e.getMessage());
+		}
+	}
+
+	private void runFrameTest(FrameBlock fb, FrameReadFilter filter) {
+		try {
+			String fname = DIR + "frame_" + parallel;
+			HDFSTool.deleteFileIfExistOnHDFS(fname);
+			FrameWriter writer = parallel ? new FrameWriterColumnarParallel() : new FrameWriterColumnar();
+			writer.setForcedParallel(parallel);
+			writer.writeFrameToHDFS(fb, fname, fb.getNumRows(), fb.getNumColumns());
+
+			FrameReader reader = parallel ? new FrameReaderColumnarParallel() : new FrameReaderColumnar();
+			reader.setReadFilter(filter);
+			FrameBlock ret = reader.readFrameFromHDFS(fname, fb.getSchema(), fb.getNumRows(), fb.getNumColumns());
+
+			FrameBlock expected = (filter != null) ? filter.apply(project(fb, filter.getReadColumns())) : fb;
+			assertArrayEquals(expected.getSchema(), ret.getSchema());
+			assertArrayEquals(expected.getColumnNames(), ret.getColumnNames());
+			assertEquals(expected.getNumRows(), ret.getNumRows());
+			for(int i = 0; i < expected.getNumRows(); i++)
+				for(int j = 0; j < expected.getNumColumns(); j++)
+					assertEquals(String.valueOf(expected.get(i, j)), String.valueOf(ret.get(i, j)));
+		}
+		catch(Exception e) {
+			e.printStackTrace();
+			fail(e.getMessage());
+		}
+	}
+
+	private static FrameBlock createFrame(int rows, boolean nulls) {
+		long[] c0 = new long[rows];
+		String[] c1 = new String[rows];
+		Double[] c2 = new Double[rows];
+		boolean[] c3 = new boolean[rows];
+		int[] c4 = new int[rows];
+		for(int i = 0; i < rows; i++) {
+			c0[i] = i;
+			c1[i] = (nulls && i % 11 == 0) ? null : "s" + (i % 5);
+			c2[i] = (nulls && i % 13 == 0) ? null : i * 0.25;
+			c3[i] = i % 3 == 0;
+			c4[i] = i % 4;
+		}
+		Array<?>[] data = new Array<?>[] {ArrayFactory.create(c0), ArrayFactory.create(c1), ArrayFactory.create(c2),
+			ArrayFactory.create(c3), ArrayFactory.create(c4)};
+		return new FrameBlock(data, new String[] {"id", "cat", "val", "flag", "code"});
+	}
+
+	private static FrameBlock project(FrameBlock fb, int[] cols) {
+		Array<?>[] data = new Array<?>[cols.length];
+		String[] names = new String[cols.length];
+		for(int j = 0; j < cols.length; j++) {
+			data[j] = fb.getColumn(cols[j]);
+			names[j] = fb.getColumnName(cols[j]);
+		}
+		return new FrameBlock(data, names);
+	}
+}
@@ -0,0 +1,171 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.test.component.io;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.Collection;
+
+import org.apache.sysds.common.Types.FileFormat;
+import org.apache.sysds.common.Types.ValueType;
+import org.apache.sysds.runtime.frame.data.FrameBlock;
+import org.apache.sysds.runtime.io.FileFormatPropertiesCSV;
+import org.apache.sysds.runtime.io.FrameReadFilter;
+import org.apache.sysds.runtime.io.FrameReader;
+import org.apache.sysds.runtime.io.FrameReaderBinaryBlock;
+import org.apache.sysds.runtime.io.FrameReaderBinaryBlockParallel;
+import org.apache.sysds.runtime.io.FrameReaderTextCSV;
+import org.apache.sysds.runtime.io.FrameReaderTextCSVParallel;
+import org.apache.sysds.runtime.io.FrameWriterFactory;
+import org.apache.sysds.runtime.util.HDFSTool;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameters;
+
+@RunWith(value = Parameterized.class)
+public class FrameReadFilterTest {
+	private static final String DIR = "target/testTemp/component/io/FrameReadFilterTest/";
+	private static final ValueType[] SCHEMA = {ValueType.INT64, ValueType.STRING, ValueType.FP64, ValueType.STRING,
+		ValueType.INT64, ValueType.BOOLEAN};
+	private static final int ROWS = 2500;
+
+	@Parameterized.Parameter
+	public FileFormat fmt;
+	@Parameterized.Parameter(1)
+	public boolean parallel;
+
+	@Parameters
+	public static Collection<Object[]> data() {
+		ArrayList<Object[]> tests = new ArrayList<>();
+		for(FileFormat fmt : new FileFormat[] {FileFormat.CSV, FileFormat.BINARY})
+			for(boolean parallel : new boolean[] {false, true})
+				tests.add(new Object[] {fmt, parallel});
+		return tests;
+	}
+
+	@Test
+	public void testProjection() {
+		runTest(new FrameReadFilter(SCHEMA.length, new int[] {1, 2, 4}));
+	}
+
+	@Test
+	public void testProjectionSingleColumn() {
+		runTest(new FrameReadFilter(SCHEMA.length, new int[] {5}));
+	}
+
+	@Test
+	public void testPredicateNumeric() {
+		runTest(new FrameReadFilter(SCHEMA.length, new int[] {0, 3}, 0, ">=", "1700"));
+	}
+
+	@Test
+	public void testPredicateNotSelected() {
+		runTest(new FrameReadFilter(SCHEMA.length, new int[] {1, 2}, 4, "==", "3"));
+	}
+
+	@Test
+	public void testPredicateString() {
+		runTest(new FrameReadFilter(SCHEMA.length, null, 3, "!=", "s1"));
+	}
+
+	@Test
+	public void testPredicateEmpty() {
+		runTest(new FrameReadFilter(SCHEMA.length, new int[] {1}, 2, "<", "-1"));
+	}
+
+	@Test
+	public void testPredicateEmptyReturn() {
+		runTest(new FrameReadFilter(ROWS, SCHEMA.length, new int[] {1, 5}, 2, "<", "-1", true));
+	}
+
+	@Test
+	public void testPredicateDoubleConstant() {
+		runTest(new FrameReadFilter(ROWS, SCHEMA.length, new int[] {1}, 0, ">", "1700.5", false));
+	}
+
+	@Test
+	public void testParseRoundtrip() {
+		FrameReadFilter f1 = new FrameReadFilter(SCHEMA.length, new int[] {0, 3}, 3, "==", "a;b");
+		FrameReadFilter f2 = FrameReadFilter.parse(f1.toString());
+		assertEquals(f1, f2);
+		assertArrayEquals(new int[] {0, 3}, f2.getSelectedColumns());
+		FrameReadFilter f3 = FrameReadFilter.parse(new FrameReadFilter(7, null).toString());
+		assertEquals(7, f3.getNumSelectedColumns());
+		FrameReadFilter f4 = new FrameReadFilter(ROWS, SCHEMA.length, null, 2, ">=", "1.5", true);
+		FrameReadFilter f5 = FrameReadFilter.parse(f4.withSelectedColumns(new int[] {1}).toString());
+		assertEquals(ROWS, f5.getNumRows());
+		assertEquals(2, f5.getPredicateColumn());
+		assertArrayEquals(new int[] {1, 2}, f5.getReadColumns());
+	}
+
+	private void runTest(FrameReadFilter filter) {
+		try {
+			FrameBlock fb = createFrame();
+			String fname = DIR + fmt + "_" + parallel;
+			HDFSTool.deleteFileIfExistOnHDFS(fname);
+			FrameWriterFactory.createFrameWriter(fmt).writeFrameToHDFS(fb, fname, ROWS, SCHEMA.length);
+
+			FrameReader reader = createReader();
+			reader.setReadFilter(filter);
+			FrameBlock ret = reader.readFrameFromHDFS(fname, SCHEMA, ROWS, SCHEMA.length);
+
+			// compare with filter over the full frame
+			FrameBlock expected = filter.apply(project(fb, filter.getReadColumns()));
+			assertArrayEquals(filter.projectSelectedColumns(SCHEMA), ret.getSchema());
+			assertEquals(expected.getNumRows(), ret.getNumRows());
+			for(int i = 0; i < expected.getNumRows(); i++)
+				for(int j = 0; j < expected.getNumColumns(); j++)
+					assertEquals(String.valueOf(expected.get(i, j)), String.valueOf(ret.get(i, j)));
+		}
+		catch(Exception e) {
+			e.printStackTrace();
+			fail(e.getMessage());
+		}
+	}
+
+	private FrameReader createReader() {
+		if(fmt == FileFormat.CSV)
+			return parallel ? new FrameReaderTextCSVParallel(new FileFormatPropertiesCSV()) :
+				new FrameReaderTextCSV(new FileFormatPropertiesCSV());
+		return parallel ? new FrameReaderBinaryBlockParallel() : new FrameReaderBinaryBlock();
+	}
+
+	private static FrameBlock createFrame() {
+		FrameBlock fb = new FrameBlock(SCHEMA);
+		for(int i = 0; i < ROWS; i++)
+			fb.appendRow(new Object[] {(long) i, "r" + i, i * 0.5, "s" + (i % 3), (long) (i % 7), i % 2 == 0});
+		return fb;
+	}
+
+	private static FrameBlock project(FrameBlock fb, int[] cols) {
+		FrameBlock ret = new FrameBlock(new FrameReadFilter(SCHEMA.length, cols).projectSelectedColumns(SCHEMA));
+		for(int i = 0; i < fb.getNumRows(); i++) {
+			Object[] row = new Object[cols.length];
+			for(int j = 0; j < cols.length; j++)
+				row[j] = fb.get(i, cols[j]);
+			ret.appendRow(row);
+		}
+		return ret;
+	}
+}
@@ -0,0 +1,143 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.test.component.io;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Random;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.sysds.conf.ConfigurationManager;
+import org.apache.sysds.conf.DMLConfig;
+import org.apache.sysds.runtime.io.MatrixReader;
+import org.apache.sysds.runtime.iogen.GenerateReader;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.test.TestUtils;
+import org.junit.After;
+import org.junit.Test;
+
+public class GenerateReaderCacheTest {
+	private static final String DIR = "target/testTemp/component/io/GenerateReaderCacheTest/";
+
+	@After
+	public void cleanup() {
+		GenerateReader.clearReaderCache();
+		ConfigurationManager.clearLocalConfigs();
+	}
+
+	@Test
+	public void testInMemoryCache() {
+		try {
+			MatrixBlock sample = createMatrix(20, 5, 7);
+			String raw = toCSV(sample);
+			GenerateReader.GenerateReaderMatrix gr1 = new GenerateReader.GenerateReaderMatrix(raw, sample, false);
+			MatrixReader r1 = gr1.getReader();
+			GenerateReader.GenerateReaderMatrix gr2 = new GenerateReader.GenerateReaderMatrix(raw, sample, false);
+			MatrixReader r2 = gr2.getReader();
+			assertFalse(gr1.isCached());
+			assertTrue(gr2.isCached());
+			assertEquals(r1.getClass(), r2.getClass());
+
+			// different parallel flag requires a different reader
+			GenerateReader.GenerateReaderMatrix gr3 = new GenerateReader.GenerateReaderMatrix(raw, sample, true);
+			assertFalse(gr3.isCached());
+			assertTrue(gr3.getReader().getClass() != r1.getClass());
+		}
+		catch(Exception e) {
+			e.printStackTrace();
+			fail(e.getMessage());
+		}
+	}
+
+	@Test
+	public void testDiskCache() {
+		try {
+			File dir = new File(DIR + "cache");
+			FileUtils.deleteDirectory(dir);
+			DMLConfig conf = new DMLConfig();
+			conf.setTextValue(DMLConfig.IOGEN_CACHE_DIR, dir.getPath());
+			ConfigurationManager.setLocalConfig(conf);
+
+			MatrixBlock sample = createMatrix(20, 5, 3);
+			String raw = toCSV(sample);
+			MatrixReader r1 = new GenerateReader.GenerateReaderMatrix(raw, sample, false).getReader();
+			assertEquals(1, dir.list().length);
+
+			// new session without in-memory cache
+			GenerateReader.clearReaderCache();
+			GenerateReader.GenerateReaderMatrix gr = new GenerateReader.GenerateReaderMatrix(raw, sample, false);
+			assertTrue(gr.isCached());
+			assertEquals(r1.getClass().getName(), gr.getReader().getClass().getName());
+		}
+		catch(Exception e) {
+			e.printStackTrace();
+			fail(e.getMessage());
+		}
+	}
+
+	@Test
+	public void testCachedParallelRead() {
+		try {
+			MatrixBlock sample = createMatrix(20, 5, 11);
+			MatrixBlock data = createMatrix(5000, 5, 13);
+			String fname = DIR + "data.csv";
+			Files.createDirectories(Paths.get(DIR));
+			Files.writeString(Paths.get(fname), toCSV(data));
+			for(boolean parallel : new boolean[] {false, true}) {
+				for(int i = 0; i < 2; i++) {
+					MatrixReader reader = new GenerateReader.GenerateReaderMatrix(toCSV(sample), sample, parallel)
+						.getReader();
+					MatrixBlock ret = reader.readMatrixFromHDFS(fname, data.getNumRows(), data.getNumColumns(), -1, -1);
+					TestUtils.compareMatricesBitAvgDistance(data, ret, 0, 0, "Generated reader mismatch");
+				}
+			}
+		}
+		catch(Exception e) {
+			e.printStackTrace();
+			fail(e.getMessage());
+		}
+	}
+
+	private static MatrixBlock createMatrix(int rows, int cols, int seed) {
+		MatrixBlock mb = new MatrixBlock(rows, cols, false);
+		Random rand = new Random(seed);
+		for(int i = 0; i < rows; i++)
+			for(int j = 0; j < cols; j++)
+				mb.set(i, j, rand.nextInt(999) + 1);
+		mb.recomputeNonZeros();
+		return mb;
+	}
+
+	private static String toCSV(MatrixBlock mb) {
+		StringBuilder sb = new StringBuilder();
+		for(int i = 0; i < mb.getNumRows(); i++) {
+			for(int j = 0; j < mb.getNumColumns(); j++)
+				sb.append(j > 0 ? "," : "").append((long) mb.get(i, j));
+			sb.append('\n');
+		}
+		return sb.toString();
+	}
+}
@@ -0,0 +1,139 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.test.component.io;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import org.apache.sysds.runtime.io.FileFormatPropertiesHDF5;
+import org.apache.sysds.runtime.io.ReaderHDF5;
+import org.apache.sysds.runtime.io.ReaderHDF5Parallel;
+import org.apache.sysds.runtime.io.WriterHDF5;
+import org.apache.sysds.runtime.io.hdf5.H5Dataset;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.util.HDFSTool;
+import org.apache.sysds.test.TestUtils;
+import org.junit.Test;
+
+public class ReadHDF5RowRangeTest {
+	private static final String DIR = "target/testTemp/component/io/ReadHDF5RowRangeTest/";
+	private static final String FIXTURE = "src/test/scripts/functions/io/hdf5/in/transfusion_1.h5";
+
+	@Test
+	public void testFullReadDense() {
+		testFullRead(1.0, "dense");
+	}
+
+	@Test
+	public void testFullReadSparse() {
+		testFullRead(0.05, "sparse");
+	}
+
+	@Test
+	public void testRowRangeDense() {
+		testRowRange(1.0, "dense_range");
+	}
+
+	@Test
+	public void testRowRangeSparse() {
+		testRowRange(0.05, "sparse_range");
+	}
+
+	@Test
+	public void testRowRangeFixture() {
+		try {
+			FileFormatPropertiesHDF5 props = new FileFormatPropertiesHDF5("DATASET_1");
+			MatrixBlock full = new ReaderHDF5(props).readMatrixRowsFromHDFS(FIXTURE, 0, -1, -1);
+			MatrixBlock rows = new ReaderHDF5Parallel(props).readMatrixRowsFromHDFS(FIXTURE, 17, 211, -1);
+			TestUtils.compareMatricesBitAvgDistance(full.slice(17, 210), rows, 0, 0, "Row range mismatch");
+		}
+		catch(Exception e) {
+			e.printStackTrace();
+			fail(e.getMessage());
+		}
+	}
+
+	@Test
+	public void testSmallReadBlocks() {
+		final int tmp = H5Dataset.READ_BLOCK_SIZE;
+		try {
+			// force many row blocks per task
+			H5Dataset.READ_BLOCK_SIZE = 64;
+			testRowRange(0.3, "small_blocks");
+		}
+		finally {
+			H5Dataset.READ_BLOCK_SIZE = tmp;
+		}
+	}
+
+	@Test(expected = Exception.class)
+	public void testInvalidRowRange() throws Exception {
+		String fname = write(TestUtils.generateTestMatrixBlock(10, 3, -1, 1, 1.0, 3), "invalid");
+		new ReaderHDF5(new FileFormatPropertiesHDF5()).readMatrixRowsFromHDFS(fname, 5, 11, -1);
+	}
+
+	private void testFullRead(double sparsity, String name) {
+		try {
+			MatrixBlock mb = TestUtils.generateTestMatrixBlock(1031, 17, -1, 1, sparsity, 7);
+			String fname = write(mb, name);
+			FileFormatPropertiesHDF5 props = new FileFormatPropertiesHDF5();
+			MatrixBlock seq = new ReaderHDF5(props).readMatrixFromHDFS(fname, 1031, 17, 1000, -1);
+			MatrixBlock par = new ReaderHDF5Parallel(props).readMatrixFromHDFS(fname, 1031, 17, 1000, -1);
+			TestUtils.compareMatricesBitAvgDistance(mb, seq, 0, 0, "Sequential read mismatch");
+			TestUtils.compareMatricesBitAvgDistance(mb, par, 0, 0, "Parallel read mismatch");
+			assertEquals(mb.getNonZeros(), par.getNonZeros());
+		}
+		catch(Exception e) {
+			e.printStackTrace();
+			fail(e.getMessage());
+		}
+	}
+
+	private void testRowRange(double sparsity, String name) {
+		try {
+			MatrixBlock mb = TestUtils.generateTestMatrixBlock(523, 11, -1, 1, sparsity, 13);
+			String fname = write(mb, name);
+			FileFormatPropertiesHDF5 props = new FileFormatPropertiesHDF5();
+			for(int[] r : new int[][] {{0, 523}, {0, 1}, {100, 377}, {522, 523}, {200, 200}}) {
+				MatrixBlock seq = new ReaderHDF5(props).readMatrixRowsFromHDFS(fname, r[0], r[1], -1);
+				MatrixBlock par = new ReaderHDF5Parallel(props).readMatrixRowsFromHDFS(fname, r[0], r[1], -1);
+				assertEquals(r[1] - r[0], seq.getNumRows());
+				assertEquals(r[1] - r[0], par.getNumRows());
+				if(r[1] > r[0]) {
+					MatrixBlock expected = mb.slice(r[0], r[1] - 1);
+					TestUtils.compareMatricesBitAvgDistance(expected, seq, 0, 0, "Sequential row range mismatch");
+					TestUtils.compareMatricesBitAvgDistance(expected, par, 0, 0, "Parallel row range mismatch");
+				}
+			}
+		}
+		catch(Exception e) {
+			e.printStackTrace();
+			fail(e.getMessage());
+		}
+	}
+
+	private static String write(MatrixBlock mb, String name) throws Exception {
+		String fname = DIR + name + ".h5";
+		HDFSTool.deleteFileIfExistOnHDFS(fname);
+		new WriterHDF5(new FileFormatPropertiesHDF5()).writeMatrixToHDFS(mb, fname, mb.getNumRows(),
+			mb.getNumColumns(), 1000, mb.getNonZeros(), false);
+		return fname;
+	}
+}
@@ -0,0 +1,143 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.test.component.matrix;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Collection;
+
+import org.apache.sysds.runtime.matrix.data.DnnParameters;
+import org.apache.sysds.runtime.matrix.data.LibMatrixDNN;
+import org.apache.sysds.runtime.matrix.data.LibMatrixDNNConv2d;
+import org.apache.sysds.runtime.matrix.data.LibMatrixDNNConv2d.ConvAlgorithm;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.test.TestUtils;
+import org.junit.After;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameters;
+
+@RunWith(value = Parameterized.class)
+public class Conv2dAlgorithmTest {
+	private static final double EPS = 1e-9;
+
+	@Parameterized.Parameter
+	public ConvAlgorithm alg;
+	@Parameterized.Parameter(1)
+	public int[] shape; // N, C, H, W, K, R, S, stride, pad
+	@Parameterized.Parameter(2)
+	public int k;
+
+	@Parameters
+	public static Collection<Object[]> data() {
+		ArrayList<Object[]> tests = new ArrayList<>();
+		int[][] shapes = new int[][] {
+			{3, 2, 8, 8, 4, 3, 3, 1, 1}, // same padding
+			{2, 3, 7, 9, 5, 3, 3, 1, 0}, // odd output sizes
+			{2, 4, 6, 5, 3, 3, 3, 1, 2}, // full padding
+			{2, 2, 9, 9, 3, 3, 3, 2, 1}, // strided (direct only)
+			{2, 3, 10, 8, 2, 5, 2, 3, 1}, // rectangular filters
+			{4, 16, 12, 12, 8, 3, 3, 1, 1}};
+		for(ConvAlgorithm alg : new ConvAlgorithm[] {ConvAlgorithm.DIRECT, ConvAlgorithm.WINOGRAD})
+			for(int[] shape : shapes)
+				for(int k : new int[] {1, 3})
+					tests.add(new Object[] {alg, shape, k});
+		return tests;
+	}
+
+	@After
+	public void reset() {
+		LibMatrixDNNConv2d.FORCED_ALGORITHM = null;
+	}
+
+	@Test
+	public void testConv2d() {
+		MatrixBlock in = TestUtils.generateTestMatrixBlock(shape[0], shape[1] * shape[2] * shape[3], -1, 1, 1.0, 7);
+		MatrixBlock filter = TestUtils.generateTestMatrixBlock(shape[4], shape[1] * shape[5] * shape[6], -1, 1, 1.0, 3);
+		MatrixBlock bias = TestUtils.generateTestMatrixBlock(shape[4], 1, -1, 1, 1.0, 5);
+		MatrixBlock expected = conv2d(in, filter, bias, ConvAlgorithm.IM2COL);
+		MatrixBlock actual = conv2d(in, filter, bias, alg);
+		TestUtils.compareMatrices(expected, actual, EPS, "conv2d " + alg);
+		assertEquals(expected.getNonZeros(), actual.getNonZeros());
+	}
+
+	@Test
+	public void testConv2dBackwardData() {
+		DnnParameters p = createParams();
+		MatrixBlock filter = TestUtils.generateTestMatrixBlock(p.K, p.C * p.R * p.S, -1, 1, 1.0, 3);
+		MatrixBlock dout = TestUtils.generateTestMatrixBlock(p.N, p.K * p.P * p.Q, -1, 1, 1.0, 9);
+		MatrixBlock expected = conv2dBackwardData(filter, dout, ConvAlgorithm.IM2COL);
+		MatrixBlock actual = conv2dBackwardData(filter, dout, alg);
+		TestUtils.compareMatrices(expected, actual, EPS, "conv2d backward data " + alg);
+	}
+
+	@Test
+	public void testConv2dBackwardFilter() {
+		DnnParameters p = createParams();
+		MatrixBlock in = TestUtils.generateTestMatrixBlock(p.N, p.C * p.H * p.W, -1, 1, 1.0, 7);
+		MatrixBlock dout = TestUtils.generateTestMatrixBlock(p.N, p.K * p.P * p.Q, -1, 1, 1.0, 9);
+		MatrixBlock expected = conv2dBackwardFilter(in, dout, ConvAlgorithm.IM2COL);
+		MatrixBlock actual = conv2dBackwardFilter(in, dout, alg);
+		TestUtils.compareMatrices(expected, actual, EPS, "conv2d backward filter " + alg);
+	}
+
+	@Test
+	public void testHeuristicSparseInput() {
+		DnnParameters p = createParams();
+		MatrixBlock in = TestUtils.generateTestMatrixBlock(p.N, p.C * p.H * p.W, -1, 1, 0.05, 7);
+		in.denseToSparse();
+		MatrixBlock filter = TestUtils.generateTestMatrixBlock(p.K, p.C * p.R * p.S, -1, 1, 1.0, 3);
+		p.output = new MatrixBlock(p.N, p.K * p.P * p.Q, false).allocateBlock();
+		LibMatrixDNNConv2d.FORCED_ALGORITHM = alg;
+		assertEquals(ConvAlgorithm.IM2COL, LibMatrixDNNConv2d.getConv2dAlgorithm(p, in, filter));
+	}
+
+	private DnnParameters createParams() {
+		return new DnnParameters(shape[0], shape[1], shape[2], shape[3], shape[4], shape[5], shape[6], shape[7],
+			shape[7], shape[8], shape[8], k);
+	}
+
+	private MatrixBlock conv2d(MatrixBlock in, MatrixBlock filter, MatrixBlock bias, ConvAlgorithm alg) {
+		LibMatrixDNNConv2d.FORCED_ALGORITHM = alg;
+		DnnParameters p = createParams();
+		p.bias = bias;
+		MatrixBlock out = new MatrixBlock(p.N, p.K * p.P * p.Q, false).allocateBlock();
+		LibMatrixDNN.conv2d(in, filter, out, p);
+		return out;
+	}
+
+	private MatrixBlock conv2dBackwardData(MatrixBlock filter, MatrixBlock dout, ConvAlgorithm alg) {
+		LibMatrixDNNConv2d.FORCED_ALGORITHM = alg;
+		DnnParameters p = createParams();
+		MatrixBlock out = new MatrixBlock(p.N, p.C * p.H * p.W, false).allocateBlock();
+		LibMatrixDNN.conv2dBackwardData(filter, dout, out, p);
+		return out;
+	}
+
+	private MatrixBlock conv2dBackwardFilter(MatrixBlock in, MatrixBlock dout, ConvAlgorithm alg) {
+		LibMatrixDNNConv2d.FORCED_ALGORITHM = alg;
+		DnnParameters p = createParams();
+		MatrixBlock out = new MatrixBlock(p.K, p.C * p.R * p.S, false).allocateBlock();
+		LibMatrixDNN.conv2dBackwardFilter(in, dout, out, p);
+		return out;
+	}
+}
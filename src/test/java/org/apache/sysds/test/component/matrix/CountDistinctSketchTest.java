@@ -0,0 +1,156 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.test.component.matrix;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.apache.sysds.common.Types.Direction;
+import org.apache.sysds.runtime.functionobjects.ReduceAll;
+import org.apache.sysds.runtime.functionobjects.ReduceCol;
+import org.apache.sysds.runtime.functionobjects.ReduceRow;
+import org.apache.sysds.runtime.instructions.cp.AggregateUnaryCPInstruction.AUType;
+import org.apache.sysds.runtime.instructions.spark.data.CorrMatrixBlock;
+import org.apache.sysds.runtime.matrix.data.LibMatrixCountDistinct;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.matrix.data.sketch.MatrixSketch;
+import org.apache.sysds.runtime.matrix.data.sketch.MatrixSketchFactory;
+import org.apache.sysds.runtime.matrix.operators.CountDistinctOperator;
+import org.apache.sysds.runtime.matrix.operators.CountDistinctOperatorTypes;
+import org.apache.sysds.runtime.util.DoubleHashSet;
+import org.apache.sysds.test.TestUtils;
+import org.apache.sysds.utils.Hash.HashType;
+import org.junit.Test;
+
+public class CountDistinctSketchTest {
+
+	@Test
+	public void testDoubleHashSet() {
+		DoubleHashSet set = new DoubleHashSet();
+		for(int i = 0; i < 10000; i++)
+			set.add(i % 3000);
+		assertTrue(set.add(Double.NaN));
+		assertFalse(set.add(Double.longBitsToDouble(0x7ff8000000000001L)));
+		assertTrue(set.add(-0.0));
+		assertEquals(3002, set.size());
+		assertTrue(set.contains(0) && set.contains(2999) && !set.contains(3000));
+
+		DoubleHashSet set2 = new DoubleHashSet(10);
+		for(int i = 2000; i < 5000; i++)
+			set2.add(i);
+		set2.addAll(set);
+		assertEquals(5002, set2.size());
+		set2.clear();
+		assertEquals(0, set2.size());
+	}
+
+	@Test
+	public void testExactParallelDense() {
+		MatrixBlock mb = TestUtils.round(TestUtils.generateTestMatrixBlock(2000, 1000, 0, 50000, 0.9, 7));
+		compareExactParallel(mb);
+	}
+
+	@Test
+	public void testExactParallelSparse() {
+		MatrixBlock mb = TestUtils.round(TestUtils.generateTestMatrixBlock(5000, 1000, 1, 50000, 0.05, 7));
+		compareExactParallel(mb);
+	}
+
+	@Test
+	public void testHLLParallel() {
+		MatrixBlock mb = TestUtils.round(TestUtils.generateTestMatrixBlock(2000, 1000, 1, 100000, 0.5, 7));
+		long exact = countDistinct(mb, CountDistinctOperatorTypes.COUNT, 1);
+		long est1 = countDistinct(mb, CountDistinctOperatorTypes.HLL, 1);
+		long est4 = countDistinct(mb, CountDistinctOperatorTypes.HLL, 4);
+		assertEquals(est1, est4);
+		assertEquals(exact, est1, exact * 0.05);
+	}
+
+	@Test
+	public void testHLLUnionRowCol() {
+		MatrixBlock mb = TestUtils.round(TestUtils.generateTestMatrixBlock(3000, 500, 1, 20000, 0.3, 7));
+		CountDistinctOperator op = new CountDistinctOperator(CountDistinctOperatorTypes.HLL, Direction.RowCol,
+			ReduceAll.getReduceAllFnObject(), HashType.LinearHash);
+		MatrixSketch sketch = MatrixSketchFactory.get(op);
+
+		// sketches of row partitions, merged in arbitrary order
+		CorrMatrixBlock s1 = sketch.create(mb.slice(0, 999));
+		CorrMatrixBlock s2 = sketch.create(mb.slice(1000, 1999));
+		CorrMatrixBlock s3 = sketch.create(mb.slice(2000, 2999));
+		CorrMatrixBlock union = sketch.union(sketch.union(s3, s1), s2);
+		double est = sketch.getValueFromSketch(union).get(0, 0);
+
+		assertEquals(sketch.getValueFromSketch(sketch.create(mb)).get(0, 0), est, 0);
+		long exact = countDistinct(mb, CountDistinctOperatorTypes.COUNT, 1);
+		assertEquals(exact, est, exact * 0.05);
+	}
+
+	@Test
+	public void testHLLUnionRow() {
+		MatrixBlock mb = TestUtils.round(TestUtils.generateTestMatrixBlock(50, 4000, 1, 2000, 0.8, 7));
+		CountDistinctOperator op = new CountDistinctOperator(CountDistinctOperatorTypes.HLL, Direction.Row,
+			ReduceCol.getReduceColFnObject(), HashType.LinearHash);
+		MatrixSketch sketch = MatrixSketchFactory.get(op);
+
+		// sketches of column partitions of the same rows
+		CorrMatrixBlock union = sketch.union(sketch.create(mb.slice(0, 49, 0, 1999)),
+			sketch.create(mb.slice(0, 49, 2000, 3999)));
+		MatrixBlock est = sketch.getValueFromSketch(union);
+		MatrixBlock exact = LibMatrixCountDistinct.estimateDistinctValues(mb,
+			new CountDistinctOperator(AUType.COUNT_DISTINCT, Direction.Row, ReduceCol.getReduceColFnObject()));
+		assertEquals(50, est.getNumRows());
+		for(int i = 0; i < 50; i++)
+			assertEquals(exact.get(i, 0), est.get(i, 0), exact.get(i, 0) * 0.15);
+	}
+
+	@Test
+	public void testHLLCol() {
+		MatrixBlock mb = TestUtils.round(TestUtils.generateTestMatrixBlock(4000, 20, 1, 3000, 0.1, 7));
+		CountDistinctOperator op = new CountDistinctOperator(CountDistinctOperatorTypes.HLL, Direction.Col,
+			ReduceRow.getReduceRowFnObject(), HashType.LinearHash);
+		MatrixBlock est = MatrixSketchFactory.get(op).getValue(mb);
+		MatrixBlock fromSketch = MatrixSketchFactory.get(op).getValueFromSketch(MatrixSketchFactory.get(op).create(mb));
+		for(int j = 0; j < 20; j++) {
+			// including the implicit zeros of the sparse input
+			DoubleHashSet exact = new DoubleHashSet();
+			for(int i = 0; i < 4000; i++)
+				exact.add(mb.get(i, j));
+			assertEquals(exact.size(), est.get(0, j), exact.size() * 0.1);
+			assertEquals(est.get(0, j), fromSketch.get(0, j), 0);
+		}
+	}
+
+	private static void compareExactParallel(MatrixBlock mb) {
+		DoubleHashSet exact = new DoubleHashSet();
+		for(int i = 0; i < mb.getNumRows(); i++)
+			for(int j = 0; j < mb.getNumColumns(); j++)
+				exact.add(mb.get(i, j));
+		assertEquals(exact.size(), countDistinct(mb, CountDistinctOperatorTypes.COUNT, 1));
+		assertEquals(exact.size(), countDistinct(mb, CountDistinctOperatorTypes.COUNT, 4));
+	}
+
+	private static long countDistinct(MatrixBlock mb, CountDistinctOperatorTypes type, int k) {
+		CountDistinctOperator op = new CountDistinctOperator(type, Direction.RowCol, ReduceAll.getReduceAllFnObject(),
+			HashType.LinearHash);
+		op.setNumThreads(k);
+		return (long) LibMatrixCountDistinct.estimateDistinctValues(mb, op).get(0, 0);
+	}
+}
@@ -26,7 +26,6 @@ import static org.junit.Assert.fail;
 import java.util.ArrayList;
 import java.util.Collection;
 
-import org.apache.commons.lang3.NotImplementedException;
 import org.apache.sysds.api.DMLException;
 import org.apache.sysds.common.Types;
 import org.apache.sysds.runtime.functionobjects.ReduceAll;
@@ -97,10 +96,6 @@ public class CountDistinctTest {
 					tests.add(
 						new Object[] {et, inputs.get(0), actualUnique.get(0), ht,  new DMLException(), errorMessage, 0.0});
 				}
-				else if(et == CountDistinctOperatorTypes.HLL) {
-					tests.add(new Object[] {et, inputs.get(0), actualUnique.get(0), ht, new NotImplementedException(),
-						"HyperLogLog not implemented", 0.0});
-				}
 				else if(et != CountDistinctOperatorTypes.COUNT) {
 					for(int i = 0; i < inputs.size(); i++) {
 						// allowing the estimate to be 15% off
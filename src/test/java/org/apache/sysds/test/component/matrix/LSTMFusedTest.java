@@ -0,0 +1,137 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.test.component.matrix;
+
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collection;
+
+import org.apache.sysds.runtime.matrix.data.DnnParameters;
+import org.apache.sysds.runtime.matrix.data.LibMatrixDNNLSTM;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.test.TestUtils;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameters;
+
+@RunWith(value = Parameterized.class)
+public class LSTMFusedTest {
+	private static final double EPS = 1e-9;
+
+	@Parameterized.Parameter
+	public int N;
+	@Parameterized.Parameter(1)
+	public int T;
+	@Parameterized.Parameter(2)
+	public int D;
+	@Parameterized.Parameter(3)
+	public int M;
+	@Parameterized.Parameter(4)
+	public boolean returnSequences;
+	@Parameterized.Parameter(5)
+	public int k;
+
+	@Parameters
+	public static Collection<Object[]> data() {
+		ArrayList<Object[]> tests = new ArrayList<>();
+		for(boolean rs : new boolean[] {true, false})
+			for(int k : new int[] {1, 4}) {
+				tests.add(new Object[] {1, 1, 3, 2, rs, k});
+				tests.add(new Object[] {7, 5, 4, 3, rs, k});
+				tests.add(new Object[] {65, 9, 10, 12, rs, k});
+			}
+		return tests;
+	}
+
+	@Test
+	public void testForward() {
+		MatrixBlock[] in = createInputs();
+		MatrixBlock[] expected = forward(in, false);
+		MatrixBlock[] actual = forward(in, true);
+		for(int i = 0; i < expected.length; i++)
+			TestUtils.compareMatrices(expected[i], actual[i], EPS, "forward output " + (i + 1));
+	}
+
+	@Test
+	public void testForwardEmptyStates() {
+		MatrixBlock[] in = createInputs();
+		in[3] = new MatrixBlock(N, M, true);
+		in[4] = new MatrixBlock(N, M, true);
+		MatrixBlock[] expected = forward(in, false);
+		MatrixBlock[] actual = forward(in, true);
+		for(int i = 0; i < expected.length; i++)
+			TestUtils.compareMatrices(expected[i], actual[i], EPS, "forward output " + (i + 1));
+	}
+
+	@Test
+	public void testBackward() {
+		MatrixBlock[] in = createInputs();
+		MatrixBlock[] caches = forward(in, true);
+		MatrixBlock dout = TestUtils.generateTestMatrixBlock(N, returnSequences ? T * M : M, -1, 1, 1.0, 11);
+		MatrixBlock dc = TestUtils.generateTestMatrixBlock(N, M, -1, 1, 1.0, 13);
+		MatrixBlock[] expected = backward(in, caches, dout, dc, false);
+		MatrixBlock[] actual = backward(in, caches, dout, dc, true);
+		for(int i = 0; i < expected.length; i++)
+			TestUtils.compareMatrices(expected[i], actual[i], EPS, "backward output " + (i + 1));
+	}
+
+	private MatrixBlock[] createInputs() {
+		return new MatrixBlock[] {TestUtils.generateTestMatrixBlock(N, T * D, -1, 1, 1.0, 1),
+			TestUtils.generateTestMatrixBlock(D + M, 4 * M, -0.5, 0.5, 1.0, 2),
+			TestUtils.generateTestMatrixBlock(1, 4 * M, -0.1, 0.1, 1.0, 3),
+			TestUtils.generateTestMatrixBlock(N, M, -1, 1, 1.0, 4), TestUtils.generateTestMatrixBlock(N, M, -1, 1, 1.0, 5)};
+	}
+
+	private MatrixBlock[] forward(MatrixBlock[] in, boolean fused) {
+		DnnParameters params = new DnnParameters(N, D, T, M, in[0], in[1], in[2], in[3], in[4], returnSequences, k);
+		params.output = new MatrixBlock(N, returnSequences ? T * M : M, false);
+		params.output2 = new MatrixBlock(N, M, false);
+		params.output3 = new MatrixBlock(T, N * M, false);
+		params.output4 = new MatrixBlock(T, N * M, false);
+		params.output5 = new MatrixBlock(T, N * 4 * M, false);
+		assertTrue(LibMatrixDNNLSTM.checkLSTMInputForOptimisation(params));
+		if(fused) {
+			params.output.allocateDenseBlock();
+			params.output2.allocateDenseBlock();
+			params.output3.allocateDenseBlock();
+			params.output4.allocateDenseBlock();
+			params.output5.allocateDenseBlock();
+			params.output.setNonZeros(LibMatrixDNNLSTM.lstmFused(params));
+		}
+		else
+			params.output.setNonZeros(LibMatrixDNNLSTM.lstmGeneric(params));
+		return new MatrixBlock[] {params.output, params.output2, params.output3, params.output4, params.output5};
+	}
+
+	private MatrixBlock[] backward(MatrixBlock[] in, MatrixBlock[] caches, MatrixBlock dout, MatrixBlock dc,
+		boolean fused) {
+		DnnParameters params = new DnnParameters(N, D, T, M, in[0], in[1], in[2], in[3], in[4], caches[2], caches[3],
+			caches[4], returnSequences, dout, dc, new MatrixBlock(N, T * D, false), new MatrixBlock(D + M, 4 * M, false),
+			new MatrixBlock(1, 4 * M, false), new MatrixBlock(N, M, false), new MatrixBlock(N, M, false), k);
+		assertTrue(LibMatrixDNNLSTM.checkLSTMBackwardInputForOptimisation(params));
+		if(fused)
+			params.output.setNonZeros(LibMatrixDNNLSTM.lstmBackwardFused(params));
+		else
+			params.output.setNonZeros(LibMatrixDNNLSTM.lstmBackwardGeneric(params));
+		return new MatrixBlock[] {params.output, params.output2, params.output3, params.output4, params.output5};
+	}
+}
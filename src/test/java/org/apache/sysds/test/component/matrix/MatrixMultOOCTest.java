@@ -0,0 +1,130 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.test.component.matrix;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.Collection;
+
+import org.apache.sysds.common.Types.FileFormat;
+import org.apache.sysds.lops.MMTSJ.MMTSJType;
+import org.apache.sysds.runtime.instructions.InstructionUtils;
+import org.apache.sysds.runtime.matrix.data.LibMatrixMultOOC;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.meta.DataCharacteristics;
+import org.apache.sysds.runtime.meta.MatrixCharacteristics;
+import org.apache.sysds.runtime.util.DataConverter;
+import org.apache.sysds.runtime.util.HDFSTool;
+import org.apache.sysds.test.TestUtils;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameters;
+
+@RunWith(value = Parameterized.class)
+public class MatrixMultOOCTest {
+	private static final String DIR = "target/testTemp/component/matrix/MatrixMultOOCTest/";
+	private static final int BLEN = 10;
+
+	@Parameterized.Parameter
+	public double sparsity;
+	@Parameterized.Parameter(1)
+	public long budget;
+	@Parameterized.Parameter(2)
+	public int k;
+
+	@Parameters
+	public static Collection<Object[]> data() {
+		ArrayList<Object[]> tests = new ArrayList<>();
+		for(double sp : new double[] {1.0, 0.1, 0.01})
+			for(long budget : new long[] {1024, Long.MAX_VALUE})
+				for(int k : new int[] {1, 4})
+					tests.add(new Object[] {sp, budget, k});
+		return tests;
+	}
+
+	@Test
+	public void testMatrixMult() {
+		MatrixBlock a = TestUtils.generateTestMatrixBlock(95, 37, -1, 1, sparsity, 7);
+		MatrixBlock b = TestUtils.generateTestMatrixBlock(37, 23, -1, 1, sparsity, 3);
+		MatrixBlock expected = a.aggregateBinaryOperations(a, b, new MatrixBlock(),
+			InstructionUtils.getMatMultOperator(1));
+		String fa = write(a, "A"), fb = write(b, "B"), fc = DIR + "C" + getId();
+		DataCharacteristics dc = LibMatrixMultOOC.matrixMult(fa, getDC(a), fb, getDC(b), fc, budget, k);
+		compare(expected, dc, fc);
+	}
+
+	@Test
+	public void testTSMMLeft() {
+		testTSMM(MMTSJType.LEFT);
+	}
+
+	@Test
+	public void testTSMMRight() {
+		testTSMM(MMTSJType.RIGHT);
+	}
+
+	private void testTSMM(MMTSJType type) {
+		MatrixBlock x = TestUtils.generateTestMatrixBlock(83, 27, -1, 1, sparsity, 11);
+		MatrixBlock expected = x.transposeSelfMatrixMultOperations(new MatrixBlock(), type);
+		String fx = write(x, "X"), fc = DIR + "C" + getId();
+		DataCharacteristics dc = LibMatrixMultOOC.tsmm(fx, getDC(x), type, fc, budget, k);
+		compare(expected, dc, fc);
+	}
+
+	private String getId() {
+		return "_" + sparsity + "_" + budget + "_" + k;
+	}
+
+	private static DataCharacteristics getDC(MatrixBlock mb) {
+		return new MatrixCharacteristics(mb.getNumRows(), mb.getNumColumns(), BLEN, mb.getNonZeros());
+	}
+
+	private String write(MatrixBlock mb, String name) {
+		try {
+			String fname = DIR + name + getId();
+			HDFSTool.deleteFileIfExistOnHDFS(fname);
+			DataConverter.writeMatrixToHDFS(mb, fname, FileFormat.BINARY, getDC(mb));
+			return fname;
+		}
+		catch(Exception e) {
+			e.printStackTrace();
+			fail(e.getMessage());
+			return null;
+		}
+	}
+
+	private static void compare(MatrixBlock expected, DataCharacteristics dc, String fname) {
+		try {
+			assertEquals(expected.getNumRows(), dc.getRows());
+			assertEquals(expected.getNumColumns(), dc.getCols());
+			MatrixBlock actual = DataConverter.readMatrixFromHDFS(fname, FileFormat.BINARY, dc.getRows(),
+				dc.getCols(), BLEN);
+			assertEquals(expected.getNonZeros(), dc.getNonZeros());
+			TestUtils.compareMatricesBitAvgDistance(expected, actual, 1000, 1000, "Out-of-core result mismatch");
+		}
+		catch(Exception e) {
+			e.printStackTrace();
+			fail(e.getMessage());
+		}
+	}
+}
@@ -0,0 +1,143 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.test.component.matrix;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+
+import org.apache.sysds.runtime.matrix.data.LibMatrixReorg;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.util.SortUtils;
+import org.apache.sysds.test.TestUtils;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameters;
+
+@RunWith(value = Parameterized.class)
+public class SortParallelTest {
+	private static int tmpChunk;
+
+	@Parameterized.Parameter
+	public double sparsity;
+	@Parameterized.Parameter(1)
+	public boolean desc;
+	@Parameterized.Parameter(2)
+	public int k;
+
+	@Parameters
+	public static Collection<Object[]> data() {
+		ArrayList<Object[]> tests = new ArrayList<>();
+		for(double sp : new double[] {1.0, 0.3, 0.01})
+			for(boolean desc : new boolean[] {false, true})
+				for(int k : new int[] {1, 3, 8})
+					tests.add(new Object[] {sp, desc, k});
+		return tests;
+	}
+
+	@BeforeClass
+	public static void setUp() {
+		// small chunks to exercise multiple merge rounds and segmented merges
+		tmpChunk = SortUtils.PAR_SORT_MIN_CHUNK;
+		SortUtils.PAR_SORT_MIN_CHUNK = 16;
+	}
+
+	@AfterClass
+	public static void tearDown() {
+		SortUtils.PAR_SORT_MIN_CHUNK = tmpChunk;
+	}
+
+	@Test
+	public void testSortUtilsStable() {
+		MatrixBlock in = TestUtils.round(TestUtils.generateTestMatrixBlock(3001, 1, 0, 20, sparsity, 7));
+		int[] expected = getStableOrder(in, new int[] {1});
+		double[] values = new double[in.getNumRows()];
+		int[] vix = new int[values.length];
+		for(int i = 0; i < vix.length; i++) {
+			values[i] = in.get(i, 0);
+			vix[i] = i;
+		}
+		SortUtils.sortByValueStable(0, values.length, values, vix, desc, k);
+		assertArrayEquals(expected, vix);
+		for(int i = 0; i < values.length; i++)
+			assertEquals(in.get(expected[i], 0), values[i], 0);
+	}
+
+	@Test
+	public void testOrderIndexReturn() {
+		MatrixBlock in = TestUtils.round(TestUtils.generateTestMatrixBlock(5013, 1, 0, 50, sparsity, 3));
+		MatrixBlock out = LibMatrixReorg.sort(in, new MatrixBlock(), new int[] {1}, desc, true, k);
+		int[] expected = getStableOrder(in, new int[] {1});
+		for(int i = 0; i < expected.length; i++)
+			assertEquals(expected[i] + 1, (int) out.get(i, 0));
+	}
+
+	@Test
+	public void testOrderMultiColumn() {
+		MatrixBlock in = TestUtils.round(TestUtils.generateTestMatrixBlock(4097, 3, 0, 5, sparsity, 11));
+		MatrixBlock out = LibMatrixReorg.sort(in, new MatrixBlock(), new int[] {2, 1}, desc, true, k);
+		int[] expected = getStableOrder(in, new int[] {2, 1});
+		for(int i = 0; i < expected.length; i++)
+			assertEquals(expected[i] + 1, (int) out.get(i, 0));
+	}
+
+	@Test
+	public void testSortData() {
+		MatrixBlock in = TestUtils.generateTestMatrixBlock(3000, 4, -10, 10, sparsity, 5);
+		MatrixBlock out = LibMatrixReorg.sort(in, new MatrixBlock(), new int[] {3}, desc, false, k);
+		MatrixBlock expected = LibMatrixReorg.sort(in, new MatrixBlock(), new int[] {3}, desc, false, 1);
+		TestUtils.compareMatricesBitAvgDistance(expected, out, 0, 0, "Parallel sort mismatch");
+	}
+
+	@Test
+	public void testQuantileSort() {
+		MatrixBlock in = TestUtils.round(TestUtils.generateTestMatrixBlock(5000, 1, -10, 10, sparsity, 9));
+		MatrixBlock expected = in.sortOperations(null, new MatrixBlock(), 1);
+		MatrixBlock out = in.sortOperations(null, new MatrixBlock(), k);
+		assertEquals(expected.getNonZeros(), out.getNonZeros());
+		TestUtils.compareMatricesBitAvgDistance(expected, out, 0, 0, "Parallel quantile sort mismatch");
+	}
+
+	private int[] getStableOrder(MatrixBlock in, int[] by) {
+		Integer[] ix = new Integer[in.getNumRows()];
+		for(int i = 0; i < ix.length; i++)
+			ix[i] = i;
+		Comparator<Integer> cmp = (a, b) -> {
+			for(int c : by) {
+				int ret = Double.compare(in.get(a, c - 1), in.get(b, c - 1));
+				if(ret != 0)
+					return desc ? -ret : ret;
+			}
+			return 0;
+		};
+		Arrays.sort(ix, cmp); // stable
+		int[] ret = new int[ix.length];
+		for(int i = 0; i < ix.length; i++)
+			ret[i] = ix[i];
+		return ret;
+	}
+}
@@ -0,0 +1,182 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.test.component.matrix;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.apache.sysds.runtime.data.SparseBlockCSR;
+import org.apache.sysds.runtime.functionobjects.Minus;
+import org.apache.sysds.runtime.functionobjects.Multiply;
+import org.apache.sysds.runtime.functionobjects.Plus;
+import org.apache.sysds.runtime.functionobjects.ValueFunction;
+import org.apache.sysds.runtime.matrix.data.LibMatrixBincell;
+import org.apache.sysds.runtime.matrix.data.LibMatrixMult;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.matrix.operators.BinaryOperator;
+import org.apache.sysds.test.TestUtils;
+import org.junit.Test;
+
+/**
+ * Component tests of the two-phase sparse-sparse matrix multiplication and element-wise
+ * kernels with preallocated CSR output, compared against the MCSR kernels.
+ */
+public class SparseTwoPhaseKernelTest {
+	private static final int rows = 2000;
+	private static final int cols = 500;
+
+	@Test
+	public void testMatMult() {
+		runMatMultTest(createSparse(rows, 1000, 0.01, 0, 7), createSparse(1000, cols, 0.01, 0, 3));
+	}
+
+	@Test
+	public void testMatMultEmptyRows() {
+		runMatMultTest(createSparse(rows, 1000, 0.01, 7, 7), createSparse(1000, cols, 0.01, 5, 3));
+	}
+
+	@Test
+	public void testMatMultUnequalRows() {
+		runMatMultTest(createSkewed(rows, 1000, 7), createSparse(1000, cols, 0.01, 0, 3));
+	}
+
+	@Test
+	public void testMatMultCancellation() {
+		// X = cbind(A, A), Y = rbind(B, C-B) -> X %*% Y = A %*% C (with exact cancellation)
+		MatrixBlock A = createSparse(rows, 500, 0.01, 11, 7);
+		MatrixBlock B = createSparse(500, cols, 0.02, 0, 3);
+		MatrixBlock C = createSparse(500, cols, 0.002, 0, 5);
+		MatrixBlock X = sparse(A.append(A, true));
+		MatrixBlock Y = sparse(B.append(C.binaryOperations(new BinaryOperator(Minus.getMinusFnObject()), B), false));
+		runMatMultTest(X, Y);
+		TestUtils.compareMatrices(LibMatrixMult.matrixMult(A, C), LibMatrixMult.matrixMult(X, Y, 4), 0);
+	}
+
+	@Test
+	public void testPlus() {
+		runBinaryTest(Plus.getPlusFnObject(), createSparse(rows, cols, 0.05, 0, 7), createSparse(rows, cols, 0.05, 0, 3));
+	}
+
+	@Test
+	public void testMinusEmptyRows() {
+		runBinaryTest(Minus.getMinusFnObject(), createSparse(rows, cols, 0.05, 3, 7), createSparse(rows, cols, 0.05, 5, 3));
+	}
+
+	@Test
+	public void testMinusUnequalRows() {
+		runBinaryTest(Minus.getMinusFnObject(), createSkewed(rows, cols, 7), createSparse(rows, cols, 0.05, 0, 3));
+	}
+
+	@Test
+	public void testMinusCancellation() {
+		MatrixBlock A = createSparse(rows, cols, 0.05, 3, 7);
+		MatrixBlock ret = runBinaryTest(Minus.getMinusFnObject(), A, new MatrixBlock(A));
+		assertEquals(0, ret.getNonZeros());
+	}
+
+	@Test
+	public void testMultEmptyRows() {
+		runBinaryTest(Multiply.getMultiplyFnObject(), createSparse(rows, cols, 0.3, 3, 7), createSparse(rows, cols, 0.3, 5, 3));
+	}
+
+	@Test
+	public void testMultUnequalRows() {
+		runBinaryTest(Multiply.getMultiplyFnObject(), createSkewed(rows, cols, 7), createSparse(rows, cols, 0.3, 0, 3));
+	}
+
+	@Test
+	public void testMultNaNEmptyRows() {
+		// NaN values in rows where the other side is empty are dropped (like for missing columns)
+		MatrixBlock A = createSparse(rows, cols, 0.05, 0, 7);
+		MatrixBlock B = createSparse(rows, cols, 0.05, 5, 3);
+		for(int i = 0; i < rows; i += 5)
+			A.set(i, 1, Double.NaN);
+		MatrixBlock ret = runBinaryTest(Multiply.getMultiplyFnObject(), A, B);
+		for(int i = 0; i < rows; i += 5)
+			assertTrue(ret.isEmpty() || ret.getSparseBlock().isEmpty(i));
+	}
+
+	private static void runMatMultTest(MatrixBlock X, MatrixBlock Y) {
+		assertTrue(X.isInSparseFormat() && Y.isInSparseFormat());
+		for(int k : new int[] {1, 4}) {
+			MatrixBlock ret1 = LibMatrixMult.matrixMult(X, Y, k);
+			MatrixBlock ret2 = null;
+			try {
+				LibMatrixMult.ALLOW_SPARSE_TWO_PHASE = false;
+				ret2 = LibMatrixMult.matrixMult(X, Y, k);
+			}
+			finally {
+				LibMatrixMult.ALLOW_SPARSE_TWO_PHASE = true;
+			}
+			assertTrue(ret1.isEmpty() || ret1.getSparseBlock() instanceof SparseBlockCSR);
+			TestUtils.compareMatrices(ret2, ret1, 1e-10);
+			assertEquals(ret2.getNonZeros(), ret1.getNonZeros());
+			assertEquals(ret1.recomputeNonZeros(), ret1.getNonZeros());
+		}
+	}
+
+	private static MatrixBlock runBinaryTest(ValueFunction fn, MatrixBlock X, MatrixBlock Y) {
+		assertTrue(X.isInSparseFormat() && Y.isInSparseFormat());
+		MatrixBlock ret = null;
+		for(int k : new int[] {1, 4}) {
+			BinaryOperator op = new BinaryOperator(fn, k);
+			MatrixBlock ret1 = X.binaryOperations(op, Y);
+			MatrixBlock ret2 = null;
+			try {
+				LibMatrixBincell.ALLOW_SPARSE_TWO_PHASE = false;
+				ret2 = X.binaryOperations(op, Y);
+			}
+			finally {
+				LibMatrixBincell.ALLOW_SPARSE_TWO_PHASE = true;
+			}
+			assertTrue(ret1.isEmpty() || ret1.getSparseBlock() instanceof SparseBlockCSR);
+			TestUtils.compareMatrices(ret2, ret1, 0, op.fn.getClass().getSimpleName(), false);
+			assertEquals(ret2.getNonZeros(), ret1.getNonZeros());
+			assertEquals(ret1.recomputeNonZeros(), ret1.getNonZeros());
+			ret = ret1;
+		}
+		return ret;
+	}
+
+	private static MatrixBlock createSparse(int rows, int cols, double sp, int emptyRowFreq, int seed) {
+		MatrixBlock ret = TestUtils.ceil(TestUtils.generateTestMatrixBlock(rows, cols, -5, 5, sp, seed));
+		if(emptyRowFreq > 0) {
+			MatrixBlock mask = new MatrixBlock(rows, 1, false);
+			for(int i = 0; i < rows; i++)
+				mask.set(i, 0, (i % emptyRowFreq == 0) ? 0 : 1);
+			ret = ret.binaryOperations(new BinaryOperator(Multiply.getMultiplyFnObject()), mask);
+		}
+		return sparse(ret);
+	}
+
+	private static MatrixBlock createSkewed(int rows, int cols, int seed) {
+		// few dense-ish rows followed by many very sparse rows
+		MatrixBlock top = TestUtils.ceil(TestUtils.generateTestMatrixBlock(rows / 10, cols, -5, 5, 0.5, seed));
+		MatrixBlock bottom = TestUtils.ceil(TestUtils.generateTestMatrixBlock(rows - rows / 10, cols, -5, 5, 0.005, seed + 1));
+		return sparse(top.append(bottom, false));
+	}
+
+	private static MatrixBlock sparse(MatrixBlock mb) {
+		mb.recomputeNonZeros();
+		if(!mb.isInSparseFormat())
+			mb.denseToSparse(true);
+		return mb;
+	}
+}
@@ -0,0 +1,137 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.test.component.misc;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+
+import org.apache.spark.SparkConf;
+import org.apache.spark.serializer.DeserializationStream;
+import org.apache.spark.serializer.KryoSerializer;
+import org.apache.spark.serializer.SerializationStream;
+import org.apache.spark.serializer.SerializerInstance;
+import org.apache.sysds.common.Types.ValueType;
+import org.apache.sysds.runtime.compress.CompressedMatrixBlock;
+import org.apache.sysds.runtime.compress.CompressedMatrixBlockFactory;
+import org.apache.sysds.runtime.frame.data.FrameBlock;
+import org.apache.sysds.runtime.instructions.spark.data.PartitionedBlock;
+import org.apache.sysds.runtime.instructions.spark.utils.SparkKryoRegistrator;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.matrix.data.MatrixIndexes;
+import org.apache.sysds.test.TestUtils;
+import org.junit.Test;
+
+import scala.reflect.ClassTag;
+import scala.reflect.ClassTag$;
+
+public class KryoSerializationTest {
+
+	private static final SerializerInstance SER = new KryoSerializer(
+		new SparkConf().set("spark.kryo.registrator", SparkKryoRegistrator.class.getName())).newInstance();
+
+	private static final ClassTag<Object> TAG = ClassTag$.MODULE$.apply(Object.class);
+
+	@Test
+	public void testMatrixBlockDense() {
+		MatrixBlock mb = TestUtils.generateTestMatrixBlock(500, 300, -1, 1, 0.9, 7);
+		TestUtils.compareMatrices(mb, (MatrixBlock) roundTrip(mb), 0);
+	}
+
+	@Test
+	public void testMatrixBlockSparse() {
+		MatrixBlock mb = TestUtils.generateTestMatrixBlock(1000, 1000, -1, 1, 0.01, 7);
+		MatrixBlock ret = (MatrixBlock) roundTrip(mb);
+		assertTrue(ret.isInSparseFormat());
+		TestUtils.compareMatrices(mb, ret, 0);
+	}
+
+	@Test
+	public void testMatrixBlockEmpty() {
+		MatrixBlock ret = (MatrixBlock) roundTrip(new MatrixBlock(100, 50, true));
+		assertEquals(100, ret.getNumRows());
+		assertEquals(50, ret.getNumColumns());
+		assertTrue(ret.isEmptyBlock(false));
+	}
+
+	@Test
+	public void testCompressedMatrixBlock() {
+		MatrixBlock mb = TestUtils.ceil(TestUtils.generateTestMatrixBlock(5000, 10, 0, 5, 1.0, 7));
+		MatrixBlock cmb = CompressedMatrixBlockFactory.compress(mb).getLeft();
+		MatrixBlock ret = (MatrixBlock) roundTrip(cmb);
+		assertEquals(cmb instanceof CompressedMatrixBlock, ret instanceof CompressedMatrixBlock);
+		TestUtils.compareMatrices(mb, ret, 0);
+	}
+
+	@Test
+	public void testFrameBlock() {
+		FrameBlock fb = TestUtils.generateRandomFrameBlock(1000,
+			new ValueType[] {ValueType.STRING, ValueType.FP64, ValueType.INT64, ValueType.BOOLEAN}, 7);
+		FrameBlock ret = (FrameBlock) roundTrip(fb);
+		TestUtils.compareFrames(fb, ret, true);
+	}
+
+	@Test
+	public void testPartitionedBlock() {
+		MatrixBlock mb = TestUtils.generateTestMatrixBlock(2500, 1200, -1, 1, 0.5, 7);
+		PartitionedBlock<MatrixBlock> pb = new PartitionedBlock<>(mb, 1000);
+		@SuppressWarnings("unchecked")
+		PartitionedBlock<MatrixBlock> ret = (PartitionedBlock<MatrixBlock>) roundTrip(pb);
+		assertEquals(pb.getNumRowBlocks(), ret.getNumRowBlocks());
+		TestUtils.compareMatrices(pb.getBlock(3, 2), ret.getBlock(3, 2), 0);
+	}
+
+	@Test
+	public void testConsecutiveRecords() {
+		// blocks within the same kryo stream must not read into their successors
+		MatrixBlock mb1 = TestUtils.generateTestMatrixBlock(100, 100, -1, 1, 0.9, 7);
+		MatrixBlock mb2 = TestUtils.generateTestMatrixBlock(100, 100, -1, 1, 0.05, 8);
+		Object[] in = new Object[] {new MatrixIndexes(1, 2), mb1, new MatrixIndexes(7, 3), mb2};
+		Object[] ret = (Object[]) roundTrip(in);
+		assertEquals(new MatrixIndexes(1, 2), ret[0]);
+		TestUtils.compareMatrices(mb1, (MatrixBlock) ret[1], 0);
+		assertEquals(new MatrixIndexes(7, 3), ret[2]);
+		TestUtils.compareMatrices(mb2, (MatrixBlock) ret[3], 0);
+	}
+
+	@Test
+	public void testStreamedRecords() {
+		// large blocks are streamed in chunks through the underlying output stream
+		MatrixBlock mb1 = TestUtils.generateTestMatrixBlock(1000, 1000, -1, 1, 0.9, 7);
+		MatrixBlock mb2 = TestUtils.generateTestMatrixBlock(3000, 1000, -1, 1, 0.01, 8);
+		ByteArrayOutputStream bos = new ByteArrayOutputStream();
+		SerializationStream os = SER.serializeStream(bos);
+		os.writeObject(new MatrixIndexes(1, 1), TAG).writeObject(mb1, TAG);
+		os.writeObject(new MatrixIndexes(2, 1), TAG).writeObject(mb2, TAG);
+		os.close();
+		DeserializationStream is = SER.deserializeStream(new ByteArrayInputStream(bos.toByteArray()));
+		assertEquals(new MatrixIndexes(1, 1), is.readObject(TAG));
+		TestUtils.compareMatrices(mb1, (MatrixBlock) is.readObject(TAG), 0);
+		assertEquals(new MatrixIndexes(2, 1), is.readObject(TAG));
+		TestUtils.compareMatrices(mb2, (MatrixBlock) is.readObject(TAG), 0);
+		is.close();
+	}
+
+	private static Object roundTrip(Object obj) {
+		return SER.deserialize(SER.serialize(obj, TAG), TAG);
+	}
+}
@@ -0,0 +1,158 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.test.component.misc;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+
+import org.apache.sysds.common.Types.ValueType;
+import org.apache.sysds.runtime.compress.CompressedMatrixBlock;
+import org.apache.sysds.runtime.frame.data.FrameBlock;
+import org.apache.sysds.runtime.instructions.spark.data.PartitionedBlock;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.test.TestUtils;
+import org.junit.Test;
+
+public class PartitionedBlockTest {
+
+	@Test
+	public void testLazyDeserialization() {
+		MatrixBlock mb = TestUtils.generateTestMatrixBlock(3500, 2200, -1, 1, 0.7, 7);
+		PartitionedBlock<MatrixBlock> pb = new PartitionedBlock<>(mb, 1000);
+		PartitionedBlock<MatrixBlock> ret = roundTrip(pb);
+
+		// access of individual blocks before the remaining blocks
+		TestUtils.compareMatrices(pb.getBlock(2, 3), ret.getBlock(2, 3), 0);
+		TestUtils.compareMatrices(pb.getBlock(4, 1), ret.getBlock(4, 1), 0);
+		compareBlocks(pb, ret);
+	}
+
+	@Test
+	public void testPartiallyDeserializedRoundTrip() {
+		MatrixBlock mb = TestUtils.generateTestMatrixBlock(2500, 2500, -1, 1, 0.05, 7);
+		PartitionedBlock<MatrixBlock> pb = new PartitionedBlock<>(mb, 1000);
+		PartitionedBlock<MatrixBlock> ret = roundTrip(pb);
+		ret.getBlock(1, 1);
+		ret.getBlock(3, 2);
+		compareBlocks(pb, roundTrip(ret));
+	}
+
+	@Test
+	public void testCreatePartitionOfSerialized() {
+		MatrixBlock mb = TestUtils.generateTestMatrixBlock(3000, 2000, -1, 1, 0.5, 7);
+		PartitionedBlock<MatrixBlock> pb = new PartitionedBlock<>(mb, 1000);
+		PartitionedBlock<MatrixBlock> ret = roundTrip(pb);
+		ret.getBlock(1, 2);
+		PartitionedBlock<MatrixBlock> part = roundTrip(ret.createPartition(2, 3));
+		TestUtils.compareMatrices(pb.getBlock(2, 1), part.getBlock(2, 1), 0);
+		TestUtils.compareMatrices(pb.getBlock(2, 2), part.getBlock(2, 2), 0);
+		TestUtils.compareMatrices(pb.getBlock(3, 1), part.getBlock(3, 1), 0);
+	}
+
+	@Test
+	public void testCompressedBlocks() {
+		MatrixBlock mb = TestUtils.ceil(TestUtils.generateTestMatrixBlock(3000, 20, 0, 4, 1.0, 7));
+		PartitionedBlock<MatrixBlock> pb = new PartitionedBlock<>(mb, 1000);
+		long size = pb.getExactSerializedSize();
+		int ncompressed = pb.compressBlocks(4);
+		assertEquals(3, ncompressed);
+		assertTrue(pb.getExactSerializedSize() < size);
+
+		PartitionedBlock<MatrixBlock> ret = roundTrip(pb);
+		for(int i = 1; i <= 3; i++) {
+			MatrixBlock blk = ret.getBlock(i, 1);
+			assertTrue(blk instanceof CompressedMatrixBlock);
+			TestUtils.compareMatrices(mb.slice((i - 1) * 1000, i * 1000 - 1), blk, 0);
+		}
+	}
+
+	@Test
+	public void testCompressedBlocksStreamed() throws Exception {
+		MatrixBlock mb = TestUtils.ceil(TestUtils.generateTestMatrixBlock(3000, 20, 0, 4, 1.0, 7));
+		PartitionedBlock<MatrixBlock> pb = new PartitionedBlock<>(mb, 1000);
+		assertEquals(3, pb.compressBlocks(1));
+
+		// streamed write via data output (e.g., kryo), with lazy read
+		ByteArrayOutputStream bos = new ByteArrayOutputStream();
+		try(DataOutputStream dos = new DataOutputStream(bos)) {
+			pb.write(dos);
+		}
+		PartitionedBlock<MatrixBlock> ret = new PartitionedBlock<>();
+		try(DataInputStream dis = new DataInputStream(new ByteArrayInputStream(bos.toByteArray()))) {
+			ret.readFields(dis);
+		}
+		assertEquals(pb.getExactSerializedSize(), ret.getExactSerializedSize());
+		for(int i = 1; i <= 3; i++)
+			TestUtils.compareMatrices(mb.slice((i - 1) * 1000, i * 1000 - 1), ret.getBlock(i, 1), 0);
+	}
+
+	@Test
+	public void testIncompressibleBlocks() {
+		MatrixBlock mb = TestUtils.generateTestMatrixBlock(2000, 100, -1, 1, 1.0, 7);
+		PartitionedBlock<MatrixBlock> pb = new PartitionedBlock<>(mb, 1000);
+		assertEquals(0, pb.compressBlocks(4));
+		compareBlocks(new PartitionedBlock<>(mb, 1000), roundTrip(pb));
+	}
+
+	@Test
+	public void testFrameBlocks() {
+		FrameBlock fb = TestUtils.generateRandomFrameBlock(2500,
+			new ValueType[] {ValueType.STRING, ValueType.FP64, ValueType.INT32}, 7);
+		PartitionedBlock<FrameBlock> pb = new PartitionedBlock<>(fb, 1000);
+		assertEquals(0, pb.compressBlocks(4));
+		PartitionedBlock<FrameBlock> ret = roundTrip(pb);
+		for(int i = 1; i <= 3; i++)
+			TestUtils.compareFrames(pb.getBlock(i, 1), ret.getBlock(i, 1), true);
+	}
+
+	private static void compareBlocks(PartitionedBlock<MatrixBlock> expected, PartitionedBlock<MatrixBlock> actual) {
+		assertEquals(expected.getNumRowBlocks(), actual.getNumRowBlocks());
+		assertEquals(expected.getNumColumnBlocks(), actual.getNumColumnBlocks());
+		for(int i = 1; i <= expected.getNumRowBlocks(); i++)
+			for(int j = 1; j <= expected.getNumColumnBlocks(); j++)
+				TestUtils.compareMatrices(expected.getBlock(i, j), actual.getBlock(i, j), 0);
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <T extends PartitionedBlock<?>> T roundTrip(T pb) {
+		try {
+			ByteArrayOutputStream bos = new ByteArrayOutputStream();
+			try(ObjectOutputStream oos = new ObjectOutputStream(bos)) {
+				oos.writeObject(pb);
+			}
+			try(ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(bos.toByteArray()))) {
+				return (T) ois.readObject();
+			}
+		}
+		catch(Exception ex) {
+			ex.printStackTrace();
+			fail(ex.getMessage());
+			return null;
+		}
+	}
+}
@@ -0,0 +1,227 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.test.component.misc;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.sysds.api.DMLScript;
+import org.apache.sysds.common.Types.DataType;
+import org.apache.sysds.common.Types.FileFormat;
+import org.apache.sysds.common.Types.ValueType;
+import org.apache.sysds.hops.OptimizerUtils;
+import org.apache.sysds.runtime.controlprogram.ReadAheadScheduler;
+import org.apache.sysds.runtime.controlprogram.caching.CacheStatistics;
+import org.apache.sysds.runtime.controlprogram.caching.CacheableData;
+import org.apache.sysds.runtime.controlprogram.caching.LazyWriteBuffer;
+import org.apache.sysds.runtime.controlprogram.caching.MatrixObject;
+import org.apache.sysds.runtime.controlprogram.caching.UnifiedMemoryManager;
+import org.apache.sysds.runtime.controlprogram.context.ExecutionContext;
+import org.apache.sysds.runtime.controlprogram.context.ExecutionContextFactory;
+import org.apache.sysds.runtime.instructions.Instruction;
+import org.apache.sysds.runtime.instructions.InstructionUtils;
+import org.apache.sysds.runtime.instructions.cp.BinaryCPInstruction;
+import org.apache.sysds.runtime.instructions.cp.CPOperand;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.meta.MatrixCharacteristics;
+import org.apache.sysds.runtime.meta.MetaDataFormat;
+import org.apache.sysds.test.TestUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+@net.jcip.annotations.NotThreadSafe
+public class ReadAheadSchedulerTest {
+	private static final int rows = 1000;
+	private static final int cols = 100;
+	private static final long TIMEOUT = 10000; // in ms
+
+	private boolean _stats;
+	private double _ratio;
+
+	@Before
+	public void setUp() {
+		_stats = DMLScript.STATISTICS;
+		_ratio = ReadAheadScheduler.MEM_BUDGET_RATIO;
+		DMLScript.STATISTICS = true;
+		CacheStatistics.reset();
+		CacheableData.initCaching("tmp_read_ahead_test");
+	}
+
+	@After
+	public void tearDown() {
+		DMLScript.STATISTICS = _stats;
+		ReadAheadScheduler.MEM_BUDGET_RATIO = _ratio;
+		CacheStatistics.reset();
+	}
+
+	@Test
+	public void testRestoreEvicted() throws Exception {
+		ExecutionContext ec = ExecutionContextFactory.createContext();
+		MatrixBlock mb = TestUtils.generateTestMatrixBlock(rows, cols, -1, 1, 1.0, 7);
+		MatrixObject mo = createEvictedMatrix(ec, "A", mb);
+		long size = OptimizerUtils.estimateSizeExactSparsity(mo.getDataCharacteristics());
+		assertTrue(mo.isRestorable());
+
+		List<Instruction> inst = Arrays.asList(createPlus("X", "X", "Y"), createPlus("A", "Y", "B"));
+		ReadAheadScheduler ras = new ReadAheadScheduler(ec, 1);
+		try {
+			// schedule the restore of A for the second instruction
+			ras.next(inst, 0);
+			assertEquals(size, ReadAheadScheduler.getReservedMemory());
+			waitForReadAhead(1);
+
+			// consume the restore and release the reservation
+			ras.next(inst, 1);
+			assertEquals(0, ReadAheadScheduler.getReservedMemory());
+			assertEquals(1, CacheStatistics.getReadAhead());
+			assertTrue(CacheStatistics.getReadAheadSavedTime() > 0);
+			assertTrue(CacheStatistics.displayReadAhead().startsWith("1/"));
+
+			// restored data is served from memory and unchanged
+			long fsHits = CacheStatistics.getFSHits();
+			MatrixBlock ret = mo.acquireRead();
+			mo.release();
+			assertEquals(fsHits, CacheStatistics.getFSHits());
+			TestUtils.compareMatrices(mb, ret, 0, "restored matrix differs");
+		}
+		finally {
+			ras.close();
+		}
+	}
+
+	@Test
+	public void testMemoryBudgetExceeded() throws Exception {
+		ExecutionContext ec = ExecutionContextFactory.createContext();
+		MatrixBlock mb = TestUtils.generateTestMatrixBlock(rows, cols, -1, 1, 1.0, 7);
+		MatrixObject mo = createEvictedMatrix(ec, "A", mb);
+		long size = OptimizerUtils.estimateSizeExactSparsity(mo.getDataCharacteristics());
+		ReadAheadScheduler.MEM_BUDGET_RATIO = (double) (size - 1) / OptimizerUtils.getLocalMemBudget();
+
+		List<Instruction> inst = Arrays.asList(createPlus("A", "A", "B"), createPlus("A", "B", "C"));
+		ReadAheadScheduler ras = new ReadAheadScheduler(ec, 1);
+		try {
+			ras.next(inst, 0);
+			assertEquals(0, ReadAheadScheduler.getReservedMemory());
+			ras.next(inst, 1);
+		}
+		finally {
+			ras.close();
+		}
+		assertEquals(0, CacheStatistics.getReadAhead());
+		assertTrue(mo.isRestorable());
+	}
+
+	@Test
+	public void testReservationSharedAndReleasedOnClose() throws Exception {
+		ExecutionContext ec = ExecutionContextFactory.createContext();
+		MatrixBlock mb = TestUtils.generateTestMatrixBlock(rows, cols, -1, 1, 1.0, 7);
+		MatrixObject mo1 = createEvictedMatrix(ec, "A", mb);
+		createEvictedMatrix(ec, "B", mb);
+		long size = OptimizerUtils.estimateSizeExactSparsity(mo1.getDataCharacteristics());
+		// budget for a single restore across both schedulers
+		ReadAheadScheduler.MEM_BUDGET_RATIO = (double) (2 * size - 1) / OptimizerUtils.getLocalMemBudget();
+
+		List<Instruction> inst1 = Arrays.asList(createPlus("A", "A", "C"), createPlus("A", "C", "D"));
+		List<Instruction> inst2 = Arrays.asList(createPlus("B", "B", "E"), createPlus("B", "E", "F"));
+		ReadAheadScheduler ras1 = new ReadAheadScheduler(ec, 1);
+		ReadAheadScheduler ras2 = new ReadAheadScheduler(ec, 1);
+		try {
+			ras1.next(inst1, 0);
+			ras2.next(inst2, 0);
+			assertEquals(size, ReadAheadScheduler.getReservedMemory());
+		}
+		finally {
+			ras1.close();
+			ras2.close();
+		}
+		assertEquals(0, ReadAheadScheduler.getReservedMemory());
+	}
+
+	@Test
+	public void testInMemoryNotRestored() throws Exception {
+		ExecutionContext ec = ExecutionContextFactory.createContext();
+		MatrixBlock mb = TestUtils.generateTestMatrixBlock(rows, cols, -1, 1, 1.0, 7);
+		MatrixObject mo = createMatrix("A", mb);
+		mo.acquireModify(mb);
+		ec.setVariable("A", mo);
+		assertFalse(mo.isRestorable());
+
+		List<Instruction> inst = Arrays.asList(createPlus("A", "A", "B"), createPlus("A", "B", "C"));
+		ReadAheadScheduler ras = new ReadAheadScheduler(ec, 1);
+		try {
+			ras.next(inst, 0);
+			assertEquals(0, ReadAheadScheduler.getReservedMemory());
+		}
+		finally {
+			ras.close();
+			mo.release();
+		}
+	}
+
+	private static MatrixObject createMatrix(String name, MatrixBlock mb) {
+		MatrixCharacteristics mc = new MatrixCharacteristics(mb.getNumRows(),
+			mb.getNumColumns(), OptimizerUtils.DEFAULT_BLOCKSIZE, mb.getNonZeros());
+		return new MatrixObject(ValueType.FP64, name, new MetaDataFormat(mc, FileFormat.BINARY));
+	}
+
+	private static MatrixObject createEvictedMatrix(ExecutionContext ec, String name, MatrixBlock mb)
+		throws Exception
+	{
+		MatrixObject mo = createMatrix(name, mb);
+		mo.acquireModify(new MatrixBlock(mb));
+		mo.release();
+
+		// evict the matrix and clear the in-memory soft reference
+		if(OptimizerUtils.isUMMEnabled())
+			UnifiedMemoryManager.forceEviction();
+		else
+			LazyWriteBuffer.forceEviction();
+		Method clear = CacheableData.class.getDeclaredMethod("clearCache");
+		clear.setAccessible(true);
+		clear.invoke(mo);
+
+		ec.setVariable(name, mo);
+		return mo;
+	}
+
+	private static Instruction createPlus(String in1, String in2, String out) {
+		String str = InstructionUtils.concatOperands("CP", "+",
+			InstructionUtils.createOperand(new CPOperand(in1, ValueType.FP64, DataType.MATRIX)),
+			InstructionUtils.createOperand(new CPOperand(in2, ValueType.FP64, DataType.MATRIX)),
+			InstructionUtils.createOperand(new CPOperand(out, ValueType.FP64, DataType.MATRIX)));
+		return BinaryCPInstruction.parseInstruction(str);
+	}
+
+	private static void waitForReadAhead(long num) throws InterruptedException {
+		long t0 = System.currentTimeMillis();
+		while(CacheStatistics.getReadAhead() < num) {
+			if(System.currentTimeMillis() - t0 > TIMEOUT)
+				fail("Read-ahead not completed within " + TIMEOUT + " ms.");
+			Thread.sleep(1);
+		}
+	}
+}
@@ -0,0 +1,137 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.test.component.parfor;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.apache.sysds.common.Opcodes;
+import org.apache.sysds.common.Types.DataType;
+import org.apache.sysds.common.Types.FileFormat;
+import org.apache.sysds.common.Types.ValueType;
+import org.apache.sysds.runtime.compress.CompressedMatrixBlock;
+import org.apache.sysds.runtime.compress.CompressedMatrixBlockFactory;
+import org.apache.sysds.runtime.controlprogram.caching.MatrixObject;
+import org.apache.sysds.runtime.controlprogram.caching.MatrixObject.UpdateType;
+import org.apache.sysds.runtime.controlprogram.context.ExecutionContext;
+import org.apache.sysds.runtime.controlprogram.context.ExecutionContextFactory;
+import org.apache.sysds.runtime.instructions.InstructionUtils;
+import org.apache.sysds.runtime.instructions.cp.CPOperand;
+import org.apache.sysds.runtime.instructions.cp.IndexingCPInstruction;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.meta.MatrixCharacteristics;
+import org.apache.sysds.runtime.meta.MetaDataFormat;
+import org.apache.sysds.runtime.util.ProgramConverter;
+import org.apache.sysds.test.TestUtils;
+import org.junit.Test;
+
+public class ParForSharedViewTest {
+
+	@Test
+	public void testSharedInPlaceResultDense() throws Exception {
+		testSharedInPlaceResult(1.0);
+	}
+
+	@Test
+	public void testSharedInPlaceResultSparse() throws Exception {
+		testSharedInPlaceResult(0.05);
+	}
+
+	@Test
+	public void testSharedInPlaceResultCompressed() throws Exception {
+		MatrixBlock mb = TestUtils.ceil(TestUtils.generateTestMatrixBlock(1000, 10, 0, 5, 1.0, 7));
+		MatrixBlock cmb = CompressedMatrixBlockFactory.compress(mb).getLeft();
+		assertTrue(cmb instanceof CompressedMatrixBlock);
+		testSharedInPlaceResult(cmb, mb);
+		// the cached decompressed block of the shared input is unchanged
+		TestUtils.compareMatrices(mb, ((CompressedMatrixBlock) cmb).getUncompressed(), 0);
+	}
+
+	@Test
+	public void testEmptyInPlaceResultNotShared() throws Exception {
+		ExecutionContext ec = ExecutionContextFactory.createContext();
+		MatrixObject R = toMatrixObject(new MatrixBlock(100, 50, true), "R");
+		R.setUpdateType(UpdateType.INPLACE_PINNED);
+		ec.setVariable("R", R);
+
+		ExecutionContext w = ProgramConverter.createDeepCopyExecutionContext(ec);
+		assertNotSame(R, w.getVariable("R"));
+		assertFalse(R.isSharedView());
+	}
+
+	private static void testSharedInPlaceResult(double sparsity) throws Exception {
+		MatrixBlock mb = TestUtils.generateTestMatrixBlock(100, 50, -1, 1, sparsity, 7);
+		testSharedInPlaceResult(mb, new MatrixBlock(mb));
+	}
+
+	private static void testSharedInPlaceResult(MatrixBlock mb, MatrixBlock orig) throws Exception {
+		int rows = mb.getNumRows(), cols = mb.getNumColumns();
+		ExecutionContext ec = ExecutionContextFactory.createContext();
+		MatrixObject R = toMatrixObject(mb, "R");
+		R.setUpdateType(UpdateType.INPLACE_PINNED);
+		ec.setVariable("R", R);
+
+		// workers share the in-place result variable instead of deep copies
+		ExecutionContext w1 = ProgramConverter.createDeepCopyExecutionContext(ec);
+		ExecutionContext w2 = ProgramConverter.createDeepCopyExecutionContext(ec);
+		assertSame(R, w1.getVariable("R"));
+		assertSame(R, w2.getVariable("R"));
+		assertTrue(R.isSharedView());
+
+		// in-place left indexing of one worker copies on write
+		MatrixBlock X = TestUtils.generateTestMatrixBlock(1, cols, 3, 4, 1.0, 3);
+		w1.setVariable("X", toMatrixObject(X, "X"));
+		w1.setVariable("_mVar1", new MatrixObject(ValueType.FP64, "_mVar1",
+			new MetaDataFormat(new MatrixCharacteristics(rows, cols, 1000), FileFormat.BINARY)));
+		String lit1 = InstructionUtils.createLiteralOperand("1", ValueType.INT64);
+		IndexingCPInstruction inst = IndexingCPInstruction.parseInstruction(InstructionUtils.concatOperands("CP",
+			Opcodes.LEFT_INDEX.toString(), matrixOperand("R"), matrixOperand("X"), lit1, lit1, lit1,
+			InstructionUtils.createLiteralOperand(String.valueOf(cols), ValueType.INT64), matrixOperand("_mVar1")));
+		inst.processInstruction(w1);
+
+		MatrixBlock ret = w1.getMatrixObject("_mVar1").acquireReadAndRelease();
+		TestUtils.compareMatrices(orig, R.acquireReadAndRelease(), 0);
+		TestUtils.compareMatrices(X, ret.slice(0, 0), 0);
+		TestUtils.compareMatrices(orig.slice(1, rows-1), ret.slice(1, rows-1), 0);
+
+		// views are released after the workers terminated
+		ProgramConverter.releaseSharedViews(ec);
+		assertTrue(R.isSharedView());
+		ProgramConverter.releaseSharedViews(ec);
+		assertFalse(R.isSharedView());
+		assertEquals(orig.getNonZeros(), R.getNnz());
+	}
+
+	private static String matrixOperand(String name) {
+		return InstructionUtils.createOperand(new CPOperand(name, ValueType.FP64, DataType.MATRIX));
+	}
+
+	private static MatrixObject toMatrixObject(MatrixBlock mb, String filename) {
+		MetaDataFormat md = new MetaDataFormat(
+			mb.getDataCharacteristics().setBlocksize(1000), FileFormat.BINARY);
+		MatrixObject mo = new MatrixObject(ValueType.FP64, filename, md);
+		mo.acquireModify(mb);
+		mo.release();
+		return mo;
+	}
+}
@@ -0,0 +1,180 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.test.component.sparse;
+
+import org.apache.sysds.runtime.data.SparseBlock;
+import org.apache.sysds.runtime.data.SparseBlockDCSR;
+import org.apache.sysds.runtime.instructions.InstructionUtils;
+import org.apache.sysds.runtime.matrix.data.LibMatrixMult;
+import org.apache.sysds.runtime.matrix.data.LibMatrixReorg;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.test.AutomatedTestBase;
+import org.apache.sysds.test.TestUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * This is a sparse matrix block component test for the automatic selection
+ * of DCSR for hyper-sparse blocks and the specialized kernels over non-empty
+ * rows, which are compared against the same operations over MCSR inputs.
+ */
+public class SparseBlockDCSRKernels extends AutomatedTestBase
+{
+	private final static int rows = 200000;
+	private final static int cols = 100;
+	private final static double sparsity = 0.0004; //~0.04 nnz per row
+
+	@Override
+	public void setUp() {
+		TestUtils.clearAssertionInformation();
+	}
+
+	@Test
+	public void testExamSparsity() {
+		MatrixBlock X = createHyperSparse(7);
+		Assert.assertTrue(X.isHyperSparse());
+		Assert.assertTrue(X.getSparseBlock() instanceof SparseBlockDCSR);
+		Assert.assertTrue(X.getSparseBlock().checkValidity(rows, cols, X.getNonZeros(), true));
+		//no DCSR if CSR is not allowed
+		MatrixBlock Y = createMCSR(X);
+		Y.examSparsity(false);
+		Assert.assertFalse(Y.getSparseBlock() instanceof SparseBlockDCSR);
+		//back to CSR if no longer hyper-sparse
+		MatrixBlock Z = X.slice(0, 999);
+		Z.examSparsity();
+		Assert.assertFalse(Z.getSparseBlock() instanceof SparseBlockDCSR);
+	}
+
+	@Test
+	public void testMatrixVectorMult() {
+		runMatMultTest(1, 1.0);
+	}
+
+	@Test
+	public void testMatrixMatrixMultDense() {
+		runMatMultTest(7, 1.0);
+	}
+
+	@Test
+	public void testMatrixMatrixMultSparse() {
+		runMatMultTest(300, 0.01);
+	}
+
+	@Test
+	public void testRowSums() {
+		runAggregateTest("uark+");
+		runAggregateTest("uar+");
+	}
+
+	@Test
+	public void testColSumsAndSum() {
+		runAggregateTest("uack+");
+		runAggregateTest("uak+");
+		runAggregateTest("ua+");
+	}
+
+	@Test
+	public void testTranspose() {
+		MatrixBlock X = createHyperSparse(7);
+		MatrixBlock ret1 = LibMatrixReorg.transpose(X, 4);
+		MatrixBlock ret2 = LibMatrixReorg.transpose(createMCSR(X), 4);
+		TestUtils.compareMatrices(ret2, ret1, 0);
+		Assert.assertEquals(ret2.getNonZeros(), ret1.getNonZeros());
+	}
+
+	@Test
+	public void testTransposeHyperSparseOutput() {
+		//square hyper-sparse input, whose transpose is again hyper-sparse
+		MatrixBlock X = TestUtils.generateTestMatrixBlock(20000, 20000, -1, 1, 0.000002, 7);
+		X.examSparsity();
+		Assert.assertTrue(X.getSparseBlock() instanceof SparseBlockDCSR);
+		MatrixBlock ret1 = LibMatrixReorg.transpose(X, new MatrixBlock(20000, 20000, true));
+		MatrixBlock ret2 = LibMatrixReorg.transpose(createMCSR(X), new MatrixBlock(20000, 20000, true));
+		Assert.assertTrue(ret1.getSparseBlock() instanceof SparseBlockDCSR);
+		Assert.assertTrue(ret1.getSparseBlock().checkValidity(20000, 20000, ret1.getNonZeros(), true));
+		TestUtils.compareMatrices(ret2, ret1, 0);
+	}
+
+	@Test
+	public void testScalarOperations() {
+		MatrixBlock X = createHyperSparse(7);
+		for( String opcode : new String[] {"*", ">"} ) {
+			MatrixBlock ret1 = X.scalarOperations(InstructionUtils.parseScalarBinaryOperator(opcode, false, 0.5, 4), null);
+			MatrixBlock ret2 = createMCSR(X).scalarOperations(InstructionUtils.parseScalarBinaryOperator(opcode, false, 0.5, 4), null);
+			TestUtils.compareMatrices(ret2, ret1, 0);
+			Assert.assertEquals(ret2.getNonZeros(), ret1.getNonZeros());
+		}
+	}
+
+	@Test
+	public void testUnaryOperations() {
+		MatrixBlock X = createHyperSparse(7);
+		MatrixBlock ret1 = X.unaryOperations(InstructionUtils.parseUnaryOperator("abs"), null);
+		MatrixBlock ret2 = createMCSR(X).unaryOperations(InstructionUtils.parseUnaryOperator("abs"), null);
+		TestUtils.compareMatrices(ret2, ret1, 0);
+		Assert.assertEquals(ret2.getNonZeros(), ret1.getNonZeros());
+	}
+
+	@Test
+	public void testBinaryOperations() {
+		MatrixBlock X = createHyperSparse(7);
+		MatrixBlock Y = createHyperSparse(8);
+		for( String opcode : new String[] {"+", "*", "-"} ) {
+			MatrixBlock ret1 = X.binaryOperations(InstructionUtils.parseBinaryOperator(opcode), Y);
+			MatrixBlock ret2 = createMCSR(X).binaryOperations(InstructionUtils.parseBinaryOperator(opcode), createMCSR(Y));
+			TestUtils.compareMatrices(ret2, ret1, 0);
+			Assert.assertEquals(ret2.getNonZeros(), ret1.getNonZeros());
+		}
+		//self-operation with cancellation
+		MatrixBlock ret = X.binaryOperations(InstructionUtils.parseBinaryOperator("-"), X);
+		Assert.assertEquals(0, ret.getNonZeros());
+	}
+
+	private static void runMatMultTest(int n, double sp) {
+		MatrixBlock X = createHyperSparse(7);
+		MatrixBlock W = TestUtils.generateTestMatrixBlock(cols, n, -1, 1, sp, 3);
+		for( int k : new int[] {1, 4} ) {
+			MatrixBlock ret1 = LibMatrixMult.matrixMult(X, W, k);
+			MatrixBlock ret2 = LibMatrixMult.matrixMult(createMCSR(X), W, k);
+			TestUtils.compareMatrices(ret2, ret1, 1e-10);
+		}
+	}
+
+	private static void runAggregateTest(String opcode) {
+		MatrixBlock X = createHyperSparse(7);
+		for( int k : new int[] {1, 4} ) {
+			MatrixBlock ret1 = X.aggregateUnaryOperations(
+				InstructionUtils.parseBasicAggregateUnaryOperator(opcode, k));
+			MatrixBlock ret2 = createMCSR(X).aggregateUnaryOperations(
+				InstructionUtils.parseBasicAggregateUnaryOperator(opcode, k));
+			TestUtils.compareMatrices(ret2, ret1, 1e-10);
+		}
+	}
+
+	private static MatrixBlock createHyperSparse(int seed) {
+		MatrixBlock X = TestUtils.generateTestMatrixBlock(rows, cols, -1, 1, sparsity, seed);
+		X.examSparsity();
+		return X;
+	}
+
+	private static MatrixBlock createMCSR(MatrixBlock X) {
+		return new MatrixBlock(X, SparseBlock.Type.MCSR, true);
+	}
+}
@@ -0,0 +1,219 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.test.component.tensor;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Random;
+
+import org.apache.sysds.common.Types.ValueType;
+import org.apache.sysds.runtime.data.BasicTensorBlock;
+import org.apache.sysds.runtime.data.LibTensorAgg;
+import org.apache.sysds.runtime.data.LibTensorReorg;
+import org.apache.sysds.runtime.data.TensorBlock;
+import org.apache.sysds.runtime.functionobjects.Builtin;
+import org.apache.sysds.runtime.functionobjects.Builtin.BuiltinCode;
+import org.apache.sysds.runtime.functionobjects.IndexFunction;
+import org.apache.sysds.runtime.functionobjects.Minus;
+import org.apache.sysds.runtime.functionobjects.Plus;
+import org.apache.sysds.runtime.functionobjects.ReduceAll;
+import org.apache.sysds.runtime.functionobjects.ReduceCol;
+import org.apache.sysds.runtime.functionobjects.ReduceRow;
+import org.apache.sysds.runtime.functionobjects.ValueFunction;
+import org.apache.sysds.runtime.matrix.operators.AggregateOperator;
+import org.apache.sysds.runtime.matrix.operators.AggregateUnaryOperator;
+import org.apache.sysds.runtime.matrix.operators.BinaryOperator;
+import org.apache.sysds.runtime.util.UtilFunctions;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameters;
+
+@RunWith(value = Parameterized.class)
+public class TensorParallelKernelsTest {
+	// large enough for multi-threaded execution
+	private static final int[] DIMS = {40, 30, 20};
+
+	@Parameterized.Parameter
+	public ValueType vt;
+	@Parameterized.Parameter(1)
+	public int k;
+
+	@Parameters
+	public static Collection<Object[]> data() {
+		ArrayList<Object[]> tests = new ArrayList<>();
+		for(ValueType vt : new ValueType[] {ValueType.FP64, ValueType.FP32, ValueType.INT64})
+			for(int k : new int[] {1, 4})
+				tests.add(new Object[] {vt, k});
+		return tests;
+	}
+
+	@Test
+	public void testBinarySameDims() {
+		testBinary(DIMS);
+	}
+
+	@Test
+	public void testBinaryBroadcastMiddle() {
+		testBinary(new int[] {40, 1, 20});
+	}
+
+	@Test
+	public void testBinaryBroadcastOuterInner() {
+		testBinary(new int[] {1, 30, 1});
+	}
+
+	@Test
+	public void testBinaryMissingTrailingDims() {
+		testBinary(new int[] {40, 30});
+	}
+
+	@Test
+	public void testRowAggSum() {
+		testAggregate(ReduceCol.getReduceColFnObject(), Plus.getPlusFnObject(), new boolean[] {false, true, true});
+	}
+
+	@Test
+	public void testColAggSum() {
+		testAggregate(ReduceRow.getReduceRowFnObject(), Plus.getPlusFnObject(), new boolean[] {true, false, false});
+	}
+
+	@Test
+	public void testAllAggMax() {
+		testAggregate(ReduceAll.getReduceAllFnObject(), Builtin.getBuiltinFnObject(BuiltinCode.MAX),
+			new boolean[] {true, true, true});
+	}
+
+	@Test
+	public void testColAggMin() {
+		testAggregate(ReduceRow.getReduceRowFnObject(), Builtin.getBuiltinFnObject(BuiltinCode.MIN),
+			new boolean[] {true, false, false});
+	}
+
+	@Test
+	public void testAxesAggSum() {
+		for(boolean[] axes : new boolean[][] {{false, true, false}, {true, false, true}, {false, false, true}}) {
+			BasicTensorBlock in = createTensor(DIMS, 7).getBasicTensor();
+			AggregateUnaryOperator op = new AggregateUnaryOperator(new AggregateOperator(0, Plus.getPlusFnObject()),
+				ReduceAll.getReduceAllFnObject(), k);
+			BasicTensorBlock out = LibTensorAgg.aggregateAxes(in, axes, op);
+			compareAggregate(in, out, Plus.getPlusFnObject(), axes);
+		}
+	}
+
+	@Test
+	public void testPermute() {
+		for(int[] perm : new int[][] {{2, 0, 1}, {1, 0, 2}, {0, 2, 1}, {2, 1, 0}}) {
+			BasicTensorBlock in = createTensor(DIMS, 7).getBasicTensor();
+			BasicTensorBlock out = LibTensorReorg.permute(in, new BasicTensorBlock(), perm, k);
+			int[] odims = new int[DIMS.length];
+			for(int i = 0; i < perm.length; i++)
+				odims[i] = DIMS[perm[i]];
+			assertArrayEquals(odims, out.getDims());
+			assertEquals(in.getNonZeros(), out.getNonZeros());
+			int[] ix = new int[DIMS.length];
+			int[] oix = new int[DIMS.length];
+			for(long i = 0; i < in.getLength(); i++) {
+				for(int j = 0; j < perm.length; j++)
+					oix[j] = ix[perm[j]];
+				assertEquals(in.get(ix), out.get(oix));
+				nextIndexes(DIMS, ix);
+			}
+		}
+	}
+
+	private void testBinary(int[] dims2) {
+		TensorBlock m1 = createTensor(DIMS, 7);
+		TensorBlock m2 = createTensor(dims2, 3);
+		for(ValueFunction fn : new ValueFunction[] {Plus.getPlusFnObject(), Minus.getMinusFnObject()}) {
+			TensorBlock ret = m1.binaryOperations(new BinaryOperator(fn, k), m2, null);
+			int[] ix = new int[DIMS.length];
+			int[] ix2 = new int[dims2.length];
+			long nnz = 0;
+			for(long i = 0; i < ret.getLength(); i++) {
+				for(int j = 0; j < dims2.length; j++)
+					ix2[j] = (dims2[j] == 1) ? 0 : ix[j];
+				double expected = fn.execute(getDouble(m1, ix), getDouble(m2, ix2));
+				assertEquals(expected, getDouble(ret, ix), 0);
+				nnz += (expected != 0) ? 1 : 0;
+				nextIndexes(DIMS, ix);
+			}
+			assertEquals(nnz, ret.getBasicTensor().getNonZeros());
+		}
+	}
+
+	private void testAggregate(IndexFunction ixFn, ValueFunction fn, boolean[] axes) {
+		BasicTensorBlock in = createTensor(DIMS, 7).getBasicTensor();
+		AggregateUnaryOperator op = new AggregateUnaryOperator(new AggregateOperator(0, fn), ixFn, k);
+		BasicTensorBlock out = in.aggregateUnaryOperations(op, new BasicTensorBlock());
+		compareAggregate(in, out, fn, axes);
+	}
+
+	private static void compareAggregate(BasicTensorBlock in, BasicTensorBlock out, ValueFunction fn,
+		boolean[] axes) {
+		// reference aggregation in row-major output order
+		int[] odims = new int[axes.length];
+		for(int j = 0; j < axes.length; j++)
+			odims[j] = axes[j] ? 1 : DIMS[j];
+		double[] expected = new double[(int) UtilFunctions.prod(odims)];
+		boolean[] init = new boolean[expected.length];
+		int[] ix = new int[DIMS.length];
+		for(long i = 0; i < in.getLength(); i++) {
+			int pos = 0;
+			for(int j = 0; j < axes.length; j++)
+				pos = pos * odims[j] + (axes[j] ? 0 : ix[j]);
+			double v = UtilFunctions.objectToDouble(in.getValueType(), in.get(ix));
+			expected[pos] = init[pos] ? fn.execute(expected[pos], v) : v;
+			init[pos] = true;
+			nextIndexes(DIMS, ix);
+		}
+		assertEquals(expected.length, out.getLength());
+		int ocols = (int) UtilFunctions.prod(out.getDims(), 1);
+		for(int i = 0; i < expected.length; i++)
+			assertEquals(expected[i], out.getDenseBlock().get(i / ocols, i % ocols), 1e-6);
+	}
+
+	private TensorBlock createTensor(int[] dims, int seed) {
+		TensorBlock tb = new TensorBlock(vt, dims);
+		tb.allocateBlock();
+		Random rand = new Random(seed);
+		int[] ix = new int[dims.length];
+		for(long i = 0; i < tb.getLength(); i++) {
+			tb.set(ix, (double) (rand.nextInt(11) - 5));
+			nextIndexes(dims, ix);
+		}
+		return tb;
+	}
+
+	private static double getDouble(TensorBlock tb, int[] ix) {
+		return UtilFunctions.objectToDouble(tb.getValueType(), tb.get(ix));
+	}
+
+	private static void nextIndexes(int[] dims, int[] ix) {
+		for(int j = ix.length - 1; j >= 0; j--) {
+			if(++ix[j] < dims[j])
+				return;
+			ix[j] = 0;
+		}
+	}
+}
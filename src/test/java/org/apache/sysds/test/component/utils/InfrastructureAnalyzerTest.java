@@ -0,0 +1,101 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.test.component.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+
+import org.apache.sysds.utils.stats.InfrastructureAnalyzer;
+import org.junit.Test;
+
+public class InfrastructureAnalyzerTest {
+
+	@Test
+	public void testParseNodeListSingle() {
+		assertEquals(1, InfrastructureAnalyzer.parseNodeList("0"));
+	}
+
+	@Test
+	public void testParseNodeListRange() {
+		assertEquals(2, InfrastructureAnalyzer.parseNodeList("0-1"));
+	}
+
+	@Test
+	public void testParseNodeListMixed() {
+		assertEquals(5, InfrastructureAnalyzer.parseNodeList("0-3,5"));
+		assertEquals(3, InfrastructureAnalyzer.parseNodeList("0,2-3"));
+	}
+
+	@Test
+	public void testParseNodeListEmpty() {
+		assertEquals(0, InfrastructureAnalyzer.parseNodeList(""));
+	}
+
+	@Test
+	public void testAnalyzeNumaNodesFile() throws Exception {
+		File f = File.createTempFile("numa_online", ".txt");
+		try {
+			Files.write(f.toPath(), "0-3,5\n".getBytes());
+			assertEquals(5, InfrastructureAnalyzer.analyzeNumaNodes(f));
+		}
+		finally {
+			f.delete();
+		}
+	}
+
+	@Test
+	public void testAnalyzeNumaNodesInvalid() throws Exception {
+		File f = File.createTempFile("numa_online", ".txt");
+		try {
+			Files.write(f.toPath(), "a-b".getBytes());
+			assertEquals(1, InfrastructureAnalyzer.analyzeNumaNodes(f));
+			Files.write(f.toPath(), new byte[0]);
+			assertEquals(1, InfrastructureAnalyzer.analyzeNumaNodes(f));
+		}
+		finally {
+			f.delete();
+		}
+	}
+
+	@Test
+	public void testAnalyzeNumaNodesMissing() {
+		assertEquals(1, InfrastructureAnalyzer.analyzeNumaNodes(new File("/nonexistent/node/online")));
+	}
+
+	@Test
+	public void testLocalNumaNodes() {
+		assertTrue(InfrastructureAnalyzer.getLocalNumaNodes() >= 1);
+		assertEquals(InfrastructureAnalyzer.getLocalNumaNodes() > 1, InfrastructureAnalyzer.isLocalNuma());
+	}
+
+	@Test
+	public void testNumaAwareHeap() {
+		//test JVMs run without -XX:+UseNUMA (see surefire argLine)
+		boolean useNuma = ManagementFactory.getRuntimeMXBean()
+			.getInputArguments().contains("-XX:+UseNUMA");
+		if( !useNuma )
+			assertFalse(InfrastructureAnalyzer.isNumaAwareHeap());
+	}
+}
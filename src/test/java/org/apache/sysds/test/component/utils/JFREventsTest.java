@@ -0,0 +1,127 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.test.component.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.apache.sysds.common.Types.DataType;
+import org.apache.sysds.common.Types.ValueType;
+import org.apache.sysds.runtime.DMLRuntimeException;
+import org.apache.sysds.runtime.controlprogram.BasicProgramBlock;
+import org.apache.sysds.runtime.controlprogram.Program;
+import org.apache.sysds.runtime.controlprogram.context.ExecutionContextFactory;
+import org.apache.sysds.runtime.instructions.InstructionUtils;
+import org.apache.sysds.runtime.instructions.cp.BinaryCPInstruction;
+import org.apache.sysds.runtime.instructions.cp.CPOperand;
+import org.apache.sysds.utils.stats.JFREvents;
+import org.junit.Test;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+public class JFREventsTest {
+
+	@Test
+	public void testDisabledWithoutRecording() {
+		assertNull(JFREvents.beginRecompile("dag", 1, 2));
+		JFREvents.commitRecompile(null, 3);
+		JFREvents.lineageCacheHit("ba+*", 10);
+	}
+
+	@Test
+	public void testRecordedEvents() throws Exception {
+		Path file = Files.createTempFile("sysds", ".jfr");
+		try(Recording rec = new Recording()) {
+			rec.enable("org.apache.sysds.Recompile").withThreshold(Duration.ZERO);
+			rec.enable("org.apache.sysds.LineageCacheHit");
+			rec.start();
+			JFREvents.commitRecompile(JFREvents.beginRecompile("dag", 3, 7), 12);
+			JFREvents.lineageCacheHit("ba+*", 1000);
+			rec.stop();
+			rec.dump(file);
+
+			List<RecordedEvent> events = RecordingFile.readAllEvents(file).stream()
+				.filter(e -> e.getEventType().getName().startsWith("org.apache.sysds"))
+				.collect(Collectors.toList());
+			assertEquals(2, events.size());
+			for(RecordedEvent e : events) {
+				if(e.getEventType().getName().equals("org.apache.sysds.Recompile")) {
+					assertEquals("dag", e.getString("kind"));
+					assertEquals(3, e.getInt("beginLine"));
+					assertEquals(12, e.getInt("numInstructions"));
+				}
+				else {
+					assertEquals("ba+*", e.getString("name"));
+					assertEquals(1000, e.getLong("savedComputeTime"));
+				}
+			}
+		}
+		finally {
+			Files.deleteIfExists(file);
+		}
+	}
+
+	@Test
+	public void testFailedInstructionRecorded() throws Exception {
+		Path file = Files.createTempFile("sysds", ".jfr");
+		try(Recording rec = new Recording()) {
+			rec.enable("org.apache.sysds.Instruction").withThreshold(Duration.ZERO);
+			rec.start();
+			// instruction over an unknown input variable
+			BasicProgramBlock pb = new BasicProgramBlock(new Program());
+			pb.setInstructions(new ArrayList<>(Arrays.asList(BinaryCPInstruction.parseInstruction(
+				InstructionUtils.concatOperands("CP", "+",
+				InstructionUtils.createOperand(new CPOperand("X", ValueType.FP64, DataType.MATRIX)),
+				InstructionUtils.createOperand(new CPOperand("X", ValueType.FP64, DataType.MATRIX)),
+				InstructionUtils.createOperand(new CPOperand("Y", ValueType.FP64, DataType.MATRIX)))))));
+			try {
+				pb.execute(ExecutionContextFactory.createContext());
+				fail("Instruction should fail on unknown input.");
+			}
+			catch(DMLRuntimeException ex) {
+				// expected
+			}
+			rec.stop();
+			rec.dump(file);
+
+			List<RecordedEvent> events = RecordingFile.readAllEvents(file).stream()
+				.filter(e -> e.getEventType().getName().equals("org.apache.sysds.Instruction"))
+				.collect(Collectors.toList());
+			assertEquals(1, events.size());
+			assertEquals("+", events.get(0).getString("opcode"));
+			assertFalse(events.get(0).getBoolean("success"));
+		}
+		finally {
+			Files.deleteIfExists(file);
+		}
+	}
+}
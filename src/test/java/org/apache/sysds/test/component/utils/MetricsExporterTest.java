@@ -0,0 +1,139 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.test.component.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import org.apache.sysds.conf.DMLConfig;
+import org.apache.sysds.utils.Statistics;
+import org.apache.sysds.utils.stats.LatencyHistogram;
+import org.apache.sysds.utils.stats.MetricsExporter;
+import org.junit.After;
+import org.junit.Test;
+
+public class MetricsExporterTest {
+
+	@After
+	public void cleanup() {
+		MetricsExporter.stop();
+		Statistics.resetCPHeavyHitters();
+	}
+
+	@Test
+	public void testHistogramPercentiles() {
+		LatencyHistogram hist = new LatencyHistogram();
+		Random rand = new Random(7);
+		long[] vals = new long[10000];
+		for(int i = 0; i < vals.length; i++) {
+			vals[i] = (long) Math.exp(rand.nextDouble() * 25);
+			hist.record(vals[i]);
+		}
+		Arrays.sort(vals);
+		assertEquals(vals.length, hist.getCount());
+		assertEquals(vals[vals.length - 1], hist.getMax());
+		assertEquals(Arrays.stream(vals).sum(), hist.getSum());
+		for(double p : new double[] {50, 90, 99, 99.9}) {
+			long expected = vals[(int) Math.ceil(p / 100 * vals.length) - 1];
+			long actual = hist.getValueAtPercentile(p);
+			assertTrue(p + ": " + expected + " vs " + actual, actual >= expected && actual <= expected * 1.04);
+		}
+		assertEquals(vals[vals.length - 1], hist.getValueAtPercentile(100));
+	}
+
+	@Test
+	public void testHistogramConcurrent() {
+		LatencyHistogram hist = new LatencyHistogram();
+		IntStream.range(0, 100000).parallel().forEach(i -> hist.record(i % 1000));
+		assertEquals(100000, hist.getCount());
+		assertEquals(100000, hist.getCountAtOrBelow(1000));
+		assertEquals(999, hist.getMax());
+	}
+
+	@Test
+	public void testMetricsText() {
+		for(int i = 1; i <= 100; i++)
+			Statistics.maintainCPHeavyHitters("ba+*", i * 1000L);
+		String metrics = MetricsExporter.getMetrics();
+		assertTrue(metrics.contains("# TYPE sysds_instruction_latency_seconds histogram"));
+		assertTrue(metrics.contains("sysds_instruction_latency_seconds_count{opcode=\"ba+*\"} 100"));
+		assertTrue(metrics.contains("sysds_instruction_latency_seconds_bucket{opcode=\"ba+*\",le=\"+Inf\"} 100"));
+		assertTrue(metrics.contains("sysds_instruction_latency_seconds_bucket{opcode=\"ba+*\",le=\"1.0E-5\"} 10"));
+		assertTrue(metrics.contains("sysds_instruction_latency_quantile_seconds{opcode=\"ba+*\",quantile=\"1.0\"} 1.0E-4"));
+		assertTrue(metrics.contains("sysds_bufferpool_hits_total{source=\"mem\"}"));
+		assertTrue(metrics.contains("sysds_lineage_cache_hits_total{type=\"inst\"}"));
+		assertTrue(metrics.contains("sysds_codegen_compile_total{type=\"class\"}"));
+	}
+
+	@Test
+	public void testHttpEndpoint() throws Exception {
+		Statistics.maintainCPHeavyHitters("uak+", 5000);
+		int port = MetricsExporter.startServer(0);
+		HttpURLConnection conn = (HttpURLConnection) new URL(
+			"http://localhost:" + port + MetricsExporter.CONTEXT).openConnection();
+		try(InputStream in = conn.getInputStream()) {
+			String body = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+			assertEquals(200, conn.getResponseCode());
+			assertTrue(body.contains("sysds_instruction_latency_seconds_count{opcode=\"uak+\"} 1"));
+		}
+		finally {
+			conn.disconnect();
+		}
+	}
+
+	@Test
+	public void testReferenceCounting() {
+		DMLConfig conf = new DMLConfig();
+		assertFalse(MetricsExporter.startIfConfigured(conf));
+		conf.setTextValue(DMLConfig.STATS_METRICS_PORT, "0");
+		// e.g., two open jmlc connections
+		assertTrue(MetricsExporter.startIfConfigured(conf));
+		assertTrue(MetricsExporter.startIfConfigured(conf));
+		MetricsExporter.release();
+		assertTrue(MetricsExporter.isRunning());
+		MetricsExporter.release();
+		assertFalse(MetricsExporter.isRunning());
+	}
+
+	@Test
+	public void testFileSnapshot() throws Exception {
+		Path file = Files.createTempFile("sysds", ".prom");
+		try {
+			Statistics.maintainCPHeavyHitters("tsmm", 5000);
+			MetricsExporter.writeSnapshot(file);
+			String body = Files.readString(file);
+			assertTrue(body.contains("sysds_instruction_latency_seconds_count{opcode=\"tsmm\"} 1"));
+		}
+		finally {
+			Files.deleteIfExists(file);
+		}
+	}
+}
@@ -0,0 +1,148 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.test.functions.codegen;
+
+import java.io.File;
+import java.util.HashMap;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.sysds.common.Opcodes;
+import org.apache.sysds.common.Types.ExecMode;
+import org.apache.sysds.common.Types.ExecType;
+import org.apache.sysds.hops.OptimizerUtils;
+import org.apache.sysds.runtime.matrix.data.MatrixValue.CellIndex;
+import org.apache.sysds.test.AutomatedTestBase;
+import org.apache.sysds.test.TestConfiguration;
+import org.apache.sysds.test.TestUtils;
+import org.apache.sysds.utils.Statistics;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class LoopBlockMergeTest extends AutomatedTestBase 
+{
+	private static final Log LOG = LogFactory.getLog(LoopBlockMergeTest.class.getName());
+
+	private static final String TEST_NAME1 = "loopBlockMerge1"; //lmCG loop body w/ conditional intercept handling
+	
+	private static final String TEST_DIR = "functions/codegen/";
+	private static final String TEST_CLASS_DIR = TEST_DIR + LoopBlockMergeTest.class.getSimpleName() + "/";
+	private final static String TEST_CONF = "SystemDS-config-codegen.xml";
+	private final static File   TEST_CONF_FILE = new File(SCRIPT_DIR + TEST_DIR, TEST_CONF);
+	
+	private static final int rows = 1468;
+	private static final int cols = 37;
+	private static final int iters = 10;
+	private static final double eps = Math.pow(10, -8);
+	
+	@Override
+	public void setUp() {
+		TestUtils.clearAssertionInformation();
+		addTestConfiguration( TEST_NAME1, new TestConfiguration(TEST_CLASS_DIR, TEST_NAME1, new String[] { "R" }) );
+	}
+	
+	@Test
+	public void testLoopBlockMergeInterceptCP() {
+		testLoopBlockMerge( TEST_NAME1, 1 );
+	}
+	
+	@Test
+	public void testLoopBlockMergeNoInterceptCP() {
+		testLoopBlockMerge( TEST_NAME1, 0 );
+	}
+	
+	@Test
+	public void testNoLoopBlockMergeInterceptCP() {
+		runLoopBlockMerge( TEST_NAME1, false, 1 );
+	}
+	
+	@Test
+	public void testNoLoopBlockMergeNoInterceptCP() {
+		runLoopBlockMerge( TEST_NAME1, false, 0 );
+	}
+	
+	private void testLoopBlockMerge( String testname, int icpt ) {
+		//the merged loop body allows fusion across the original block boundaries,
+		//which reduces the number of executed instructions per iteration
+		long numInst = runLoopBlockMerge( testname, false, icpt );
+		long numInstMerged = runLoopBlockMerge( testname, true, icpt );
+		Assert.assertTrue("Loop body blocks not merged: "+numInstMerged+" >= "+numInst,
+			numInstMerged < numInst);
+	}
+	
+	private long runLoopBlockMerge( String testname, boolean rewrites, int icpt )
+	{
+		boolean oldFlag = OptimizerUtils.ALLOW_LOOP_BODY_BLOCK_MERGE;
+		ExecMode platformOld = setExecMode(ExecType.CP);
+		
+		try
+		{
+			TestConfiguration config = getTestConfiguration(testname);
+			loadTestConfiguration(config);
+			
+			String HOME = SCRIPT_DIR + TEST_DIR;
+			fullDMLScriptName = HOME + testname + ".dml";
+			programArgs = new String[]{"-stats", "-args", input("X"), input("y"),
+				input("I"), String.valueOf(iters), output("R") };
+			
+			fullRScriptName = HOME + testname + ".R";
+			rCmd = getRCmd(inputDir(), String.valueOf(icpt), String.valueOf(iters), expectedDir());
+
+			OptimizerUtils.ALLOW_LOOP_BODY_BLOCK_MERGE = rewrites;
+			
+			double[][] X = getRandomMatrix(rows, cols, 0, 1, 0.7, 7);
+			double[][] y = getRandomMatrix(rows, 1, 0, 10, 1.0, 3);
+			writeInputMatrixWithMTD("X", X, true);
+			writeInputMatrixWithMTD("y", y, true);
+			writeInputMatrixWithMTD("I", new double[][] {{icpt}}, true);
+			
+			runTest(true, false, null, -1); 
+			long numInst = getNumExecutedInstructions();
+			runRScript(true); 
+			
+			//compare matrices 
+			HashMap<CellIndex, Double> dmlfile = readDMLMatrixFromOutputDir("R");
+			HashMap<CellIndex, Double> rfile  = readRMatrixFromExpectedDir("R");
+			TestUtils.compareMatrices(dmlfile, rfile, eps, "Stat-DML", "Stat-R");
+			Assert.assertTrue(heavyHittersContainsSubString(Opcodes.SPOOF.toString()));
+			return numInst;
+		}
+		finally {
+			resetExecMode(platformOld);
+			OptimizerUtils.ALLOW_LOOP_BODY_BLOCK_MERGE = oldFlag;
+		}
+	}
+	
+	private static long getNumExecutedInstructions() {
+		return Statistics.getCPHeavyHitterOpCodes().stream()
+			.mapToLong(Statistics::getCPHeavyHitterCount).sum();
+	}
+
+	/**
+	 * Override default configuration with custom test configuration to ensure
+	 * scratch space and local temporary directory locations are also updated.
+	 */
+	@Override
+	protected File getConfigTemplateFile() {
+		// Instrumentation in this test's output log to show custom configuration file used for template.
+		LOG.debug("This test case overrides default configuration with " + TEST_CONF_FILE.getPath());
+		return TEST_CONF_FILE;
+	}
+}
@@ -0,0 +1,88 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.test.functions.frame;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.HashMap;
+
+import org.apache.sysds.common.Opcodes;
+import org.apache.sysds.common.Types.ExecMode;
+import org.apache.sysds.runtime.matrix.data.MatrixValue;
+import org.apache.sysds.test.AutomatedTestBase;
+import org.apache.sysds.test.TestConfiguration;
+import org.apache.sysds.test.TestUtils;
+import org.junit.Test;
+
+public class FrameOrderTest extends AutomatedTestBase {
+	private final static String TEST_DIR = "functions/frame/";
+	private final static String TEST_NAME = "FrameOrderTest";
+	private final static String TEST_CLASS_DIR = TEST_DIR + FrameOrderTest.class.getSimpleName() + "/";
+
+	private final static int rows = 1000;
+
+	@Override
+	public void setUp() {
+		TestUtils.clearAssertionInformation();
+		addTestConfiguration(TEST_NAME, new TestConfiguration(TEST_CLASS_DIR, TEST_NAME, new String[] {"S"}));
+	}
+
+	@Test
+	public void testFrameOrderAscCP() {
+		runFrameOrderTest(false, ExecMode.HYBRID);
+	}
+
+	@Test
+	public void testFrameOrderDescCP() {
+		runFrameOrderTest(true, ExecMode.HYBRID);
+	}
+
+	@Test
+	public void testFrameOrderAscSpark() {
+		runFrameOrderTest(false, ExecMode.SPARK);
+	}
+
+	@Test
+	public void testFrameOrderDescSpark() {
+		runFrameOrderTest(true, ExecMode.SPARK);
+	}
+
+	private void runFrameOrderTest(boolean desc, ExecMode mode) {
+		ExecMode platformOld = setExecMode(mode);
+		try {
+			getAndLoadTestConfiguration(TEST_NAME);
+			String HOME = SCRIPT_DIR + TEST_DIR;
+			fullDMLScriptName = HOME + TEST_NAME + ".dml";
+			programArgs = new String[] {"-stats", "-nvargs", "rows=" + rows,
+				"desc=" + String.valueOf(desc).toUpperCase(), "out_S=" + output("S")};
+
+			runTest(true, false, null, -1);
+			HashMap<MatrixValue.CellIndex, Double> val = readDMLScalarFromOutputDir("S");
+			assertEquals(1.0, val.get(new MatrixValue.CellIndex(1, 1)), 0.0);
+
+			// frame sort is always compiled to CP, even with forced spark
+			assertTrue(heavyHittersContainsString(Opcodes.SORT.toString()));
+		}
+		finally {
+			resetExecMode(platformOld);
+		}
+	}
+}
@@ -0,0 +1,115 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysds.test.functions.frame;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.HashMap;
+
+import org.apache.sysds.common.Opcodes;
+import org.apache.sysds.common.Types.ExecMode;
+import org.apache.sysds.common.Types.FileFormat;
+import org.apache.sysds.common.Types.ValueType;
+import org.apache.sysds.hops.IndexingOp;
+import org.apache.sysds.hops.OptimizerUtils;
+import org.apache.sysds.runtime.instructions.Instruction;
+import org.apache.sysds.runtime.matrix.data.MatrixValue.CellIndex;
+import org.apache.sysds.runtime.util.UtilFunctions;
+import org.apache.sysds.test.AutomatedTestBase;
+import org.apache.sysds.test.TestConfiguration;
+import org.apache.sysds.test.TestUtils;
+import org.junit.Test;
+
+public class FrameReadPushdownTest extends AutomatedTestBase {
+	private final static String TEST_DIR = "functions/frame/";
+	private final static String TEST_NAME = "FrameReadPushdownTest";
+	private final static String TEST_CLASS_DIR = TEST_DIR + FrameReadPushdownTest.class.getSimpleName() + "/";
+
+	private final static int rows = 1234;
+	private final static int cols = 6;
+
+	@Override
+	public void setUp() {
+		TestUtils.clearAssertionInformation();
+		addTestConfiguration(TEST_NAME, new TestConfiguration(TEST_CLASS_DIR, TEST_NAME, new String[] {"R"}));
+	}
+
+	@Test
+	public void testPushdownBinaryCP() {
+		runFrameReadPushdownTest(FileFormat.BINARY, ExecMode.SINGLE_NODE);
+	}
+
+	@Test
+	public void testPushdownCSVCP() {
+		runFrameReadPushdownTest(FileFormat.CSV, ExecMode.SINGLE_NODE);
+	}
+
+	@Test
+	public void testPushdownBinaryHybridSP() {
+		runFrameReadPushdownTest(FileFormat.BINARY, ExecMode.HYBRID);
+	}
+
+	@Test
+	public void testPushdownCSVHybridSP() {
+		runFrameReadPushdownTest(FileFormat.CSV, ExecMode.HYBRID);
+	}
+
+	private void runFrameReadPushdownTest(FileFormat fmt, ExecMode mode) {
+		ExecMode platformOld = setExecMode(mode);
+		boolean oldPushdown = OptimizerUtils.ALLOW_FRAME_READ_PUSHDOWN;
+		IndexingOp.FORCE_DIST_RIGHT_INDEXING = (mode == ExecMode.HYBRID);
+		try {
+			getAndLoadTestConfiguration(TEST_NAME);
+			String HOME = SCRIPT_DIR + TEST_DIR;
+			fullDMLScriptName = HOME + TEST_NAME + ".dml";
+			programArgs = new String[] {"-stats", "-args", input("X"), output("R")};
+
+			double[][] X = TestUtils.round(getRandomMatrix(rows, cols, 0, 10, 1, 7));
+			writeInputFrameWithMTD("X", X, false, UtilFunctions.nCopies(cols, ValueType.FP64), fmt);
+
+			// plain read w/ removeEmpty and indexing
+			OptimizerUtils.ALLOW_FRAME_READ_PUSHDOWN = false;
+			runTest(true, false, null, -1);
+			HashMap<CellIndex, Double> R1 = readDMLMatrixFromOutputDir("R");
+			assertTrue(heavyHittersContainsString(Opcodes.RMEMPTY.toString(),
+				Instruction.SP_INST_PREFIX + Opcodes.RMEMPTY.toString()));
+
+			// pushed-down row predicate and column projection
+			OptimizerUtils.ALLOW_FRAME_READ_PUSHDOWN = true;
+			runTest(true, false, null, -1);
+			HashMap<CellIndex, Double> R2 = readDMLMatrixFromOutputDir("R");
+			assertFalse(heavyHittersContainsString(Opcodes.RMEMPTY.toString(),
+				Instruction.SP_INST_PREFIX + Opcodes.RMEMPTY.toString()));
+			if( mode == ExecMode.HYBRID )
+				assertTrue(heavyHittersContainsString(Instruction.SP_INST_PREFIX + Opcodes.RIGHT_INDEX.toString()));
+
+			assertEquals(R1.size(), R2.size());
+			assertTrue(TestUtils.compareMatrices(R1, R2, 0, "Plain", "Pushdown"));
+		}
+		finally {
+			OptimizerUtils.ALLOW_FRAME_READ_PUSHDOWN = oldPushdown;
+			IndexingOp.FORCE_DIST_RIGHT_INDEXING = false;
+			resetExecMode(platformOld);
+		}
+	}
+}
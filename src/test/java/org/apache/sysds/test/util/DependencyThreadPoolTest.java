@@ -22,12 +22,17 @@ package org.apache.sysds.test.util;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 
+import org.apache.sysds.runtime.util.DependencyTask;
 import org.apache.sysds.runtime.util.DependencyThreadPool;
+import org.apache.sysds.runtime.util.DependencyWrapperTask;
 import org.apache.sysds.test.AutomatedTestBase;
 import org.apache.sysds.test.TestConfiguration;
 import org.apache.sysds.test.TestUtils;
@@ -98,6 +103,100 @@ public class DependencyThreadPoolTest extends AutomatedTestBase {
 		}
 	}
 
+	@Test
+	public void testSubmitAllAndWait() throws InterruptedException, ExecutionException {
+		DependencyThreadPool pool = new DependencyThreadPool(4);
+		try{
+			TestObj global = new TestObj();
+			TestTaskMult task1 = new TestTaskMult(1, 20, global);
+			TestTaskAdd task2 = new TestTaskAdd(2, 5, global);
+			TestTaskMult task3 = new TestTaskMult(3, 20, global);
+			TestTaskAdd task4 = new TestTaskAdd(4, 10, global);
+			List<? extends Callable<?>> tasks = Arrays.asList(task1, task2, task3, task4);
+			List<List<? extends Callable<?>>> dependencies = new ArrayList<>();
+			dependencies.add(Collections.singletonList(task2));
+			dependencies.add(null);
+			dependencies.add(Collections.singletonList(task2));
+			dependencies.add(Arrays.asList(task3, task1));
+			List<Object> res = pool.submitAllAndWait(DependencyThreadPool.createDependencyTasks(tasks, dependencies));
+			Assert.assertEquals(2010, global.value);
+			Assert.assertEquals(Arrays.asList(1, 2, 3, 4), res);
+		}
+		finally{
+			pool.shutdown();
+		}
+	}
+
+	@Test
+	public void testSubmitAllAndWaitWideDAG() throws InterruptedException, ExecutionException {
+		// many fine-grained tasks between a source and a sink task
+		DependencyThreadPool pool = new DependencyThreadPool(4);
+		try{
+			AtomicInteger count = new AtomicInteger(0);
+			List<Callable<Integer>> tasks = new ArrayList<>();
+			tasks.add(() -> count.get());
+			for(int i = 0; i < 5000; i++)
+				tasks.add(() -> count.incrementAndGet() > 0 ? 1 : 0);
+			tasks.add(() -> count.get());
+			Map<Integer[], Integer[]> depMap = new HashMap<>();
+			depMap.put(new Integer[] {1, -2}, new Integer[] {0, 1});
+			depMap.put(new Integer[] {-2, -1}, new Integer[] {1, -2});
+			List<List<? extends Callable<?>>> deps = new ArrayList<>(Collections.nCopies(tasks.size(), null));
+			DependencyThreadPool.createDependencyList(tasks, depMap, deps);
+			List<Object> res = pool.submitAllAndWait(DependencyThreadPool.createDependencyTasks(tasks, deps));
+			Assert.assertEquals(0, res.get(0));
+			Assert.assertEquals(5000, res.get(res.size() - 1));
+		}
+		finally{
+			pool.shutdown();
+		}
+	}
+
+	@Test
+	public void testSubmitAllAndWaitWrapper() throws InterruptedException, ExecutionException {
+		DependencyThreadPool pool = new DependencyThreadPool(4);
+		try{
+			TestObj global = new TestObj();
+			DependencyTask<?> init = DependencyThreadPool.createDependencyTask(new TestTaskAdd(1, 5, global));
+			DependencyWrapperTask<?> wrapper = new DependencyWrapperTask<Object>(pool) {
+				@Override
+				public List<DependencyTask<?>> getWrappedTasks() {
+					return DependencyThreadPool.createDependencyTasks(
+						Arrays.asList(new TestTaskAdd(2, 10, global), new TestTaskAdd(3, 20, global)), null);
+				}
+			};
+			DependencyTask<?> last = DependencyThreadPool.createDependencyTask(new TestTaskMult(4, 2, global));
+			init.addDependent(wrapper);
+			wrapper.addDependent(last);
+			List<Object> res = pool.submitAllAndWait(new ArrayList<>(Arrays.asList(init, wrapper, last)));
+			// the multiplication waits for the wrapped tasks
+			Assert.assertEquals(70, global.value);
+			Assert.assertEquals(Arrays.asList(1, 2, 3, 4), res);
+		}
+		finally{
+			pool.shutdown();
+		}
+	}
+
+	@Test(expected = ExecutionException.class)
+	public void testSubmitAllAndWaitError() throws InterruptedException, ExecutionException {
+		DependencyThreadPool pool = new DependencyThreadPool(4);
+		try{
+			List<Callable<Integer>> tasks = new ArrayList<>();
+			tasks.add(() -> 1);
+			tasks.add(() -> {throw new RuntimeException("task failure");});
+			tasks.add(() -> 3);
+			List<List<? extends Callable<?>>> deps = new ArrayList<>();
+			deps.add(null);
+			deps.add(Collections.singletonList(tasks.get(0)));
+			deps.add(Collections.singletonList(tasks.get(1)));
+			pool.submitAllAndWait(DependencyThreadPool.createDependencyTasks(tasks, deps));
+		}
+		finally{
+			pool.shutdown();
+		}
+	}
+
 	private static class TestObj {
 		public int value = 0;
 